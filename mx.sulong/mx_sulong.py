@@ -110,6 +110,10 @@ def _sulong_gate_runner(args, tasks):
         if t: mx_testsuites.runSuite('gcc_fortran')
     with Task("TestSulong", tasks, tags=['sulong', 'sulongBasic']) as t:
         if t: mx_unittest.unittest(['SulongSuite'])
+    with Task("TestSulongPooledAllocator", tasks, tags=['pooledAllocator']) as t:
+        if t: mx_unittest.unittest(['-Dpolyglot.llvm.pooledAllocator=true', 'SulongSuite'])
+    with Task("TestSulongNoDebugInfo", tasks, tags=['noDebugInfo']) as t:
+        if t: mx_unittest.unittest(['-Dpolyglot.llvm.parseDebugInfo=false', 'SulongSuite'])
     with Task("TestInterop", tasks, tags=['interop', 'sulongBasic']) as t:
         if t: mx_unittest.unittest(['LLVMInteropTest'])
     with Task('TestAssembly', tasks, tags=['assembly', 'sulongMisc']) as t:
@@ -120,6 +124,10 @@ def _sulong_gate_runner(args, tasks):
         if t: mx_testsuites.runSuite('callback')
     with Task('TestVarargs', tasks, tags=['vaargs', 'sulongMisc']) as t:
         if t: mx_testsuites.runSuite('vaargs')
+    with Task('TestStackOverflow', tasks, tags=['stackoverflow', 'sulongMisc']) as t:
+        if t: mx_testsuites.runSuite('stackoverflow')
+    with Task('TestVirtualStdio', tasks, tags=['virtualstdio', 'sulongMisc']) as t:
+        if t: mx_testsuites.runSuite('virtualstdio')
 
 add_gate_runner(_suite, _sulong_gate_runner)
 
@@ -10,6 +10,19 @@ from mx_benchmark import VmRegistry, java_vm_registry, Vm, GuestVm, VmBenchmarkS
 def _benchmarksDirectory():
     return join(os.path.abspath(join(mx.suite('sulong').dir, os.pardir)), 'sulong-benchmarks')
 
+def _suiteBenchmarksDirectory():
+    # small kernels that are maintained together with the code they measure
+    return join(mx.suite('sulong').dir, 'tests', 'benchmarks')
+
+def _benchmarksDirectories():
+    return [d for d in [_benchmarksDirectory(), _suiteBenchmarksDirectory()] if exists(d)]
+
+def _benchmarkDirectory(benchmark):
+    for benchDir in _benchmarksDirectories():
+        if os.path.isfile(join(benchDir, benchmark, 'Makefile')):
+            return join(benchDir, benchmark)
+    mx.abort('Benchmark {} is missing'.format(benchmark))
+
 _env_flags = []
 if 'CPPFLAGS' in os.environ:
     _env_flags = os.environ['CPPFLAGS'].split(' ')
@@ -25,10 +38,10 @@ class SulongBenchmarkSuite(VmBenchmarkSuite):
         return 'csuite'
 
     def benchmarkList(self, bmSuiteArgs):
-        benchDir = _benchmarksDirectory()
-        if not exists(benchDir):
-            mx.abort('Benchmarks directory {} is missing'.format(benchDir))
-        return [f for f in os.listdir(benchDir) if os.path.isdir(join(benchDir, f)) and os.path.isfile(join(join(benchDir, f), 'Makefile'))]
+        benchmarks = []
+        for benchDir in _benchmarksDirectories():
+            benchmarks += [f for f in os.listdir(benchDir) if os.path.isdir(join(benchDir, f)) and os.path.isfile(join(join(benchDir, f), 'Makefile'))]
+        return benchmarks
 
     def benchHigherScoreRegex(self):
         return r'^(### )?(?P<benchmark>[a-zA-Z0-9\.\-_]+): +(?P<score>[0-9]+(?:\.[0-9]+)?)'
@@ -81,13 +94,10 @@ class GccLikeVm(Vm):
     def run(self, cwd, args):
         # save current Directory
         self.currentDir = os.getcwd()
-        os.chdir(_benchmarksDirectory())
-
         f = open(os.devnull, 'w')
-        benchmarkDir = args[0]
 
         # enter benchmark dir
-        os.chdir(benchmarkDir)
+        os.chdir(_benchmarkDirectory(args[0]))
 
         # create directory for executable of this vm
         if not os.path.exists(self.name()):
@@ -143,8 +153,13 @@ class ClangVm(GccLikeVm):
 
 
 class SulongVm(GuestVm):
+    def __init__(self, config_name="default", options=None):
+        super(SulongVm, self).__init__()
+        self._config_name = config_name
+        self.options = options or []
+
     def config_name(self):
-        return "default"
+        return self._config_name
 
     def name(self):
         return "sulong"
@@ -152,15 +167,12 @@ class SulongVm(GuestVm):
     def run(self, cwd, args):
         # save current Directory
         self.currentDir = os.getcwd()
-        os.chdir(_benchmarksDirectory())
-
         f = open(os.devnull, 'w')
 
         mx_sulong.ensureLLVMBinariesExist()
-        benchmarkDir = args[0]
 
         # enter benchmark dir
-        os.chdir(benchmarkDir)
+        os.chdir(_benchmarkDirectory(args[0]))
 
         # create directory for executable of this vm
         if not os.path.exists(self.name()):
@@ -189,7 +201,7 @@ class SulongVm(GuestVm):
             '-Dgraal.TruffleCompilationExceptionsAreFatal=true',
             mx_subst.path_substitutions.substitute('-Dpolyglot.llvm.libraryPath=<path:SULONG_LIBS>'),
             '-Dpolyglot.llvm.libraries=libgmp.so.10']
-        sulongCmdLine = suTruffleOptions + mx_sulong.getClasspathOptions() + ['-XX:-UseJVMCIClassLoader', "com.oracle.truffle.llvm.Sulong"] + ['bench.bc']
+        sulongCmdLine = suTruffleOptions + self.options + mx_sulong.getClasspathOptions() + ['-XX:-UseJVMCIClassLoader', "com.oracle.truffle.llvm.Sulong"] + ['bench.bc']
         result = self.host_vm().run(cwd, sulongCmdLine + args)
 
         # reset current Directory
@@ -212,3 +224,4 @@ native_vm_registry.add_vm(ClangVm('O2', ['-O2']), _suite)
 native_vm_registry.add_vm(GccVm('O3', ['-O3']), _suite)
 native_vm_registry.add_vm(ClangVm('O3', ['-O3']), _suite)
 native_vm_registry.add_vm(SulongVm(), _suite, 10)
+native_vm_registry.add_vm(SulongVm('virtualStdio', ['-Dpolyglot.llvm.virtualStdio=true']), _suite)
@@ -104,6 +104,16 @@ def runParserTortureSuite(vmArgs):
     compileSuite(['parserTorture'])
     return run(vmArgs + ['-Dpolyglot.llvm.parseOnly=true'], "com.oracle.truffle.llvm.test.ParserTortureSuite")
 
+def runStackOverflowTests(vmArgs):
+    """runs the stack overflow test"""
+    compileSuite(['stackoverflow'])
+    return run(vmArgs, "com.oracle.truffle.llvm.test.StackOverflowTest")
+
+def runVirtualStdioTests(vmArgs):
+    """runs the virtual stdio test"""
+    compileSuite(['virtualstdio'])
+    return run(vmArgs, "com.oracle.truffle.llvm.test.VirtualStdioTest")
+
 def runTypeTests(vmArgs):
     """runs the Type test suite"""
     return run(vmArgs, "com.oracle.truffle.llvm.types.floating.test")
@@ -181,6 +191,8 @@ testSuites = {
     'args' : (compileOtherTests, runArgsTests),
     'callback' : (compileOtherTests, runCallbackTests),
     'vaargs' : (compileOtherTests, runVAargsTests),
+    'stackoverflow' : (compileOtherTests, runStackOverflowTests),
+    'virtualstdio' : (compileOtherTests, runVirtualStdioTests),
     'nwcc' : (compileNWCCSuite, runNWCCSuite),
     'assembly' : (compileInlineAssemblySuite, runInlineAssemblySuite),
     'gcc_c' : (compileGCCSuite_C_files, runGCCSuite_c),
@@ -291,9 +291,9 @@ suite = {
     "com.oracle.truffle.llvm.tests.sulong" : {
       "subDir" : "tests",
       "class" : "SulongTestSuite",
-      "variants" : ['O0', 'O0_MISC_OPTS', 'O1', 'O2', 'O3', 'gcc_O0'],
+      "variants" : ['O0', 'O0_NO_DEBUG_INFO', 'O0_MISC_OPTS', 'O1', 'O2', 'O3', 'gcc_O0'],
       "buildEnv" : {
-        "LDFLAGS" : "-lm",
+        "LDFLAGS" : "-lm -lpthread",
         "OS" : "<os>",
       },
     },
@@ -302,6 +302,7 @@ suite = {
       "class" : "SulongTestSuite",
       "variants" : ['O0', 'O0_MISC_OPTS'],
       "buildEnv" : {
+        "LDFLAGS" : "-lpthread",
         "OS" : "<os>",
       },
     },
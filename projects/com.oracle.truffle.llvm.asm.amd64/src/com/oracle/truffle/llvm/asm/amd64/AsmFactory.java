@@ -191,6 +191,7 @@ import com.oracle.truffle.llvm.nodes.asm.support.LLVMAMD64ToI8NodeFactory.LLVMAM
 import com.oracle.truffle.llvm.nodes.asm.support.LLVMAMD64ToRegisterNodeFactory.LLVMI16ToR64NodeGen;
 import com.oracle.truffle.llvm.nodes.asm.support.LLVMAMD64ToRegisterNodeFactory.LLVMI32ToR64NodeGen;
 import com.oracle.truffle.llvm.nodes.asm.support.LLVMAMD64ToRegisterNodeFactory.LLVMI8ToR64NodeGen;
+import com.oracle.truffle.llvm.nodes.asm.support.LLVMAMD64UpdateFlagsNode;
 import com.oracle.truffle.llvm.nodes.asm.support.LLVMAMD64UpdateFlagsNode.LLVMAMD64UpdateCPAZSOFlagsNode;
 import com.oracle.truffle.llvm.nodes.asm.support.LLVMAMD64UpdateFlagsNode.LLVMAMD64UpdateCPZSOFlagsNode;
 import com.oracle.truffle.llvm.nodes.asm.support.LLVMAMD64UpdateFlagsNode.LLVMAMD64UpdatePZSFlagsNode;
@@ -257,6 +258,9 @@ class AsmFactory {
     private final List<LLVMExpressionNode> statements;
     private final List<LLVMExpressionNode> arguments;
     private final List<String> registers;
+    private final Set<FrameSlot> readFlags;
+    private final List<LLVMAMD64UpdateFlagsNode> flagUpdates;
+    private final List<LLVMAMD64WriteBooleanNode> flagWrites;
     private LLVMExpressionNode result;
     private List<Argument> argInfo;
     private final String asmFlags;
@@ -279,6 +283,9 @@ class AsmFactory {
         this.statements = new ArrayList<>();
         this.arguments = new ArrayList<>();
         this.registers = new ArrayList<>();
+        this.readFlags = new HashSet<>();
+        this.flagUpdates = new ArrayList<>();
+        this.flagWrites = new ArrayList<>();
         this.retType = retType;
         this.retTypes = retTypes;
         this.retOffsets = retOffsets;
@@ -386,6 +393,7 @@ class AsmFactory {
 
     LLVMInlineAssemblyRootNode finishInline() {
         getArguments();
+        removeUnreadFlags();
         return new LLVMInlineAssemblyRootNode(language, sourceSection, frameDescriptor, statements.toArray(new LLVMExpressionNode[statements.size()]), arguments, result);
     }
 
@@ -1789,14 +1797,14 @@ class AsmFactory {
             arguments.add(LLVMWriteI64NodeGen.create(node, slot, null));
         }
 
-        // initialize flags
+        // initialize flags that are read
         LLVMExpressionNode zero = LLVMAMD64I1NodeGen.create(false);
-        arguments.add(LLVMWriteI1NodeGen.create(zero, getFlagSlot(LLVMAMD64Flags.CF), sourceSection));
-        arguments.add(LLVMWriteI1NodeGen.create(zero, getFlagSlot(LLVMAMD64Flags.PF), sourceSection));
-        arguments.add(LLVMWriteI1NodeGen.create(zero, getFlagSlot(LLVMAMD64Flags.AF), sourceSection));
-        arguments.add(LLVMWriteI1NodeGen.create(zero, getFlagSlot(LLVMAMD64Flags.ZF), sourceSection));
-        arguments.add(LLVMWriteI1NodeGen.create(zero, getFlagSlot(LLVMAMD64Flags.SF), sourceSection));
-        arguments.add(LLVMWriteI1NodeGen.create(zero, getFlagSlot(LLVMAMD64Flags.OF), sourceSection));
+        for (long flag : new long[]{LLVMAMD64Flags.CF, LLVMAMD64Flags.PF, LLVMAMD64Flags.AF, LLVMAMD64Flags.ZF, LLVMAMD64Flags.SF, LLVMAMD64Flags.OF}) {
+            FrameSlot slot = getFlagSlot(flag);
+            if (readFlags.contains(slot)) {
+                arguments.add(LLVMWriteI1NodeGen.create(zero, slot, sourceSection));
+            }
+        }
 
         // copy stack pointer
         LLVMExpressionNode stackPointer = LLVMArgNodeGen.create(0);
@@ -2317,28 +2325,51 @@ class AsmFactory {
     }
 
     private LLVMExpressionNode getFlag(long flag) {
-        return LLVMI1ReadNodeGen.create(getFlagSlot(flag));
+        FrameSlot slot = getFlagSlot(flag);
+        readFlags.add(slot);
+        return LLVMI1ReadNodeGen.create(slot);
     }
 
     private LLVMAMD64WriteBooleanNode getFlagWrite(long flag) {
-        return new LLVMAMD64WriteBooleanNode(getFlagSlot(flag));
+        LLVMAMD64WriteBooleanNode write = new LLVMAMD64WriteBooleanNode(getFlagSlot(flag));
+        flagWrites.add(write);
+        return write;
+    }
+
+    private <T extends LLVMAMD64UpdateFlagsNode> T registerFlagUpdate(T update) {
+        flagUpdates.add(update);
+        return update;
     }
 
     private LLVMAMD64UpdatePZSFlagsNode getUpdatePZSFlagsNode() {
-        return new LLVMAMD64UpdatePZSFlagsNode(getFlagSlot(LLVMAMD64Flags.PF), getFlagSlot(LLVMAMD64Flags.ZF), getFlagSlot(LLVMAMD64Flags.SF));
+        return registerFlagUpdate(new LLVMAMD64UpdatePZSFlagsNode(getFlagSlot(LLVMAMD64Flags.PF), getFlagSlot(LLVMAMD64Flags.ZF), getFlagSlot(LLVMAMD64Flags.SF)));
     }
 
     private LLVMAMD64UpdatePZSOFlagsNode getUpdatePZSOFlagsNode() {
-        return new LLVMAMD64UpdatePZSOFlagsNode(getFlagSlot(LLVMAMD64Flags.PF), getFlagSlot(LLVMAMD64Flags.ZF), getFlagSlot(LLVMAMD64Flags.SF), getFlagSlot(LLVMAMD64Flags.OF));
+        return registerFlagUpdate(
+                        new LLVMAMD64UpdatePZSOFlagsNode(getFlagSlot(LLVMAMD64Flags.PF), getFlagSlot(LLVMAMD64Flags.ZF), getFlagSlot(LLVMAMD64Flags.SF), getFlagSlot(LLVMAMD64Flags.OF)));
     }
 
     private LLVMAMD64UpdateCPZSOFlagsNode getUpdateCPZSOFlagsNode() {
-        return new LLVMAMD64UpdateCPZSOFlagsNode(getFlagSlot(LLVMAMD64Flags.CF), getFlagSlot(LLVMAMD64Flags.PF), getFlagSlot(LLVMAMD64Flags.ZF), getFlagSlot(LLVMAMD64Flags.SF),
-                        getFlagSlot(LLVMAMD64Flags.OF));
+        return registerFlagUpdate(new LLVMAMD64UpdateCPZSOFlagsNode(getFlagSlot(LLVMAMD64Flags.CF), getFlagSlot(LLVMAMD64Flags.PF), getFlagSlot(LLVMAMD64Flags.ZF), getFlagSlot(LLVMAMD64Flags.SF),
+                        getFlagSlot(LLVMAMD64Flags.OF)));
     }
 
     private LLVMAMD64UpdateCPAZSOFlagsNode getUpdateCPAZSOFlagsNode() {
-        return new LLVMAMD64UpdateCPAZSOFlagsNode(getFlagSlot(LLVMAMD64Flags.CF), getFlagSlot(LLVMAMD64Flags.PF), getFlagSlot(LLVMAMD64Flags.AF), getFlagSlot(LLVMAMD64Flags.ZF),
-                        getFlagSlot(LLVMAMD64Flags.SF), getFlagSlot(LLVMAMD64Flags.OF));
+        return registerFlagUpdate(new LLVMAMD64UpdateCPAZSOFlagsNode(getFlagSlot(LLVMAMD64Flags.CF), getFlagSlot(LLVMAMD64Flags.PF), getFlagSlot(LLVMAMD64Flags.AF), getFlagSlot(LLVMAMD64Flags.ZF),
+                        getFlagSlot(LLVMAMD64Flags.SF), getFlagSlot(LLVMAMD64Flags.OF)));
+    }
+
+    /*
+     * Flags are not visible outside of the inline assembly snippet, so flags that are never read by
+     * any of its instructions do not need to be computed at all.
+     */
+    private void removeUnreadFlags() {
+        for (LLVMAMD64UpdateFlagsNode update : flagUpdates) {
+            update.removeUnreadFlags(readFlags);
+        }
+        for (LLVMAMD64WriteBooleanNode write : flagWrites) {
+            write.removeUnreadFlags(readFlags);
+        }
     }
 }
@@ -30,12 +30,59 @@
 #include <sys/types.h>
 #include <unistd.h>
 #include <pthread.h>
+#include <errno.h>
+#include <limits.h>
+#include <stdlib.h>
+#include <time.h>
 
 #include "unsupported.h"
 
-__attribute__((weak)) int pthread_attr_destroy(pthread_attr_t *attr) { ERR_UNSUPPORTED(pthread_attr_destroy); }
-__attribute__((weak)) int pthread_attr_getdetachstate(const pthread_attr_t *attr, int *detachstate) { ERR_UNSUPPORTED(pthread_attr_getdetachstate); }
-__attribute__((weak)) int pthread_attr_getguardsize(const pthread_attr_t *attr, size_t *guardsize) { ERR_UNSUPPORTED(pthread_attr_getguardsize); }
+struct __sulong_pthread_attr {
+  int detachstate;
+  size_t stacksize;
+  size_t guardsize;
+};
+
+static int __sulong_concurrency = 0;
+
+pthread_t __sulong_pthread_create(void *(*start_routine)(void *), void *arg, int detached);
+int __sulong_pthread_join(pthread_t thread, void **value_ptr);
+int __sulong_pthread_detach(pthread_t thread);
+pthread_t __sulong_pthread_self(void);
+void __sulong_pthread_exit(void *value_ptr);
+int __sulong_pthread_mutex_init(pthread_mutex_t *mutex, int type);
+int __sulong_pthread_mutex_destroy(pthread_mutex_t *mutex);
+int __sulong_pthread_mutex_lock(pthread_mutex_t *mutex);
+int __sulong_pthread_mutex_trylock(pthread_mutex_t *mutex);
+int __sulong_pthread_mutex_unlock(pthread_mutex_t *mutex);
+int __sulong_pthread_cond_init(pthread_cond_t *cond);
+int __sulong_pthread_cond_destroy(pthread_cond_t *cond);
+int __sulong_pthread_cond_signal(pthread_cond_t *cond);
+int __sulong_pthread_cond_broadcast(pthread_cond_t *cond);
+int __sulong_pthread_cond_wait(pthread_cond_t *cond, pthread_mutex_t *mutex);
+int __sulong_pthread_cond_timedwait(pthread_cond_t *cond, pthread_mutex_t *mutex, long seconds, long nanoseconds);
+int __sulong_pthread_rwlock_init(pthread_rwlock_t *rwlock);
+int __sulong_pthread_rwlock_destroy(pthread_rwlock_t *rwlock);
+int __sulong_pthread_rwlock_rdlock(pthread_rwlock_t *rwlock, int try_lock);
+int __sulong_pthread_rwlock_wrlock(pthread_rwlock_t *rwlock, int try_lock);
+int __sulong_pthread_rwlock_unlock(pthread_rwlock_t *rwlock);
+int __sulong_pthread_once(pthread_once_t *once_control, void (*init_routine)(void));
+int __sulong_pthread_key_create(void (*destructor)(void *));
+int __sulong_pthread_key_delete(pthread_key_t key);
+void *__sulong_pthread_getspecific(pthread_key_t key);
+int __sulong_pthread_setspecific(pthread_key_t key, const void *value);
+
+__attribute__((weak)) int pthread_attr_destroy(pthread_attr_t *attr) {
+  return 0;
+}
+__attribute__((weak)) int pthread_attr_getdetachstate(const pthread_attr_t *attr, int *detachstate) {
+  *detachstate = ((const struct __sulong_pthread_attr *)attr)->detachstate;
+  return 0;
+}
+__attribute__((weak)) int pthread_attr_getguardsize(const pthread_attr_t *attr, size_t *guardsize) {
+  *guardsize = ((const struct __sulong_pthread_attr *)attr)->guardsize;
+  return 0;
+}
 __attribute__((weak)) int pthread_attr_getinheritsched(const pthread_attr_t *restrict attr, int *restrict inheritsched) {
   ERR_UNSUPPORTED(pthread_attr_getinheritsched);
 }
@@ -50,11 +97,27 @@ __attribute__((weak)) int pthread_attr_getscope(const pthread_attr_t *restrict a
 }
 __attribute__((weak)) int pthread_attr_getstackaddr(const pthread_attr_t *attr, void **stackaddr) { ERR_UNSUPPORTED(pthread_attr_getstackaddr); }
 __attribute__((weak)) int pthread_attr_getstacksize(const pthread_attr_t *restrict attr, size_t *restrict stacksize) {
-  ERR_UNSUPPORTED(pthread_attr_getstacksize);
+  *stacksize = ((const struct __sulong_pthread_attr *)attr)->stacksize;
+  return 0;
+}
+__attribute__((weak)) int pthread_attr_init(pthread_attr_t *attr) {
+  struct __sulong_pthread_attr *a = (struct __sulong_pthread_attr *)attr;
+  a->detachstate = PTHREAD_CREATE_JOINABLE;
+  a->stacksize = 0;
+  a->guardsize = 0;
+  return 0;
+}
+__attribute__((weak)) int pthread_attr_setdetachstate(pthread_attr_t *attr, int detachstate) {
+  if (detachstate != PTHREAD_CREATE_JOINABLE && detachstate != PTHREAD_CREATE_DETACHED) {
+    return EINVAL;
+  }
+  ((struct __sulong_pthread_attr *)attr)->detachstate = detachstate;
+  return 0;
+}
+__attribute__((weak)) int pthread_attr_setguardsize(pthread_attr_t *attr, size_t guardsize) {
+  ((struct __sulong_pthread_attr *)attr)->guardsize = guardsize;
+  return 0;
 }
-__attribute__((weak)) int pthread_attr_init(pthread_attr_t *attr) { ERR_UNSUPPORTED(pthread_attr_init); }
-__attribute__((weak)) int pthread_attr_setdetachstate(pthread_attr_t *attr, int detachstate) { ERR_UNSUPPORTED(pthread_attr_setdetachstate); }
-__attribute__((weak)) int pthread_attr_setguardsize(pthread_attr_t *attr, size_t guardsize) { ERR_UNSUPPORTED(pthread_attr_setguardsize); }
 __attribute__((weak)) int pthread_attr_setinheritsched(pthread_attr_t *attr, int inheritsched) { ERR_UNSUPPORTED(pthread_attr_setinheritsched); }
 __attribute__((weak)) int pthread_attr_setschedparam(pthread_attr_t *restrict attr, const struct sched_param *restrict param) {
   ERR_UNSUPPORTED(pthread_attr_setschedparam);
@@ -62,56 +125,115 @@ __attribute__((weak)) int pthread_attr_setschedparam(pthread_attr_t *restrict at
 __attribute__((weak)) int pthread_attr_setschedpolicy(pthread_attr_t *attr, int policy) { ERR_UNSUPPORTED(pthread_attr_setschedpolicy); }
 __attribute__((weak)) int pthread_attr_setscope(pthread_attr_t *attr, int contentionscope) { ERR_UNSUPPORTED(pthread_attr_setscope); }
 __attribute__((weak)) int pthread_attr_setstackaddr(pthread_attr_t *attr, void *stackaddr) { ERR_UNSUPPORTED(pthread_attr_setstackaddr); }
-__attribute__((weak)) int pthread_attr_setstacksize(pthread_attr_t *attr, size_t stacksize) { ERR_UNSUPPORTED(pthread_attr_setstacksize); }
+__attribute__((weak)) int pthread_attr_setstacksize(pthread_attr_t *attr, size_t stacksize) {
+  if (stacksize < PTHREAD_STACK_MIN) {
+    return EINVAL;
+  }
+  ((struct __sulong_pthread_attr *)attr)->stacksize = stacksize;
+  return 0;
+}
 __attribute__((weak)) int pthread_cancel(pthread_t thread) { ERR_UNSUPPORTED(pthread_cancel); }
 //__attribute__((weak)) void  pthread_cleanup_push(void*, void *);
 //__attribute__((weak)) void  pthread_cleanup_pop(int);
-__attribute__((weak)) int pthread_cond_broadcast(pthread_cond_t *cond) { ERR_UNSUPPORTED(pthread_cond_broadcast); }
-__attribute__((weak)) int pthread_cond_destroy(pthread_cond_t *cond) { ERR_UNSUPPORTED(pthread_cond_destroy); }
+__attribute__((weak)) int pthread_cond_broadcast(pthread_cond_t *cond) {
+  return __sulong_pthread_cond_broadcast(cond);
+}
+__attribute__((weak)) int pthread_cond_destroy(pthread_cond_t *cond) {
+  return __sulong_pthread_cond_destroy(cond);
+}
 __attribute__((weak)) int pthread_cond_init(pthread_cond_t *restrict cond, const pthread_condattr_t *restrict attr) {
-  ERR_UNSUPPORTED(pthread_cond_init);
+  return __sulong_pthread_cond_init(cond);
 }
-__attribute__((weak)) int pthread_cond_signal(pthread_cond_t *cond) { ERR_UNSUPPORTED(pthread_cond_signal); }
-__attribute__((weak)) int pthread_cond_timedwait(pthread_cond_t *restrict cond, pthread_mutex_t *restrict mutex,
-                                                 const struct timespec *restrict abstime) {
-  ERR_UNSUPPORTED(pthread_cond_timedwait);
+__attribute__((weak)) int pthread_cond_signal(pthread_cond_t *cond) {
+  return __sulong_pthread_cond_signal(cond);
+}
+__attribute__((weak)) int pthread_cond_timedwait(pthread_cond_t *restrict cond, pthread_mutex_t *restrict mutex, const struct timespec *restrict abstime) {
+  if (abstime->tv_nsec < 0 || abstime->tv_nsec >= 1000000000) {
+    return EINVAL;
+  }
+  return __sulong_pthread_cond_timedwait(cond, mutex, abstime->tv_sec, abstime->tv_nsec);
+}
+__attribute__((weak)) int pthread_cond_wait(pthread_cond_t *restrict cond, pthread_mutex_t *restrict mutex) {
+  return __sulong_pthread_cond_wait(cond, mutex);
+}
+__attribute__((weak)) int pthread_condattr_destroy(pthread_condattr_t *attr) {
+  return 0;
 }
-__attribute__((weak)) int pthread_cond_wait(pthread_cond_t *restrict cond, pthread_mutex_t *restrict mutex) { ERR_UNSUPPORTED(pthread_cond_wait); }
-__attribute__((weak)) int pthread_condattr_destroy(pthread_condattr_t *attr) { ERR_UNSUPPORTED(pthread_condattr_destroy); }
 __attribute__((weak)) int pthread_condattr_getpshared(const pthread_condattr_t *restrict attr, int *restrict pshared) {
   ERR_UNSUPPORTED(pthread_condattr_getpshared);
 }
-__attribute__((weak)) int pthread_condattr_init(pthread_condattr_t *attr) { ERR_UNSUPPORTED(pthread_condattr_init); }
+__attribute__((weak)) int pthread_condattr_init(pthread_condattr_t *attr) {
+  return 0;
+}
 __attribute__((weak)) int pthread_condattr_setpshared(pthread_condattr_t *attr, int pshared) { ERR_UNSUPPORTED(pthread_condattr_setpshared); }
-__attribute__((weak)) int pthread_create(pthread_t *restrict thread, const pthread_attr_t *restrict attr, void *(*start_routine)(void *),
-                                         void *restrict arg) {
-  ERR_UNSUPPORTED(pthread_create);
-}
-__attribute__((weak)) int pthread_detach(pthread_t thread) { ERR_UNSUPPORTED(pthread_detach); }
-__attribute__((weak)) int pthread_equal(pthread_t t1, pthread_t t2) { ERR_UNSUPPORTED(pthread_equal); }
-__attribute__((weak)) void pthread_exit(void *value_ptr) { ERR_UNSUPPORTED(pthread_exit); }
-__attribute__((weak)) int pthread_getconcurrency(void) { ERR_UNSUPPORTED(pthread_getconcurrency); }
+__attribute__((weak)) int pthread_create(pthread_t *restrict thread, const pthread_attr_t *restrict attr, void *(*start_routine)(void *), void *restrict arg) {
+  int detached = attr != NULL && ((const struct __sulong_pthread_attr *)attr)->detachstate == PTHREAD_CREATE_DETACHED;
+  *thread = __sulong_pthread_create(start_routine, arg, detached);
+  return 0;
+}
+__attribute__((weak)) int pthread_detach(pthread_t thread) {
+  return __sulong_pthread_detach(thread);
+}
+__attribute__((weak)) int pthread_equal(pthread_t t1, pthread_t t2) {
+  return t1 == t2;
+}
+__attribute__((weak)) void pthread_exit(void *value_ptr) {
+  __sulong_pthread_exit(value_ptr);
+  // only reached in the main thread, after all other threads have terminated
+  exit(0);
+}
+__attribute__((weak)) int pthread_getconcurrency(void) {
+  return __sulong_concurrency;
+}
 __attribute__((weak)) int pthread_getschedparam(pthread_t thread, int *restrict policy, struct sched_param *restrict param) {
   ERR_UNSUPPORTED(pthread_getschedparam);
 }
-__attribute__((weak)) void *pthread_getspecific(pthread_key_t key) { ERR_UNSUPPORTED(pthread_getspecific); }
-__attribute__((weak)) int pthread_join(pthread_t thread, void **value_ptr) { ERR_UNSUPPORTED(pthread_join); }
-__attribute__((weak)) int pthread_key_create(pthread_key_t *key, void (*destructor)(void *)) { ERR_UNSUPPORTED(pthread_key_create); }
-__attribute__((weak)) int pthread_key_delete(pthread_key_t key) { ERR_UNSUPPORTED(pthread_key_delete); }
-__attribute__((weak)) int pthread_mutex_destroy(pthread_mutex_t *mutex) { ERR_UNSUPPORTED(pthread_mutex_destroy); }
+__attribute__((weak)) void *pthread_getspecific(pthread_key_t key) {
+  return __sulong_pthread_getspecific(key);
+}
+__attribute__((weak)) int pthread_join(pthread_t thread, void **value_ptr) {
+  void *value;
+  int result = __sulong_pthread_join(thread, &value);
+  if (result == 0 && value_ptr != NULL) {
+    *value_ptr = value;
+  }
+  return result;
+}
+__attribute__((weak)) int pthread_key_create(pthread_key_t *key, void (*destructor)(void *)) {
+  int result = __sulong_pthread_key_create(destructor);
+  if (result < 0) {
+    return EAGAIN;
+  }
+  *key = result;
+  return 0;
+}
+__attribute__((weak)) int pthread_key_delete(pthread_key_t key) {
+  return __sulong_pthread_key_delete(key);
+}
+__attribute__((weak)) int pthread_mutex_destroy(pthread_mutex_t *mutex) {
+  return __sulong_pthread_mutex_destroy(mutex);
+}
 __attribute__((weak)) int pthread_mutex_getprioceiling(const pthread_mutex_t *restrict mutex, int *restrict prioceiling) {
   ERR_UNSUPPORTED(pthread_mutex_getprioceiling);
 }
 __attribute__((weak)) int pthread_mutex_init(pthread_mutex_t *restrict mutex, const pthread_mutexattr_t *restrict attr) {
-  ERR_UNSUPPORTED(pthread_mutex_init);
+  return __sulong_pthread_mutex_init(mutex, attr == NULL ? PTHREAD_MUTEX_DEFAULT : *(const int *)attr);
+}
+__attribute__((weak)) int pthread_mutex_lock(pthread_mutex_t *mutex) {
+  return __sulong_pthread_mutex_lock(mutex);
 }
-__attribute__((weak)) int pthread_mutex_lock(pthread_mutex_t *mutex) { ERR_UNSUPPORTED(pthread_mutex_lock); }
 __attribute__((weak)) int pthread_mutex_setprioceiling(pthread_mutex_t *restrict mutex, int prioceiling, int *restrict old_ceiling) {
   ERR_UNSUPPORTED(pthread_mutex_setprioceiling);
 }
-__attribute__((weak)) int pthread_mutex_trylock(pthread_mutex_t *mutex) { ERR_UNSUPPORTED(pthread_mutex_trylock); }
-__attribute__((weak)) int pthread_mutex_unlock(pthread_mutex_t *mutex) { ERR_UNSUPPORTED(pthread_mutex_unlock); }
-__attribute__((weak)) int pthread_mutexattr_destroy(pthread_mutexattr_t *attr) { ERR_UNSUPPORTED(pthread_mutexattr_destroy); }
+__attribute__((weak)) int pthread_mutex_trylock(pthread_mutex_t *mutex) {
+  return __sulong_pthread_mutex_trylock(mutex);
+}
+__attribute__((weak)) int pthread_mutex_unlock(pthread_mutex_t *mutex) {
+  return __sulong_pthread_mutex_unlock(mutex);
+}
+__attribute__((weak)) int pthread_mutexattr_destroy(pthread_mutexattr_t *attr) {
+  return 0;
+}
 __attribute__((weak)) int pthread_mutexattr_getprioceiling(const pthread_mutexattr_t *restrict attr, int *restrict prioceiling) {
   ERR_UNSUPPORTED(pthread_mutexattr_getprioceiling);
 }
@@ -122,37 +244,75 @@ __attribute__((weak)) int pthread_mutexattr_getpshared(const pthread_mutexattr_t
   ERR_UNSUPPORTED(pthread_mutexattr_getpshared);
 }
 __attribute__((weak)) int pthread_mutexattr_gettype(const pthread_mutexattr_t *restrict attr, int *restrict type) {
-  ERR_UNSUPPORTED(pthread_mutexattr_gettype);
+  *type = *(const int *)attr;
+  return 0;
+}
+__attribute__((weak)) int pthread_mutexattr_init(pthread_mutexattr_t *attr) {
+  *(int *)attr = PTHREAD_MUTEX_DEFAULT;
+  return 0;
 }
-__attribute__((weak)) int pthread_mutexattr_init(pthread_mutexattr_t *attr) { ERR_UNSUPPORTED(pthread_mutexattr_init); }
 __attribute__((weak)) int pthread_mutexattr_setprioceiling(pthread_mutexattr_t *attr, int protocol) {
   ERR_UNSUPPORTED(pthread_mutexattr_setprioceiling);
 }
 __attribute__((weak)) int pthread_mutexattr_setprotocol(pthread_mutexattr_t *attr, int protocol) { ERR_UNSUPPORTED(pthread_mutexattr_setprotocol); }
 __attribute__((weak)) int pthread_mutexattr_setpshared(pthread_mutexattr_t *attr, int pshared) { ERR_UNSUPPORTED(pthread_mutexattr_setpshared); }
-__attribute__((weak)) int pthread_mutexattr_settype(pthread_mutexattr_t *attr, int type) { ERR_UNSUPPORTED(pthread_mutexattr_settype); }
-__attribute__((weak)) int pthread_once(pthread_once_t *once_control, void (*init_routine)(void)) { ERR_UNSUPPORTED(pthread_once); }
-__attribute__((weak)) int pthread_rwlock_destroy(pthread_rwlock_t *rwlock) { ERR_UNSUPPORTED(pthread_rwlock_destroy); }
+__attribute__((weak)) int pthread_mutexattr_settype(pthread_mutexattr_t *attr, int type) {
+  if (type != PTHREAD_MUTEX_NORMAL && type != PTHREAD_MUTEX_RECURSIVE && type != PTHREAD_MUTEX_ERRORCHECK) {
+    return EINVAL;
+  }
+  *(int *)attr = type;
+  return 0;
+}
+__attribute__((weak)) int pthread_once(pthread_once_t *once_control, void (*init_routine)(void)) {
+  return __sulong_pthread_once(once_control, init_routine);
+}
+__attribute__((weak)) int pthread_rwlock_destroy(pthread_rwlock_t *rwlock) {
+  return __sulong_pthread_rwlock_destroy(rwlock);
+}
 __attribute__((weak)) int pthread_rwlock_init(pthread_rwlock_t *restrict rwlock, const pthread_rwlockattr_t *restrict attr) {
-  ERR_UNSUPPORTED(pthread_rwlock_init);
-}
-__attribute__((weak)) int pthread_rwlock_rdlock(pthread_rwlock_t *rwlock) { ERR_UNSUPPORTED(pthread_rwlock_rdlock); }
-__attribute__((weak)) int pthread_rwlock_tryrdlock(pthread_rwlock_t *rwlock) { ERR_UNSUPPORTED(pthread_rwlock_tryrdlock); }
-__attribute__((weak)) int pthread_rwlock_trywrlock(pthread_rwlock_t *rwlock) { ERR_UNSUPPORTED(pthread_rwlock_trywrlock); }
-__attribute__((weak)) int pthread_rwlock_unlock(pthread_rwlock_t *rwlock) { ERR_UNSUPPORTED(pthread_rwlock_unlock); }
-__attribute__((weak)) int pthread_rwlock_wrlock(pthread_rwlock_t *rwlock) { ERR_UNSUPPORTED(pthread_rwlock_wrlockk); }
-__attribute__((weak)) int pthread_rwlockattr_destroy(pthread_rwlockattr_t *attr) { ERR_UNSUPPORTED(pthread_rwlockattr_destroy); }
+  return __sulong_pthread_rwlock_init(rwlock);
+}
+__attribute__((weak)) int pthread_rwlock_rdlock(pthread_rwlock_t *rwlock) {
+  return __sulong_pthread_rwlock_rdlock(rwlock, 0);
+}
+__attribute__((weak)) int pthread_rwlock_tryrdlock(pthread_rwlock_t *rwlock) {
+  return __sulong_pthread_rwlock_rdlock(rwlock, 1);
+}
+__attribute__((weak)) int pthread_rwlock_trywrlock(pthread_rwlock_t *rwlock) {
+  return __sulong_pthread_rwlock_wrlock(rwlock, 1);
+}
+__attribute__((weak)) int pthread_rwlock_unlock(pthread_rwlock_t *rwlock) {
+  return __sulong_pthread_rwlock_unlock(rwlock);
+}
+__attribute__((weak)) int pthread_rwlock_wrlock(pthread_rwlock_t *rwlock) {
+  return __sulong_pthread_rwlock_wrlock(rwlock, 0);
+}
+__attribute__((weak)) int pthread_rwlockattr_destroy(pthread_rwlockattr_t *attr) {
+  return 0;
+}
 __attribute__((weak)) int pthread_rwlockattr_getpshared(const pthread_rwlockattr_t *restrict attr, int *restrict pshared) {
   ERR_UNSUPPORTED(pthread_rwlockattr_getpshared);
 }
-__attribute__((weak)) int pthread_rwlockattr_init(pthread_rwlockattr_t *attr) { ERR_UNSUPPORTED(pthread_rwlockattr_init); }
+__attribute__((weak)) int pthread_rwlockattr_init(pthread_rwlockattr_t *attr) {
+  return 0;
+}
 __attribute__((weak)) int pthread_rwlockattr_setpshared(pthread_rwlockattr_t *attr, int pshared) { ERR_UNSUPPORTED(pthread_rwlockattr_setpshared); }
-__attribute__((weak)) pthread_t pthread_self(void) { ERR_UNSUPPORTED(pthread_self); }
+__attribute__((weak)) pthread_t pthread_self(void) {
+  return __sulong_pthread_self();
+}
 __attribute__((weak)) int pthread_setcancelstate(int state, int *oldstate) { ERR_UNSUPPORTED(pthread_setcancelstate); }
 __attribute__((weak)) int pthread_setcanceltype(int type, int *oldtype) { ERR_UNSUPPORTED(pthread_setcanceltype); }
-__attribute__((weak)) int pthread_setconcurrency(int new_level) { ERR_UNSUPPORTED(pthread_setconcurrency); }
+__attribute__((weak)) int pthread_setconcurrency(int new_level) {
+  if (new_level < 0) {
+    return EINVAL;
+  }
+  __sulong_concurrency = new_level;
+  return 0;
+}
 __attribute__((weak)) int pthread_setschedparam(pthread_t thread, int policy, const struct sched_param *param) {
   ERR_UNSUPPORTED(pthread_setschedparam);
 }
-__attribute__((weak)) int pthread_setspecific(pthread_key_t key, const void *value) { ERR_UNSUPPORTED(pthread_setspecific); }
+__attribute__((weak)) int pthread_setspecific(pthread_key_t key, const void *value) {
+  return __sulong_pthread_setspecific(key, value);
+}
 __attribute__((weak)) void pthread_testcancel(void) { ERR_UNSUPPORTED(pthread_testcancel); }
@@ -148,6 +148,26 @@ int __sulong_posix_munmap(void* addr, size_t length)
 	CALL(int, munmap, addr, length);
 }
 
+void* __sulong_posix_mremap(void* old_address, size_t old_size, size_t new_size, int flags, void* new_address)
+{
+	CALL(void*, mremap, old_address, old_size, new_size, flags, new_address);
+}
+
+int __sulong_posix_msync(void* addr, size_t length, int flags)
+{
+	CALL(int, msync, addr, length, flags);
+}
+
+int __sulong_posix_madvise(void* addr, size_t length, int advice)
+{
+	CALL(int, madvise, addr, length, advice);
+}
+
+int __sulong_posix_mprotect(void* addr, size_t length, int prot)
+{
+	CALL(int, mprotect, addr, length, prot);
+}
+
 int __sulong_posix_unlink(const char *path)
 {
 	CALL(int, unlink, path);
@@ -381,6 +401,26 @@ int __sulong_posix_munmap(void* addr, size_t length)
 	ERROR();
 }
 
+void* __sulong_posix_mremap(void* old_address, size_t old_size, size_t new_size, int flags, void* new_address)
+{
+	ERROR();
+}
+
+int __sulong_posix_msync(void* addr, size_t length, int flags)
+{
+	ERROR();
+}
+
+int __sulong_posix_madvise(void* addr, size_t length, int advice)
+{
+	ERROR();
+}
+
+int __sulong_posix_mprotect(void* addr, size_t length, int prot)
+{
+	ERROR();
+}
+
 int __sulong_posix_unlink(const char *path)
 {
 	ERROR();
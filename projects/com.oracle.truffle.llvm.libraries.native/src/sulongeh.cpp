@@ -13,11 +13,8 @@
 #include <typeinfo>
 #include <stdlib.h>
 
-#include "unwind.h"
 #include <exception>
 
-typedef void (*destructorFunction)(void *);
-
 namespace __cxxabiv1 {
 class __shim_type_info : public std::type_info {
 public:
@@ -65,52 +62,6 @@ public:
 
 }
 
-struct __cxa_exception {
-#if defined(__LP64__) || LIBCXXABI_ARM_EHABI
-    // This is a new field to support C++ 0x exception_ptr.
-    // For binary compatibility it is at the start of this
-    // struct which is prepended to the object thrown in
-    // __cxa_allocate_exception.
-    size_t referenceCount;
-#endif
-
-    //  Manage the exception object itself.
-    std::type_info *exceptionType;
-    destructorFunction exceptionDestructor;
-    std::unexpected_handler unexpectedHandler;
-    std::terminate_handler  terminateHandler;
-
-    __cxa_exception *nextException;
-
-    int handlerCount;
-
-#if LIBCXXABI_ARM_EHABI
-    __cxa_exception* nextPropagatingException;
-    int propagationCount;
-#else
-    int handlerSwitchValue;
-    const unsigned char *actionRecord;
-    const unsigned char *languageSpecificData;
-    void *catchTemp;
-    void *adjustedPtr;
-#endif
-
-#if !defined(__LP64__) && !LIBCXXABI_ARM_EHABI
-    // This is a new field to support C++ 0x exception_ptr.
-    // For binary compatibility it is placed where the compiler
-    // previously adding padded to 64-bit align unwindHeader.
-    size_t referenceCount;
-#endif
-
-    _Unwind_Exception unwindHeader;
-};
-
-__cxa_exception *getCXAException(void *ptr) {
-    _Unwind_Exception* unwind_exception = static_cast<_Unwind_Exception*>(ptr);
-    void *data = unwind_exception + 1;
-    return static_cast<__cxa_exception*>(data) - 1;
-}
-
 extern "C"
 unsigned int sulong_eh_canCatch(void *ptr, std::type_info *excpType, std::type_info *catchType) {
     void *p = ptr;
@@ -124,79 +75,9 @@ unsigned int sulong_eh_canCatch(void *ptr, std::type_info *excpType, std::type_i
 }
 
 extern "C"
-void *sulong_eh_unwindHeader(void *ptr) {
-	__cxa_exception* eh = static_cast<__cxa_exception*>(ptr) - 1; // get the exception object, which is before the ptr to the thrown object
-	return &eh->unwindHeader;
-}
-
-extern "C"
-void *sulong_eh_getExceptionPointer(void *unwindHeader) {
-    _Unwind_Exception* unwind_exception = static_cast<_Unwind_Exception*>(unwindHeader);
-    return unwind_exception + 1;
-}
-
-extern "C"
-void *sulong_eh_getThrownObject(void *unwindHeader) {
-    _Unwind_Exception* unwind_exception = static_cast<_Unwind_Exception*>(unwindHeader);
-    void *data = unwind_exception + 1;
-    __cxa_exception *eh = static_cast<__cxa_exception*>(data) - 1;
-	std::type_info *exceptionType = eh->exceptionType;
-	if (dynamic_cast<__cxxabiv1::__pbase_type_info*>(exceptionType)) {
-		// TODO: why is this necessary?!
-		void **pData = static_cast<void**>(data);
-		return *pData;
-	} else {
-		return data;
-	}
-}
-
-extern "C"
-void sulong_eh_throw(void *ptr, std::type_info *type, destructorFunction destructor, void (*unexpectedHandler)(), void (*terminateHandler)()) {
-	// we fill the exception as usefull as possible for Sulong
-    __cxa_exception* eh = static_cast<__cxa_exception*>(ptr) - 1; // get the exception object, which is before the ptr to the thrown object
-    eh->unexpectedHandler = unexpectedHandler;
-    eh->terminateHandler  = terminateHandler;
-    eh->exceptionType = type;
-    eh->exceptionDestructor = destructor;
-    eh->unwindHeader.exception_class = 0x434C4E47432B2B00; // clangs exception class: "CLNGC++\0"
-    eh->referenceCount = 1;
-    eh->handlerCount = 0;
-}
-
-extern "C"
-destructorFunction sulong_eh_getDestructor(void *ptr) {
-    __cxa_exception* eh = getCXAException(ptr);
-    return eh->exceptionDestructor;
-}
-
-extern "C"
-void *sulong_eh_getType(void *ptr) {
-    __cxa_exception* eh = getCXAException(ptr);
-    return eh->exceptionType;
-}
-
-extern "C"
-void sulong_eh_incrementHandlerCount(void *ptr) {
-    __cxa_exception* eh = getCXAException(ptr);
-    eh->handlerCount++;
-}
-
-extern "C"
-void sulong_eh_decrementHandlerCount(void *ptr) {
-    __cxa_exception* eh = getCXAException(ptr);
-    eh->handlerCount--;
-}
-
-extern "C"
-int sulong_eh_getHandlerCount(void *ptr) {
-    __cxa_exception* eh = getCXAException(ptr);
-    return eh->handlerCount;
-}
-
-extern "C"
-void sulong_eh_setHandlerCount(void *ptr, int value) {
-    __cxa_exception* eh = getCXAException(ptr);
-    eh->handlerCount = value;
+unsigned int sulong_eh_isPointerType(std::type_info *type) {
+	// the thrown object of a pointer type holds the pointer, which __cxa_begin_catch has to return
+	return dynamic_cast<__cxxabiv1::__pbase_type_info*>(type) != NULL;
 }
 
 #else // LLVM_VERSION >= 308
@@ -208,58 +89,9 @@ unsigned int sulong_eh_canCatch(void *ptr, void *excpType, void *catchType) {
 }
 
 extern "C"
-void *sulong_eh_unwindHeader(void *ptr) {
-    fprintf(stderr, "Sulong exception handling not supported with LLVM v3.2; use LLVM v3.8 or higher.\n");
-    return (void*) 0;
-}
-
-extern "C"
-void *sulong_eh_getExceptionPointer(void *unwindHeader) {
-    fprintf(stderr, "Sulong exception handling not supported with LLVM v3.2; use LLVM v3.8 or higher.\n");
-    return (void*) 0;
-}
-
-extern "C"
-void *sulong_eh_getThrownObject(void *unwindHeader) {
-    fprintf(stderr, "Sulong exception handling not supported with LLVM v3.2; use LLVM v3.8 or higher.\n");
-    return (void*) 0;
-}
-
-extern "C"
-void sulong_eh_throw(void *ptr, void *type, void *destructor, void (*unexpectedHandler)(), void (*terminateHandler)()) {
-    fprintf(stderr, "Sulong exception handling not supported with LLVM v3.2; use LLVM v3.8 or higher.\n");
-}
-
-extern "C"
-void *sulong_eh_getDestructor(void *ptr) {
-    fprintf(stderr, "Sulong exception handling not supported with LLVM v3.2; use LLVM v3.8 or higher.\n");
-    return (void*) 0;
-}
-
-extern "C"
-void *sulong_eh_getType(void *ptr) {
-    fprintf(stderr, "Sulong exception handling not supported with LLVM v3.2; use LLVM v3.8 or higher.\n");
-    return (void*) 0;}
-
-extern "C"
-void sulong_eh_incrementHandlerCount(void *ptr) {
-    fprintf(stderr, "Sulong exception handling not supported with LLVM v3.2; use LLVM v3.8 or higher.\n");
-}
-
-extern "C"
-void sulong_eh_decrementHandlerCount(void *ptr) {
-    fprintf(stderr, "Sulong exception handling not supported with LLVM v3.2; use LLVM v3.8 or higher.\n");
-}
-
-extern "C"
-int sulong_eh_getHandlerCount(void *ptr) {
+unsigned int sulong_eh_isPointerType(void *type) {
     fprintf(stderr, "Sulong exception handling not supported with LLVM v3.2; use LLVM v3.8 or higher.\n");
     return 0;
 }
 
-extern "C"
-void sulong_eh_setHandlerCount(void *ptr, int value) {
-    fprintf(stderr, "Sulong exception handling not supported with LLVM v3.2; use LLVM v3.8 or higher.\n");
-}
-
 #endif // LLVM_VERSION >= 308
@@ -29,6 +29,9 @@
  */
 package com.oracle.truffle.llvm.nodes.asm.support;
 
+import java.util.Set;
+
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
 import com.oracle.truffle.api.frame.FrameSlot;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.nodes.Node;
@@ -36,9 +39,9 @@ import com.oracle.truffle.llvm.runtime.nodes.api.LLVMExpressionNode;
 
 public class LLVMAMD64UpdateFlagsNode extends Node {
     public static class LLVMAMD64UpdatePZSFlagsNode extends LLVMAMD64UpdateFlagsNode {
-        private final FrameSlot pf;
-        private final FrameSlot zf;
-        private final FrameSlot sf;
+        @CompilationFinal private FrameSlot pf;
+        @CompilationFinal private FrameSlot zf;
+        @CompilationFinal private FrameSlot sf;
 
         public LLVMAMD64UpdatePZSFlagsNode(FrameSlot pf, FrameSlot zf, FrameSlot sf) {
             this.pf = pf;
@@ -46,36 +49,49 @@ public class LLVMAMD64UpdateFlagsNode extends Node {
             this.sf = sf;
         }
 
+        @Override
+        public void removeUnreadFlags(Set<FrameSlot> readFlags) {
+            if (!readFlags.contains(pf)) {
+                pf = null;
+            }
+            if (!readFlags.contains(zf)) {
+                zf = null;
+            }
+            if (!readFlags.contains(sf)) {
+                sf = null;
+            }
+        }
+
         public void execute(VirtualFrame frame, byte value) {
-            frame.setBoolean(sf, value < 0);
-            frame.setBoolean(zf, value == 0);
-            frame.setBoolean(pf, getParity(value));
+            setFlag(frame, sf, value < 0);
+            setFlag(frame, zf, value == 0);
+            setParity(frame, pf, value);
         }
 
         public void execute(VirtualFrame frame, short value) {
-            frame.setBoolean(sf, value < 0);
-            frame.setBoolean(zf, value == 0);
-            frame.setBoolean(pf, getParity((byte) value));
+            setFlag(frame, sf, value < 0);
+            setFlag(frame, zf, value == 0);
+            setParity(frame, pf, (byte) value);
         }
 
         public void execute(VirtualFrame frame, int value) {
-            frame.setBoolean(sf, value < 0);
-            frame.setBoolean(zf, value == 0);
-            frame.setBoolean(pf, getParity((byte) value));
+            setFlag(frame, sf, value < 0);
+            setFlag(frame, zf, value == 0);
+            setParity(frame, pf, (byte) value);
         }
 
         public void execute(VirtualFrame frame, long value) {
-            frame.setBoolean(sf, value < 0);
-            frame.setBoolean(zf, value == 0);
-            frame.setBoolean(pf, getParity((byte) value));
+            setFlag(frame, sf, value < 0);
+            setFlag(frame, zf, value == 0);
+            setParity(frame, pf, (byte) value);
         }
     }
 
     public static class LLVMAMD64UpdatePZSOFlagsNode extends LLVMAMD64UpdateFlagsNode {
-        private final FrameSlot pf;
-        private final FrameSlot zf;
-        private final FrameSlot sf;
-        private final FrameSlot of;
+        @CompilationFinal private FrameSlot pf;
+        @CompilationFinal private FrameSlot zf;
+        @CompilationFinal private FrameSlot sf;
+        @CompilationFinal private FrameSlot of;
 
         public LLVMAMD64UpdatePZSOFlagsNode(FrameSlot pf, FrameSlot zf, FrameSlot sf, FrameSlot of) {
             this.pf = pf;
@@ -84,41 +100,57 @@ public class LLVMAMD64UpdateFlagsNode extends Node {
             this.of = of;
         }
 
+        @Override
+        public void removeUnreadFlags(Set<FrameSlot> readFlags) {
+            if (!readFlags.contains(pf)) {
+                pf = null;
+            }
+            if (!readFlags.contains(zf)) {
+                zf = null;
+            }
+            if (!readFlags.contains(sf)) {
+                sf = null;
+            }
+            if (!readFlags.contains(of)) {
+                of = null;
+            }
+        }
+
         public void execute(VirtualFrame frame, boolean overflow, byte value) {
-            frame.setBoolean(of, overflow);
-            frame.setBoolean(sf, value < 0);
-            frame.setBoolean(zf, value == 0);
-            frame.setBoolean(pf, getParity(value));
+            setFlag(frame, of, overflow);
+            setFlag(frame, sf, value < 0);
+            setFlag(frame, zf, value == 0);
+            setParity(frame, pf, value);
         }
 
         public void execute(VirtualFrame frame, boolean overflow, short value) {
-            frame.setBoolean(of, overflow);
-            frame.setBoolean(sf, value < 0);
-            frame.setBoolean(zf, value == 0);
-            frame.setBoolean(pf, getParity((byte) value));
+            setFlag(frame, of, overflow);
+            setFlag(frame, sf, value < 0);
+            setFlag(frame, zf, value == 0);
+            setParity(frame, pf, (byte) value);
         }
 
         public void execute(VirtualFrame frame, boolean overflow, int value) {
-            frame.setBoolean(of, overflow);
-            frame.setBoolean(sf, value < 0);
-            frame.setBoolean(zf, value == 0);
-            frame.setBoolean(pf, getParity((byte) value));
+            setFlag(frame, of, overflow);
+            setFlag(frame, sf, value < 0);
+            setFlag(frame, zf, value == 0);
+            setParity(frame, pf, (byte) value);
         }
 
         public void execute(VirtualFrame frame, boolean overflow, long value) {
-            frame.setBoolean(of, overflow);
-            frame.setBoolean(sf, value < 0);
-            frame.setBoolean(zf, value == 0);
-            frame.setBoolean(pf, getParity((byte) value));
+            setFlag(frame, of, overflow);
+            setFlag(frame, sf, value < 0);
+            setFlag(frame, zf, value == 0);
+            setParity(frame, pf, (byte) value);
         }
     }
 
     public static class LLVMAMD64UpdateCPZSOFlagsNode extends LLVMAMD64UpdateFlagsNode {
-        private final FrameSlot cf;
-        private final FrameSlot pf;
-        private final FrameSlot zf;
-        private final FrameSlot sf;
-        private final FrameSlot of;
+        @CompilationFinal private FrameSlot cf;
+        @CompilationFinal private FrameSlot pf;
+        @CompilationFinal private FrameSlot zf;
+        @CompilationFinal private FrameSlot sf;
+        @CompilationFinal private FrameSlot of;
 
         public LLVMAMD64UpdateCPZSOFlagsNode(FrameSlot cf, FrameSlot pf, FrameSlot zf, FrameSlot sf, FrameSlot of) {
             this.cf = cf;
@@ -128,46 +160,65 @@ public class LLVMAMD64UpdateFlagsNode extends Node {
             this.of = of;
         }
 
+        @Override
+        public void removeUnreadFlags(Set<FrameSlot> readFlags) {
+            if (!readFlags.contains(cf)) {
+                cf = null;
+            }
+            if (!readFlags.contains(pf)) {
+                pf = null;
+            }
+            if (!readFlags.contains(zf)) {
+                zf = null;
+            }
+            if (!readFlags.contains(sf)) {
+                sf = null;
+            }
+            if (!readFlags.contains(of)) {
+                of = null;
+            }
+        }
+
         public void execute(VirtualFrame frame, boolean overflow, boolean carry, byte value) {
-            frame.setBoolean(of, overflow);
-            frame.setBoolean(cf, carry);
-            frame.setBoolean(sf, value < 0);
-            frame.setBoolean(zf, value == 0);
-            frame.setBoolean(pf, getParity(value));
+            setFlag(frame, of, overflow);
+            setFlag(frame, cf, carry);
+            setFlag(frame, sf, value < 0);
+            setFlag(frame, zf, value == 0);
+            setParity(frame, pf, value);
         }
 
         public void execute(VirtualFrame frame, boolean overflow, boolean carry, short value) {
-            frame.setBoolean(of, overflow);
-            frame.setBoolean(cf, carry);
-            frame.setBoolean(sf, value < 0);
-            frame.setBoolean(zf, value == 0);
-            frame.setBoolean(pf, getParity((byte) value));
+            setFlag(frame, of, overflow);
+            setFlag(frame, cf, carry);
+            setFlag(frame, sf, value < 0);
+            setFlag(frame, zf, value == 0);
+            setParity(frame, pf, (byte) value);
         }
 
         public void execute(VirtualFrame frame, boolean overflow, boolean carry, int value) {
-            frame.setBoolean(of, overflow);
-            frame.setBoolean(cf, carry);
-            frame.setBoolean(sf, value < 0);
-            frame.setBoolean(zf, value == 0);
-            frame.setBoolean(pf, getParity((byte) value));
+            setFlag(frame, of, overflow);
+            setFlag(frame, cf, carry);
+            setFlag(frame, sf, value < 0);
+            setFlag(frame, zf, value == 0);
+            setParity(frame, pf, (byte) value);
         }
 
         public void execute(VirtualFrame frame, boolean overflow, boolean carry, long value) {
-            frame.setBoolean(of, overflow);
-            frame.setBoolean(cf, carry);
-            frame.setBoolean(sf, value < 0);
-            frame.setBoolean(zf, value == 0);
-            frame.setBoolean(pf, getParity((byte) value));
+            setFlag(frame, of, overflow);
+            setFlag(frame, cf, carry);
+            setFlag(frame, sf, value < 0);
+            setFlag(frame, zf, value == 0);
+            setParity(frame, pf, (byte) value);
         }
     }
 
     public static class LLVMAMD64UpdateCPAZSOFlagsNode extends LLVMAMD64UpdateFlagsNode {
-        private final FrameSlot cf;
-        private final FrameSlot pf;
-        private final FrameSlot af;
-        private final FrameSlot zf;
-        private final FrameSlot sf;
-        private final FrameSlot of;
+        @CompilationFinal private FrameSlot cf;
+        @CompilationFinal private FrameSlot pf;
+        @CompilationFinal private FrameSlot af;
+        @CompilationFinal private FrameSlot zf;
+        @CompilationFinal private FrameSlot sf;
+        @CompilationFinal private FrameSlot of;
 
         public LLVMAMD64UpdateCPAZSOFlagsNode(FrameSlot cf, FrameSlot pf, FrameSlot af, FrameSlot zf, FrameSlot sf, FrameSlot of) {
             this.cf = cf;
@@ -178,40 +229,82 @@ public class LLVMAMD64UpdateFlagsNode extends Node {
             this.of = of;
         }
 
+        @Override
+        public void removeUnreadFlags(Set<FrameSlot> readFlags) {
+            if (!readFlags.contains(cf)) {
+                cf = null;
+            }
+            if (!readFlags.contains(pf)) {
+                pf = null;
+            }
+            if (!readFlags.contains(af)) {
+                af = null;
+            }
+            if (!readFlags.contains(zf)) {
+                zf = null;
+            }
+            if (!readFlags.contains(sf)) {
+                sf = null;
+            }
+            if (!readFlags.contains(of)) {
+                of = null;
+            }
+        }
+
         public void execute(VirtualFrame frame, boolean overflow, boolean carry, boolean adjust, byte value) {
-            frame.setBoolean(of, overflow);
-            frame.setBoolean(cf, carry);
-            frame.setBoolean(af, adjust);
-            frame.setBoolean(sf, value < 0);
-            frame.setBoolean(zf, value == 0);
-            frame.setBoolean(pf, getParity(value));
+            setFlag(frame, of, overflow);
+            setFlag(frame, cf, carry);
+            setFlag(frame, af, adjust);
+            setFlag(frame, sf, value < 0);
+            setFlag(frame, zf, value == 0);
+            setParity(frame, pf, value);
         }
 
         public void execute(VirtualFrame frame, boolean overflow, boolean carry, boolean adjust, short value) {
-            frame.setBoolean(of, overflow);
-            frame.setBoolean(cf, carry);
-            frame.setBoolean(af, adjust);
-            frame.setBoolean(sf, value < 0);
-            frame.setBoolean(zf, value == 0);
-            frame.setBoolean(pf, getParity((byte) value));
+            setFlag(frame, of, overflow);
+            setFlag(frame, cf, carry);
+            setFlag(frame, af, adjust);
+            setFlag(frame, sf, value < 0);
+            setFlag(frame, zf, value == 0);
+            setParity(frame, pf, (byte) value);
         }
 
         public void execute(VirtualFrame frame, boolean overflow, boolean carry, boolean adjust, int value) {
-            frame.setBoolean(of, overflow);
-            frame.setBoolean(cf, carry);
-            frame.setBoolean(af, adjust);
-            frame.setBoolean(sf, value < 0);
-            frame.setBoolean(zf, value == 0);
-            frame.setBoolean(pf, getParity((byte) value));
+            setFlag(frame, of, overflow);
+            setFlag(frame, cf, carry);
+            setFlag(frame, af, adjust);
+            setFlag(frame, sf, value < 0);
+            setFlag(frame, zf, value == 0);
+            setParity(frame, pf, (byte) value);
         }
 
         public void execute(VirtualFrame frame, boolean overflow, boolean carry, boolean adjust, long value) {
-            frame.setBoolean(of, overflow);
-            frame.setBoolean(cf, carry);
-            frame.setBoolean(af, adjust);
-            frame.setBoolean(sf, value < 0);
-            frame.setBoolean(zf, value == 0);
-            frame.setBoolean(pf, getParity((byte) value));
+            setFlag(frame, of, overflow);
+            setFlag(frame, cf, carry);
+            setFlag(frame, af, adjust);
+            setFlag(frame, sf, value < 0);
+            setFlag(frame, zf, value == 0);
+            setParity(frame, pf, (byte) value);
+        }
+    }
+
+    /**
+     * Flags are only observable by the instructions of the same inline assembly snippet. Once the
+     * snippet is parsed, the slots of all flags that are never read are cleared, so that their
+     * computation is skipped.
+     */
+    public void removeUnreadFlags(@SuppressWarnings("unused") Set<FrameSlot> readFlags) {
+    }
+
+    protected static void setFlag(VirtualFrame frame, FrameSlot slot, boolean value) {
+        if (slot != null) {
+            frame.setBoolean(slot, value);
+        }
+    }
+
+    protected static void setParity(VirtualFrame frame, FrameSlot slot, byte value) {
+        if (slot != null) {
+            frame.setBoolean(slot, getParity(value));
         }
     }
 
@@ -29,12 +29,15 @@
  */
 package com.oracle.truffle.llvm.nodes.asm.support;
 
+import java.util.Set;
+
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
 import com.oracle.truffle.api.frame.FrameSlot;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.nodes.Node;
 
 public class LLVMAMD64WriteBooleanNode extends Node {
-    private final FrameSlot slot;
+    @CompilationFinal private FrameSlot slot;
 
     public LLVMAMD64WriteBooleanNode(FrameSlot slot) {
         this.slot = slot;
@@ -44,7 +47,18 @@ public class LLVMAMD64WriteBooleanNode extends Node {
         return slot;
     }
 
+    /**
+     * @see LLVMAMD64UpdateFlagsNode#removeUnreadFlags(Set)
+     */
+    public void removeUnreadFlags(Set<FrameSlot> readFlags) {
+        if (!readFlags.contains(slot)) {
+            slot = null;
+        }
+    }
+
     public void execute(VirtualFrame frame, boolean value) {
-        frame.setBoolean(slot, value);
+        if (slot != null) {
+            frame.setBoolean(slot, value);
+        }
     }
 }
@@ -48,6 +48,9 @@ public class LLVMAMD64Syscall {
     public static final int SYS_writev = 20;
     public static final int SYS_access = 21;
     public static final int SYS_pipe = 22;
+    public static final int SYS_mremap = 25;
+    public static final int SYS_msync = 26;
+    public static final int SYS_madvise = 28;
     public static final int SYS_dup = 32;
     public static final int SYS_dup2 = 33;
     public static final int SYS_getpid = 39;
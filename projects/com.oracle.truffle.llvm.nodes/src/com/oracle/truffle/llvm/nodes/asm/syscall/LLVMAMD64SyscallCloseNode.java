@@ -29,8 +29,11 @@
  */
 package com.oracle.truffle.llvm.nodes.asm.syscall;
 
+import java.io.IOException;
+
 import com.oracle.truffle.llvm.nodes.asm.syscall.posix.LLVMAMD64PosixCallNode;
 import com.oracle.truffle.llvm.nodes.asm.syscall.posix.LLVMAMD64PosixCallNodeGen;
+import com.oracle.truffle.llvm.runtime.LLVMVirtualFileDescriptors;
 
 public class LLVMAMD64SyscallCloseNode extends LLVMAMD64SyscallOperationNode {
     @Child private LLVMAMD64PosixCallNode close;
@@ -43,6 +46,14 @@ public class LLVMAMD64SyscallCloseNode extends LLVMAMD64SyscallOperationNode {
     @Override
     public long execute(Object rdi, Object rsi, Object rdx, Object r10, Object r8, Object r9) {
         int fd = (int) ((long) rdi);
+        LLVMVirtualFileDescriptors virtualFileDescriptors = getVirtualFileDescriptors(fd);
+        if (virtualFileDescriptors != null) {
+            try {
+                virtualFileDescriptors.detach(fd);
+            } catch (IOException e) {
+                return -LLVMAMD64Error.EIO;
+            }
+        }
         return (int) close.execute(fd);
     }
 }
@@ -29,8 +29,11 @@
  */
 package com.oracle.truffle.llvm.nodes.asm.syscall;
 
+import java.io.IOException;
+
 import com.oracle.truffle.llvm.nodes.asm.syscall.posix.LLVMAMD64PosixCallNode;
 import com.oracle.truffle.llvm.nodes.asm.syscall.posix.LLVMAMD64PosixCallNodeGen;
+import com.oracle.truffle.llvm.runtime.LLVMVirtualFileDescriptors;
 
 public class LLVMAMD64SyscallDup2Node extends LLVMAMD64SyscallOperationNode {
     @Child private LLVMAMD64PosixCallNode dup2;
@@ -44,6 +47,14 @@ public class LLVMAMD64SyscallDup2Node extends LLVMAMD64SyscallOperationNode {
     public long execute(Object rdi, Object rsi, Object rdx, Object r10, Object r8, Object r9) {
         int fd = (int) ((long) rdi);
         int fd2 = (int) ((long) rsi);
+        LLVMVirtualFileDescriptors virtualFileDescriptors = getVirtualFileDescriptors(fd2);
+        if (virtualFileDescriptors != null && fd != fd2) {
+            try {
+                virtualFileDescriptors.detach(fd2);
+            } catch (IOException e) {
+                return -LLVMAMD64Error.EIO;
+            }
+        }
         return (int) dup2.execute(fd, fd2);
     }
 }
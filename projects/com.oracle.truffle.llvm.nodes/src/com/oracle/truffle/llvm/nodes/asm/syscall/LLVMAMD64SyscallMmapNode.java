@@ -29,32 +29,31 @@
  */
 package com.oracle.truffle.llvm.nodes.asm.syscall;
 
-import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Specialization;
-import com.oracle.truffle.api.profiles.ConditionProfile;
+import com.oracle.truffle.llvm.nodes.asm.syscall.posix.LLVMAMD64PosixCallNode;
+import com.oracle.truffle.llvm.nodes.asm.syscall.posix.LLVMAMD64PosixCallNodeGen;
 import com.oracle.truffle.llvm.runtime.LLVMAddress;
-import com.oracle.truffle.llvm.runtime.memory.LLVMMemory;
 
 public abstract class LLVMAMD64SyscallMmapNode extends LLVMAMD64SyscallOperationNode {
+    @Child private LLVMAMD64PosixCallNode mmap;
+
     public LLVMAMD64SyscallMmapNode() {
         super("mmap");
+        mmap = LLVMAMD64PosixCallNodeGen.create("mmap", "(POINTER,UINT64,SINT32,SINT32,SINT32,SINT64):SINT64", 6);
     }
 
-    private final ConditionProfile mapAnonymousProfile = ConditionProfile.createCountingProfile();
-
-    @SuppressWarnings("unused")
+    /*
+     * Both anonymous and file-backed mappings are created by the kernel: they are page aligned,
+     * anonymous mappings are zero filled and munmap/mremap can release them without any
+     * bookkeeping on our side.
+     */
     @Specialization
-    protected long doOp(LLVMAddress addr, long len, long prot, long flags, long fildes, long off,
-                    @Cached("getLLVMMemory()") LLVMMemory memory) {
-        if (mapAnonymousProfile.profile((flags & LLVMAMD64Memory.MAP_ANONYMOUS) != 0)) {
-            LLVMAddress ptr = memory.allocateMemory(len);
-            return ptr.getVal();
-        }
-        return -LLVMAMD64Error.ENOMEM;
+    protected long doOp(LLVMAddress addr, long len, long prot, long flags, long fildes, long off) {
+        return (long) mmap.execute(addr.getVal(), len, (int) prot, (int) flags, (int) fildes, off);
     }
 
     @Specialization
     protected long doOp(long addr, long len, long prot, long flags, long fildes, long off) {
-        return execute(LLVMAddress.fromLong(addr), len, prot, flags, fildes, off);
+        return doOp(LLVMAddress.fromLong(addr), len, prot, flags, fildes, off);
     }
 }
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.nodes.asm.syscall;
+
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.llvm.nodes.asm.syscall.posix.LLVMAMD64PosixCallNode;
+import com.oracle.truffle.llvm.nodes.asm.syscall.posix.LLVMAMD64PosixCallNodeGen;
+import com.oracle.truffle.llvm.runtime.LLVMAddress;
+
+public abstract class LLVMAMD64SyscallMremapNode extends LLVMAMD64SyscallOperationNode {
+    @Child private LLVMAMD64PosixCallNode mremap;
+
+    public LLVMAMD64SyscallMremapNode() {
+        super("mremap");
+        mremap = LLVMAMD64PosixCallNodeGen.create("mremap", "(POINTER,UINT64,UINT64,SINT32,POINTER):SINT64", 5);
+    }
+
+    @Specialization
+    protected long doOp(LLVMAddress oldAddress, long oldSize, long newSize, long flags, LLVMAddress newAddress) {
+        return (long) mremap.execute(oldAddress.getVal(), oldSize, newSize, (int) flags, newAddress.getVal());
+    }
+
+    @Specialization
+    protected long doOp(LLVMAddress oldAddress, long oldSize, long newSize, long flags, long newAddress) {
+        return doOp(oldAddress, oldSize, newSize, flags, LLVMAddress.fromLong(newAddress));
+    }
+
+    @Specialization
+    protected long doOp(long oldAddress, long oldSize, long newSize, long flags, long newAddress) {
+        return doOp(LLVMAddress.fromLong(oldAddress), oldSize, newSize, flags, LLVMAddress.fromLong(newAddress));
+    }
+}
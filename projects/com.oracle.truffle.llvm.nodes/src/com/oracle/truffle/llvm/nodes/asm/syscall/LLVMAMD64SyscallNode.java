@@ -70,6 +70,8 @@ public abstract class LLVMAMD64SyscallNode extends LLVMExpressionNode {
                 return new LLVMAMD64SyscallLseekNode();
             case LLVMAMD64Syscall.SYS_mmap:
                 return LLVMAMD64SyscallMmapNodeGen.create();
+            case LLVMAMD64Syscall.SYS_munmap:
+                return LLVMAMD64SyscallMunmapNodeGen.create();
             case LLVMAMD64Syscall.SYS_brk:
                 return LLVMAMD64SyscallBrkNodeGen.create();
             case LLVMAMD64Syscall.SYS_rt_sigaction:
@@ -86,6 +88,12 @@ public abstract class LLVMAMD64SyscallNode extends LLVMExpressionNode {
                 return LLVMAMD64SyscallAccessNodeGen.create();
             case LLVMAMD64Syscall.SYS_pipe:
                 return LLVMAMD64SyscallPipeNodeGen.create();
+            case LLVMAMD64Syscall.SYS_mremap:
+                return LLVMAMD64SyscallMremapNodeGen.create();
+            case LLVMAMD64Syscall.SYS_msync:
+                return LLVMAMD64SyscallMsyncNodeGen.create();
+            case LLVMAMD64Syscall.SYS_madvise:
+                return LLVMAMD64SyscallMadviseNodeGen.create();
             case LLVMAMD64Syscall.SYS_dup:
                 return new LLVMAMD64SyscallDupNode();
             case LLVMAMD64Syscall.SYS_dup2:
@@ -29,6 +29,7 @@
  */
 package com.oracle.truffle.llvm.nodes.asm.syscall;
 
+import com.oracle.truffle.llvm.runtime.LLVMVirtualFileDescriptors;
 import com.oracle.truffle.llvm.runtime.nodes.api.LLVMNode;
 
 public abstract class LLVMAMD64SyscallOperationNode extends LLVMNode {
@@ -43,4 +44,19 @@ public abstract class LLVMAMD64SyscallOperationNode extends LLVMNode {
     public final String getName() {
         return name;
     }
+
+    /**
+     * Returns the Java-side file descriptor table if it is enabled and serves {@code fd}, or
+     * {@code null} if the syscall has to be performed natively.
+     */
+    protected final LLVMVirtualFileDescriptors getVirtualFileDescriptors(long fd) {
+        if (!LLVMVirtualFileDescriptors.isVirtual(fd)) {
+            return null;
+        }
+        LLVMVirtualFileDescriptors virtualFileDescriptors = getContextReference().get().getVirtualFileDescriptors();
+        if (virtualFileDescriptors == null || !virtualFileDescriptors.serves(fd)) {
+            return null;
+        }
+        return virtualFileDescriptors;
+    }
 }
@@ -29,10 +29,15 @@
  */
 package com.oracle.truffle.llvm.nodes.asm.syscall;
 
+import java.io.IOException;
+
+import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.llvm.nodes.asm.syscall.posix.LLVMAMD64PosixCallNode;
 import com.oracle.truffle.llvm.nodes.asm.syscall.posix.LLVMAMD64PosixCallNodeGen;
 import com.oracle.truffle.llvm.runtime.LLVMAddress;
+import com.oracle.truffle.llvm.runtime.LLVMVirtualFileDescriptors;
+import com.oracle.truffle.llvm.runtime.memory.LLVMMemory;
 
 public abstract class LLVMAMD64SyscallWritevNode extends LLVMAMD64SyscallOperationNode {
     @Child private LLVMAMD64PosixCallNode writev;
@@ -43,12 +48,22 @@ public abstract class LLVMAMD64SyscallWritevNode extends LLVMAMD64SyscallOperati
     }
 
     @Specialization
-    protected long doOp(long fd, LLVMAddress ptr, long size) {
+    protected long doOp(long fd, LLVMAddress ptr, long size,
+                    @Cached("getLLVMMemory()") LLVMMemory memory) {
+        LLVMVirtualFileDescriptors virtualFileDescriptors = getVirtualFileDescriptors(fd);
+        if (virtualFileDescriptors != null) {
+            try {
+                return virtualFileDescriptors.writev(memory, (int) fd, ptr.getVal(), size);
+            } catch (IOException e) {
+                return -LLVMAMD64Error.EIO;
+            }
+        }
         return (long) writev.execute((int) fd, ptr.getVal(), size);
     }
 
     @Specialization
-    protected long doOp(long fd, long ptr, long size) {
-        return doOp(fd, LLVMAddress.fromLong(ptr), size);
+    protected long doOp(long fd, long ptr, long size,
+                    @Cached("getLLVMMemory()") LLVMMemory memory) {
+        return doOp(fd, LLVMAddress.fromLong(ptr), size, memory);
     }
 }
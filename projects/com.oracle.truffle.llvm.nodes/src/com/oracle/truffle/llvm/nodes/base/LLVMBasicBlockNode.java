@@ -230,6 +230,34 @@ public class LLVMBasicBlockNode extends LLVMExpressionNode {
         return successorBranchProbability;
     }
 
+    /**
+     * Gets the probability that a successor in the range [first, split] is taken, given that the
+     * taken successor lies in the range [first, last].
+     *
+     * @return the probability between 0 and 1
+     */
+    @ExplodeLoop
+    public double getBranchProbability(int first, int split, int last) {
+        assert termInstruction.needsBranchProfiling();
+        assert first <= split && split <= last;
+
+        // as above, every element is read only once
+        long lowerCount = 0;
+        long totalCount = 0;
+        for (int i = first; i <= last; i++) {
+            long v = successorExecutionCount[i];
+            if (i <= split) {
+                lowerCount += v;
+            }
+            totalCount += v;
+        }
+        if (lowerCount == 0) {
+            return 0;
+        }
+        assert totalCount > 0;
+        return (double) lowerCount / totalCount;
+    }
+
     public void increaseBranchProbability(int successorIndex) {
         CompilerAsserts.neverPartOfCompilation();
         if (termInstruction.needsBranchProfiling()) {
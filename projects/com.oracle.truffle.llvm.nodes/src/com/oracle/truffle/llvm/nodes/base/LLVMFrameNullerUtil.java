@@ -52,6 +52,22 @@ import com.oracle.truffle.llvm.runtime.vector.LLVMI64Vector;
 import com.oracle.truffle.llvm.runtime.vector.LLVMI8Vector;
 
 public final class LLVMFrameNullerUtil {
+
+    /*
+     * The values below are immutable, so a single instance can be shared by all frames instead of
+     * allocating a fresh one on every function entry and every nulled slot.
+     */
+    private static final LLVMIVarBit NULL_IVAR_BIT = LLVMIVarBit.createNull();
+    private static final LLVM80BitFloat NULL_80_BIT_FLOAT = new LLVM80BitFloat(false, 0, 0);
+    private static final LLVMAddressVector NULL_ADDRESS_VECTOR = LLVMAddressVector.createNullVector();
+    private static final LLVMDoubleVector NULL_DOUBLE_VECTOR = LLVMDoubleVector.create(null);
+    private static final LLVMFloatVector NULL_FLOAT_VECTOR = LLVMFloatVector.create(null);
+    private static final LLVMI1Vector NULL_I1_VECTOR = LLVMI1Vector.create(null);
+    private static final LLVMI8Vector NULL_I8_VECTOR = LLVMI8Vector.create(null);
+    private static final LLVMI16Vector NULL_I16_VECTOR = LLVMI16Vector.create(null);
+    private static final LLVMI32Vector NULL_I32_VECTOR = LLVMI32Vector.create(null);
+    private static final LLVMI64Vector NULL_I64_VECTOR = LLVMI64Vector.create(null);
+
     private LLVMFrameNullerUtil() {
     }
 
@@ -88,11 +104,11 @@ public final class LLVMFrameNullerUtil {
     }
 
     public static void nullIVarBit(VirtualFrame frame, FrameSlot frameSlot) {
-        frame.setObject(frameSlot, LLVMIVarBit.createNull());
+        frame.setObject(frameSlot, NULL_IVAR_BIT);
     }
 
     public static void null80BitFloat(VirtualFrame frame, FrameSlot frameSlot) {
-        frame.setObject(frameSlot, new LLVM80BitFloat(false, 0, 0));
+        frame.setObject(frameSlot, NULL_80_BIT_FLOAT);
     }
 
     public static void nullFunction(VirtualFrame frame, FrameSlot frameSlot) {
@@ -137,7 +153,7 @@ public final class LLVMFrameNullerUtil {
                     } else if (type instanceof VectorType && ((VectorType) type).getElementType() instanceof PrimitiveType) {
                         nullVector(frame, frameSlot, ((PrimitiveType) ((VectorType) type).getElementType()).getPrimitiveKind());
                     } else if (type instanceof VectorType && ((VectorType) type).getElementType() instanceof PointerType) {
-                        frame.setObject(frameSlot, LLVMAddressVector.createNullVector());
+                        frame.setObject(frameSlot, NULL_ADDRESS_VECTOR);
                     } else if (type instanceof VariableBitWidthType) {
                         nullIVarBit(frame, frameSlot);
                     } else if (type instanceof PrimitiveType && ((PrimitiveType) type).getPrimitiveKind() == PrimitiveKind.X86_FP80) {
@@ -161,25 +177,25 @@ public final class LLVMFrameNullerUtil {
         CompilerAsserts.partialEvaluationConstant(elementType);
         switch (elementType) {
             case DOUBLE:
-                frame.setObject(frameSlot, LLVMDoubleVector.create(null));
+                frame.setObject(frameSlot, NULL_DOUBLE_VECTOR);
                 break;
             case FLOAT:
-                frame.setObject(frameSlot, LLVMFloatVector.create(null));
+                frame.setObject(frameSlot, NULL_FLOAT_VECTOR);
                 break;
             case I1:
-                frame.setObject(frameSlot, LLVMI1Vector.create(null));
+                frame.setObject(frameSlot, NULL_I1_VECTOR);
                 break;
             case I16:
-                frame.setObject(frameSlot, LLVMI16Vector.create(null));
+                frame.setObject(frameSlot, NULL_I16_VECTOR);
                 break;
             case I32:
-                frame.setObject(frameSlot, LLVMI32Vector.create(null));
+                frame.setObject(frameSlot, NULL_I32_VECTOR);
                 break;
             case I64:
-                frame.setObject(frameSlot, LLVMI64Vector.create(null));
+                frame.setObject(frameSlot, NULL_I64_VECTOR);
                 break;
             case I8:
-                frame.setObject(frameSlot, LLVMI8Vector.create(null));
+                frame.setObject(frameSlot, NULL_I8_VECTOR);
                 break;
             default:
                 CompilerDirectives.transferToInterpreter();
@@ -112,8 +112,44 @@ public final class LLVMDispatchBasicBlockNode extends LLVMExpressionNode {
                 }
             } else if (controlFlowNode instanceof LLVMSwitchNode) {
                 LLVMSwitchNode switchNode = (LLVMSwitchNode) controlFlowNode;
-                Object condition = switchNode.executeCondition(frame);
                 int[] successors = switchNode.getSuccessors();
+                if (switchNode.hasConstantCases()) {
+                    int caseIndex = switchNode.executeCaseIndex(frame);
+                    if (CompilerDirectives.inInterpreter()) {
+                        // the interpreter can dispatch to the successor directly
+                        bb.increaseBranchProbability(caseIndex);
+                        if (successors[caseIndex] <= basicBlockIndex) {
+                            backEdgeCounter++;
+                        }
+                        executePhis(frame, switchNode, caseIndex);
+                        nullDeadSlots(frame, basicBlockIndex, afterBlockNuller);
+                        basicBlockIndex = successors[caseIndex];
+                        nullDeadSlots(frame, basicBlockIndex, beforeBlockNuller);
+                        continue outer;
+                    }
+                    /*
+                     * Compiled code needs a constant successor index, so it bisects the range of
+                     * case indices. Each path through this loop ends with low == high, which
+                     * makes a switch with n cases cost log(n) int comparisons.
+                     */
+                    int low = 0;
+                    int high = successors.length - 1;
+                    while (low < high) {
+                        int mid = (low + high) >>> 1;
+                        if (CompilerDirectives.injectBranchProbability(bb.getBranchProbability(low, mid, high), caseIndex <= mid)) {
+                            high = mid;
+                        } else {
+                            low = mid + 1;
+                        }
+                    }
+                    executePhis(frame, switchNode, low);
+                    nullDeadSlots(frame, basicBlockIndex, afterBlockNuller);
+                    basicBlockIndex = successors[low];
+                    nullDeadSlots(frame, basicBlockIndex, beforeBlockNuller);
+                    continue outer;
+                }
+
+                Object condition = switchNode.executeCondition(frame);
                 for (int i = 0; i < successors.length - 1; i++) {
                     Object caseValue = switchNode.getCase(i).executeGeneric(frame);
                     assert caseValue.getClass() == condition.getClass() : "must be the same type - otherwise equals might wrongly return false";
@@ -29,6 +29,9 @@
  */
 package com.oracle.truffle.llvm.nodes.control;
 
+import java.util.Arrays;
+
+import com.oracle.truffle.api.CompilerAsserts;
 import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.instrumentation.Instrumentable;
@@ -51,6 +54,19 @@ public abstract class LLVMSwitchNode extends LLVMControlFlowNode {
 
     public abstract LLVMExpressionNode getCase(int i);
 
+    /**
+     * Switches whose cases are all integer constants can compute the index of the taken successor
+     * directly (see {@link #executeCaseIndex}) instead of evaluating and comparing every case.
+     */
+    public boolean hasConstantCases() {
+        return false;
+    }
+
+    public int executeCaseIndex(@SuppressWarnings("unused") VirtualFrame frame) {
+        CompilerAsserts.neverPartOfCompilation();
+        throw new IllegalStateException("switch does not have constant cases");
+    }
+
     public static class LLVMSwitchNodeImpl extends LLVMSwitchNode {
         @Children private final LLVMExpressionNode[] phiNodes;
         @Child protected LLVMExpressionNode cond;
@@ -93,4 +109,191 @@ public abstract class LLVMSwitchNode extends LLVMControlFlowNode {
             return cases[i];
         }
     }
+
+    /**
+     * A switch over an integer condition with constant case values. Dense case ranges are
+     * dispatched through a jump table, all others through a binary search over the sorted case
+     * values. The returned case index refers to the original order of the cases, so that branch
+     * profiles and phis stay attached to the correct successor.
+     */
+    public abstract static class LLVMConstantCaseSwitchNode extends LLVMSwitchNode {
+
+        private static final int MIN_JUMP_TABLE_CASES = 4;
+        private static final int MAX_JUMP_TABLE_SIZE = 1 << 16;
+        private static final int MAX_JUMP_TABLE_SPARSENESS = 4;
+
+        @Children private final LLVMExpressionNode[] phiNodes;
+        @Child protected LLVMExpressionNode cond;
+        @CompilationFinal(dimensions = 1) private final int[] successors;
+        @CompilationFinal(dimensions = 1) private final long[] sortedValues;
+        @CompilationFinal(dimensions = 1) private final int[] sortedCaseIndices;
+        @CompilationFinal(dimensions = 1) private final int[] jumpTable;
+        private final long minValue;
+        private final int defaultIndex;
+
+        public LLVMConstantCaseSwitchNode(int[] successors, LLVMExpressionNode[] phiNodes, LLVMExpressionNode cond, long[] caseValues, SourceSection sourceSection) {
+            super(sourceSection);
+            assert successors.length == caseValues.length + 1 : "the last entry of the successors array must be the default case";
+            this.successors = successors;
+            this.phiNodes = phiNodes;
+            this.cond = cond;
+            this.defaultIndex = caseValues.length;
+
+            Integer[] order = new Integer[caseValues.length];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Long.compare(caseValues[a], caseValues[b]));
+            this.sortedValues = new long[order.length];
+            this.sortedCaseIndices = new int[order.length];
+            for (int i = 0; i < order.length; i++) {
+                sortedValues[i] = caseValues[order[i]];
+                sortedCaseIndices[i] = order[i];
+            }
+
+            this.minValue = order.length == 0 ? 0 : sortedValues[0];
+            this.jumpTable = createJumpTable(sortedValues, sortedCaseIndices, defaultIndex);
+        }
+
+        private static int[] createJumpTable(long[] values, int[] caseIndices, int defaultIndex) {
+            if (values.length < MIN_JUMP_TABLE_CASES) {
+                return null;
+            }
+            long min = values[0];
+            long max = values[values.length - 1];
+            if (max - min < 0 || max - min >= MAX_JUMP_TABLE_SIZE || max - min >= (long) values.length * MAX_JUMP_TABLE_SPARSENESS) {
+                // the range overflows or is too sparse
+                return null;
+            }
+            int[] table = new int[(int) (max - min) + 1];
+            Arrays.fill(table, defaultIndex);
+            for (int i = values.length - 1; i >= 0; i--) {
+                table[(int) (values[i] - min)] = caseIndices[i];
+            }
+            return table;
+        }
+
+        protected abstract long executeConditionValue(VirtualFrame frame);
+
+        @Override
+        public Object executeCondition(VirtualFrame frame) {
+            return cond.executeGeneric(frame);
+        }
+
+        @Override
+        public boolean hasConstantCases() {
+            return true;
+        }
+
+        @Override
+        public int executeCaseIndex(VirtualFrame frame) {
+            long value = executeConditionValue(frame);
+            if (jumpTable != null) {
+                long offset = value - minValue;
+                if (Long.compareUnsigned(offset, jumpTable.length) < 0) {
+                    return jumpTable[(int) offset];
+                }
+                return defaultIndex;
+            }
+            return binarySearch(value);
+        }
+
+        private int binarySearch(long value) {
+            int low = 0;
+            int high = sortedValues.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                long midValue = sortedValues[mid];
+                if (midValue < value) {
+                    low = mid + 1;
+                } else if (midValue > value) {
+                    high = mid - 1;
+                } else {
+                    return sortedCaseIndices[mid];
+                }
+            }
+            return defaultIndex;
+        }
+
+        @Override
+        public int[] getSuccessors() {
+            return successors;
+        }
+
+        @Override
+        public int getSuccessorCount() {
+            return successors.length;
+        }
+
+        @Override
+        public LLVMExpressionNode getPhiNode(int successorIndex) {
+            return phiNodes[successorIndex];
+        }
+
+        @Override
+        public LLVMExpressionNode getCase(int i) {
+            CompilerAsserts.neverPartOfCompilation();
+            throw new IllegalStateException("constant cases are not represented as nodes");
+        }
+    }
+
+    public static final class LLVMI1ConstantCaseSwitchNode extends LLVMConstantCaseSwitchNode {
+
+        public LLVMI1ConstantCaseSwitchNode(int[] successors, LLVMExpressionNode[] phiNodes, LLVMExpressionNode cond, long[] caseValues, SourceSection sourceSection) {
+            super(successors, phiNodes, cond, caseValues, sourceSection);
+        }
+
+        @Override
+        protected long executeConditionValue(VirtualFrame frame) {
+            return cond.executeI1(frame) ? 1 : 0;
+        }
+    }
+
+    public static final class LLVMI8ConstantCaseSwitchNode extends LLVMConstantCaseSwitchNode {
+
+        public LLVMI8ConstantCaseSwitchNode(int[] successors, LLVMExpressionNode[] phiNodes, LLVMExpressionNode cond, long[] caseValues, SourceSection sourceSection) {
+            super(successors, phiNodes, cond, caseValues, sourceSection);
+        }
+
+        @Override
+        protected long executeConditionValue(VirtualFrame frame) {
+            return cond.executeI8(frame);
+        }
+    }
+
+    public static final class LLVMI16ConstantCaseSwitchNode extends LLVMConstantCaseSwitchNode {
+
+        public LLVMI16ConstantCaseSwitchNode(int[] successors, LLVMExpressionNode[] phiNodes, LLVMExpressionNode cond, long[] caseValues, SourceSection sourceSection) {
+            super(successors, phiNodes, cond, caseValues, sourceSection);
+        }
+
+        @Override
+        protected long executeConditionValue(VirtualFrame frame) {
+            return cond.executeI16(frame);
+        }
+    }
+
+    public static final class LLVMI32ConstantCaseSwitchNode extends LLVMConstantCaseSwitchNode {
+
+        public LLVMI32ConstantCaseSwitchNode(int[] successors, LLVMExpressionNode[] phiNodes, LLVMExpressionNode cond, long[] caseValues, SourceSection sourceSection) {
+            super(successors, phiNodes, cond, caseValues, sourceSection);
+        }
+
+        @Override
+        protected long executeConditionValue(VirtualFrame frame) {
+            return cond.executeI32(frame);
+        }
+    }
+
+    public static final class LLVMI64ConstantCaseSwitchNode extends LLVMConstantCaseSwitchNode {
+
+        public LLVMI64ConstantCaseSwitchNode(int[] successors, LLVMExpressionNode[] phiNodes, LLVMExpressionNode cond, long[] caseValues, SourceSection sourceSection) {
+            super(successors, phiNodes, cond, caseValues, sourceSection);
+        }
+
+        @Override
+        protected long executeConditionValue(VirtualFrame frame) {
+            return cond.executeI64(frame);
+        }
+    }
 }
@@ -29,65 +29,47 @@
  */
 package com.oracle.truffle.llvm.nodes.func;
 
-import java.util.LinkedList;
-
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
-import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.nodes.UnexpectedResultException;
 import com.oracle.truffle.llvm.runtime.LLVMAddress;
-import com.oracle.truffle.llvm.runtime.LLVMContext;
-import com.oracle.truffle.llvm.runtime.LLVMNativeFunctions;
-import com.oracle.truffle.llvm.runtime.NFIContextExtension;
+import com.oracle.truffle.llvm.runtime.LLVMCaughtExceptionStack;
+import com.oracle.truffle.llvm.runtime.memory.LLVMMemory;
 import com.oracle.truffle.llvm.runtime.nodes.api.LLVMExpressionNode;
 
 public final class LLVMBeginCatchNode extends LLVMExpressionNode {
 
     @Child private LLVMExpressionNode exceptionPointer;
-    @Child private LLVMNativeFunctions.SulongGetThrownObjectNode getThrownObject;
-    @Child private LLVMNativeFunctions.SulongIncrementHandlerCountNode handlerCount;
-    @CompilationFinal private LinkedList<LLVMAddress> caughtExceptionStack;
+    @Child private LLVMGetThrownObjectNode getThrownObject;
+    @CompilationFinal private LLVMMemory memory;
 
     public LLVMBeginCatchNode(LLVMExpressionNode exceptionPointer) {
         this.exceptionPointer = exceptionPointer;
+        this.getThrownObject = LLVMGetThrownObjectNodeGen.create();
     }
 
-    public LLVMNativeFunctions.SulongGetThrownObjectNode getGetThrownObject() {
-        if (getThrownObject == null) {
-            CompilerDirectives.transferToInterpreterAndInvalidate();
-            LLVMContext context = getContextReference().get();
-            NFIContextExtension nfiContextExtension = context.getContextExtension(NFIContextExtension.class);
-            this.getThrownObject = insert(nfiContextExtension.getNativeSulongFunctions().createGetThrownObject(context));
-        }
-        return getThrownObject;
-    }
-
-    public LLVMNativeFunctions.SulongIncrementHandlerCountNode getHandlerCount() {
-        if (handlerCount == null) {
-            CompilerDirectives.transferToInterpreterAndInvalidate();
-            LLVMContext context = getContextReference().get();
-            NFIContextExtension nfiContextExtension = context.getContextExtension(NFIContextExtension.class);
-            this.handlerCount = insert(nfiContextExtension.getNativeSulongFunctions().createIncrementHandlerCount(context));
-        }
-        return handlerCount;
+    public LLVMCaughtExceptionStack getCaughtExceptionStack() {
+        // every thread has its own stack of caught exceptions
+        return getContextReference().get().getCaughtExceptionStack();
     }
 
-    public LinkedList<LLVMAddress> getCaughtExceptionStack() {
-        if (caughtExceptionStack == null) {
+    private LLVMMemory getMemory() {
+        if (memory == null) {
             CompilerDirectives.transferToInterpreterAndInvalidate();
-            this.caughtExceptionStack = getContextReference().get().getCaughtExceptionStack();
+            memory = getLLVMMemory();
         }
-        return caughtExceptionStack;
+        return memory;
     }
 
     @Override
     public Object executeGeneric(VirtualFrame frame) {
         try {
-            LLVMAddress ptr = exceptionPointer.executeLLVMAddress(frame);
-            LLVMAddress thrownObj = getGetThrownObject().getThrownObject(ptr);
-            getHandlerCount().inc(ptr);
-            pushExceptionToStack(ptr);
+            long unwindHeader = exceptionPointer.executeLLVMAddress(frame).getVal();
+            LLVMMemory mem = getMemory();
+            LLVMAddress thrownObj = getThrownObject.execute(unwindHeader, LLVMCxaException.getExceptionType(mem, unwindHeader));
+            LLVMCxaException.setHandlerCount(mem, unwindHeader, LLVMCxaException.getHandlerCount(mem, unwindHeader) + 1);
+            pushExceptionToStack(unwindHeader);
             return thrownObj;
         } catch (UnexpectedResultException e) {
             CompilerDirectives.transferToInterpreterAndInvalidate();
@@ -95,12 +77,12 @@ public final class LLVMBeginCatchNode extends LLVMExpressionNode {
         }
     }
 
-    @TruffleBoundary
-    private void pushExceptionToStack(LLVMAddress exc) {
-        if (getCaughtExceptionStack().size() > 0 && getCaughtExceptionStack().peek().getVal() == exc.getVal()) {
+    private void pushExceptionToStack(long unwindHeader) {
+        LLVMCaughtExceptionStack stack = getCaughtExceptionStack();
+        if (!stack.isEmpty() && stack.peek() == unwindHeader) {
             // exception already on stack
             return;
         }
-        getCaughtExceptionStack().push(exc);
+        stack.push(unwindHeader);
     }
 }
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.nodes.func;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.llvm.runtime.LLVMAddress;
+import com.oracle.truffle.llvm.runtime.LLVMContext;
+import com.oracle.truffle.llvm.runtime.LLVMNativeFunctions;
+import com.oracle.truffle.llvm.runtime.NFIContextExtension;
+import com.oracle.truffle.llvm.runtime.nodes.api.LLVMNode;
+
+/**
+ * Decides whether a landingpad clause catches a thrown C++ exception. Type infos are immutable, so
+ * the answer of libc++abi's {@code can_catch} only depends on the pair of type infos and can be
+ * cached per call site.
+ */
+public abstract class LLVMCanCatchNode extends LLVMNode {
+
+    protected static final int TYPE_LIMIT = 4;
+
+    @Child private LLVMNativeFunctions.SulongCanCatchNode canCatch;
+
+    public abstract boolean execute(LLVMAddress adjustedPtr, LLVMAddress thrownType, LLVMAddress catchType);
+
+    private LLVMNativeFunctions.SulongCanCatchNode getCanCatch() {
+        if (canCatch == null) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            LLVMContext context = getContextReference().get();
+            NFIContextExtension nfiContextExtension = context.getContextExtension(NFIContextExtension.class);
+            this.canCatch = insert(nfiContextExtension.getNativeSulongFunctions().createSulongCanCatch(context));
+        }
+        return canCatch;
+    }
+
+    protected boolean canCatchNative(LLVMAddress adjustedPtr, LLVMAddress thrownType, LLVMAddress catchType) {
+        return getCanCatch().canCatch(adjustedPtr, thrownType, catchType) != 0;
+    }
+
+    @SuppressWarnings("unused")
+    @Specialization(guards = "thrownType.getVal() == catchType.getVal()")
+    protected boolean doSameType(LLVMAddress adjustedPtr, LLVMAddress thrownType, LLVMAddress catchType) {
+        return true;
+    }
+
+    @SuppressWarnings("unused")
+    @Specialization(guards = {"thrownType.getVal() == cachedThrownType", "catchType.getVal() == cachedCatchType"}, limit = "TYPE_LIMIT")
+    protected boolean doCached(LLVMAddress adjustedPtr, LLVMAddress thrownType, LLVMAddress catchType,
+                    @Cached("thrownType.getVal()") long cachedThrownType,
+                    @Cached("catchType.getVal()") long cachedCatchType,
+                    @Cached("canCatchNative(adjustedPtr, thrownType, catchType)") boolean cachedResult) {
+        return cachedResult;
+    }
+
+    @Specialization(replaces = "doCached")
+    protected boolean doGeneric(LLVMAddress adjustedPtr, LLVMAddress thrownType, LLVMAddress catchType) {
+        return canCatchNative(adjustedPtr, thrownType, catchType);
+    }
+}
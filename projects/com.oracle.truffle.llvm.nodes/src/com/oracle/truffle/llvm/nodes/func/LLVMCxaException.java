@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.nodes.func;
+
+import com.oracle.truffle.llvm.runtime.memory.LLVMMemory;
+
+/**
+ * Accessors for the libc++abi {@code __cxa_exception} header (x86_64 layout) that precedes every
+ * thrown C++ object. Exceptions are allocated by the native {@code __cxa_allocate_exception}; all
+ * other bookkeeping is done directly on this header.
+ *
+ * The caught exception stack and landing pads identify an exception by the address of its
+ * {@code _Unwind_Exception}, which is the last field of the header and directly precedes the
+ * thrown object.
+ */
+final class LLVMCxaException {
+
+    private static final long HEADER_SIZE = 128;
+    private static final long UNWIND_HEADER_SIZE = 32;
+    private static final long UNWIND_HEADER_OFFSET = HEADER_SIZE - UNWIND_HEADER_SIZE;
+
+    private static final long REFERENCE_COUNT_OFFSET = 0;
+    private static final long EXCEPTION_TYPE_OFFSET = 8;
+    private static final long DESTRUCTOR_OFFSET = 16;
+    private static final long UNEXPECTED_HANDLER_OFFSET = 24;
+    private static final long TERMINATE_HANDLER_OFFSET = 32;
+    private static final long HANDLER_COUNT_OFFSET = 48;
+
+    /** Clang's exception class: "CLNGC++\0". */
+    private static final long CLANG_EXCEPTION_CLASS = 0x434C4E47432B2B00L;
+
+    private LLVMCxaException() {
+    }
+
+    static void initialize(LLVMMemory memory, long thrownObject, long exceptionType, long destructor) {
+        long header = thrownObject - HEADER_SIZE;
+        memory.putI64(header + REFERENCE_COUNT_OFFSET, 1);
+        memory.putAddress(header + EXCEPTION_TYPE_OFFSET, exceptionType);
+        memory.putAddress(header + DESTRUCTOR_OFFSET, destructor);
+        memory.putAddress(header + UNEXPECTED_HANDLER_OFFSET, 0);
+        memory.putAddress(header + TERMINATE_HANDLER_OFFSET, 0);
+        memory.putI32(header + HANDLER_COUNT_OFFSET, 0);
+        memory.putI64(header + UNWIND_HEADER_OFFSET, CLANG_EXCEPTION_CLASS);
+    }
+
+    static long getUnwindHeader(long thrownObject) {
+        return thrownObject - UNWIND_HEADER_SIZE;
+    }
+
+    static long getExceptionPointer(long unwindHeader) {
+        return unwindHeader + UNWIND_HEADER_SIZE;
+    }
+
+    static long getExceptionType(LLVMMemory memory, long unwindHeader) {
+        return memory.getI64(unwindHeader - UNWIND_HEADER_OFFSET + EXCEPTION_TYPE_OFFSET);
+    }
+
+    static long getDestructor(LLVMMemory memory, long unwindHeader) {
+        return memory.getI64(unwindHeader - UNWIND_HEADER_OFFSET + DESTRUCTOR_OFFSET);
+    }
+
+    static int getHandlerCount(LLVMMemory memory, long unwindHeader) {
+        return memory.getI32(unwindHeader - UNWIND_HEADER_OFFSET + HANDLER_COUNT_OFFSET);
+    }
+
+    static void setHandlerCount(LLVMMemory memory, long unwindHeader, int value) {
+        memory.putI32(unwindHeader - UNWIND_HEADER_OFFSET + HANDLER_COUNT_OFFSET, value);
+    }
+}
@@ -29,16 +29,13 @@
  */
 package com.oracle.truffle.llvm.nodes.func;
 
-import java.util.LinkedList;
-
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
-import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.llvm.runtime.LLVMAddress;
+import com.oracle.truffle.llvm.runtime.LLVMCaughtExceptionStack;
 import com.oracle.truffle.llvm.runtime.LLVMContext;
-import com.oracle.truffle.llvm.runtime.LLVMNativeFunctions;
-import com.oracle.truffle.llvm.runtime.NFIContextExtension;
+import com.oracle.truffle.llvm.runtime.memory.LLVMMemory;
 import com.oracle.truffle.llvm.runtime.nodes.api.LLVMExpressionNode;
 import com.oracle.truffle.llvm.runtime.types.FunctionType;
 import com.oracle.truffle.llvm.runtime.types.PointerType;
@@ -49,13 +46,9 @@ public final class LLVMEndCatchNode extends LLVMExpressionNode {
 
     @Child private LLVMExpressionNode stackPointer;
     @Child private LLVMLookupDispatchNode dispatch;
-    @Child private LLVMNativeFunctions.SulongDecrementHandlerCountNode decHandlerCount;
-    @Child private LLVMNativeFunctions.SulongGetHandlerCountNode getHandlerCount;
-    @Child private LLVMNativeFunctions.SulongGetThrownObjectNode getThrownObject;
-    @Child private LLVMNativeFunctions.SulongGetDestructorNode getDestructor;
-    @Child private LLVMNativeFunctions.SulongSetHandlerCountNode setHandlerCount;
-    @CompilationFinal private LinkedList<LLVMAddress> caughtExceptionStack;
+    @Child private LLVMGetThrownObjectNode getThrownObject;
     @CompilationFinal private LLVMContext cachedContext;
+    @CompilationFinal private LLVMMemory memory;
 
     public LLVMContext getCachedContext() {
         if (cachedContext == null) {
@@ -68,80 +61,39 @@ public final class LLVMEndCatchNode extends LLVMExpressionNode {
     public LLVMEndCatchNode(LLVMExpressionNode stackPointer) {
         this.stackPointer = stackPointer;
         this.dispatch = LLVMLookupDispatchNodeGen.create(new FunctionType(VoidType.INSTANCE, new Type[]{new PointerType(null)}, false));
+        this.getThrownObject = LLVMGetThrownObjectNodeGen.create();
     }
 
-    public LinkedList<LLVMAddress> getCaughtExceptionStack() {
-        if (caughtExceptionStack == null) {
-            CompilerDirectives.transferToInterpreterAndInvalidate();
-            this.caughtExceptionStack = getContextReference().get().getCaughtExceptionStack();
-        }
-        return caughtExceptionStack;
-    }
-
-    public LLVMNativeFunctions.SulongDecrementHandlerCountNode getDecHandlerCount() {
-        if (decHandlerCount == null) {
-            CompilerDirectives.transferToInterpreterAndInvalidate();
-            LLVMContext context = getContextReference().get();
-            NFIContextExtension nfiContextExtension = context.getContextExtension(NFIContextExtension.class);
-            this.decHandlerCount = insert(nfiContextExtension.getNativeSulongFunctions().createDecrementHandlerCount(context));
-        }
-        return decHandlerCount;
-    }
-
-    public LLVMNativeFunctions.SulongGetHandlerCountNode getGetHandlerCount() {
-        if (getHandlerCount == null) {
-            CompilerDirectives.transferToInterpreterAndInvalidate();
-            LLVMContext context = getContextReference().get();
-            NFIContextExtension nfiContextExtension = context.getContextExtension(NFIContextExtension.class);
-            this.getHandlerCount = insert(nfiContextExtension.getNativeSulongFunctions().createGetHandlerCount(context));
-        }
-        return getHandlerCount;
+    public LLVMCaughtExceptionStack getCaughtExceptionStack() {
+        // every thread has its own stack of caught exceptions
+        return getContextReference().get().getCaughtExceptionStack();
     }
 
-    public LLVMNativeFunctions.SulongGetDestructorNode getGetDestructor() {
-        if (getDestructor == null) {
+    private LLVMMemory getMemory() {
+        if (memory == null) {
             CompilerDirectives.transferToInterpreterAndInvalidate();
-            LLVMContext context = getContextReference().get();
-            NFIContextExtension nfiContextExtension = context.getContextExtension(NFIContextExtension.class);
-            this.getDestructor = insert(nfiContextExtension.getNativeSulongFunctions().createGetDestructor(context));
+            memory = getLLVMMemory();
         }
-        return getDestructor;
-    }
-
-    public LLVMNativeFunctions.SulongGetThrownObjectNode getGetThrownObject() {
-        if (getThrownObject == null) {
-            CompilerDirectives.transferToInterpreterAndInvalidate();
-            LLVMContext context = getContextReference().get();
-            NFIContextExtension nfiContextExtension = context.getContextExtension(NFIContextExtension.class);
-            this.getThrownObject = insert(nfiContextExtension.getNativeSulongFunctions().createGetThrownObject(context));
-        }
-        return getThrownObject;
-    }
-
-    public LLVMNativeFunctions.SulongSetHandlerCountNode getSetHandlerCount() {
-        if (setHandlerCount == null) {
-            CompilerDirectives.transferToInterpreterAndInvalidate();
-            LLVMContext context = getContextReference().get();
-            NFIContextExtension nfiContextExtension = context.getContextExtension(NFIContextExtension.class);
-            this.setHandlerCount = insert(nfiContextExtension.getNativeSulongFunctions().createSetHandlerCount(context));
-        }
-        return setHandlerCount;
+        return memory;
     }
 
     @Override
     public Object executeGeneric(VirtualFrame frame) {
         try {
-            LLVMAddress ptr = popExceptionToStack();
-            int handlerCount = getGetHandlerCount().get(ptr);
+            long ptr = getCaughtExceptionStack().pop();
+            LLVMMemory mem = getMemory();
+            int handlerCount = LLVMCxaException.getHandlerCount(mem, ptr);
             if (handlerCount == LLVMRethrowNode.RETHROWN_MARKER) {
                 // exception was re-thrown, do nothing but reset marker
-                getSetHandlerCount().set(ptr, 0);
+                LLVMCxaException.setHandlerCount(mem, ptr, 0);
                 return 0;
             }
-            getDecHandlerCount().dec(ptr);
-            LLVMAddress destructorAddress = getGetDestructor().get(ptr);
-            if (getGetHandlerCount().get(ptr) <= 0 && destructorAddress.getVal() != 0) {
-                dispatch.executeDispatch(frame, destructorAddress, new Object[]{stackPointer.executeGeneric(frame), getGetThrownObject().getThrownObject(ptr)});
+            handlerCount--;
+            LLVMCxaException.setHandlerCount(mem, ptr, handlerCount);
+            LLVMAddress destructorAddress = LLVMAddress.fromLong(LLVMCxaException.getDestructor(mem, ptr));
+            if (handlerCount <= 0 && destructorAddress.getVal() != 0) {
+                LLVMAddress thrownObject = getThrownObject.execute(ptr, LLVMCxaException.getExceptionType(mem, ptr));
+                dispatch.executeDispatch(frame, destructorAddress, new Object[]{stackPointer.executeGeneric(frame), thrownObject});
             }
             return null;
         } catch (Throwable e) {
@@ -149,9 +101,4 @@ public final class LLVMEndCatchNode extends LLVMExpressionNode {
             throw new IllegalStateException(e);
         }
     }
-
-    @TruffleBoundary
-    private LLVMAddress popExceptionToStack() {
-        return getCaughtExceptionStack().pop();
-    }
 }
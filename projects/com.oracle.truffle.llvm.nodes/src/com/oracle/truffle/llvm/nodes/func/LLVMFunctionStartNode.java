@@ -50,7 +50,7 @@ public class LLVMFunctionStartNode extends RootNode {
     private final int explicitArgumentsCount;
     private final DebugInformation debugInformation;
 
-    public LLVMFunctionStartNode(SourceSection sourceSection, LLVMLanguage language, LLVMExpressionNode node, LLVMExpressionNode[] copyArgumentsToFrame,
+    public LLVMFunctionStartNode(SourceSection sourceSection, LLVMLanguage language, LLVMExpressionNode node, LLVMExpressionNode[] copyArgumentsToFrame, FrameSlot[] frameSlotsToInitialize,
                     FrameDescriptor frameDescriptor, String name, int explicitArgumentsCount, String originalName, Source bcSource) {
         super(language, frameDescriptor);
         this.debugInformation = new DebugInformation(sourceSection, originalName, bcSource);
@@ -58,8 +58,7 @@ public class LLVMFunctionStartNode extends RootNode {
         this.node = node;
         this.copyArgumentsToFrame = copyArgumentsToFrame;
         this.name = name;
-
-        this.frameSlotsToInitialize = frameDescriptor.getSlots().toArray(new FrameSlot[0]);
+        this.frameSlotsToInitialize = frameSlotsToInitialize;
     }
 
     @Override
@@ -69,14 +68,14 @@ public class LLVMFunctionStartNode extends RootNode {
 
     @Override
     public Object execute(VirtualFrame frame) {
-        nullStack(frame);
+        initializeFrameSlots(frame);
         copyArgumentsToFrame(frame);
         Object result = node.executeGeneric(frame);
         return result;
     }
 
     @ExplodeLoop
-    private void nullStack(VirtualFrame frame) {
+    private void initializeFrameSlots(VirtualFrame frame) {
         for (FrameSlot frameSlot : frameSlotsToInitialize) {
             LLVMFrameNullerUtil.nullFrameSlot(frame, frameSlot);
         }
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.nodes.func;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.llvm.runtime.LLVMAddress;
+import com.oracle.truffle.llvm.runtime.LLVMContext;
+import com.oracle.truffle.llvm.runtime.LLVMNativeFunctions;
+import com.oracle.truffle.llvm.runtime.NFIContextExtension;
+import com.oracle.truffle.llvm.runtime.memory.LLVMMemory;
+import com.oracle.truffle.llvm.runtime.nodes.api.LLVMNode;
+
+/**
+ * Returns the object that is passed to a catch handler. For exceptions of a pointer type, this is
+ * the thrown pointer itself rather than the address of the exception object.
+ */
+public abstract class LLVMGetThrownObjectNode extends LLVMNode {
+
+    protected static final int TYPE_LIMIT = 4;
+
+    @Child private LLVMNativeFunctions.SulongIsPointerTypeNode isPointerType;
+
+    public abstract LLVMAddress execute(long unwindHeader, long exceptionType);
+
+    protected boolean isPointerType(long exceptionType) {
+        if (isPointerType == null) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            LLVMContext context = getContextReference().get();
+            NFIContextExtension nfiContextExtension = context.getContextExtension(NFIContextExtension.class);
+            this.isPointerType = insert(nfiContextExtension.getNativeSulongFunctions().createIsPointerType(context));
+        }
+        return isPointerType.isPointerType(LLVMAddress.fromLong(exceptionType));
+    }
+
+    @SuppressWarnings("unused")
+    @Specialization(guards = "exceptionType == cachedExceptionType", limit = "TYPE_LIMIT")
+    protected LLVMAddress doCached(long unwindHeader, long exceptionType,
+                    @Cached("exceptionType") long cachedExceptionType,
+                    @Cached("isPointerType(exceptionType)") boolean pointerType,
+                    @Cached("getLLVMMemory()") LLVMMemory memory) {
+        return getThrownObject(memory, unwindHeader, pointerType);
+    }
+
+    @Specialization(replaces = "doCached")
+    protected LLVMAddress doGeneric(long unwindHeader, long exceptionType,
+                    @Cached("getLLVMMemory()") LLVMMemory memory) {
+        return getThrownObject(memory, unwindHeader, isPointerType(exceptionType));
+    }
+
+    private static LLVMAddress getThrownObject(LLVMMemory memory, long unwindHeader, boolean pointerType) {
+        long exceptionPointer = LLVMCxaException.getExceptionPointer(unwindHeader);
+        if (pointerType) {
+            return memory.getAddress(exceptionPointer);
+        }
+        return LLVMAddress.fromLong(exceptionPointer);
+    }
+}
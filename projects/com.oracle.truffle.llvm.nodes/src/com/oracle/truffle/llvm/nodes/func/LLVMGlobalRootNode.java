@@ -128,6 +128,8 @@ public class LLVMGlobalRootNode extends RootNode {
 
         try {
             result = main.call(args);
+            // a secondary thread may have ended the program before main returned
+            getContext().getPThreadContext().checkPendingExit();
         } catch (LLVMExitException e) {
             returnCode = e.getReturnCode();
             throw e;
@@ -36,10 +36,7 @@ import com.oracle.truffle.api.frame.FrameSlotTypeException;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.nodes.ExplodeLoop;
 import com.oracle.truffle.llvm.runtime.LLVMAddress;
-import com.oracle.truffle.llvm.runtime.LLVMContext;
 import com.oracle.truffle.llvm.runtime.LLVMException;
-import com.oracle.truffle.llvm.runtime.LLVMNativeFunctions;
-import com.oracle.truffle.llvm.runtime.NFIContextExtension;
 import com.oracle.truffle.llvm.runtime.memory.LLVMMemory;
 import com.oracle.truffle.llvm.runtime.nodes.api.LLVMExpressionNode;
 import com.oracle.truffle.llvm.runtime.nodes.api.LLVMToNativeNode;
@@ -47,8 +44,6 @@ import com.oracle.truffle.llvm.runtime.nodes.api.LLVMToNativeNode;
 public final class LLVMLandingpadNode extends LLVMExpressionNode {
 
     @Child private LLVMExpressionNode allocateLandingPadValue;
-    @Child private LLVMNativeFunctions.SulongGetUnwindHeaderNode getUnwindHeader;
-    @Child private LLVMNativeFunctions.SulongGetExceptionTypeNode getExceptionType;
     @Children private final LandingpadEntryNode[] entries;
     private final FrameSlot exceptionSlot;
     private final boolean cleanup;
@@ -61,26 +56,6 @@ public final class LLVMLandingpadNode extends LLVMExpressionNode {
         this.entries = entries;
     }
 
-    public LLVMNativeFunctions.SulongGetUnwindHeaderNode getGetUnwindHeader() {
-        if (getUnwindHeader == null) {
-            CompilerDirectives.transferToInterpreterAndInvalidate();
-            LLVMContext context = getContextReference().get();
-            NFIContextExtension nfiContextExtension = context.getContextExtension(NFIContextExtension.class);
-            this.getUnwindHeader = insert(nfiContextExtension.getNativeSulongFunctions().createGetUnwindHeader(context));
-        }
-        return getUnwindHeader;
-    }
-
-    public LLVMNativeFunctions.SulongGetExceptionTypeNode getGetExceptionType() {
-        if (getExceptionType == null) {
-            CompilerDirectives.transferToInterpreterAndInvalidate();
-            LLVMContext context = getContextReference().get();
-            NFIContextExtension nfiContextExtension = context.getContextExtension(NFIContextExtension.class);
-            this.getExceptionType = insert(nfiContextExtension.getNativeSulongFunctions().createGetExceptionType(context));
-        }
-        return getExceptionType;
-    }
-
     @Child private LLVMToNativeNode toNative = LLVMToNativeNode.toNative();
     @CompilationFinal private LLVMMemory memory;
 
@@ -97,8 +72,8 @@ public final class LLVMLandingpadNode extends LLVMExpressionNode {
         try {
             LLVMException exception = (LLVMException) frame.getObject(exceptionSlot);
             LLVMAddress exceptionInfo = exception.getPointer();
-            LLVMAddress unwindHeader = getGetUnwindHeader().getUnwind(exceptionInfo);
-            LLVMAddress thrownTypeID = getGetExceptionType().get(unwindHeader);
+            long unwindHeader = LLVMCxaException.getUnwindHeader(exceptionInfo.getVal());
+            LLVMAddress thrownTypeID = LLVMAddress.fromLong(LLVMCxaException.getExceptionType(getMemory(), unwindHeader));
 
             int clauseId = getEntryIdentifier(frame, exceptionInfo, thrownTypeID);
             if (clauseId == 0 && !cleanup) {
@@ -106,7 +81,7 @@ public final class LLVMLandingpadNode extends LLVMExpressionNode {
             } else {
                 LLVMAddress executeLLVMAddress = toNative.executeWithTarget(frame, allocateLandingPadValue.executeGeneric(frame));
                 LLVMAddress pair0 = executeLLVMAddress;
-                getMemory().putAddress(pair0, unwindHeader);
+                getMemory().putAddress(pair0.getVal(), unwindHeader);
                 getMemory().putI32(executeLLVMAddress.getVal() + LLVMExpressionNode.ADDRESS_SIZE_IN_BYTES, clauseId);
                 return executeLLVMAddress;
             }
@@ -142,23 +117,13 @@ public final class LLVMLandingpadNode extends LLVMExpressionNode {
 
         @Child private LLVMExpressionNode catchType;
         @Child private LLVMToNativeNode forceToLLVMcatchType;
-        @Child private LLVMNativeFunctions.SulongCanCatchNode canCatch;
+        @Child private LLVMCanCatchNode canCatch = LLVMCanCatchNodeGen.create();
 
         public LandingpadCatchEntryNode(LLVMExpressionNode catchType) {
             this.catchType = catchType;
             this.forceToLLVMcatchType = LLVMToNativeNode.toNative();
         }
 
-        public LLVMNativeFunctions.SulongCanCatchNode getCanCatch() {
-            if (canCatch == null) {
-                CompilerDirectives.transferToInterpreterAndInvalidate();
-                LLVMContext context = getContextReference().get();
-                NFIContextExtension nfiContextExtension = context.getContextExtension(NFIContextExtension.class);
-                this.canCatch = insert(nfiContextExtension.getNativeSulongFunctions().createSulongCanCatch(context));
-            }
-            return canCatch;
-        }
-
         @Override
         public int getIdentifier(VirtualFrame frame, LLVMAddress exceptionInfo, LLVMAddress thrownTypeID) {
             LLVMAddress catchAddress = forceToLLVMcatchType.executeWithTarget(frame, catchType.executeGeneric(frame));
@@ -169,7 +134,7 @@ public final class LLVMLandingpadNode extends LLVMExpressionNode {
                  */
                 return 1;
             }
-            if (getCanCatch().canCatch(exceptionInfo, thrownTypeID, catchAddress) != 0) {
+            if (canCatch.execute(exceptionInfo, thrownTypeID, catchAddress)) {
                 return (int) catchAddress.getVal();
             }
             return 0;
@@ -180,23 +145,13 @@ public final class LLVMLandingpadNode extends LLVMExpressionNode {
 
         @Children private final LLVMExpressionNode[] filterTypes;
         @Children private final LLVMToNativeNode[] forceToLLVMfilterTypes;
-        @Child private LLVMNativeFunctions.SulongCanCatchNode canCatch;
+        @Child private LLVMCanCatchNode canCatch = LLVMCanCatchNodeGen.create();
 
         public LandingpadFilterEntryNode(LLVMExpressionNode[] filterTypes) {
             this.filterTypes = filterTypes;
             this.forceToLLVMfilterTypes = getForceLLVMAddressNodes(filterTypes.length);
         }
 
-        public LLVMNativeFunctions.SulongCanCatchNode getCanCatch() {
-            if (canCatch == null) {
-                CompilerDirectives.transferToInterpreterAndInvalidate();
-                LLVMContext context = getContextReference().get();
-                NFIContextExtension nfiContextExtension = context.getContextExtension(NFIContextExtension.class);
-                this.canCatch = insert(nfiContextExtension.getNativeSulongFunctions().createSulongCanCatch(context));
-            }
-            return canCatch;
-        }
-
         @Override
         public int getIdentifier(VirtualFrame frame, LLVMAddress exceptionInfo, LLVMAddress thrownTypeID) {
             if (!filterMatches(frame, exceptionInfo, thrownTypeID)) {
@@ -221,7 +176,7 @@ public final class LLVMLandingpadNode extends LLVMExpressionNode {
                      */
                     return true;
                 }
-                if (getCanCatch().canCatch(exceptionInfo, thrownTypeID, filterAddress) != 0) {
+                if (canCatch.execute(exceptionInfo, thrownTypeID, filterAddress)) {
                     return true;
                 }
             }
@@ -29,68 +29,42 @@
  */
 package com.oracle.truffle.llvm.nodes.func;
 
-import java.util.LinkedList;
-
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
-import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.llvm.runtime.LLVMAddress;
-import com.oracle.truffle.llvm.runtime.LLVMContext;
+import com.oracle.truffle.llvm.runtime.LLVMCaughtExceptionStack;
 import com.oracle.truffle.llvm.runtime.LLVMException;
-import com.oracle.truffle.llvm.runtime.LLVMNativeFunctions;
-import com.oracle.truffle.llvm.runtime.NFIContextExtension;
+import com.oracle.truffle.llvm.runtime.memory.LLVMMemory;
 import com.oracle.truffle.llvm.runtime.nodes.api.LLVMExpressionNode;
 
 public final class LLVMRethrowNode extends LLVMExpressionNode {
 
     public static final int RETHROWN_MARKER = Integer.MAX_VALUE;
 
-    @CompilationFinal private LinkedList<LLVMAddress> caughtExceptionStack;
-    @Child private LLVMNativeFunctions.SulongSetHandlerCountNode setHandlerCount;
-    @Child private LLVMNativeFunctions.SulongGetExceptionPointerNode getExceptionPointer;
+    @CompilationFinal private LLVMMemory memory;
 
-    public LinkedList<LLVMAddress> getCaughtExceptionStack() {
-        if (caughtExceptionStack == null) {
-            CompilerDirectives.transferToInterpreterAndInvalidate();
-            caughtExceptionStack = getContextReference().get().getCaughtExceptionStack();
-        }
-        return caughtExceptionStack;
+    public LLVMCaughtExceptionStack getCaughtExceptionStack() {
+        // every thread has its own stack of caught exceptions
+        return getContextReference().get().getCaughtExceptionStack();
     }
 
-    public LLVMNativeFunctions.SulongSetHandlerCountNode getSetHandlerCount() {
-        if (setHandlerCount == null) {
+    private LLVMMemory getMemory() {
+        if (memory == null) {
             CompilerDirectives.transferToInterpreterAndInvalidate();
-            LLVMContext context = getContextReference().get();
-            NFIContextExtension nfiContextExtension = context.getContextExtension(NFIContextExtension.class);
-            setHandlerCount = insert(nfiContextExtension.getNativeSulongFunctions().createSetHandlerCount(context));
+            memory = getLLVMMemory();
         }
-        return setHandlerCount;
-    }
-
-    public LLVMNativeFunctions.SulongGetExceptionPointerNode getGetExceptionPointer() {
-        if (getExceptionPointer == null) {
-            CompilerDirectives.transferToInterpreterAndInvalidate();
-            LLVMContext context = getContextReference().get();
-            NFIContextExtension nfiContextExtension = context.getContextExtension(NFIContextExtension.class);
-            getExceptionPointer = insert(nfiContextExtension.getNativeSulongFunctions().createGetExceptionPointer(context));
-        }
-        return getExceptionPointer;
+        return memory;
     }
 
     @Override
     public Object executeGeneric(VirtualFrame frame) {
-        LLVMAddress ptr = peekExceptionToStack();
-        LLVMAddress exceptionPointer = getGetExceptionPointer().getExceptionPointer(ptr);
+        long unwindHeader = getCaughtExceptionStack().peek();
+        LLVMAddress exceptionPointer = LLVMAddress.fromLong(LLVMCxaException.getExceptionPointer(unwindHeader));
         /*
          * this is not a hack, this is as suggested in the documentation
          */
-        getSetHandlerCount().set(ptr, RETHROWN_MARKER);
+        LLVMCxaException.setHandlerCount(getMemory(), unwindHeader, RETHROWN_MARKER);
         throw new LLVMException(exceptionPointer);
     }
-
-    @TruffleBoundary
-    private LLVMAddress peekExceptionToStack() {
-        return getCaughtExceptionStack().peek();
-    }
 }
@@ -30,12 +30,11 @@
 package com.oracle.truffle.llvm.nodes.func;
 
 import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.llvm.runtime.LLVMAddress;
-import com.oracle.truffle.llvm.runtime.LLVMContext;
 import com.oracle.truffle.llvm.runtime.LLVMException;
-import com.oracle.truffle.llvm.runtime.LLVMNativeFunctions;
-import com.oracle.truffle.llvm.runtime.NFIContextExtension;
+import com.oracle.truffle.llvm.runtime.memory.LLVMMemory;
 import com.oracle.truffle.llvm.runtime.nodes.api.LLVMExpressionNode;
 import com.oracle.truffle.llvm.runtime.nodes.api.LLVMToNativeNode;
 
@@ -47,7 +46,7 @@ public final class LLVMThrowExceptionNode extends LLVMExpressionNode {
     @Child private LLVMToNativeNode thrownTypeIDToLLVM;
     @Child private LLVMExpressionNode destructor;
     @Child private LLVMToNativeNode destructorToLLVM;
-    @Child private LLVMNativeFunctions.SulongThrowNode exceptionInitializaton;
+    @CompilationFinal private LLVMMemory memory;
 
     public LLVMThrowExceptionNode(LLVMExpressionNode arg1, LLVMExpressionNode arg2, LLVMExpressionNode arg3) {
         this.exceptionInfo = arg1;
@@ -58,14 +57,12 @@ public final class LLVMThrowExceptionNode extends LLVMExpressionNode {
         this.destructorToLLVM = LLVMToNativeNode.toNative();
     }
 
-    public LLVMNativeFunctions.SulongThrowNode getExceptionInitializaton() {
-        if (exceptionInitializaton == null) {
+    private LLVMMemory getMemory() {
+        if (memory == null) {
             CompilerDirectives.transferToInterpreterAndInvalidate();
-            LLVMContext context = getContextReference().get();
-            NFIContextExtension nfiContextExtension = context.getContextExtension(NFIContextExtension.class);
-            this.exceptionInitializaton = insert(nfiContextExtension.getNativeSulongFunctions().createSulongThrow(context));
+            memory = getLLVMMemory();
         }
-        return exceptionInitializaton;
+        return memory;
     }
 
     @Override
@@ -73,7 +70,7 @@ public final class LLVMThrowExceptionNode extends LLVMExpressionNode {
         LLVMAddress thrownObject = exceptionInfoToLLVM.executeWithTarget(frame, exceptionInfo.executeGeneric(frame));
         LLVMAddress thrownType = thrownTypeIDToLLVM.executeWithTarget(frame, thrownTypeID.executeGeneric(frame));
         LLVMAddress dest = destructorToLLVM.executeWithTarget(frame, destructor.executeGeneric(frame));
-        getExceptionInitializaton().throvv(thrownObject, thrownType, dest, LLVMAddress.nullPointer(), LLVMAddress.nullPointer());
+        LLVMCxaException.initialize(getMemory(), thrownObject.getVal(), thrownType.getVal(), dest.getVal());
         throw new LLVMException(thrownObject);
     }
 }
@@ -0,0 +1,338 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.nodes.intrinsics.c;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.NodeChild;
+import com.oracle.truffle.api.dsl.NodeChildren;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.llvm.nodes.intrinsics.llvm.LLVMIntrinsic;
+import com.oracle.truffle.llvm.runtime.LLVMAddress;
+import com.oracle.truffle.llvm.runtime.LLVMContext;
+import com.oracle.truffle.llvm.runtime.LLVMFunctionDescriptor;
+import com.oracle.truffle.llvm.runtime.memory.LLVMMemory;
+import com.oracle.truffle.llvm.runtime.nodes.api.LLVMExpressionNode;
+import com.oracle.truffle.llvm.runtime.nodes.api.LLVMToNativeNode;
+import com.oracle.truffle.llvm.runtime.pthread.LLVMPThreadContext;
+
+/**
+ * Implements the {@code __sulong_pthread_*} functions that back the pthread library in
+ * libsulong. Synchronization objects are identified by their (native) address.
+ */
+public abstract class LLVMPThreadIntrinsics {
+
+    public abstract static class LLVMPThreadIntrinsic extends LLVMIntrinsic {
+
+        protected LLVMPThreadContext getPThreadContext() {
+            return getContextReference().get().getPThreadContext();
+        }
+
+        @TruffleBoundary
+        protected LLVMFunctionDescriptor getFunction(LLVMAddress function) {
+            if (function.getVal() == 0) {
+                return null;
+            }
+            LLVMContext context = getContextReference().get();
+            return context.getFunctionDescriptor(function);
+        }
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMExpressionNode.class), @NodeChild(type = LLVMExpressionNode.class), @NodeChild(type = LLVMExpressionNode.class)})
+    public abstract static class LLVMPThreadCreate extends LLVMPThreadIntrinsic {
+
+        @Specialization
+        protected long doIntrinsic(VirtualFrame frame, Object startRoutine, Object argument, int detached,
+                        @Cached("toNative()") LLVMToNativeNode functionToNative,
+                        @Cached("toNative()") LLVMToNativeNode argumentToNative) {
+            LLVMFunctionDescriptor function = getFunction(functionToNative.executeWithTarget(frame, startRoutine));
+            return getPThreadContext().create(function, argumentToNative.executeWithTarget(frame, argument).getVal(), detached != 0);
+        }
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMExpressionNode.class), @NodeChild(type = LLVMExpressionNode.class)})
+    public abstract static class LLVMPThreadJoin extends LLVMPThreadIntrinsic {
+
+        @Specialization
+        protected int doIntrinsic(VirtualFrame frame, long thread, Object valuePtr,
+                        @Cached("toNative()") LLVMToNativeNode toNative,
+                        @Cached("getLLVMMemory()") LLVMMemory memory) {
+            long[] value = new long[1];
+            int result = getPThreadContext().join(thread, value);
+            if (result == 0) {
+                memory.putAddress(toNative.executeWithTarget(frame, valuePtr), value[0]);
+            }
+            return result;
+        }
+    }
+
+    @NodeChild(type = LLVMExpressionNode.class)
+    public abstract static class LLVMPThreadDetach extends LLVMPThreadIntrinsic {
+
+        @Specialization
+        protected int doIntrinsic(long thread) {
+            return getPThreadContext().detach(thread);
+        }
+    }
+
+    public abstract static class LLVMPThreadSelf extends LLVMPThreadIntrinsic {
+
+        @Specialization
+        protected long doIntrinsic() {
+            return getPThreadContext().self();
+        }
+    }
+
+    @NodeChild(type = LLVMExpressionNode.class)
+    public abstract static class LLVMPThreadExit extends LLVMPThreadIntrinsic {
+
+        @Specialization
+        protected Object doIntrinsic(VirtualFrame frame, Object value,
+                        @Cached("toNative()") LLVMToNativeNode toNative) {
+            getPThreadContext().exitThread(toNative.executeWithTarget(frame, value).getVal());
+            return null;
+        }
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMExpressionNode.class), @NodeChild(type = LLVMExpressionNode.class)})
+    public abstract static class LLVMPThreadMutexInit extends LLVMPThreadIntrinsic {
+
+        @Specialization
+        protected int doIntrinsic(VirtualFrame frame, Object mutex, int type,
+                        @Cached("toNative()") LLVMToNativeNode toNative) {
+            return getPThreadContext().initMutex(toNative.executeWithTarget(frame, mutex).getVal(), type);
+        }
+    }
+
+    @NodeChild(type = LLVMExpressionNode.class)
+    public abstract static class LLVMPThreadMutexDestroy extends LLVMPThreadIntrinsic {
+
+        @Specialization
+        protected int doIntrinsic(VirtualFrame frame, Object mutex,
+                        @Cached("toNative()") LLVMToNativeNode toNative) {
+            return getPThreadContext().destroyMutex(toNative.executeWithTarget(frame, mutex).getVal());
+        }
+    }
+
+    @NodeChild(type = LLVMExpressionNode.class)
+    public abstract static class LLVMPThreadMutexLock extends LLVMPThreadIntrinsic {
+
+        @Specialization
+        protected int doIntrinsic(VirtualFrame frame, Object mutex,
+                        @Cached("toNative()") LLVMToNativeNode toNative) {
+            return getPThreadContext().lockMutex(toNative.executeWithTarget(frame, mutex).getVal());
+        }
+    }
+
+    @NodeChild(type = LLVMExpressionNode.class)
+    public abstract static class LLVMPThreadMutexTryLock extends LLVMPThreadIntrinsic {
+
+        @Specialization
+        protected int doIntrinsic(VirtualFrame frame, Object mutex,
+                        @Cached("toNative()") LLVMToNativeNode toNative) {
+            return getPThreadContext().tryLockMutex(toNative.executeWithTarget(frame, mutex).getVal());
+        }
+    }
+
+    @NodeChild(type = LLVMExpressionNode.class)
+    public abstract static class LLVMPThreadMutexUnlock extends LLVMPThreadIntrinsic {
+
+        @Specialization
+        protected int doIntrinsic(VirtualFrame frame, Object mutex,
+                        @Cached("toNative()") LLVMToNativeNode toNative) {
+            return getPThreadContext().unlockMutex(toNative.executeWithTarget(frame, mutex).getVal());
+        }
+    }
+
+    @NodeChild(type = LLVMExpressionNode.class)
+    public abstract static class LLVMPThreadCondInit extends LLVMPThreadIntrinsic {
+
+        @Specialization
+        protected int doIntrinsic(VirtualFrame frame, Object cond,
+                        @Cached("toNative()") LLVMToNativeNode toNative) {
+            return getPThreadContext().initCondition(toNative.executeWithTarget(frame, cond).getVal());
+        }
+    }
+
+    @NodeChild(type = LLVMExpressionNode.class)
+    public abstract static class LLVMPThreadCondDestroy extends LLVMPThreadIntrinsic {
+
+        @Specialization
+        protected int doIntrinsic(VirtualFrame frame, Object cond,
+                        @Cached("toNative()") LLVMToNativeNode toNative) {
+            return getPThreadContext().destroyCondition(toNative.executeWithTarget(frame, cond).getVal());
+        }
+    }
+
+    @NodeChild(type = LLVMExpressionNode.class)
+    public abstract static class LLVMPThreadCondSignal extends LLVMPThreadIntrinsic {
+
+        @Specialization
+        protected int doIntrinsic(VirtualFrame frame, Object cond,
+                        @Cached("toNative()") LLVMToNativeNode toNative) {
+            return getPThreadContext().signalCondition(toNative.executeWithTarget(frame, cond).getVal());
+        }
+    }
+
+    @NodeChild(type = LLVMExpressionNode.class)
+    public abstract static class LLVMPThreadCondBroadcast extends LLVMPThreadIntrinsic {
+
+        @Specialization
+        protected int doIntrinsic(VirtualFrame frame, Object cond,
+                        @Cached("toNative()") LLVMToNativeNode toNative) {
+            return getPThreadContext().broadcastCondition(toNative.executeWithTarget(frame, cond).getVal());
+        }
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMExpressionNode.class), @NodeChild(type = LLVMExpressionNode.class)})
+    public abstract static class LLVMPThreadCondWait extends LLVMPThreadIntrinsic {
+
+        @Specialization
+        protected int doIntrinsic(VirtualFrame frame, Object cond, Object mutex,
+                        @Cached("toNative()") LLVMToNativeNode condToNative,
+                        @Cached("toNative()") LLVMToNativeNode mutexToNative) {
+            return getPThreadContext().waitCondition(condToNative.executeWithTarget(frame, cond).getVal(), mutexToNative.executeWithTarget(frame, mutex).getVal(), -1);
+        }
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMExpressionNode.class), @NodeChild(type = LLVMExpressionNode.class), @NodeChild(type = LLVMExpressionNode.class),
+                    @NodeChild(type = LLVMExpressionNode.class)})
+    public abstract static class LLVMPThreadCondTimedWait extends LLVMPThreadIntrinsic {
+
+        @Specialization
+        protected int doIntrinsic(VirtualFrame frame, Object cond, Object mutex, long seconds, long nanoseconds,
+                        @Cached("toNative()") LLVMToNativeNode condToNative,
+                        @Cached("toNative()") LLVMToNativeNode mutexToNative) {
+            long deadline = seconds * 1000 + nanoseconds / 1000000;
+            return getPThreadContext().waitCondition(condToNative.executeWithTarget(frame, cond).getVal(), mutexToNative.executeWithTarget(frame, mutex).getVal(), deadline);
+        }
+    }
+
+    @NodeChild(type = LLVMExpressionNode.class)
+    public abstract static class LLVMPThreadRWLockInit extends LLVMPThreadIntrinsic {
+
+        @Specialization
+        protected int doIntrinsic(VirtualFrame frame, Object rwlock,
+                        @Cached("toNative()") LLVMToNativeNode toNative) {
+            return getPThreadContext().initRWLock(toNative.executeWithTarget(frame, rwlock).getVal());
+        }
+    }
+
+    @NodeChild(type = LLVMExpressionNode.class)
+    public abstract static class LLVMPThreadRWLockDestroy extends LLVMPThreadIntrinsic {
+
+        @Specialization
+        protected int doIntrinsic(VirtualFrame frame, Object rwlock,
+                        @Cached("toNative()") LLVMToNativeNode toNative) {
+            return getPThreadContext().destroyRWLock(toNative.executeWithTarget(frame, rwlock).getVal());
+        }
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMExpressionNode.class), @NodeChild(type = LLVMExpressionNode.class)})
+    public abstract static class LLVMPThreadRWLockRead extends LLVMPThreadIntrinsic {
+
+        @Specialization
+        protected int doIntrinsic(VirtualFrame frame, Object rwlock, int tryLock,
+                        @Cached("toNative()") LLVMToNativeNode toNative) {
+            return getPThreadContext().readLock(toNative.executeWithTarget(frame, rwlock).getVal(), tryLock != 0);
+        }
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMExpressionNode.class), @NodeChild(type = LLVMExpressionNode.class)})
+    public abstract static class LLVMPThreadRWLockWrite extends LLVMPThreadIntrinsic {
+
+        @Specialization
+        protected int doIntrinsic(VirtualFrame frame, Object rwlock, int tryLock,
+                        @Cached("toNative()") LLVMToNativeNode toNative) {
+            return getPThreadContext().writeLock(toNative.executeWithTarget(frame, rwlock).getVal(), tryLock != 0);
+        }
+    }
+
+    @NodeChild(type = LLVMExpressionNode.class)
+    public abstract static class LLVMPThreadRWLockUnlock extends LLVMPThreadIntrinsic {
+
+        @Specialization
+        protected int doIntrinsic(VirtualFrame frame, Object rwlock,
+                        @Cached("toNative()") LLVMToNativeNode toNative) {
+            return getPThreadContext().unlockRWLock(toNative.executeWithTarget(frame, rwlock).getVal());
+        }
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMExpressionNode.class), @NodeChild(type = LLVMExpressionNode.class)})
+    public abstract static class LLVMPThreadOnce extends LLVMPThreadIntrinsic {
+
+        @Specialization
+        protected int doIntrinsic(VirtualFrame frame, Object onceControl, Object initRoutine,
+                        @Cached("toNative()") LLVMToNativeNode onceToNative,
+                        @Cached("toNative()") LLVMToNativeNode functionToNative) {
+            LLVMFunctionDescriptor function = getFunction(functionToNative.executeWithTarget(frame, initRoutine));
+            return getPThreadContext().once(onceToNative.executeWithTarget(frame, onceControl).getVal(), function);
+        }
+    }
+
+    @NodeChild(type = LLVMExpressionNode.class)
+    public abstract static class LLVMPThreadKeyCreate extends LLVMPThreadIntrinsic {
+
+        @Specialization
+        protected int doIntrinsic(VirtualFrame frame, Object destructor,
+                        @Cached("toNative()") LLVMToNativeNode toNative) {
+            return getPThreadContext().createKey(getFunction(toNative.executeWithTarget(frame, destructor)));
+        }
+    }
+
+    @NodeChild(type = LLVMExpressionNode.class)
+    public abstract static class LLVMPThreadKeyDelete extends LLVMPThreadIntrinsic {
+
+        @Specialization
+        protected int doIntrinsic(int key) {
+            return getPThreadContext().deleteKey(key);
+        }
+    }
+
+    @NodeChild(type = LLVMExpressionNode.class)
+    public abstract static class LLVMPThreadGetSpecific extends LLVMPThreadIntrinsic {
+
+        @Specialization
+        protected LLVMAddress doIntrinsic(int key) {
+            return LLVMAddress.fromLong(getPThreadContext().getSpecific(key));
+        }
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMExpressionNode.class), @NodeChild(type = LLVMExpressionNode.class)})
+    public abstract static class LLVMPThreadSetSpecific extends LLVMPThreadIntrinsic {
+
+        @Specialization
+        protected int doIntrinsic(VirtualFrame frame, int key, Object value,
+                        @Cached("toNative()") LLVMToNativeNode toNative) {
+            return getPThreadContext().setSpecific(key, toNative.executeWithTarget(frame, value).getVal());
+        }
+    }
+}
@@ -0,0 +1,515 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.nodes.intrinsics.c;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.NodeChild;
+import com.oracle.truffle.api.dsl.NodeChildren;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.interop.ForeignAccess;
+import com.oracle.truffle.api.interop.Message;
+import com.oracle.truffle.api.interop.UnsupportedMessageException;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.llvm.nodes.intrinsics.llvm.LLVMIntrinsic;
+import com.oracle.truffle.llvm.nodes.memory.LLVMAddressGetElementPtrNode.LLVMIncrementPointerNode;
+import com.oracle.truffle.llvm.nodes.memory.LLVMAddressGetElementPtrNodeGen.LLVMIncrementPointerNodeGen;
+import com.oracle.truffle.llvm.nodes.memory.load.LLVMI8LoadNodeGen;
+import com.oracle.truffle.llvm.nodes.memory.load.LLVMLoadNode;
+import com.oracle.truffle.llvm.nodes.memory.store.LLVMI8StoreNodeGen;
+import com.oracle.truffle.llvm.nodes.memory.store.LLVMStoreNode;
+import com.oracle.truffle.llvm.runtime.LLVMAddress;
+import com.oracle.truffle.llvm.runtime.LLVMTruffleObject;
+import com.oracle.truffle.llvm.runtime.interop.convert.ForeignToLLVM;
+import com.oracle.truffle.llvm.runtime.interop.convert.ForeignToLLVM.ForeignToLLVMType;
+import com.oracle.truffle.llvm.runtime.memory.LLVMMemMoveNode;
+import com.oracle.truffle.llvm.runtime.memory.LLVMMemSetNode;
+import com.oracle.truffle.llvm.runtime.memory.LLVMMemory;
+import com.oracle.truffle.llvm.runtime.nodes.api.LLVMExpressionNode;
+import com.oracle.truffle.llvm.runtime.types.PrimitiveType;
+
+/**
+ * Implementations of the libc string and memory routines. Native pointers are processed a word at
+ * a time: scanning routines first align the pointer to a word boundary, so that a word read never
+ * crosses into a page that the string does not touch. All other pointers (managed objects,
+ * virtual allocations, globals) are processed byte by byte using the regular load and store nodes.
+ * A foreign object that has a size ends after its last element, as if a zero byte followed.
+ */
+public abstract class LLVMStringIntrinsics extends LLVMIntrinsic {
+
+    private static final int WORD_SIZE = Long.BYTES;
+    private static final long ALIGNMENT_MASK = WORD_SIZE - 1;
+    private static final long LOW_BITS = 0x0101010101010101L;
+    private static final long HIGH_BITS = 0x8080808080808080L;
+    private static final int BYTE_MASK = 0xFF;
+    private static final long UNBOUNDED = Long.MAX_VALUE;
+
+    @Child private Node foreignHasSize;
+    @Child private Node foreignGetSize;
+    @Child private ForeignToLLVM toLLVM;
+
+    protected LLVMLoadNode createI8Load() {
+        return LLVMI8LoadNodeGen.create();
+    }
+
+    protected LLVMStoreNode createI8Store() {
+        return LLVMI8StoreNodeGen.create();
+    }
+
+    protected LLVMIncrementPointerNode createIncrement() {
+        return LLVMIncrementPointerNodeGen.create();
+    }
+
+    /**
+     * Sets the highest bit of every byte of {@code word} that is zero. Bytes above the lowest zero
+     * byte may be marked spuriously, so only the lowest marked byte is meaningful.
+     */
+    private static long markZeroBytes(long word) {
+        return (word - LOW_BITS) & ~word & HIGH_BITS;
+    }
+
+    private static int lowestMarkedByte(long mask) {
+        return Long.numberOfTrailingZeros(mask) / Byte.SIZE;
+    }
+
+    private static long unsignedLength(long length) {
+        // size_t arguments above Long.MAX_VALUE are effectively unbounded
+        return length < 0 ? UNBOUNDED : length;
+    }
+
+    private static boolean isAligned(long ptr) {
+        return (ptr & ALIGNMENT_MASK) == 0;
+    }
+
+    protected static long strnlen(LLVMMemory memory, long ptr, long maxLength) {
+        long length = 0;
+        while (length < maxLength && !isAligned(ptr + length)) {
+            if (memory.getI8(ptr + length) == 0) {
+                return length;
+            }
+            length++;
+        }
+        while (maxLength - length >= WORD_SIZE) {
+            long zeros = markZeroBytes(memory.getI64(ptr + length));
+            if (zeros != 0) {
+                return length + lowestMarkedByte(zeros);
+            }
+            length += WORD_SIZE;
+        }
+        while (length < maxLength && memory.getI8(ptr + length) != 0) {
+            length++;
+        }
+        return length;
+    }
+
+    protected static int strncmp(LLVMMemory memory, long s1, long s2, long maxLength) {
+        long offset = 0;
+        if (((s1 ^ s2) & ALIGNMENT_MASK) == 0) {
+            while (offset < maxLength && !isAligned(s1 + offset)) {
+                int c1 = Byte.toUnsignedInt(memory.getI8(s1 + offset));
+                int c2 = Byte.toUnsignedInt(memory.getI8(s2 + offset));
+                if (c1 != c2 || c1 == 0) {
+                    return c1 - c2;
+                }
+                offset++;
+            }
+            while (maxLength - offset >= WORD_SIZE) {
+                long w1 = memory.getI64(s1 + offset);
+                if (w1 != memory.getI64(s2 + offset) || markZeroBytes(w1) != 0) {
+                    // the byte loop below locates the exact position
+                    break;
+                }
+                offset += WORD_SIZE;
+            }
+        }
+        while (offset < maxLength) {
+            int c1 = Byte.toUnsignedInt(memory.getI8(s1 + offset));
+            int c2 = Byte.toUnsignedInt(memory.getI8(s2 + offset));
+            if (c1 != c2 || c1 == 0) {
+                return c1 - c2;
+            }
+            offset++;
+        }
+        return 0;
+    }
+
+    protected static int memcmp(LLVMMemory memory, long s1, long s2, long length) {
+        long offset = 0;
+        while (length - offset >= WORD_SIZE) {
+            long w1 = memory.getI64(s1 + offset);
+            long w2 = memory.getI64(s2 + offset);
+            if (w1 != w2) {
+                int shift = lowestMarkedByte(w1 ^ w2) * Byte.SIZE;
+                return (int) ((w1 >>> shift) & BYTE_MASK) - (int) ((w2 >>> shift) & BYTE_MASK);
+            }
+            offset += WORD_SIZE;
+        }
+        while (offset < length) {
+            int c1 = Byte.toUnsignedInt(memory.getI8(s1 + offset));
+            int c2 = Byte.toUnsignedInt(memory.getI8(s2 + offset));
+            if (c1 != c2) {
+                return c1 - c2;
+            }
+            offset++;
+        }
+        return 0;
+    }
+
+    /**
+     * Returns the offset of the first byte equal to {@code c}, or -1. If {@code stopAtZero} is
+     * set, the search also ends at the first zero byte.
+     */
+    protected static long indexOf(LLVMMemory memory, long ptr, byte c, long maxLength, boolean stopAtZero) {
+        long offset = 0;
+        while (offset < maxLength && !isAligned(ptr + offset)) {
+            byte value = memory.getI8(ptr + offset);
+            if (value == c) {
+                return offset;
+            } else if (stopAtZero && value == 0) {
+                return -1;
+            }
+            offset++;
+        }
+        long pattern = (c & BYTE_MASK) * LOW_BITS;
+        while (maxLength - offset >= WORD_SIZE) {
+            long word = memory.getI64(ptr + offset);
+            long matches = markZeroBytes(word ^ pattern);
+            if (stopAtZero) {
+                matches |= markZeroBytes(word);
+            }
+            if (matches != 0) {
+                int index = lowestMarkedByte(matches);
+                return (byte) (word >>> (index * Byte.SIZE)) == c ? offset + index : -1;
+            }
+            offset += WORD_SIZE;
+        }
+        while (offset < maxLength) {
+            byte value = memory.getI8(ptr + offset);
+            if (value == c) {
+                return offset;
+            } else if (stopAtZero && value == 0) {
+                return -1;
+            }
+            offset++;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the number of bytes of a foreign object that has a size, for example a string of
+     * another language, or {@link #UNBOUNDED} for all other pointers. Such objects are not
+     * zero-terminated: the string consists of all their elements, and the generic routines treat
+     * the end of the object like a terminating zero byte.
+     */
+    protected long foreignLength(VirtualFrame frame, Object ptr) {
+        if (!(ptr instanceof LLVMTruffleObject)) {
+            return UNBOUNDED;
+        }
+        LLVMTruffleObject object = (LLVMTruffleObject) ptr;
+        if (foreignHasSize == null) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            foreignHasSize = insert(Message.HAS_SIZE.createNode());
+            foreignGetSize = insert(Message.GET_SIZE.createNode());
+            toLLVM = insert(ForeignToLLVM.create(ForeignToLLVMType.I64));
+        }
+        if (!ForeignAccess.sendHasSize(foreignHasSize, object.getObject())) {
+            return UNBOUNDED;
+        }
+        try {
+            long size = (long) toLLVM.executeWithTarget(frame, ForeignAccess.sendGetSize(foreignGetSize, object.getObject()));
+            return Math.max(size - object.getOffset(), 0);
+        } catch (UnsupportedMessageException e) {
+            CompilerDirectives.transferToInterpreter();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static int readUnsigned(VirtualFrame frame, LLVMLoadNode read, Object ptr, long offset, long foreignLength) {
+        return offset < foreignLength ? Byte.toUnsignedInt((byte) read.executeWithTarget(frame, ptr)) : 0;
+    }
+
+    protected long genericStrnlen(VirtualFrame frame, LLVMLoadNode read, LLVMIncrementPointerNode inc, Object str, long maxLength) {
+        long foreignLength = foreignLength(frame, str);
+        if (foreignLength != UNBOUNDED) {
+            return Math.min(foreignLength, maxLength);
+        }
+        Object ptr = str;
+        long length = 0;
+        while (length < maxLength && (byte) read.executeWithTarget(frame, ptr) != 0) {
+            length++;
+            ptr = inc.executeWithTarget(frame, ptr, Byte.BYTES, PrimitiveType.I8);
+        }
+        return length;
+    }
+
+    protected int genericCompare(VirtualFrame frame, LLVMLoadNode read, LLVMIncrementPointerNode inc, Object s1, Object s2, long maxLength, boolean stopAtZero) {
+        long length1 = foreignLength(frame, s1);
+        long length2 = foreignLength(frame, s2);
+        boolean bothForeign = length1 != UNBOUNDED && length2 != UNBOUNDED;
+        Object ptr1 = s1;
+        Object ptr2 = s2;
+        for (long offset = 0; offset < maxLength; offset++) {
+            int c1 = readUnsigned(frame, read, ptr1, offset, length1);
+            int c2 = readUnsigned(frame, read, ptr2, offset, length2);
+            if (c1 != c2) {
+                return c1 - c2;
+            } else if (stopAtZero && c1 == 0 && !(bothForeign && offset < length1 && offset < length2)) {
+                // zero bytes inside two foreign strings are part of the strings
+                return 0;
+            }
+            ptr1 = inc.executeWithTarget(frame, ptr1, Byte.BYTES, PrimitiveType.I8);
+            ptr2 = inc.executeWithTarget(frame, ptr2, Byte.BYTES, PrimitiveType.I8);
+        }
+        return 0;
+    }
+
+    protected Object genericIndexOf(VirtualFrame frame, LLVMLoadNode read, LLVMIncrementPointerNode inc, Object str, byte c, long maxLength, boolean stopAtZero) {
+        long foreignLength = foreignLength(frame, str);
+        // memchr must not report a match in the zero byte that stands in for the end of the object
+        long limit = stopAtZero ? maxLength : Math.min(maxLength, foreignLength);
+        Object ptr = str;
+        for (long offset = 0; offset < limit; offset++) {
+            int value = readUnsigned(frame, read, ptr, offset, foreignLength);
+            if (value == Byte.toUnsignedInt(c)) {
+                return ptr;
+            } else if (stopAtZero && value == 0) {
+                break;
+            }
+            ptr = inc.executeWithTarget(frame, ptr, Byte.BYTES, PrimitiveType.I8);
+        }
+        return LLVMAddress.nullPointer();
+    }
+
+    /**
+     * Copies {@code length} bytes byte by byte, which works for every kind of pointer including
+     * foreign objects that cannot be converted to native memory.
+     */
+    protected static Object genericCopy(VirtualFrame frame, LLVMLoadNode read, LLVMStoreNode write, LLVMIncrementPointerNode inc, Object dst, Object src, long length) {
+        Object target = dst;
+        Object source = src;
+        for (long i = 0; i < length; i++) {
+            write.executeWithTarget(frame, target, read.executeWithTarget(frame, source));
+            target = inc.executeWithTarget(frame, target, Byte.BYTES, PrimitiveType.I8);
+            source = inc.executeWithTarget(frame, source, Byte.BYTES, PrimitiveType.I8);
+        }
+        return target;
+    }
+
+    protected static void genericFill(VirtualFrame frame, LLVMStoreNode write, LLVMIncrementPointerNode inc, Object dst, long length) {
+        Object target = dst;
+        for (long i = 0; i < length; i++) {
+            write.executeWithTarget(frame, target, (byte) 0);
+            target = inc.executeWithTarget(frame, target, Byte.BYTES, PrimitiveType.I8);
+        }
+    }
+
+    @NodeChild(type = LLVMExpressionNode.class)
+    public abstract static class LLVMStrlen extends LLVMStringIntrinsics {
+
+        @Specialization
+        protected long doNative(LLVMAddress str,
+                        @Cached("getLLVMMemory()") LLVMMemory memory) {
+            return strnlen(memory, str.getVal(), Long.MAX_VALUE);
+        }
+
+        @Specialization
+        protected long doGeneric(VirtualFrame frame, Object str,
+                        @Cached("createI8Load()") LLVMLoadNode read,
+                        @Cached("createIncrement()") LLVMIncrementPointerNode inc) {
+            return genericStrnlen(frame, read, inc, str, Long.MAX_VALUE);
+        }
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMExpressionNode.class), @NodeChild(type = LLVMExpressionNode.class)})
+    public abstract static class LLVMStrnlen extends LLVMStringIntrinsics {
+
+        @Specialization
+        protected long doNative(LLVMAddress str, long maxLength,
+                        @Cached("getLLVMMemory()") LLVMMemory memory) {
+            return strnlen(memory, str.getVal(), unsignedLength(maxLength));
+        }
+
+        @Specialization
+        protected long doGeneric(VirtualFrame frame, Object str, long maxLength,
+                        @Cached("createI8Load()") LLVMLoadNode read,
+                        @Cached("createIncrement()") LLVMIncrementPointerNode inc) {
+            return genericStrnlen(frame, read, inc, str, unsignedLength(maxLength));
+        }
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMExpressionNode.class), @NodeChild(type = LLVMExpressionNode.class)})
+    public abstract static class LLVMStrcmp extends LLVMStringIntrinsics {
+
+        @Specialization
+        protected int doNative(LLVMAddress s1, LLVMAddress s2,
+                        @Cached("getLLVMMemory()") LLVMMemory memory) {
+            return strncmp(memory, s1.getVal(), s2.getVal(), Long.MAX_VALUE);
+        }
+
+        @Specialization
+        protected int doGeneric(VirtualFrame frame, Object s1, Object s2,
+                        @Cached("createI8Load()") LLVMLoadNode read,
+                        @Cached("createIncrement()") LLVMIncrementPointerNode inc) {
+            return genericCompare(frame, read, inc, s1, s2, Long.MAX_VALUE, true);
+        }
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMExpressionNode.class), @NodeChild(type = LLVMExpressionNode.class), @NodeChild(type = LLVMExpressionNode.class)})
+    public abstract static class LLVMStrncmp extends LLVMStringIntrinsics {
+
+        @Specialization
+        protected int doNative(LLVMAddress s1, LLVMAddress s2, long maxLength,
+                        @Cached("getLLVMMemory()") LLVMMemory memory) {
+            return strncmp(memory, s1.getVal(), s2.getVal(), unsignedLength(maxLength));
+        }
+
+        @Specialization
+        protected int doGeneric(VirtualFrame frame, Object s1, Object s2, long maxLength,
+                        @Cached("createI8Load()") LLVMLoadNode read,
+                        @Cached("createIncrement()") LLVMIncrementPointerNode inc) {
+            return genericCompare(frame, read, inc, s1, s2, unsignedLength(maxLength), true);
+        }
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMExpressionNode.class), @NodeChild(type = LLVMExpressionNode.class), @NodeChild(type = LLVMExpressionNode.class)})
+    public abstract static class LLVMMemcmp extends LLVMStringIntrinsics {
+
+        @Specialization
+        protected int doNative(LLVMAddress s1, LLVMAddress s2, long length,
+                        @Cached("getLLVMMemory()") LLVMMemory memory) {
+            return memcmp(memory, s1.getVal(), s2.getVal(), unsignedLength(length));
+        }
+
+        @Specialization
+        protected int doGeneric(VirtualFrame frame, Object s1, Object s2, long length,
+                        @Cached("createI8Load()") LLVMLoadNode read,
+                        @Cached("createIncrement()") LLVMIncrementPointerNode inc) {
+            return genericCompare(frame, read, inc, s1, s2, unsignedLength(length), false);
+        }
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMExpressionNode.class), @NodeChild(type = LLVMExpressionNode.class), @NodeChild(type = LLVMExpressionNode.class)})
+    public abstract static class LLVMMemchr extends LLVMStringIntrinsics {
+
+        @Specialization
+        protected Object doNative(LLVMAddress str, int c, long length,
+                        @Cached("getLLVMMemory()") LLVMMemory memory) {
+            long index = indexOf(memory, str.getVal(), (byte) c, unsignedLength(length), false);
+            return index < 0 ? LLVMAddress.nullPointer() : str.increment(index);
+        }
+
+        @Specialization
+        protected Object doGeneric(VirtualFrame frame, Object str, int c, long length,
+                        @Cached("createI8Load()") LLVMLoadNode read,
+                        @Cached("createIncrement()") LLVMIncrementPointerNode inc) {
+            return genericIndexOf(frame, read, inc, str, (byte) c, unsignedLength(length), false);
+        }
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMExpressionNode.class), @NodeChild(type = LLVMExpressionNode.class)})
+    public abstract static class LLVMStrchr extends LLVMStringIntrinsics {
+
+        @Specialization
+        protected Object doNative(LLVMAddress str, int c,
+                        @Cached("getLLVMMemory()") LLVMMemory memory) {
+            long index = indexOf(memory, str.getVal(), (byte) c, Long.MAX_VALUE, true);
+            return index < 0 ? LLVMAddress.nullPointer() : str.increment(index);
+        }
+
+        @Specialization
+        protected Object doGeneric(VirtualFrame frame, Object str, int c,
+                        @Cached("createI8Load()") LLVMLoadNode read,
+                        @Cached("createIncrement()") LLVMIncrementPointerNode inc) {
+            return genericIndexOf(frame, read, inc, str, (byte) c, Long.MAX_VALUE, true);
+        }
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMExpressionNode.class), @NodeChild(type = LLVMExpressionNode.class)})
+    public abstract static class LLVMStrcpy extends LLVMStringIntrinsics {
+        @Child private LLVMMemMoveNode memmove;
+
+        public LLVMStrcpy(LLVMMemMoveNode memmove) {
+            this.memmove = memmove;
+        }
+
+        @Specialization
+        protected Object doNative(VirtualFrame frame, LLVMAddress dst, LLVMAddress src,
+                        @Cached("getLLVMMemory()") LLVMMemory memory) {
+            long length = strnlen(memory, src.getVal(), Long.MAX_VALUE);
+            memmove.executeWithTarget(frame, dst, src, length + 1);
+            return dst;
+        }
+
+        @Specialization
+        protected Object doGeneric(VirtualFrame frame, Object dst, Object src,
+                        @Cached("createI8Load()") LLVMLoadNode read,
+                        @Cached("createI8Store()") LLVMStoreNode write,
+                        @Cached("createIncrement()") LLVMIncrementPointerNode inc) {
+            long length = genericStrnlen(frame, read, inc, src, Long.MAX_VALUE);
+            Object end = genericCopy(frame, read, write, inc, dst, src, length);
+            genericFill(frame, write, inc, end, 1);
+            return dst;
+        }
+    }
+
+    @NodeChildren({@NodeChild(type = LLVMExpressionNode.class), @NodeChild(type = LLVMExpressionNode.class), @NodeChild(type = LLVMExpressionNode.class)})
+    public abstract static class LLVMStrncpy extends LLVMStringIntrinsics {
+        @Child private LLVMMemMoveNode memmove;
+        @Child private LLVMMemSetNode memset;
+
+        public LLVMStrncpy(LLVMMemMoveNode memmove, LLVMMemSetNode memset) {
+            this.memmove = memmove;
+            this.memset = memset;
+        }
+
+        @Specialization
+        protected Object doNative(VirtualFrame frame, LLVMAddress dst, LLVMAddress src, long maxLength,
+                        @Cached("getLLVMMemory()") LLVMMemory memory) {
+            long length = strnlen(memory, src.getVal(), unsignedLength(maxLength));
+            memmove.executeWithTarget(frame, dst, src, length);
+            if (Long.compareUnsigned(length, maxLength) < 0) {
+                memset.executeWithTarget(frame, dst.increment(length), (byte) 0, maxLength - length);
+            }
+            return dst;
+        }
+
+        @Specialization
+        protected Object doGeneric(VirtualFrame frame, Object dst, Object src, long maxLength,
+                        @Cached("createI8Load()") LLVMLoadNode read,
+                        @Cached("createI8Store()") LLVMStoreNode write,
+                        @Cached("createIncrement()") LLVMIncrementPointerNode inc) {
+            long length = genericStrnlen(frame, read, inc, src, unsignedLength(maxLength));
+            Object end = genericCopy(frame, read, write, inc, dst, src, length);
+            genericFill(frame, write, inc, end, unsignedLength(maxLength) - length);
+            return dst;
+        }
+    }
+}
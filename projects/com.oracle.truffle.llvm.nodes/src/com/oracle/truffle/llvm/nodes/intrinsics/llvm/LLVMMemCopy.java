@@ -39,7 +39,6 @@ import com.oracle.truffle.llvm.runtime.LLVMTruffleObject;
 import com.oracle.truffle.llvm.runtime.LLVMVirtualAllocationAddress;
 import com.oracle.truffle.llvm.runtime.global.LLVMGlobal;
 import com.oracle.truffle.llvm.runtime.memory.LLVMMemMoveNode;
-import com.oracle.truffle.llvm.runtime.memory.LLVMMemory;
 import com.oracle.truffle.llvm.runtime.memory.UnsafeIntArrayAccess;
 import com.oracle.truffle.llvm.runtime.nodes.api.LLVMExpressionNode;
 import com.oracle.truffle.llvm.runtime.nodes.api.LLVMToNativeNode;
@@ -66,18 +65,16 @@ public abstract class LLVMMemCopy extends LLVMBuiltin {
     @SuppressWarnings("unused")
     @Specialization
     protected Object doVoid(LLVMVirtualAllocationAddress target, LLVMAddress source, int length, int align, boolean isVolatile,
-                    @Cached("getLLVMMemory()") LLVMMemory memory,
                     @Cached("getUnsafeIntArrayAccess()") UnsafeIntArrayAccess arrayAccess) {
-        copy(arrayAccess, memory, target, source.getVal(), length);
+        copy(arrayAccess, target, source.getVal(), length);
         return null;
     }
 
     @SuppressWarnings("unused")
     @Specialization
     protected Object doVoid(LLVMAddress target, LLVMVirtualAllocationAddress source, int length, int align, boolean isVolatile,
-                    @Cached("getLLVMMemory()") LLVMMemory memory,
                     @Cached("getUnsafeIntArrayAccess()") UnsafeIntArrayAccess arrayAccess) {
-        copy(arrayAccess, memory, target.getVal(), source, length);
+        copy(arrayAccess, target.getVal(), source, length);
         return null;
     }
 
@@ -85,9 +82,8 @@ public abstract class LLVMMemCopy extends LLVMBuiltin {
     @Specialization
     protected Object doVoid(VirtualFrame frame, LLVMGlobal target, LLVMVirtualAllocationAddress source, int length, int align, boolean isVolatile,
                     @Cached("toNative()") LLVMToNativeNode globalAccess,
-                    @Cached("getLLVMMemory()") LLVMMemory memory,
                     @Cached("getUnsafeIntArrayAccess()") UnsafeIntArrayAccess arrayAccess) {
-        copy(arrayAccess, memory, globalAccess.executeWithTarget(frame, target).getVal(), source, length);
+        copy(arrayAccess, globalAccess.executeWithTarget(frame, target).getVal(), source, length);
         return null;
     }
 
@@ -95,9 +91,8 @@ public abstract class LLVMMemCopy extends LLVMBuiltin {
     @Specialization
     protected Object doVoid(VirtualFrame frame, LLVMVirtualAllocationAddress target, LLVMGlobal source, int length, int align, boolean isVolatile,
                     @Cached("toNative()") LLVMToNativeNode globalAccess,
-                    @Cached("getLLVMMemory()") LLVMMemory memory,
                     @Cached("getUnsafeIntArrayAccess()") UnsafeIntArrayAccess arrayAccess) {
-        copy(arrayAccess, memory, target, globalAccess.executeWithTarget(frame, source).getVal(), length);
+        copy(arrayAccess, target, globalAccess.executeWithTarget(frame, source).getVal(), length);
         return null;
     }
 
@@ -112,18 +107,16 @@ public abstract class LLVMMemCopy extends LLVMBuiltin {
     @SuppressWarnings("unused")
     @Specialization
     protected Object doVoid(LLVMVirtualAllocationAddress target, LLVMAddress source, long length, int align, boolean isVolatile,
-                    @Cached("getLLVMMemory()") LLVMMemory memory,
                     @Cached("getUnsafeIntArrayAccess()") UnsafeIntArrayAccess arrayAccess) {
-        copy(arrayAccess, memory, target, source.getVal(), length);
+        copy(arrayAccess, target, source.getVal(), length);
         return null;
     }
 
     @SuppressWarnings("unused")
     @Specialization
     protected Object doVoid(LLVMAddress target, LLVMVirtualAllocationAddress source, long length, int align, boolean isVolatile,
-                    @Cached("getLLVMMemory()") LLVMMemory memory,
                     @Cached("getUnsafeIntArrayAccess()") UnsafeIntArrayAccess arrayAccess) {
-        copy(arrayAccess, memory, target.getVal(), source, length);
+        copy(arrayAccess, target.getVal(), source, length);
         return null;
     }
 
@@ -131,9 +124,8 @@ public abstract class LLVMMemCopy extends LLVMBuiltin {
     @Specialization
     protected Object doVoid(VirtualFrame frame, LLVMGlobal target, LLVMVirtualAllocationAddress source, long length, int align, boolean isVolatile,
                     @Cached("toNative()") LLVMToNativeNode globalAccess,
-                    @Cached("getLLVMMemory()") LLVMMemory memory,
                     @Cached("getUnsafeIntArrayAccess()") UnsafeIntArrayAccess arrayAccess) {
-        copy(arrayAccess, memory, globalAccess.executeWithTarget(frame, target).getVal(), source, length);
+        copy(arrayAccess, globalAccess.executeWithTarget(frame, target).getVal(), source, length);
         return null;
     }
 
@@ -141,9 +133,8 @@ public abstract class LLVMMemCopy extends LLVMBuiltin {
     @Specialization
     protected Object doVoid(VirtualFrame frame, LLVMVirtualAllocationAddress target, LLVMGlobal source, long length, int align, boolean isVolatile,
                     @Cached("toNative()") LLVMToNativeNode globalAccess,
-                    @Cached("getLLVMMemory()") LLVMMemory memory,
                     @Cached("getUnsafeIntArrayAccess()") UnsafeIntArrayAccess arrayAccess) {
-        copy(arrayAccess, memory, target, globalAccess.executeWithTarget(frame, source).getVal(), length);
+        copy(arrayAccess, target, globalAccess.executeWithTarget(frame, source).getVal(), length);
         return null;
     }
 
@@ -186,36 +177,15 @@ public abstract class LLVMMemCopy extends LLVMBuiltin {
         return null;
     }
 
-    public static void copy(UnsafeIntArrayAccess arrayAccess, LLVMMemory memory, LLVMVirtualAllocationAddress target, long source, long length) {
-        long sourcePointer = source;
-        LLVMVirtualAllocationAddress targetAddress = target;
-        for (long i = 0; i < length; i++) {
-            byte value = memory.getI8(sourcePointer);
-            targetAddress.writeI8(arrayAccess, value);
-            targetAddress = targetAddress.increment(1);
-            sourcePointer++;
-        }
-    }
-
-    public static void copy(UnsafeIntArrayAccess arrayAccess, LLVMMemory memory, long target, LLVMVirtualAllocationAddress source, long length) {
-        LLVMVirtualAllocationAddress sourcePointer = source;
-        long targetAddress = target;
-        for (long i = 0; i < length; i++) {
-            byte value = sourcePointer.getI8(arrayAccess);
-            sourcePointer = sourcePointer.increment(1);
-            memory.putI8(targetAddress, value);
-            targetAddress++;
-        }
-    }
-
-    public static void copy(UnsafeIntArrayAccess memory, LLVMVirtualAllocationAddress target, LLVMVirtualAllocationAddress source, long length) {
-        LLVMVirtualAllocationAddress sourcePointer = source;
-        LLVMVirtualAllocationAddress targetAddress = target;
-        for (long i = 0; i < length; i++) {
-            byte value = sourcePointer.getI8(memory);
-            sourcePointer = sourcePointer.increment(1);
-            targetAddress.writeI8(memory, value);
-            targetAddress = targetAddress.increment(1);
-        }
+    public static void copy(UnsafeIntArrayAccess arrayAccess, LLVMVirtualAllocationAddress target, long source, long length) {
+        arrayAccess.copyFromNative(source, target.getObject(), target.getOffset(), length);
+    }
+
+    public static void copy(UnsafeIntArrayAccess arrayAccess, long target, LLVMVirtualAllocationAddress source, long length) {
+        arrayAccess.copyToNative(source.getObject(), source.getOffset(), target, length);
+    }
+
+    public static void copy(UnsafeIntArrayAccess arrayAccess, LLVMVirtualAllocationAddress target, LLVMVirtualAllocationAddress source, long length) {
+        arrayAccess.copyMemory(source.getObject(), source.getOffset(), target.getObject(), target.getOffset(), length);
     }
 }
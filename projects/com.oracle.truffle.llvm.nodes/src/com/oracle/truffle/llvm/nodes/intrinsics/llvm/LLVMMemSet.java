@@ -83,13 +83,19 @@ public abstract class LLVMMemSet extends LLVMBuiltin {
         return address;
     }
 
+    @SuppressWarnings("unused")
+    @Specialization
+    protected Object doOp(LLVMVirtualAllocationAddress address, byte value, int length, int align, boolean isVolatile,
+                    @Cached("getUnsafeIntArrayAccess()") UnsafeIntArrayAccess memory) {
+        memory.setMemory(address.getObject(), address.getOffset(), length, value);
+        return address;
+    }
+
     @SuppressWarnings("unused")
     @Specialization
     protected Object doOp(LLVMVirtualAllocationAddress address, byte value, long length, int align, boolean isVolatile,
                     @Cached("getUnsafeIntArrayAccess()") UnsafeIntArrayAccess memory) {
-        for (int i = 0; i < length; i++) {
-            address.writeI8(memory, value);
-        }
+        memory.setMemory(address.getObject(), address.getOffset(), length, value);
         return address;
     }
 
@@ -30,14 +30,15 @@
 package com.oracle.truffle.llvm.nodes.intrinsics.llvm;
 
 import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.TruffleLanguage.ContextReference;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.NodeChild;
 import com.oracle.truffle.api.dsl.NodeChildren;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.llvm.runtime.LLVMAddress;
+import com.oracle.truffle.llvm.runtime.LLVMContext;
 import com.oracle.truffle.llvm.runtime.memory.LLVMMemSetNode;
-import com.oracle.truffle.llvm.runtime.memory.LLVMMemory;
 import com.oracle.truffle.llvm.runtime.nodes.api.LLVMExpressionNode;
 
 public abstract class LLVMMemoryIntrinsic extends LLVMExpressionNode {
@@ -47,9 +48,9 @@ public abstract class LLVMMemoryIntrinsic extends LLVMExpressionNode {
 
         @Specialization
         protected LLVMAddress doVoid(int size,
-                        @Cached("getLLVMMemory()") LLVMMemory memory) {
+                        @Cached("getContextReference()") ContextReference<LLVMContext> context) {
             try {
-                return memory.allocateMemory(size);
+                return LLVMAddress.fromLong(context.get().getHeap().allocate(size));
             } catch (OutOfMemoryError e) {
                 CompilerDirectives.transferToInterpreter();
                 return LLVMAddress.nullPointer();
@@ -58,9 +59,9 @@ public abstract class LLVMMemoryIntrinsic extends LLVMExpressionNode {
 
         @Specialization
         protected LLVMAddress doVoid(long size,
-                        @Cached("getLLVMMemory()") LLVMMemory memory) {
+                        @Cached("getContextReference()") ContextReference<LLVMContext> context) {
             try {
-                return memory.allocateMemory(size);
+                return LLVMAddress.fromLong(context.get().getHeap().allocate(size));
             } catch (OutOfMemoryError e) {
                 CompilerDirectives.transferToInterpreter();
                 return LLVMAddress.nullPointer();
@@ -78,10 +79,10 @@ public abstract class LLVMMemoryIntrinsic extends LLVMExpressionNode {
 
         @Specialization
         protected LLVMAddress doVoid(VirtualFrame frame, int n, int size,
-                        @Cached("getLLVMMemory()") LLVMMemory memory) {
+                        @Cached("getContextReference()") ContextReference<LLVMContext> context) {
             try {
                 long length = Math.multiplyExact(n, size);
-                LLVMAddress address = memory.allocateMemory(length);
+                LLVMAddress address = LLVMAddress.fromLong(context.get().getHeap().allocate(length));
                 memSet.executeWithTarget(frame, address, (byte) 0, length);
                 return address;
             } catch (OutOfMemoryError | ArithmeticException e) {
@@ -92,10 +93,10 @@ public abstract class LLVMMemoryIntrinsic extends LLVMExpressionNode {
 
         @Specialization
         protected LLVMAddress doVoid(VirtualFrame frame, long n, long size,
-                        @Cached("getLLVMMemory()") LLVMMemory memory) {
+                        @Cached("getContextReference()") ContextReference<LLVMContext> context) {
             try {
                 long length = Math.multiplyExact(n, size);
-                LLVMAddress address = memory.allocateMemory(length);
+                LLVMAddress address = LLVMAddress.fromLong(context.get().getHeap().allocate(length));
                 memSet.executeWithTarget(frame, address, (byte) 0, length);
                 return address;
             } catch (OutOfMemoryError | ArithmeticException e) {
@@ -110,9 +111,9 @@ public abstract class LLVMMemoryIntrinsic extends LLVMExpressionNode {
 
         @Specialization
         protected LLVMAddress doVoid(LLVMAddress addr, int size,
-                        @Cached("getLLVMMemory()") LLVMMemory memory) {
+                        @Cached("getContextReference()") ContextReference<LLVMContext> context) {
             try {
-                return memory.reallocateMemory(addr, size);
+                return LLVMAddress.fromLong(context.get().getHeap().reallocate(addr.getVal(), size));
             } catch (OutOfMemoryError e) {
                 CompilerDirectives.transferToInterpreter();
                 return LLVMAddress.nullPointer();
@@ -121,9 +122,9 @@ public abstract class LLVMMemoryIntrinsic extends LLVMExpressionNode {
 
         @Specialization
         protected LLVMAddress doVoid(LLVMAddress addr, long size,
-                        @Cached("getLLVMMemory()") LLVMMemory memory) {
+                        @Cached("getContextReference()") ContextReference<LLVMContext> context) {
             try {
-                return memory.reallocateMemory(addr, size);
+                return LLVMAddress.fromLong(context.get().getHeap().reallocate(addr.getVal(), size));
             } catch (OutOfMemoryError e) {
                 CompilerDirectives.transferToInterpreter();
                 return LLVMAddress.nullPointer();
@@ -136,8 +137,8 @@ public abstract class LLVMMemoryIntrinsic extends LLVMExpressionNode {
 
         @Specialization
         protected Object doVoid(LLVMAddress address,
-                        @Cached("getLLVMMemory()") LLVMMemory memory) {
-            memory.free(address);
+                        @Cached("getContextReference()") ContextReference<LLVMContext> context) {
+            context.get().getHeap().free(address.getVal());
             return null;
         }
     }
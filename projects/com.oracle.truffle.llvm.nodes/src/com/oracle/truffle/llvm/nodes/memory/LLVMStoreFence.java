@@ -27,29 +27,18 @@
  * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
  * OF THE POSSIBILITY OF SUCH DAMAGE.
  */
-#include <math.h>
+package com.oracle.truffle.llvm.nodes.memory;
 
-void __sulong_fp80_add(long double* out, long double* x, long double* y)
-{
-	*out = *x + *y;
-}
-
-void __sulong_fp80_sub(long double* out, long double* x, long double* y)
-{
-	*out = *x - *y;
-}
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.llvm.runtime.memory.LLVMMemory;
+import com.oracle.truffle.llvm.runtime.nodes.api.LLVMExpressionNode;
 
-void __sulong_fp80_mul(long double* out, long double* x, long double* y)
-{
-	*out = *x * *y;
-}
-
-void __sulong_fp80_div(long double* out, long double* x, long double* y)
-{
-	*out = *x / *y;
-}
+public abstract class LLVMStoreFence extends LLVMExpressionNode {
 
-void __sulong_fp80_mod(long double* out, long double* x, long double* y)
-{
-	*out = fmodl(*x, *y);
+    @Specialization
+    protected Object doOp(@Cached("getLLVMMemory()") LLVMMemory memory) {
+        memory.storeFence();
+        return null;
+    }
 }
@@ -33,49 +33,96 @@ import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.llvm.runtime.LLVMAddress;
+import com.oracle.truffle.llvm.runtime.LLVMVirtualAllocationAddress;
 import com.oracle.truffle.llvm.runtime.memory.LLVMMemSetNode;
 import com.oracle.truffle.llvm.runtime.memory.LLVMMemory;
+import com.oracle.truffle.llvm.runtime.memory.UnsafeIntArrayAccess;
+import com.oracle.truffle.llvm.runtime.nodes.api.LLVMToNativeNode;
 
 public abstract class NativeMemSetNode extends LLVMMemSetNode {
 
     protected static final long MAX_JAVA_LEN = 256;
 
-    @CompilationFinal private boolean inJava = true;
+    private static final long UNINITIALIZED_LENGTH = -1;
+    private static final long VARYING_LENGTH = -2;
+
+    /*
+     * Small and large stores are profiled independently, so that a single large memset does not
+     * deoptimize the Java loop that is used for the small ones.
+     */
+    @CompilationFinal private boolean seenSmall;
+    @CompilationFinal private boolean seenLarge;
+    @CompilationFinal private long profiledLength = UNINITIALIZED_LENGTH;
 
     @Specialization
     protected Object memset(LLVMAddress address, byte value, long length,
                     @Cached("getLLVMMemory()") LLVMMemory memory) {
-        if (inJava) {
-            if (length <= MAX_JAVA_LEN) {
-                long current = address.getVal();
-                long i64ValuesToWrite = length >> 3;
-                if (CompilerDirectives.injectBranchProbability(CompilerDirectives.LIKELY_PROBABILITY, i64ValuesToWrite > 0)) {
-                    long v16 = ((long) value) << 8 | ((long) value & 0xFF);
-                    long v32 = v16 << 16 | v16;
-                    long v64 = v32 << 32 | v32;
+        long profiled = profileLength(length);
+        if (Long.compareUnsigned(profiled, MAX_JAVA_LEN) <= 0) {
+            if (!seenSmall) {
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                seenSmall = true;
+            }
+            long current = address.getVal();
+            long i64ValuesToWrite = profiled >> 3;
+            if (CompilerDirectives.injectBranchProbability(CompilerDirectives.LIKELY_PROBABILITY, i64ValuesToWrite > 0)) {
+                long v16 = ((long) value) << 8 | ((long) value & 0xFF);
+                long v32 = v16 << 16 | v16;
+                long v64 = v32 << 32 | v32;
 
-                    for (long i = 0; CompilerDirectives.injectBranchProbability(CompilerDirectives.LIKELY_PROBABILITY, i < i64ValuesToWrite); i++) {
-                        memory.putI64(current, v64);
-                        current += 8;
-                    }
+                for (long i = 0; CompilerDirectives.injectBranchProbability(CompilerDirectives.LIKELY_PROBABILITY, i < i64ValuesToWrite); i++) {
+                    memory.putI64(current, v64);
+                    current += 8;
                 }
+            }
 
-                long i8ValuesToWrite = length & 0x07;
-                for (long i = 0; CompilerDirectives.injectBranchProbability(CompilerDirectives.LIKELY_PROBABILITY, i < i8ValuesToWrite); i++) {
-                    memory.putI8(current, value);
-                    current++;
-                }
-            } else {
+            long i8ValuesToWrite = profiled & 0x07;
+            for (long i = 0; CompilerDirectives.injectBranchProbability(CompilerDirectives.LIKELY_PROBABILITY, i < i8ValuesToWrite); i++) {
+                memory.putI8(current, value);
+                current++;
+            }
+        } else {
+            if (!seenLarge) {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
-                inJava = false;
+                seenLarge = true;
             }
+            nativeMemSet(memory, address, value, profiled);
         }
+        return null;
+    }
 
-        nativeMemSet(memory, address, value, length);
+    @Specialization
+    protected Object memset(LLVMVirtualAllocationAddress address, byte value, long length,
+                    @Cached("getUnsafeIntArrayAccess()") UnsafeIntArrayAccess memory) {
+        memory.setMemory(address.getObject(), address.getOffset(), length, value);
         return null;
     }
 
+    @Specialization
+    protected Object memset(VirtualFrame frame, Object address, byte value, long length,
+                    @Cached("toNative()") LLVMToNativeNode toNative,
+                    @Cached("getLLVMMemory()") LLVMMemory memory) {
+        return memset(toNative.executeWithTarget(frame, address), value, length, memory);
+    }
+
+    /**
+     * Returns the length as a compilation constant if this call site has only ever seen a single
+     * length, which allows the compiler to fully unroll the store loops.
+     */
+    private long profileLength(long length) {
+        long profiled = profiledLength;
+        if (profiled == length) {
+            return profiled;
+        }
+        if (profiled != VARYING_LENGTH) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            profiledLength = profiled == UNINITIALIZED_LENGTH ? length : VARYING_LENGTH;
+        }
+        return length;
+    }
+
     @SuppressWarnings("deprecation")
     private static void nativeMemSet(LLVMMemory memory, LLVMAddress address, byte value, long length) {
         memory.memset(address, length, value);
@@ -35,18 +35,68 @@ import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.llvm.runtime.LLVMAddress;
+import com.oracle.truffle.llvm.runtime.LLVMVirtualAllocationAddress;
 import com.oracle.truffle.llvm.runtime.memory.LLVMMemMoveNode;
 import com.oracle.truffle.llvm.runtime.memory.LLVMMemory;
+import com.oracle.truffle.llvm.runtime.memory.UnsafeIntArrayAccess;
 import com.oracle.truffle.llvm.runtime.nodes.api.LLVMToNativeNode;
 
 public abstract class NativeProfiledMemMove extends LLVMMemMoveNode {
     protected static final long MAX_JAVA_LEN = 256;
 
-    @CompilationFinal private boolean inJava = true;
+    private static final long UNINITIALIZED_LENGTH = -1;
+    private static final long VARYING_LENGTH = -2;
+
+    /*
+     * Small and large copies are profiled independently, so that a single large copy does not
+     * deoptimize the Java copy loop that is used for the small ones.
+     */
+    @CompilationFinal private boolean seenSmall;
+    @CompilationFinal private boolean seenLarge;
+    @CompilationFinal private long profiledLength = UNINITIALIZED_LENGTH;
 
     @Child private LLVMToNativeNode convert1 = LLVMToNativeNode.toNative();
     @Child private LLVMToNativeNode convert2 = LLVMToNativeNode.toNative();
 
+    @Specialization
+    protected Object doVirtual(LLVMVirtualAllocationAddress target, LLVMVirtualAllocationAddress source, int length,
+                    @Cached("getUnsafeIntArrayAccess()") UnsafeIntArrayAccess memory) {
+        return doVirtual(target, source, (long) length, memory);
+    }
+
+    @Specialization
+    protected Object doVirtual(LLVMVirtualAllocationAddress target, LLVMVirtualAllocationAddress source, long length,
+                    @Cached("getUnsafeIntArrayAccess()") UnsafeIntArrayAccess memory) {
+        memory.copyMemory(source.getObject(), source.getOffset(), target.getObject(), target.getOffset(), length);
+        return null;
+    }
+
+    @Specialization
+    protected Object doVirtualToNative(LLVMAddress target, LLVMVirtualAllocationAddress source, int length,
+                    @Cached("getUnsafeIntArrayAccess()") UnsafeIntArrayAccess memory) {
+        return doVirtualToNative(target, source, (long) length, memory);
+    }
+
+    @Specialization
+    protected Object doVirtualToNative(LLVMAddress target, LLVMVirtualAllocationAddress source, long length,
+                    @Cached("getUnsafeIntArrayAccess()") UnsafeIntArrayAccess memory) {
+        memory.copyToNative(source.getObject(), source.getOffset(), target.getVal(), length);
+        return null;
+    }
+
+    @Specialization
+    protected Object doNativeToVirtual(LLVMVirtualAllocationAddress target, LLVMAddress source, int length,
+                    @Cached("getUnsafeIntArrayAccess()") UnsafeIntArrayAccess memory) {
+        return doNativeToVirtual(target, source, (long) length, memory);
+    }
+
+    @Specialization
+    protected Object doNativeToVirtual(LLVMVirtualAllocationAddress target, LLVMAddress source, long length,
+                    @Cached("getUnsafeIntArrayAccess()") UnsafeIntArrayAccess memory) {
+        memory.copyFromNative(source.getVal(), target.getObject(), target.getOffset(), length);
+        return null;
+    }
+
     @Specialization
     protected Object case1(VirtualFrame frame, Object target, Object source, int length,
                     @Cached("getLLVMMemory()") LLVMMemory memory) {
@@ -59,27 +109,46 @@ public abstract class NativeProfiledMemMove extends LLVMMemMoveNode {
         return memmove(memory, convert1.executeWithTarget(frame, target), convert2.executeWithTarget(frame, source), length);
     }
 
+    /**
+     * Returns the length as a compilation constant if this call site has only ever seen a single
+     * length, which allows the compiler to fully unroll the copy loops.
+     */
+    private long profileLength(long length) {
+        long profiled = profiledLength;
+        if (profiled == length) {
+            return profiled;
+        }
+        if (profiled != VARYING_LENGTH) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            profiledLength = profiled == UNINITIALIZED_LENGTH ? length : VARYING_LENGTH;
+        }
+        return length;
+    }
+
     private Object memmove(LLVMMemory memory, LLVMAddress target, LLVMAddress source, long length) {
-        if (inJava) {
-            if (length <= MAX_JAVA_LEN) {
-                long targetPointer = target.getVal();
-                long sourcePointer = source.getVal();
-
-                if (CompilerDirectives.injectBranchProbability(CompilerDirectives.UNLIKELY_PROBABILITY, targetPointer == sourcePointer)) {
-                    // nothing todo
-                } else if (CompilerDirectives.injectBranchProbability(CompilerDirectives.LIKELY_PROBABILITY, Long.compareUnsigned(targetPointer - sourcePointer, length) >= 0)) {
-                    copyForward(memory, targetPointer, sourcePointer, length);
-                } else {
-                    copyBackward(memory, targetPointer, sourcePointer, length);
-                }
-                return null;
+        long profiled = profileLength(length);
+        if (Long.compareUnsigned(profiled, MAX_JAVA_LEN) <= 0) {
+            if (!seenSmall) {
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                seenSmall = true;
+            }
+            long targetPointer = target.getVal();
+            long sourcePointer = source.getVal();
+
+            if (CompilerDirectives.injectBranchProbability(CompilerDirectives.UNLIKELY_PROBABILITY, targetPointer == sourcePointer)) {
+                // nothing todo
+            } else if (CompilerDirectives.injectBranchProbability(CompilerDirectives.LIKELY_PROBABILITY, Long.compareUnsigned(targetPointer - sourcePointer, profiled) >= 0)) {
+                copyForward(memory, targetPointer, sourcePointer, profiled);
             } else {
+                copyBackward(memory, targetPointer, sourcePointer, profiled);
+            }
+        } else {
+            if (!seenLarge) {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
-                inJava = false;
+                seenLarge = true;
             }
+            nativeMemCopy(memory, target, source, profiled);
         }
-
-        nativeMemCopy(memory, target, source, length);
         return null;
     }
 
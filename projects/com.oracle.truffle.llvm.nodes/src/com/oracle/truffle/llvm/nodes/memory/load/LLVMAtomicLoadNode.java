@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.nodes.memory.load;
+
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.llvm.nodes.memory.load.LLVMDirectLoadNodeFactory.LLVMAddressDirectLoadNodeGen;
+import com.oracle.truffle.llvm.runtime.LLVMAddress;
+import com.oracle.truffle.llvm.runtime.memory.LLVMMemory;
+
+/**
+ * Loads of the atomic orderings that must observe stores of other threads, i.e., all but single
+ * thread loads. Native memory is read with volatile reads, so that the compiler cannot hoist the
+ * load out of a spin loop or merge it with another load of the same address. Volatile reads also
+ * have acquire semantics, which makes them sufficient for every ordering. Other memory is read with
+ * a plain load that is followed by a load fence.
+ */
+public final class LLVMAtomicLoadNode {
+
+    private LLVMAtomicLoadNode() {
+    }
+
+    abstract static class LLVMVolatileLoadNode extends LLVMLoadNode {
+
+        protected abstract LLVMLoadNode createPlainLoad();
+
+        protected static boolean isNativeAddress(Object address) {
+            return address instanceof LLVMAddress;
+        }
+
+        @Specialization(guards = "!isNativeAddress(address)")
+        protected Object doGeneric(VirtualFrame frame, Object address,
+                        @Cached("createPlainLoad()") LLVMLoadNode load,
+                        @Cached("getLLVMMemory()") LLVMMemory memory) {
+            final Object value = load.executeWithTarget(frame, address);
+            memory.loadFence();
+            return value;
+        }
+    }
+
+    public abstract static class LLVMAtomicI8LoadNode extends LLVMVolatileLoadNode {
+
+        @Specialization
+        protected byte doI8(LLVMAddress address,
+                        @Cached("getLLVMMemory()") LLVMMemory memory) {
+            return memory.getI8Volatile(address.getVal());
+        }
+
+        @Override
+        protected LLVMLoadNode createPlainLoad() {
+            return LLVMI8LoadNodeGen.create();
+        }
+    }
+
+    public abstract static class LLVMAtomicI16LoadNode extends LLVMVolatileLoadNode {
+
+        @Specialization
+        protected short doI16(LLVMAddress address,
+                        @Cached("getLLVMMemory()") LLVMMemory memory) {
+            return memory.getI16Volatile(address.getVal());
+        }
+
+        @Override
+        protected LLVMLoadNode createPlainLoad() {
+            return LLVMI16LoadNodeGen.create();
+        }
+    }
+
+    public abstract static class LLVMAtomicI32LoadNode extends LLVMVolatileLoadNode {
+
+        @Specialization
+        protected int doI32(LLVMAddress address,
+                        @Cached("getLLVMMemory()") LLVMMemory memory) {
+            return memory.getI32Volatile(address.getVal());
+        }
+
+        @Override
+        protected LLVMLoadNode createPlainLoad() {
+            return LLVMI32LoadNodeGen.create();
+        }
+    }
+
+    public abstract static class LLVMAtomicI64LoadNode extends LLVMVolatileLoadNode {
+
+        @Specialization
+        protected long doI64(LLVMAddress address,
+                        @Cached("getLLVMMemory()") LLVMMemory memory) {
+            return memory.getI64Volatile(address.getVal());
+        }
+
+        @Override
+        protected LLVMLoadNode createPlainLoad() {
+            return LLVMI64LoadNodeGen.create();
+        }
+    }
+
+    public abstract static class LLVMAtomicFloatLoadNode extends LLVMVolatileLoadNode {
+
+        @Specialization
+        protected float doFloat(LLVMAddress address,
+                        @Cached("getLLVMMemory()") LLVMMemory memory) {
+            return memory.getFloatVolatile(address.getVal());
+        }
+
+        @Override
+        protected LLVMLoadNode createPlainLoad() {
+            return LLVMFloatLoadNodeGen.create();
+        }
+    }
+
+    public abstract static class LLVMAtomicDoubleLoadNode extends LLVMVolatileLoadNode {
+
+        @Specialization
+        protected double doDouble(LLVMAddress address,
+                        @Cached("getLLVMMemory()") LLVMMemory memory) {
+            return memory.getDoubleVolatile(address.getVal());
+        }
+
+        @Override
+        protected LLVMLoadNode createPlainLoad() {
+            return LLVMDoubleLoadNodeGen.create();
+        }
+    }
+
+    public abstract static class LLVMAtomicAddressLoadNode extends LLVMVolatileLoadNode {
+
+        @Specialization
+        protected LLVMAddress doAddress(LLVMAddress address,
+                        @Cached("getLLVMMemory()") LLVMMemory memory) {
+            return memory.getAddressVolatile(address.getVal());
+        }
+
+        @Override
+        protected LLVMLoadNode createPlainLoad() {
+            return LLVMAddressDirectLoadNodeGen.create();
+        }
+    }
+}
@@ -49,6 +49,11 @@ import com.oracle.truffle.llvm.runtime.vector.LLVMI32Vector;
 import com.oracle.truffle.llvm.runtime.vector.LLVMI64Vector;
 import com.oracle.truffle.llvm.runtime.vector.LLVMI8Vector;
 
+/**
+ * Scalar and lane-wise vector arithmetic. The vector operations are not specialized by the number
+ * of lanes: they loop over operands of any length, and every operation allocates a new array for its
+ * result, even if an operand is dead afterwards.
+ */
 @NodeChildren({@NodeChild("leftNode"), @NodeChild("rightNode")})
 public abstract class LLVMArithmeticNode extends LLVMExpressionNode {
 
@@ -79,17 +79,17 @@ public abstract class LLVMCompareNode extends LLVMExpressionNode {
 
         @Specialization
         protected LLVMI1Vector eq(LLVMAddressVector left, LLVMAddressVector right) {
-            return left.doCompare(right, (a, b) -> a.longValue() == b.longValue());
+            return left.doCompare(right, (a, b) -> a == b);
         }
 
         @Specialization
         protected LLVMI1Vector eq(LLVMI64Vector left, LLVMI64Vector right) {
-            return left.doCompare(right, (a, b) -> a.longValue() == b.longValue());
+            return left.doCompare(right, (a, b) -> a == b);
         }
 
         @Specialization
         protected LLVMI1Vector eq(LLVMI32Vector left, LLVMI32Vector right) {
-            return left.doCompare(right, (a, b) -> a.intValue() == b.intValue());
+            return left.doCompare(right, (a, b) -> a == b);
         }
 
         @Specialization
@@ -99,12 +99,12 @@ public abstract class LLVMCompareNode extends LLVMExpressionNode {
 
         @Specialization
         protected LLVMI1Vector eq(LLVMI16Vector left, LLVMI16Vector right) {
-            return left.doCompare(right, (a, b) -> a.shortValue() == b.shortValue());
+            return left.doCompare(right, (a, b) -> a == b);
         }
 
         @Specialization
         protected LLVMI1Vector eq(LLVMI8Vector left, LLVMI8Vector right) {
-            return left.doCompare(right, (a, b) -> a.byteValue() == b.byteValue());
+            return left.doCompare(right, (a, b) -> a == b);
         }
     }
 
@@ -151,17 +151,17 @@ public abstract class LLVMCompareNode extends LLVMExpressionNode {
 
         @Specialization
         protected LLVMI1Vector nq(LLVMAddressVector left, LLVMAddressVector right) {
-            return left.doCompare(right, (a, b) -> a.longValue() != b.longValue());
+            return left.doCompare(right, (a, b) -> a != b);
         }
 
         @Specialization
         protected LLVMI1Vector nq(LLVMI64Vector left, LLVMI64Vector right) {
-            return left.doCompare(right, (a, b) -> a.longValue() != b.longValue());
+            return left.doCompare(right, (a, b) -> a != b);
         }
 
         @Specialization
         protected LLVMI1Vector nq(LLVMI32Vector left, LLVMI32Vector right) {
-            return left.doCompare(right, (a, b) -> a.intValue() != b.intValue());
+            return left.doCompare(right, (a, b) -> a != b);
         }
 
         @Specialization
@@ -171,12 +171,12 @@ public abstract class LLVMCompareNode extends LLVMExpressionNode {
 
         @Specialization
         protected LLVMI1Vector nq(LLVMI16Vector left, LLVMI16Vector right) {
-            return left.doCompare(right, (a, b) -> a.shortValue() != b.shortValue());
+            return left.doCompare(right, (a, b) -> a != b);
         }
 
         @Specialization
         protected LLVMI1Vector nq(LLVMI8Vector left, LLVMI8Vector right) {
-            return left.doCompare(right, (a, b) -> a.byteValue() != b.byteValue());
+            return left.doCompare(right, (a, b) -> a != b);
         }
     }
 
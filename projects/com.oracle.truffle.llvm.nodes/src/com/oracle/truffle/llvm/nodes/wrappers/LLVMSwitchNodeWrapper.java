@@ -77,6 +77,24 @@ public class LLVMSwitchNodeWrapper implements InstrumentableFactory<LLVMSwitchNo
             }
         }
 
+        @Override
+        public boolean hasConstantCases() {
+            return delegateNode.hasConstantCases();
+        }
+
+        @Override
+        public int executeCaseIndex(VirtualFrame frame) {
+            try {
+                probeNode.onEnter(frame);
+                int result = delegateNode.executeCaseIndex(frame);
+                probeNode.onReturnValue(frame, result);
+                return result;
+            } catch (Throwable t) {
+                probeNode.onReturnExceptional(frame, t);
+                throw t;
+            }
+        }
+
         @Override
         public int[] getSuccessors() {
             return delegateNode.getSuccessors();
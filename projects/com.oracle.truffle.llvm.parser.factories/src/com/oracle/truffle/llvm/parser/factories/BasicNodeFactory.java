@@ -32,6 +32,8 @@ package com.oracle.truffle.llvm.parser.factories;
 import java.math.BigInteger;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.oracle.truffle.api.RootCallTarget;
 import com.oracle.truffle.api.Truffle;
@@ -63,6 +65,11 @@ import com.oracle.truffle.llvm.nodes.control.LLVMRetNodeFactory.LLVMIVarBitRetNo
 import com.oracle.truffle.llvm.nodes.control.LLVMRetNodeFactory.LLVMStructRetNodeGen;
 import com.oracle.truffle.llvm.nodes.control.LLVMRetNodeFactory.LLVMVectorRetNodeGen;
 import com.oracle.truffle.llvm.nodes.control.LLVMRetNodeFactory.LLVMVoidReturnNodeGen;
+import com.oracle.truffle.llvm.nodes.control.LLVMSwitchNode.LLVMI16ConstantCaseSwitchNode;
+import com.oracle.truffle.llvm.nodes.control.LLVMSwitchNode.LLVMI1ConstantCaseSwitchNode;
+import com.oracle.truffle.llvm.nodes.control.LLVMSwitchNode.LLVMI32ConstantCaseSwitchNode;
+import com.oracle.truffle.llvm.nodes.control.LLVMSwitchNode.LLVMI64ConstantCaseSwitchNode;
+import com.oracle.truffle.llvm.nodes.control.LLVMSwitchNode.LLVMI8ConstantCaseSwitchNode;
 import com.oracle.truffle.llvm.nodes.control.LLVMSwitchNode.LLVMSwitchNodeImpl;
 import com.oracle.truffle.llvm.nodes.control.LLVMWritePhisNode;
 import com.oracle.truffle.llvm.nodes.func.LLVMArgNodeGen;
@@ -153,6 +160,8 @@ import com.oracle.truffle.llvm.nodes.memory.LLVMAllocInstructionFactory.LLVMAllo
 import com.oracle.truffle.llvm.nodes.memory.LLVMAllocInstructionFactory.LLVMAllocaInstructionNodeGen;
 import com.oracle.truffle.llvm.nodes.memory.LLVMCompareExchangeNodeGen;
 import com.oracle.truffle.llvm.nodes.memory.LLVMFenceNodeGen;
+import com.oracle.truffle.llvm.nodes.memory.LLVMLoadFenceNodeGen;
+import com.oracle.truffle.llvm.nodes.memory.LLVMStoreFenceNodeGen;
 import com.oracle.truffle.llvm.nodes.memory.LLVMInsertValueNodeGen;
 import com.oracle.truffle.llvm.nodes.memory.LLVMNativeStackAllocationNodeGen;
 import com.oracle.truffle.llvm.nodes.memory.LLVMStructByValueNodeGen;
@@ -163,6 +172,7 @@ import com.oracle.truffle.llvm.nodes.memory.NativeProfiledMemMoveNodeGen;
 import com.oracle.truffle.llvm.nodes.memory.literal.LLVM80BitFloatArrayLiteralNodeGen;
 import com.oracle.truffle.llvm.nodes.memory.literal.LLVMAddressArrayLiteralNode;
 import com.oracle.truffle.llvm.nodes.memory.literal.LLVMAddressArrayLiteralNodeGen;
+import com.oracle.truffle.llvm.nodes.memory.literal.LLVMByteArrayLiteralNodeGen;
 import com.oracle.truffle.llvm.nodes.memory.literal.LLVMDoubleArrayLiteralNodeGen;
 import com.oracle.truffle.llvm.nodes.memory.literal.LLVMFloatArrayLiteralNodeGen;
 import com.oracle.truffle.llvm.nodes.memory.literal.LLVMFunctionArrayLiteralNodeGen;
@@ -172,6 +182,14 @@ import com.oracle.truffle.llvm.nodes.memory.literal.LLVMI64ArrayLiteralNodeGen;
 import com.oracle.truffle.llvm.nodes.memory.literal.LLVMI8ArrayLiteralNodeGen;
 import com.oracle.truffle.llvm.nodes.memory.literal.LLVMStructArrayLiteralNodeGen;
 import com.oracle.truffle.llvm.nodes.memory.load.LLVM80BitFloatLoadNodeGen;
+import com.oracle.truffle.llvm.nodes.memory.load.LLVMAcquireLoadNodeGen;
+import com.oracle.truffle.llvm.nodes.memory.load.LLVMAtomicLoadNodeFactory.LLVMAtomicAddressLoadNodeGen;
+import com.oracle.truffle.llvm.nodes.memory.load.LLVMAtomicLoadNodeFactory.LLVMAtomicDoubleLoadNodeGen;
+import com.oracle.truffle.llvm.nodes.memory.load.LLVMAtomicLoadNodeFactory.LLVMAtomicFloatLoadNodeGen;
+import com.oracle.truffle.llvm.nodes.memory.load.LLVMAtomicLoadNodeFactory.LLVMAtomicI16LoadNodeGen;
+import com.oracle.truffle.llvm.nodes.memory.load.LLVMAtomicLoadNodeFactory.LLVMAtomicI32LoadNodeGen;
+import com.oracle.truffle.llvm.nodes.memory.load.LLVMAtomicLoadNodeFactory.LLVMAtomicI64LoadNodeGen;
+import com.oracle.truffle.llvm.nodes.memory.load.LLVMAtomicLoadNodeFactory.LLVMAtomicI8LoadNodeGen;
 import com.oracle.truffle.llvm.nodes.memory.load.LLVMDirectLoadNode.LLVMGlobalDirectLoadNode;
 import com.oracle.truffle.llvm.nodes.memory.load.LLVMDirectLoadNodeFactory.LLVM80BitFloatDirectLoadNodeGen;
 import com.oracle.truffle.llvm.nodes.memory.load.LLVMDirectLoadNodeFactory.LLVMAddressDirectLoadNodeGen;
@@ -212,6 +230,7 @@ import com.oracle.truffle.llvm.nodes.memory.store.LLVMI32StoreNodeGen;
 import com.oracle.truffle.llvm.nodes.memory.store.LLVMI64StoreNodeGen;
 import com.oracle.truffle.llvm.nodes.memory.store.LLVMI8StoreNodeGen;
 import com.oracle.truffle.llvm.nodes.memory.store.LLVMIVarBitStoreNodeGen;
+import com.oracle.truffle.llvm.nodes.memory.store.LLVMReleaseStoreNodeGen;
 import com.oracle.truffle.llvm.nodes.memory.store.LLVMStoreExpressionNodeGen;
 import com.oracle.truffle.llvm.nodes.memory.store.LLVMStoreNode;
 import com.oracle.truffle.llvm.nodes.memory.store.LLVMStoreVectorNodeGen;
@@ -341,10 +360,12 @@ import com.oracle.truffle.llvm.parser.metadata.debuginfo.DebugInfoGenerator;
 import com.oracle.truffle.llvm.parser.model.attributes.Attribute;
 import com.oracle.truffle.llvm.parser.model.attributes.Attribute.KnownAttribute;
 import com.oracle.truffle.llvm.parser.model.attributes.AttributesGroup;
+import com.oracle.truffle.llvm.parser.model.enums.AtomicOrdering;
 import com.oracle.truffle.llvm.parser.model.enums.CompareOperator;
 import com.oracle.truffle.llvm.parser.model.enums.Flag;
 import com.oracle.truffle.llvm.parser.model.enums.Linkage;
 import com.oracle.truffle.llvm.parser.model.enums.ReadModifyWriteOperator;
+import com.oracle.truffle.llvm.parser.model.enums.SynchronizationScope;
 import com.oracle.truffle.llvm.parser.model.functions.FunctionDeclaration;
 import com.oracle.truffle.llvm.parser.model.functions.FunctionDefinition;
 import com.oracle.truffle.llvm.parser.model.symbols.globals.GlobalConstant;
@@ -385,6 +406,8 @@ import com.oracle.truffle.llvm.runtime.types.symbols.Symbol;
 
 public class BasicNodeFactory implements NodeFactory {
 
+    private final Map<List<Object>, LLVMFunctionDescriptor> inlineAssemblyCache = new ConcurrentHashMap<>();
+
     @Override
     public LLVMExpressionNode createInsertElement(LLVMParserRuntime runtime, Type resultType, LLVMExpressionNode vector, LLVMExpressionNode element,
                     LLVMExpressionNode index) {
@@ -513,6 +536,64 @@ public class BasicNodeFactory implements NodeFactory {
         return createStore(pointerNode, valueNode, type, runtime.getContext().getByteSize(type), source);
     }
 
+    @Override
+    public LLVMExpressionNode createAtomicLoad(LLVMParserRuntime runtime, Type resolvedResultType, LLVMExpressionNode loadTarget, AtomicOrdering ordering, SynchronizationScope scope) {
+        if (scope == SynchronizationScope.SINGLE_THREAD) {
+            // program order is sufficient within a single thread
+            return createLoad(runtime, resolvedResultType, loadTarget);
+        }
+        // even monotonic and unordered loads must not be hoisted out of a loop that waits for
+        // another thread, so they are volatile reads regardless of the ordering
+        final LLVMLoadNode load = createVolatileLoad(resolvedResultType);
+        if (load != null) {
+            return LLVMLoadExpressionNodeGen.create(load, loadTarget);
+        }
+        // the load fence keeps other types from being hoisted, and gives them acquire semantics
+        return LLVMAcquireLoadNodeGen.create(createLoad(runtime, resolvedResultType, loadTarget));
+    }
+
+    private static LLVMLoadNode createVolatileLoad(Type resultType) {
+        if (resultType instanceof PrimitiveType) {
+            switch (((PrimitiveType) resultType).getPrimitiveKind()) {
+                case I8:
+                    return LLVMAtomicI8LoadNodeGen.create();
+                case I16:
+                    return LLVMAtomicI16LoadNodeGen.create();
+                case I32:
+                    return LLVMAtomicI32LoadNodeGen.create();
+                case I64:
+                    return LLVMAtomicI64LoadNodeGen.create();
+                case FLOAT:
+                    return LLVMAtomicFloatLoadNodeGen.create();
+                case DOUBLE:
+                    return LLVMAtomicDoubleLoadNodeGen.create();
+                default:
+                    return null;
+            }
+        } else if (resultType instanceof PointerType && !Type.isFunctionOrFunctionPointer(resultType)) {
+            return LLVMAtomicAddressLoadNodeGen.create();
+        }
+        return null;
+    }
+
+    @Override
+    public LLVMExpressionNode createAtomicStore(LLVMParserRuntime runtime, LLVMExpressionNode pointerNode, LLVMExpressionNode valueNode, Type type, SourceSection source, AtomicOrdering ordering,
+                    SynchronizationScope scope) {
+        final LLVMExpressionNode store = createStore(runtime, pointerNode, valueNode, type, source);
+        if (scope == SynchronizationScope.SINGLE_THREAD) {
+            return store;
+        }
+        switch (ordering) {
+            case RELEASE:
+            case ACQUIRE_RELEASE:
+                return LLVMReleaseStoreNodeGen.create(store, false);
+            case SEQUENTIALLY_CONSISTENT:
+                return LLVMReleaseStoreNodeGen.create(store, true);
+            default:
+                return store;
+        }
+    }
+
     @Override
     public LLVMExpressionNode createReadModifyWrite(LLVMParserRuntime runtime, ReadModifyWriteOperator operator, LLVMExpressionNode pointerNode, LLVMExpressionNode valueNode, Type type) {
         if (type instanceof PrimitiveType) {
@@ -635,8 +716,19 @@ public class BasicNodeFactory implements NodeFactory {
     }
 
     @Override
-    public LLVMExpressionNode createFence(LLVMParserRuntime runtime) {
-        return LLVMFenceNodeGen.create();
+    public LLVMExpressionNode createFence(LLVMParserRuntime runtime, AtomicOrdering ordering, SynchronizationScope scope) {
+        if (scope == SynchronizationScope.SINGLE_THREAD) {
+            // only orders against signal handlers on the same thread, which run in program order
+            return LLVMNoOpNodeGen.create(null);
+        }
+        switch (ordering) {
+            case ACQUIRE:
+                return LLVMLoadFenceNodeGen.create();
+            case RELEASE:
+                return LLVMStoreFenceNodeGen.create();
+            default:
+                return LLVMFenceNodeGen.create();
+        }
     }
 
     @Override
@@ -1261,6 +1353,25 @@ public class BasicNodeFactory implements NodeFactory {
         return new LLVMSwitchNodeImpl(successors, phiWriteNodes, cond, caseNodes, source);
     }
 
+    @Override
+    public LLVMControlFlowNode createConstantCaseSwitch(LLVMParserRuntime runtime, LLVMExpressionNode cond, int[] successors, long[] caseValues,
+                    PrimitiveType llvmType, LLVMExpressionNode[] phiWriteNodes, SourceSection source) {
+        switch (llvmType.getPrimitiveKind()) {
+            case I1:
+                return new LLVMI1ConstantCaseSwitchNode(successors, phiWriteNodes, cond, caseValues, source);
+            case I8:
+                return new LLVMI8ConstantCaseSwitchNode(successors, phiWriteNodes, cond, caseValues, source);
+            case I16:
+                return new LLVMI16ConstantCaseSwitchNode(successors, phiWriteNodes, cond, caseValues, source);
+            case I32:
+                return new LLVMI32ConstantCaseSwitchNode(successors, phiWriteNodes, cond, caseValues, source);
+            case I64:
+                return new LLVMI64ConstantCaseSwitchNode(successors, phiWriteNodes, cond, caseValues, source);
+            default:
+                throw new AssertionError(llvmType);
+        }
+    }
+
     @Override
     public LLVMControlFlowNode createConditionalBranch(LLVMParserRuntime runtime, int trueIndex, int falseIndex, LLVMExpressionNode conditionNode, LLVMExpressionNode truePhiWriteNodes,
                     LLVMExpressionNode falsePhiWriteNodes, SourceSection sourceSection) {
@@ -1389,6 +1500,11 @@ public class BasicNodeFactory implements NodeFactory {
         return LLVMMemSetNodeGen.create(createMemSet(), addressNode, new LLVMI8LiteralNode((byte) 0), new LLVMI32LiteralNode(size), new LLVMI32LiteralNode(0), new LLVMI1LiteralNode(false), null);
     }
 
+    @Override
+    public LLVMExpressionNode createByteArrayLiteral(LLVMParserRuntime runtime, LLVMExpressionNode addressNode, byte[] data) {
+        return LLVMByteArrayLiteralNodeGen.create(data, addressNode);
+    }
+
     @Override
     public LLVMExpressionNode createStructureConstantNode(LLVMParserRuntime runtime, Type structType, boolean packed, Type[] types, LLVMExpressionNode[] constants) {
         int[] offsets = new int[types.length];
@@ -1451,11 +1567,11 @@ public class BasicNodeFactory implements NodeFactory {
     }
 
     @Override
-    public RootNode createFunctionStartNode(LLVMParserRuntime runtime, LLVMExpressionNode functionBodyNode, LLVMExpressionNode[] copyArgumentsToFrame,
+    public RootNode createFunctionStartNode(LLVMParserRuntime runtime, LLVMExpressionNode functionBodyNode, LLVMExpressionNode[] copyArgumentsToFrame, FrameSlot[] frameSlotsToInitialize,
                     SourceSection sourceSection, FrameDescriptor frame, FunctionDefinition functionHeader, Source bcSource) {
         String originalName = DebugInfoGenerator.getSourceFunctionName(functionHeader);
-        return new LLVMFunctionStartNode(sourceSection, runtime.getLanguage(), functionBodyNode, copyArgumentsToFrame, frame, functionHeader.getName(), functionHeader.getParameters().size(),
-                        originalName, bcSource);
+        return new LLVMFunctionStartNode(sourceSection, runtime.getLanguage(), functionBodyNode, copyArgumentsToFrame, frameSlotsToInitialize, frame, functionHeader.getName(),
+                        functionHeader.getParameters().size(), originalName, bcSource);
     }
 
     @Override
@@ -1470,10 +1586,22 @@ public class BasicNodeFactory implements NodeFactory {
             retOffsets = alloca.getOffsets();
         }
 
-        Parser asmParser = new Parser(runtime.getLanguage(), sourceSection, asmExpression, asmFlags, argTypes, retType, retTypes, retOffsets);
-        LLVMInlineAssemblyRootNode assemblyRoot = asmParser.Parse();
-        LLVMFunctionDescriptor asm = LLVMFunctionDescriptor.createDescriptor(runtime.getContext(), runtime.getLibraryName(), "<asm>", new FunctionType(MetaType.UNKNOWN, new Type[0], false), -1);
-        asm.declareInSulong(Truffle.getRuntime().createCallTarget(assemblyRoot), false);
+        // the same snippet is usually expanded from a macro or an inline function at many sites,
+        // so parse it only once per signature and share the call target between those sites. The
+        // root node carries the source location and the descriptor the library, so sites that
+        // differ in either need their own call target.
+        final List<Object> key = Arrays.asList(asmExpression, asmFlags, Arrays.asList(argTypes), retType, retTypes == null ? null : Arrays.asList(retTypes), Arrays.toString(retOffsets),
+                        sourceSection, runtime.getLibraryName());
+        final Type[] asmRetTypes = retTypes;
+        final int[] asmRetOffsets = retOffsets;
+        LLVMFunctionDescriptor asm = inlineAssemblyCache.computeIfAbsent(key, k -> {
+            Parser asmParser = new Parser(runtime.getLanguage(), sourceSection, asmExpression, asmFlags, argTypes, retType, asmRetTypes, asmRetOffsets);
+            LLVMInlineAssemblyRootNode assemblyRoot = asmParser.Parse();
+            LLVMFunctionDescriptor descriptor = LLVMFunctionDescriptor.createDescriptor(runtime.getContext(), runtime.getLibraryName(), "<asm>", new FunctionType(MetaType.UNKNOWN, new Type[0], false),
+                            -1);
+            descriptor.declareInSulong(Truffle.getRuntime().createCallTarget(assemblyRoot), false);
+            return descriptor;
+        });
         LLVMFunctionLiteralNode asmFunction = LLVMFunctionLiteralNodeGen.create(asm);
 
         return new LLVMCallNode(new FunctionType(MetaType.UNKNOWN, argTypes, false), asmFunction, args, sourceSection);
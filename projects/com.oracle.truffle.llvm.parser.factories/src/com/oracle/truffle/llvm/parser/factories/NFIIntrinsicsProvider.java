@@ -86,7 +86,42 @@ import com.oracle.truffle.llvm.nodes.intrinsics.c.LLVMCTypeIntrinsicsFactory.LLV
 import com.oracle.truffle.llvm.nodes.intrinsics.c.LLVMExitNodeGen;
 import com.oracle.truffle.llvm.nodes.intrinsics.c.LLVMMemIntrinsicFactory.LLVMLibcMemcpyNodeGen;
 import com.oracle.truffle.llvm.nodes.intrinsics.c.LLVMMemIntrinsicFactory.LLVMLibcMemsetNodeGen;
+import com.oracle.truffle.llvm.nodes.intrinsics.c.LLVMPThreadIntrinsicsFactory.LLVMPThreadCondBroadcastNodeGen;
+import com.oracle.truffle.llvm.nodes.intrinsics.c.LLVMPThreadIntrinsicsFactory.LLVMPThreadCondDestroyNodeGen;
+import com.oracle.truffle.llvm.nodes.intrinsics.c.LLVMPThreadIntrinsicsFactory.LLVMPThreadCondInitNodeGen;
+import com.oracle.truffle.llvm.nodes.intrinsics.c.LLVMPThreadIntrinsicsFactory.LLVMPThreadCondSignalNodeGen;
+import com.oracle.truffle.llvm.nodes.intrinsics.c.LLVMPThreadIntrinsicsFactory.LLVMPThreadCondTimedWaitNodeGen;
+import com.oracle.truffle.llvm.nodes.intrinsics.c.LLVMPThreadIntrinsicsFactory.LLVMPThreadCondWaitNodeGen;
+import com.oracle.truffle.llvm.nodes.intrinsics.c.LLVMPThreadIntrinsicsFactory.LLVMPThreadCreateNodeGen;
+import com.oracle.truffle.llvm.nodes.intrinsics.c.LLVMPThreadIntrinsicsFactory.LLVMPThreadDetachNodeGen;
+import com.oracle.truffle.llvm.nodes.intrinsics.c.LLVMPThreadIntrinsicsFactory.LLVMPThreadExitNodeGen;
+import com.oracle.truffle.llvm.nodes.intrinsics.c.LLVMPThreadIntrinsicsFactory.LLVMPThreadGetSpecificNodeGen;
+import com.oracle.truffle.llvm.nodes.intrinsics.c.LLVMPThreadIntrinsicsFactory.LLVMPThreadJoinNodeGen;
+import com.oracle.truffle.llvm.nodes.intrinsics.c.LLVMPThreadIntrinsicsFactory.LLVMPThreadKeyCreateNodeGen;
+import com.oracle.truffle.llvm.nodes.intrinsics.c.LLVMPThreadIntrinsicsFactory.LLVMPThreadKeyDeleteNodeGen;
+import com.oracle.truffle.llvm.nodes.intrinsics.c.LLVMPThreadIntrinsicsFactory.LLVMPThreadMutexDestroyNodeGen;
+import com.oracle.truffle.llvm.nodes.intrinsics.c.LLVMPThreadIntrinsicsFactory.LLVMPThreadMutexInitNodeGen;
+import com.oracle.truffle.llvm.nodes.intrinsics.c.LLVMPThreadIntrinsicsFactory.LLVMPThreadMutexLockNodeGen;
+import com.oracle.truffle.llvm.nodes.intrinsics.c.LLVMPThreadIntrinsicsFactory.LLVMPThreadMutexTryLockNodeGen;
+import com.oracle.truffle.llvm.nodes.intrinsics.c.LLVMPThreadIntrinsicsFactory.LLVMPThreadMutexUnlockNodeGen;
+import com.oracle.truffle.llvm.nodes.intrinsics.c.LLVMPThreadIntrinsicsFactory.LLVMPThreadOnceNodeGen;
+import com.oracle.truffle.llvm.nodes.intrinsics.c.LLVMPThreadIntrinsicsFactory.LLVMPThreadRWLockDestroyNodeGen;
+import com.oracle.truffle.llvm.nodes.intrinsics.c.LLVMPThreadIntrinsicsFactory.LLVMPThreadRWLockInitNodeGen;
+import com.oracle.truffle.llvm.nodes.intrinsics.c.LLVMPThreadIntrinsicsFactory.LLVMPThreadRWLockReadNodeGen;
+import com.oracle.truffle.llvm.nodes.intrinsics.c.LLVMPThreadIntrinsicsFactory.LLVMPThreadRWLockUnlockNodeGen;
+import com.oracle.truffle.llvm.nodes.intrinsics.c.LLVMPThreadIntrinsicsFactory.LLVMPThreadRWLockWriteNodeGen;
+import com.oracle.truffle.llvm.nodes.intrinsics.c.LLVMPThreadIntrinsicsFactory.LLVMPThreadSelfNodeGen;
+import com.oracle.truffle.llvm.nodes.intrinsics.c.LLVMPThreadIntrinsicsFactory.LLVMPThreadSetSpecificNodeGen;
 import com.oracle.truffle.llvm.nodes.intrinsics.c.LLVMSignalNodeGen;
+import com.oracle.truffle.llvm.nodes.intrinsics.c.LLVMStringIntrinsicsFactory.LLVMMemchrNodeGen;
+import com.oracle.truffle.llvm.nodes.intrinsics.c.LLVMStringIntrinsicsFactory.LLVMMemcmpNodeGen;
+import com.oracle.truffle.llvm.nodes.intrinsics.c.LLVMStringIntrinsicsFactory.LLVMStrchrNodeGen;
+import com.oracle.truffle.llvm.nodes.intrinsics.c.LLVMStringIntrinsicsFactory.LLVMStrcmpNodeGen;
+import com.oracle.truffle.llvm.nodes.intrinsics.c.LLVMStringIntrinsicsFactory.LLVMStrcpyNodeGen;
+import com.oracle.truffle.llvm.nodes.intrinsics.c.LLVMStringIntrinsicsFactory.LLVMStrlenNodeGen;
+import com.oracle.truffle.llvm.nodes.intrinsics.c.LLVMStringIntrinsicsFactory.LLVMStrncmpNodeGen;
+import com.oracle.truffle.llvm.nodes.intrinsics.c.LLVMStringIntrinsicsFactory.LLVMStrncpyNodeGen;
+import com.oracle.truffle.llvm.nodes.intrinsics.c.LLVMStringIntrinsicsFactory.LLVMStrnlenNodeGen;
 import com.oracle.truffle.llvm.nodes.intrinsics.c.LLVMSyscall;
 import com.oracle.truffle.llvm.nodes.intrinsics.c.LLVMTruffleReadBytesNodeGen;
 import com.oracle.truffle.llvm.nodes.intrinsics.interop.LLVMLoadLibraryNodeGen;
@@ -300,9 +335,11 @@ public class NFIIntrinsicsProvider implements NativeIntrinsicProvider, ContextEx
         registerRustIntrinsics();
         registerMathFunctionIntrinsics();
         registerMemoryFunctionIntrinsics(nodeFactory);
+        registerStringFunctionIntrinsics(nodeFactory);
         registerExceptionIntrinsics();
         registerComplexNumberIntrinsics();
         registerCTypeIntrinsics();
+        registerPThreadIntrinsics();
         registerManagedAllocationIntrinsics();
         return this;
     }
@@ -952,6 +989,191 @@ public class NFIIntrinsicsProvider implements NativeIntrinsicProvider, ContextEx
         });
     }
 
+    protected void registerPThreadIntrinsics() {
+        factories.put("@__sulong_pthread_create", new LLVMNativeIntrinsicFactory(true, false) {
+
+            @Override
+            protected RootCallTarget generate(FunctionType type) {
+                return wrap("@__sulong_pthread_create", LLVMPThreadCreateNodeGen.create(LLVMArgNodeGen.create(1), LLVMArgNodeGen.create(2), LLVMArgNodeGen.create(3)));
+            }
+        });
+        factories.put("@__sulong_pthread_join", new LLVMNativeIntrinsicFactory(true, false) {
+
+            @Override
+            protected RootCallTarget generate(FunctionType type) {
+                return wrap("@__sulong_pthread_join", LLVMPThreadJoinNodeGen.create(LLVMArgNodeGen.create(1), LLVMArgNodeGen.create(2)));
+            }
+        });
+        factories.put("@__sulong_pthread_detach", new LLVMNativeIntrinsicFactory(true, false) {
+
+            @Override
+            protected RootCallTarget generate(FunctionType type) {
+                return wrap("@__sulong_pthread_detach", LLVMPThreadDetachNodeGen.create(LLVMArgNodeGen.create(1)));
+            }
+        });
+        factories.put("@__sulong_pthread_self", new LLVMNativeIntrinsicFactory(true, false) {
+
+            @Override
+            protected RootCallTarget generate(FunctionType type) {
+                return wrap("@__sulong_pthread_self", LLVMPThreadSelfNodeGen.create());
+            }
+        });
+        factories.put("@__sulong_pthread_exit", new LLVMNativeIntrinsicFactory(true, false) {
+
+            @Override
+            protected RootCallTarget generate(FunctionType type) {
+                return wrap("@__sulong_pthread_exit", LLVMPThreadExitNodeGen.create(LLVMArgNodeGen.create(1)));
+            }
+        });
+        factories.put("@__sulong_pthread_mutex_init", new LLVMNativeIntrinsicFactory(true, false) {
+
+            @Override
+            protected RootCallTarget generate(FunctionType type) {
+                return wrap("@__sulong_pthread_mutex_init", LLVMPThreadMutexInitNodeGen.create(LLVMArgNodeGen.create(1), LLVMArgNodeGen.create(2)));
+            }
+        });
+        factories.put("@__sulong_pthread_mutex_destroy", new LLVMNativeIntrinsicFactory(true, false) {
+
+            @Override
+            protected RootCallTarget generate(FunctionType type) {
+                return wrap("@__sulong_pthread_mutex_destroy", LLVMPThreadMutexDestroyNodeGen.create(LLVMArgNodeGen.create(1)));
+            }
+        });
+        factories.put("@__sulong_pthread_mutex_lock", new LLVMNativeIntrinsicFactory(true, false) {
+
+            @Override
+            protected RootCallTarget generate(FunctionType type) {
+                return wrap("@__sulong_pthread_mutex_lock", LLVMPThreadMutexLockNodeGen.create(LLVMArgNodeGen.create(1)));
+            }
+        });
+        factories.put("@__sulong_pthread_mutex_trylock", new LLVMNativeIntrinsicFactory(true, false) {
+
+            @Override
+            protected RootCallTarget generate(FunctionType type) {
+                return wrap("@__sulong_pthread_mutex_trylock", LLVMPThreadMutexTryLockNodeGen.create(LLVMArgNodeGen.create(1)));
+            }
+        });
+        factories.put("@__sulong_pthread_mutex_unlock", new LLVMNativeIntrinsicFactory(true, false) {
+
+            @Override
+            protected RootCallTarget generate(FunctionType type) {
+                return wrap("@__sulong_pthread_mutex_unlock", LLVMPThreadMutexUnlockNodeGen.create(LLVMArgNodeGen.create(1)));
+            }
+        });
+        factories.put("@__sulong_pthread_cond_init", new LLVMNativeIntrinsicFactory(true, false) {
+
+            @Override
+            protected RootCallTarget generate(FunctionType type) {
+                return wrap("@__sulong_pthread_cond_init", LLVMPThreadCondInitNodeGen.create(LLVMArgNodeGen.create(1)));
+            }
+        });
+        factories.put("@__sulong_pthread_cond_destroy", new LLVMNativeIntrinsicFactory(true, false) {
+
+            @Override
+            protected RootCallTarget generate(FunctionType type) {
+                return wrap("@__sulong_pthread_cond_destroy", LLVMPThreadCondDestroyNodeGen.create(LLVMArgNodeGen.create(1)));
+            }
+        });
+        factories.put("@__sulong_pthread_cond_signal", new LLVMNativeIntrinsicFactory(true, false) {
+
+            @Override
+            protected RootCallTarget generate(FunctionType type) {
+                return wrap("@__sulong_pthread_cond_signal", LLVMPThreadCondSignalNodeGen.create(LLVMArgNodeGen.create(1)));
+            }
+        });
+        factories.put("@__sulong_pthread_cond_broadcast", new LLVMNativeIntrinsicFactory(true, false) {
+
+            @Override
+            protected RootCallTarget generate(FunctionType type) {
+                return wrap("@__sulong_pthread_cond_broadcast", LLVMPThreadCondBroadcastNodeGen.create(LLVMArgNodeGen.create(1)));
+            }
+        });
+        factories.put("@__sulong_pthread_cond_wait", new LLVMNativeIntrinsicFactory(true, false) {
+
+            @Override
+            protected RootCallTarget generate(FunctionType type) {
+                return wrap("@__sulong_pthread_cond_wait", LLVMPThreadCondWaitNodeGen.create(LLVMArgNodeGen.create(1), LLVMArgNodeGen.create(2)));
+            }
+        });
+        factories.put("@__sulong_pthread_cond_timedwait", new LLVMNativeIntrinsicFactory(true, false) {
+
+            @Override
+            protected RootCallTarget generate(FunctionType type) {
+                return wrap("@__sulong_pthread_cond_timedwait", LLVMPThreadCondTimedWaitNodeGen.create(LLVMArgNodeGen.create(1), LLVMArgNodeGen.create(2), LLVMArgNodeGen.create(3), LLVMArgNodeGen.create(4)));
+            }
+        });
+        factories.put("@__sulong_pthread_rwlock_init", new LLVMNativeIntrinsicFactory(true, false) {
+
+            @Override
+            protected RootCallTarget generate(FunctionType type) {
+                return wrap("@__sulong_pthread_rwlock_init", LLVMPThreadRWLockInitNodeGen.create(LLVMArgNodeGen.create(1)));
+            }
+        });
+        factories.put("@__sulong_pthread_rwlock_destroy", new LLVMNativeIntrinsicFactory(true, false) {
+
+            @Override
+            protected RootCallTarget generate(FunctionType type) {
+                return wrap("@__sulong_pthread_rwlock_destroy", LLVMPThreadRWLockDestroyNodeGen.create(LLVMArgNodeGen.create(1)));
+            }
+        });
+        factories.put("@__sulong_pthread_rwlock_rdlock", new LLVMNativeIntrinsicFactory(true, false) {
+
+            @Override
+            protected RootCallTarget generate(FunctionType type) {
+                return wrap("@__sulong_pthread_rwlock_rdlock", LLVMPThreadRWLockReadNodeGen.create(LLVMArgNodeGen.create(1), LLVMArgNodeGen.create(2)));
+            }
+        });
+        factories.put("@__sulong_pthread_rwlock_wrlock", new LLVMNativeIntrinsicFactory(true, false) {
+
+            @Override
+            protected RootCallTarget generate(FunctionType type) {
+                return wrap("@__sulong_pthread_rwlock_wrlock", LLVMPThreadRWLockWriteNodeGen.create(LLVMArgNodeGen.create(1), LLVMArgNodeGen.create(2)));
+            }
+        });
+        factories.put("@__sulong_pthread_rwlock_unlock", new LLVMNativeIntrinsicFactory(true, false) {
+
+            @Override
+            protected RootCallTarget generate(FunctionType type) {
+                return wrap("@__sulong_pthread_rwlock_unlock", LLVMPThreadRWLockUnlockNodeGen.create(LLVMArgNodeGen.create(1)));
+            }
+        });
+        factories.put("@__sulong_pthread_once", new LLVMNativeIntrinsicFactory(true, false) {
+
+            @Override
+            protected RootCallTarget generate(FunctionType type) {
+                return wrap("@__sulong_pthread_once", LLVMPThreadOnceNodeGen.create(LLVMArgNodeGen.create(1), LLVMArgNodeGen.create(2)));
+            }
+        });
+        factories.put("@__sulong_pthread_key_create", new LLVMNativeIntrinsicFactory(true, false) {
+
+            @Override
+            protected RootCallTarget generate(FunctionType type) {
+                return wrap("@__sulong_pthread_key_create", LLVMPThreadKeyCreateNodeGen.create(LLVMArgNodeGen.create(1)));
+            }
+        });
+        factories.put("@__sulong_pthread_key_delete", new LLVMNativeIntrinsicFactory(true, false) {
+
+            @Override
+            protected RootCallTarget generate(FunctionType type) {
+                return wrap("@__sulong_pthread_key_delete", LLVMPThreadKeyDeleteNodeGen.create(LLVMArgNodeGen.create(1)));
+            }
+        });
+        factories.put("@__sulong_pthread_getspecific", new LLVMNativeIntrinsicFactory(true, false) {
+
+            @Override
+            protected RootCallTarget generate(FunctionType type) {
+                return wrap("@__sulong_pthread_getspecific", LLVMPThreadGetSpecificNodeGen.create(LLVMArgNodeGen.create(1)));
+            }
+        });
+        factories.put("@__sulong_pthread_setspecific", new LLVMNativeIntrinsicFactory(true, false) {
+
+            @Override
+            protected RootCallTarget generate(FunctionType type) {
+                return wrap("@__sulong_pthread_setspecific", LLVMPThreadSetSpecificNodeGen.create(LLVMArgNodeGen.create(1), LLVMArgNodeGen.create(2)));
+            }
+        });
+    }
+
     protected void registerAbortIntrinsics() {
         factories.put("@_gfortran_abort", new LLVMNativeIntrinsicFactory(true, false) {
 
@@ -1396,6 +1618,63 @@ public class NFIIntrinsicsProvider implements NativeIntrinsicProvider, ContextEx
         });
     }
 
+    protected void registerStringFunctionIntrinsics(NodeFactory factory) {
+        factories.put("@strlen", new LLVMNativeIntrinsicFactory(true, false) {
+            @Override
+            protected RootCallTarget generate(FunctionType type) {
+                return wrap("@strlen", LLVMStrlenNodeGen.create(LLVMArgNodeGen.create(1)));
+            }
+        });
+        factories.put("@strnlen", new LLVMNativeIntrinsicFactory(true, false) {
+            @Override
+            protected RootCallTarget generate(FunctionType type) {
+                return wrap("@strnlen", LLVMStrnlenNodeGen.create(LLVMArgNodeGen.create(1), LLVMArgNodeGen.create(2)));
+            }
+        });
+        factories.put("@strcmp", new LLVMNativeIntrinsicFactory(true, false) {
+            @Override
+            protected RootCallTarget generate(FunctionType type) {
+                return wrap("@strcmp", LLVMStrcmpNodeGen.create(LLVMArgNodeGen.create(1), LLVMArgNodeGen.create(2)));
+            }
+        });
+        factories.put("@strncmp", new LLVMNativeIntrinsicFactory(true, false) {
+            @Override
+            protected RootCallTarget generate(FunctionType type) {
+                return wrap("@strncmp", LLVMStrncmpNodeGen.create(LLVMArgNodeGen.create(1), LLVMArgNodeGen.create(2), LLVMArgNodeGen.create(3)));
+            }
+        });
+        factories.put("@memcmp", new LLVMNativeIntrinsicFactory(true, false) {
+            @Override
+            protected RootCallTarget generate(FunctionType type) {
+                return wrap("@memcmp", LLVMMemcmpNodeGen.create(LLVMArgNodeGen.create(1), LLVMArgNodeGen.create(2), LLVMArgNodeGen.create(3)));
+            }
+        });
+        factories.put("@memchr", new LLVMNativeIntrinsicFactory(true, false) {
+            @Override
+            protected RootCallTarget generate(FunctionType type) {
+                return wrap("@memchr", LLVMMemchrNodeGen.create(LLVMArgNodeGen.create(1), LLVMArgNodeGen.create(2), LLVMArgNodeGen.create(3)));
+            }
+        });
+        factories.put("@strchr", new LLVMNativeIntrinsicFactory(true, false) {
+            @Override
+            protected RootCallTarget generate(FunctionType type) {
+                return wrap("@strchr", LLVMStrchrNodeGen.create(LLVMArgNodeGen.create(1), LLVMArgNodeGen.create(2)));
+            }
+        });
+        factories.put("@strcpy", new LLVMNativeIntrinsicFactory(true, false) {
+            @Override
+            protected RootCallTarget generate(FunctionType type) {
+                return wrap("@strcpy", LLVMStrcpyNodeGen.create(factory.createMemMove(), LLVMArgNodeGen.create(1), LLVMArgNodeGen.create(2)));
+            }
+        });
+        factories.put("@strncpy", new LLVMNativeIntrinsicFactory(true, false) {
+            @Override
+            protected RootCallTarget generate(FunctionType type) {
+                return wrap("@strncpy", LLVMStrncpyNodeGen.create(factory.createMemMove(), factory.createMemSet(), LLVMArgNodeGen.create(1), LLVMArgNodeGen.create(2), LLVMArgNodeGen.create(3)));
+            }
+        });
+    }
+
     protected void registerExceptionIntrinsics() {
         factories.put("@__cxa_throw", new LLVMNativeIntrinsicFactory(true, true) {
 
@@ -73,11 +73,19 @@ public final class BitcodeParserResult {
         return model.getLibraryPaths();
     }
 
-    public static BitcodeParserResult getFromSource(Source source, ByteBuffer bytes) {
-        final ModelModule model = LLVMScanner.parse(source, bytes);
+    /**
+     * Creates a result that shares the immutable model of this one. The frame descriptors are
+     * allocated anew because the types of their slots are updated at runtime.
+     */
+    BitcodeParserResult copyForContext() {
+        return new BitcodeParserResult(model, phis, StackAllocation.generate(model, stackAllocation.inspectsLocals()), labels);
+    }
+
+    public static BitcodeParserResult getFromSource(Source source, ByteBuffer bytes, boolean lazyParsing, boolean parseDebugInfo, boolean inspectLocals) {
+        final ModelModule model = LLVMScanner.parse(source, bytes, lazyParsing, parseDebugInfo);
 
         final LLVMPhiManager phis = LLVMPhiManager.generate(model);
-        final StackAllocation stackAllocation = StackAllocation.generate(model);
+        final StackAllocation stackAllocation = StackAllocation.generate(model, inspectLocals);
         final LLVMLabelList labels = LLVMLabelList.generate(model);
 
         return new BitcodeParserResult(model, phis, stackAllocation, labels);
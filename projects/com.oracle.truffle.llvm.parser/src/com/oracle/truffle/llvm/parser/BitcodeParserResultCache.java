@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.parser;
+
+import java.lang.ref.SoftReference;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.oracle.truffle.api.source.Source;
+
+/**
+ * Engine-wide cache of scanned bitcode modules, keyed by a digest of the file content. Contexts
+ * that load the same library share its {@link com.oracle.truffle.llvm.parser.model.ModelModule}
+ * and only build their own frame descriptors, globals and Truffle ASTs. Entries are softly
+ * referenced so that the cache never keeps unused modules alive under memory pressure.
+ */
+public final class BitcodeParserResultCache {
+
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    private final ConcurrentHashMap<ByteBuffer, SoftReference<BitcodeParserResult>> results = new ConcurrentHashMap<>();
+
+    public BitcodeParserResult getOrParse(Source source, ByteBuffer bytes, boolean lazyParsing, boolean parseDebugInfo) {
+        final ByteBuffer key = digest(bytes, lazyParsing, parseDebugInfo);
+        final SoftReference<BitcodeParserResult> ref = results.get(key);
+        final BitcodeParserResult cached = ref == null ? null : ref.get();
+        if (cached != null) {
+            return cached.copyForContext();
+        }
+
+        // two contexts may parse the same module concurrently, in which case the last one wins
+        final BitcodeParserResult result = BitcodeParserResult.getFromSource(source, bytes, lazyParsing, parseDebugInfo, false);
+        results.put(key, new SoftReference<>(result));
+        return result;
+    }
+
+    public void clear() {
+        results.clear();
+    }
+
+    private static ByteBuffer digest(ByteBuffer bytes, boolean lazyParsing, boolean parseDebugInfo) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+            digest.update(bytes.duplicate());
+            digest.update((byte) (lazyParsing ? 1 : 0));
+            digest.update((byte) (parseDebugInfo ? 1 : 0));
+            return ByteBuffer.wrap(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(DIGEST_ALGORITHM + " is not available", e);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.parser;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import com.oracle.truffle.api.frame.FrameSlotKind;
+import com.oracle.truffle.llvm.parser.LLVMLivenessAnalysis.LLVMLocalReadVisitor;
+import com.oracle.truffle.llvm.parser.metadata.debuginfo.SourceModel;
+import com.oracle.truffle.llvm.parser.model.SymbolImpl;
+import com.oracle.truffle.llvm.parser.model.blocks.InstructionBlock;
+import com.oracle.truffle.llvm.parser.model.enums.AtomicOrdering;
+import com.oracle.truffle.llvm.parser.model.functions.FunctionDeclaration;
+import com.oracle.truffle.llvm.parser.model.functions.FunctionDefinition;
+import com.oracle.truffle.llvm.parser.model.symbols.constants.NullConstant;
+import com.oracle.truffle.llvm.parser.model.symbols.constants.integer.IntegerConstant;
+import com.oracle.truffle.llvm.parser.model.symbols.instructions.AllocateInstruction;
+import com.oracle.truffle.llvm.parser.model.symbols.instructions.Instruction;
+import com.oracle.truffle.llvm.parser.model.symbols.instructions.LoadInstruction;
+import com.oracle.truffle.llvm.parser.model.symbols.instructions.PhiInstruction;
+import com.oracle.truffle.llvm.parser.model.symbols.instructions.StoreInstruction;
+import com.oracle.truffle.llvm.parser.model.symbols.instructions.VoidCallInstruction;
+import com.oracle.truffle.llvm.runtime.types.PointerType;
+import com.oracle.truffle.llvm.runtime.types.PrimitiveType;
+import com.oracle.truffle.llvm.runtime.types.Type;
+
+/**
+ * Finds the allocas of a function whose address never escapes, i.e., that are only used as the
+ * address of plain loads and stores of the allocated type. Such allocas do not need stack memory,
+ * their value can be kept in a frame slot instead. This is mostly the case for the locals of code
+ * that was compiled without optimizations.
+ */
+final class LLVMAllocaPromotion {
+
+    private LLVMAllocaPromotion() {
+    }
+
+    static Set<AllocateInstruction> findPromotableAllocas(FunctionDefinition function, boolean inspectLocals) {
+        final Set<AllocateInstruction> candidates = new HashSet<>();
+        for (InstructionBlock block : function.getBlocks()) {
+            for (int i = 0; i < block.getInstructionCount(); i++) {
+                final Instruction instruction = block.getInstruction(i);
+                if (instruction instanceof AllocateInstruction && isCandidate((AllocateInstruction) instruction)) {
+                    candidates.add((AllocateInstruction) instruction);
+                }
+            }
+        }
+
+        if (!candidates.isEmpty()) {
+            final EscapeVisitor escapeVisitor = new EscapeVisitor(candidates, inspectLocals);
+            for (InstructionBlock block : function.getBlocks()) {
+                for (int i = 0; i < block.getInstructionCount(); i++) {
+                    block.getInstruction(i).accept(escapeVisitor);
+                }
+            }
+        }
+        return candidates;
+    }
+
+    private static boolean isCandidate(AllocateInstruction allocate) {
+        final SymbolImpl count = allocate.getCount();
+        if (!(count instanceof NullConstant) && !(count instanceof IntegerConstant && ((IntegerConstant) count).getValue() == 1)) {
+            return false;
+        }
+        final Type type = allocate.getPointeeType();
+        if (type instanceof PrimitiveType) {
+            // excludes the floating point types that are kept in objects, e.g., x86_fp80
+            return Type.getFrameSlotKind(type) != FrameSlotKind.Object;
+        }
+        return type instanceof PointerType && !Type.isFunctionOrFunctionPointer(type);
+    }
+
+    private static boolean isPlainAccess(AtomicOrdering ordering, boolean isVolatile) {
+        return ordering == AtomicOrdering.NOT_ATOMIC && !isVolatile;
+    }
+
+    private static boolean isDebugIntrinsic(SymbolImpl target) {
+        if (target instanceof FunctionDeclaration) {
+            final String name = ((FunctionDeclaration) target).getName();
+            return SourceModel.LLVM_DBG_DECLARE_NAME.equals(name) || SourceModel.LLVM_DBG_VALUE_NAME.equals(name);
+        }
+        return false;
+    }
+
+    /**
+     * Removes every candidate from the set that is used in any other way than as the address of a
+     * plain load or store of its allocated type. The operands of the debug intrinsics only describe
+     * the variable that lives in the alloca, they do not let its address escape unless the memory
+     * of the variable is to be inspected on source level.
+     */
+    private static final class EscapeVisitor extends LLVMLocalReadVisitor {
+
+        private final Set<AllocateInstruction> candidates;
+
+        private final boolean inspectLocals;
+
+        EscapeVisitor(Set<AllocateInstruction> candidates, boolean inspectLocals) {
+            this.candidates = candidates;
+            this.inspectLocals = inspectLocals;
+        }
+
+        @Override
+        public void visit(LoadInstruction load) {
+            if (!isPromotableAccess(load.getSource(), load.getType(), isPlainAccess(load.getAtomicOrdering(), load.isVolatile()))) {
+                visitLocalRead(load.getSource());
+            }
+        }
+
+        @Override
+        public void visit(StoreInstruction store) {
+            if (!isPromotableAccess(store.getDestination(), store.getSource().getType(), isPlainAccess(store.getAtomicOrdering(), store.isVolatile()))) {
+                visitLocalRead(store.getDestination());
+            }
+            visitLocalRead(store.getSource());
+        }
+
+        @Override
+        public void visit(VoidCallInstruction call) {
+            if (inspectLocals || !isDebugIntrinsic(call.getCallTarget())) {
+                super.visit(call);
+            }
+        }
+
+        @Override
+        public void visit(PhiInstruction phi) {
+            for (int i = 0; i < phi.getSize(); i++) {
+                visitLocalRead(phi.getValue(i));
+            }
+        }
+
+        private boolean isPromotableAccess(SymbolImpl address, Type accessType, boolean isPlainAccess) {
+            return isPlainAccess && address instanceof AllocateInstruction && ((AllocateInstruction) address).getPointeeType().equals(accessType);
+        }
+
+        @Override
+        protected void visitLocalRead(SymbolImpl symbol) {
+            if (symbol instanceof AllocateInstruction) {
+                candidates.remove(symbol);
+            }
+        }
+    }
+}
@@ -44,6 +44,7 @@ import com.oracle.truffle.llvm.parser.metadata.debuginfo.SourceModel;
 import com.oracle.truffle.llvm.parser.metadata.debuginfo.ValueFragment;
 import com.oracle.truffle.llvm.parser.model.blocks.InstructionBlock;
 import com.oracle.truffle.llvm.parser.model.functions.FunctionDefinition;
+import com.oracle.truffle.llvm.parser.model.symbols.instructions.AllocateInstruction;
 import com.oracle.truffle.llvm.parser.model.symbols.instructions.Instruction;
 import com.oracle.truffle.llvm.parser.model.visitors.FunctionVisitor;
 import com.oracle.truffle.llvm.parser.nodes.LLVMSymbolReadResolver;
@@ -64,10 +65,11 @@ final class LLVMBitcodeFunctionVisitor implements FunctionVisitor {
     private final FunctionDefinition function;
     private final LLVMLivenessAnalysisResult liveness;
     private final Set<SourceModel.Variable> initPartialValues;
+    private final Set<AllocateInstruction> promotedAllocas;
 
     LLVMBitcodeFunctionVisitor(LLVMParserRuntime runtime, FrameDescriptor frame, Map<String, Integer> labels,
                     Map<InstructionBlock, List<Phi>> phis, NodeFactory nodeFactory, int argCount, LLVMSymbolReadResolver symbols, FunctionDefinition functionDefinition,
-                    LLVMLivenessAnalysisResult liveness, Set<SourceModel.Variable> initPartialValues) {
+                    LLVMLivenessAnalysisResult liveness, Set<SourceModel.Variable> initPartialValues, Set<AllocateInstruction> promotedAllocas) {
         this.runtime = runtime;
         this.frame = frame;
         this.labels = labels;
@@ -78,6 +80,7 @@ final class LLVMBitcodeFunctionVisitor implements FunctionVisitor {
         this.function = functionDefinition;
         this.liveness = liveness;
         this.initPartialValues = initPartialValues;
+        this.promotedAllocas = promotedAllocas;
 
         this.blocks = new ArrayList<>();
     }
@@ -94,7 +97,8 @@ final class LLVMBitcodeFunctionVisitor implements FunctionVisitor {
     public void visit(InstructionBlock block) {
         List<Phi> blockPhis = phis.get(block);
         ArrayList<LLVMLivenessAnalysis.NullerInformation> blockNullerInfos = liveness.getNullableWithinBlock()[block.getBlockIndex()];
-        LLVMBitcodeInstructionVisitor visitor = new LLVMBitcodeInstructionVisitor(frame, labels, blockPhis, nodeFactory, argCount, symbols, runtime, blockNullerInfos, function.getSourceFunction());
+        LLVMBitcodeInstructionVisitor visitor = new LLVMBitcodeInstructionVisitor(frame, labels, blockPhis, nodeFactory, argCount, symbols, runtime, blockNullerInfos, function.getSourceFunction(),
+                        promotedAllocas);
 
         if (runtime.getContext().getEnv().getOptions().get(SulongEngineOption.ENABLE_LVI)) {
             for (SourceModel.Variable variable : initPartialValues) {
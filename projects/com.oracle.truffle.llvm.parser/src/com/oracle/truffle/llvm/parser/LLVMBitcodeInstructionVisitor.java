@@ -32,6 +32,7 @@ package com.oracle.truffle.llvm.parser;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import com.oracle.truffle.api.frame.FrameDescriptor;
 import com.oracle.truffle.api.frame.FrameSlot;
@@ -48,6 +49,7 @@ import com.oracle.truffle.llvm.parser.metadata.debuginfo.ValueFragment;
 import com.oracle.truffle.llvm.parser.model.attributes.Attribute;
 import com.oracle.truffle.llvm.parser.model.attributes.AttributesGroup;
 import com.oracle.truffle.llvm.parser.model.enums.AsmDialect;
+import com.oracle.truffle.llvm.parser.model.enums.AtomicOrdering;
 import com.oracle.truffle.llvm.parser.model.functions.FunctionDeclaration;
 import com.oracle.truffle.llvm.parser.model.functions.FunctionParameter;
 import com.oracle.truffle.llvm.parser.model.symbols.constants.InlineAsmConstant;
@@ -120,6 +122,7 @@ final class LLVMBitcodeInstructionVisitor implements SymbolVisitor {
     private final ArrayList<LLVMLivenessAnalysis.NullerInformation> nullerInfos;
     private final List<? extends FrameSlot> frameSlots;
     private final SourceModel.Function sourceFunction;
+    private final Set<AllocateInstruction> promotedAllocas;
 
     private final List<LLVMExpressionNode> blockInstructions;
     private int instructionIndex;
@@ -127,7 +130,7 @@ final class LLVMBitcodeInstructionVisitor implements SymbolVisitor {
 
     LLVMBitcodeInstructionVisitor(FrameDescriptor frame, Map<String, Integer> labels,
                     List<Phi> blockPhis, NodeFactory nodeFactory, int argCount, LLVMSymbolReadResolver symbols, LLVMParserRuntime runtime,
-                    ArrayList<LLVMLivenessAnalysis.NullerInformation> nullerInfos, SourceModel.Function sourceFunction) {
+                    ArrayList<LLVMLivenessAnalysis.NullerInformation> nullerInfos, SourceModel.Function sourceFunction, Set<AllocateInstruction> promotedAllocas) {
         this.frame = frame;
         this.labels = labels;
         this.blockPhis = blockPhis;
@@ -138,6 +141,7 @@ final class LLVMBitcodeInstructionVisitor implements SymbolVisitor {
         this.nullerInfos = nullerInfos;
         this.frameSlots = frame.getSlots();
         this.sourceFunction = sourceFunction;
+        this.promotedAllocas = promotedAllocas;
 
         this.blockInstructions = new ArrayList<>();
     }
@@ -162,6 +166,12 @@ final class LLVMBitcodeInstructionVisitor implements SymbolVisitor {
     @Override
     public void visit(AllocateInstruction allocate) {
         final Type type = allocate.getPointeeType();
+        if (promotedAllocas.contains(allocate)) {
+            // the value lives in the frame slot, reading it before the first store is undefined
+            createFrameWrite(symbols.resolve(new NullConstant(type)), type, allocate);
+            return;
+        }
+
         int alignment;
         if (allocate.getAlign() == 0) {
             alignment = runtime.getContext().getByteAlignment(type);
@@ -319,6 +329,13 @@ final class LLVMBitcodeInstructionVisitor implements SymbolVisitor {
         }
 
         final SymbolImpl valueSymbol = call.getArgument(SourceModel.LLVM_DBG_INTRINSICS_VALUE_ARGINDEX);
+        if (isPromotedAlloca(valueSymbol)) {
+            // the slot holds the value of the variable rather than its address, so there is no
+            // memory to describe; declared allocas are only promoted without llvm.enableLVI
+            handleNullerInfo();
+            return;
+        }
+
         FrameSlot valueSlot = null;
         if (valueSymbol instanceof ValueInstruction) {
             valueSlot = frame.findFrameSlot(((ValueInstruction) valueSymbol).getName());
@@ -753,8 +770,17 @@ final class LLVMBitcodeInstructionVisitor implements SymbolVisitor {
 
     @Override
     public void visit(LoadInstruction load) {
-        LLVMExpressionNode source = symbols.resolve(load.getSource());
-        LLVMExpressionNode result = nodeFactory.createLoad(runtime, load.getType(), source);
+        final LLVMExpressionNode result;
+        if (isPromotedAlloca(load.getSource())) {
+            result = nodeFactory.createFrameRead(runtime, load.getType(), getSlot(((AllocateInstruction) load.getSource()).getName()));
+        } else {
+            LLVMExpressionNode source = symbols.resolve(load.getSource());
+            if (load.getAtomicOrdering() == AtomicOrdering.NOT_ATOMIC) {
+                result = nodeFactory.createLoad(runtime, load.getType(), source);
+            } else {
+                result = nodeFactory.createAtomicLoad(runtime, load.getType(), source, load.getAtomicOrdering(), load.getSynchronizationScope());
+            }
+        }
         createFrameWrite(result, load);
     }
 
@@ -805,7 +831,6 @@ final class LLVMBitcodeInstructionVisitor implements SymbolVisitor {
 
     @Override
     public void visit(StoreInstruction store) {
-        final LLVMExpressionNode pointerNode = symbols.resolve(store.getDestination());
         final LLVMExpressionNode valueNode = symbols.resolve(store.getSource());
 
         Type type = store.getSource().getType();
@@ -816,7 +841,17 @@ final class LLVMBitcodeInstructionVisitor implements SymbolVisitor {
             sourceSection = sourceFunction.getSourceSection(store);
         }
 
-        final LLVMExpressionNode node = nodeFactory.createStore(runtime, pointerNode, valueNode, type, sourceSection);
+        final LLVMExpressionNode node;
+        if (isPromotedAlloca(store.getDestination())) {
+            node = nodeFactory.createFrameWrite(runtime, type, valueNode, getSlot(((AllocateInstruction) store.getDestination()).getName()), sourceSection);
+        } else {
+            final LLVMExpressionNode pointerNode = symbols.resolve(store.getDestination());
+            if (store.getAtomicOrdering() == AtomicOrdering.NOT_ATOMIC) {
+                node = nodeFactory.createStore(runtime, pointerNode, valueNode, type, sourceSection);
+            } else {
+                node = nodeFactory.createAtomicStore(runtime, pointerNode, valueNode, type, sourceSection, store.getAtomicOrdering(), store.getSynchronizationScope());
+            }
+        }
 
         addInstruction(node);
     }
@@ -835,7 +870,7 @@ final class LLVMBitcodeInstructionVisitor implements SymbolVisitor {
 
     @Override
     public void visit(FenceInstruction fence) {
-        final LLVMExpressionNode node = nodeFactory.createFence(runtime);
+        final LLVMExpressionNode node = nodeFactory.createFence(runtime, fence.getAtomicOrdering(), fence.getSynchronizationScope());
 
         addInstruction(node);
     }
@@ -850,6 +885,14 @@ final class LLVMBitcodeInstructionVisitor implements SymbolVisitor {
         successors[successors.length - 1] = labels.get(zwitch.getDefaultBlock().getName());
 
         Type llvmType = zwitch.getCondition().getType();
+        long[] caseValues = getConstantCaseValues(zwitch);
+        if (caseValues != null) {
+            LLVMControlFlowNode node = nodeFactory.createConstantCaseSwitch(runtime, cond, successors, caseValues, (PrimitiveType) llvmType, getPhiWriteNodes(zwitch),
+                            sourceFunction.getSourceSection(zwitch));
+            setControlFlowNode(node);
+            return;
+        }
+
         LLVMExpressionNode[] cases = new LLVMExpressionNode[zwitch.getCaseCount()];
         for (int i = 0; i < cases.length; i++) {
             cases[i] = symbols.resolve(zwitch.getCaseValue(i));
@@ -859,6 +902,54 @@ final class LLVMBitcodeInstructionVisitor implements SymbolVisitor {
         setControlFlowNode(node);
     }
 
+    private static boolean isConstantCaseSwitchType(Type type) {
+        if (type instanceof PrimitiveType) {
+            switch (((PrimitiveType) type).getPrimitiveKind()) {
+                case I1:
+                case I8:
+                case I16:
+                case I32:
+                case I64:
+                    return true;
+                default:
+                    return false;
+            }
+        }
+        return false;
+    }
+
+    private static long[] getConstantCaseValues(SwitchInstruction zwitch) {
+        Type type = zwitch.getCondition().getType();
+        if (!isConstantCaseSwitchType(type)) {
+            return null;
+        }
+        long[] caseValues = new long[zwitch.getCaseCount()];
+        for (int i = 0; i < caseValues.length; i++) {
+            SymbolImpl caseValue = zwitch.getCaseValue(i);
+            if (!(caseValue instanceof IntegerConstant)) {
+                return null;
+            }
+            caseValues[i] = normalizeCaseValue(((IntegerConstant) caseValue).getValue(), (PrimitiveType) type);
+        }
+        return caseValues;
+    }
+
+    private static long normalizeCaseValue(long value, PrimitiveType type) {
+        // the case value is always a long here regardless of the values actual type
+        switch (type.getPrimitiveKind()) {
+            case I1:
+                return value & 1;
+            case I8:
+                return (byte) value;
+            case I16:
+                return (short) value;
+            case I32:
+                return (int) value;
+            default:
+                return value;
+        }
+    }
+
     private LLVMExpressionNode[] getPhiWriteNodes(TerminatingInstruction terminatingInstruction) {
         if (blockPhis != null) {
             ArrayList<Phi>[] phisPerSuccessor = LLVMPhiManager.getPhisForSuccessors(terminatingInstruction, blockPhis);
@@ -895,6 +986,16 @@ final class LLVMBitcodeInstructionVisitor implements SymbolVisitor {
         successors[successors.length - 1] = labels.get(zwitch.getDefaultBlock().getName());
 
         final PrimitiveType llvmType = (PrimitiveType) zwitch.getCondition().getType();
+        if (isConstantCaseSwitchType(llvmType)) {
+            long[] caseValues = new long[zwitch.getCaseCount()];
+            for (int i = 0; i < caseValues.length; i++) {
+                caseValues[i] = normalizeCaseValue(zwitch.getCaseValue(i), llvmType);
+            }
+            LLVMControlFlowNode node = nodeFactory.createConstantCaseSwitch(runtime, cond, successors, caseValues, llvmType, getPhiWriteNodes(zwitch), sourceFunction.getSourceSection(zwitch));
+            setControlFlowNode(node);
+            return;
+        }
+
         final LLVMExpressionNode[] cases = new LLVMExpressionNode[zwitch.getCaseCount()];
         for (int i = 0; i < cases.length; i++) {
             // the case value is always a long here regardless of the values actual type, implicit
@@ -928,10 +1029,22 @@ final class LLVMBitcodeInstructionVisitor implements SymbolVisitor {
     }
 
     private void createFrameWrite(LLVMExpressionNode result, ValueInstruction source, SourceSection sourceSection) {
-        final LLVMExpressionNode node = nodeFactory.createFrameWrite(runtime, source.getType(), result, getSlot(source.getName()), sourceSection);
+        createFrameWrite(result, source.getType(), source, sourceSection);
+    }
+
+    private void createFrameWrite(LLVMExpressionNode result, Type type, ValueInstruction source) {
+        createFrameWrite(result, type, source, null);
+    }
+
+    private void createFrameWrite(LLVMExpressionNode result, Type type, ValueInstruction source, SourceSection sourceSection) {
+        final LLVMExpressionNode node = nodeFactory.createFrameWrite(runtime, type, result, getSlot(source.getName()), sourceSection);
         addInstruction(node);
     }
 
+    private boolean isPromotedAlloca(SymbolImpl symbol) {
+        return symbol instanceof AllocateInstruction && promotedAllocas.contains(symbol);
+    }
+
     private LLVMExpressionNode createInlineAssemblerNode(InlineAsmConstant inlineAsmConstant, LLVMExpressionNode[] argNodes, Type[] argsType, Type retType, SourceSection sourceSection) {
         if (inlineAsmConstant.needsAlignedStack()) {
             throw new UnsupportedOperationException("Assembly Expressions that require an aligned Stack are not supported yet!");
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.parser;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.oracle.truffle.llvm.parser.model.SymbolImpl;
+import com.oracle.truffle.llvm.parser.model.symbols.constants.NullConstant;
+import com.oracle.truffle.llvm.parser.model.symbols.constants.StringConstant;
+import com.oracle.truffle.llvm.parser.model.symbols.constants.UndefinedConstant;
+import com.oracle.truffle.llvm.parser.model.symbols.constants.aggregate.ArrayConstant;
+import com.oracle.truffle.llvm.parser.model.symbols.constants.aggregate.StructureConstant;
+import com.oracle.truffle.llvm.parser.model.symbols.constants.floatingpoint.DoubleConstant;
+import com.oracle.truffle.llvm.parser.model.symbols.constants.floatingpoint.FloatConstant;
+import com.oracle.truffle.llvm.parser.model.symbols.constants.integer.BigIntegerConstant;
+import com.oracle.truffle.llvm.parser.model.symbols.constants.integer.IntegerConstant;
+import com.oracle.truffle.llvm.runtime.LLVMContext;
+import com.oracle.truffle.llvm.runtime.types.ArrayType;
+import com.oracle.truffle.llvm.runtime.types.PrimitiveType;
+import com.oracle.truffle.llvm.runtime.types.Type;
+
+/**
+ * Serializes the constant initializer of a global into its little-endian memory image. All parts
+ * of the initializer that are not plain data (e.g., addresses of other globals and functions or
+ * constant expressions) are left zero in the image and are recorded as relocations, which need to
+ * be stored separately after the image has been copied to the global.
+ */
+final class LLVMGlobalImage {
+
+    static final class Relocation {
+
+        private final int offset;
+        private final SymbolImpl value;
+
+        private Relocation(int offset, SymbolImpl value) {
+            this.offset = offset;
+            this.value = value;
+        }
+
+        int getOffset() {
+            return offset;
+        }
+
+        SymbolImpl getValue() {
+            return value;
+        }
+    }
+
+    private final LLVMContext context;
+    private final ByteBuffer buffer;
+    private final List<Relocation> relocations;
+
+    private LLVMGlobalImage(LLVMContext context, int size) {
+        this.context = context;
+        this.buffer = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+        this.relocations = new ArrayList<>();
+    }
+
+    static LLVMGlobalImage create(LLVMContext context, SymbolImpl value, int size) {
+        final LLVMGlobalImage image = new LLVMGlobalImage(context, size);
+        image.write(value, 0);
+        return image;
+    }
+
+    byte[] getData() {
+        return buffer.array();
+    }
+
+    List<Relocation> getRelocations() {
+        return relocations;
+    }
+
+    private void write(SymbolImpl value, int offset) {
+        if (value instanceof NullConstant || value instanceof UndefinedConstant) {
+            // the image is zero-initialized
+        } else if (value instanceof IntegerConstant && value.getType() instanceof PrimitiveType) {
+            writeInteger((PrimitiveType) value.getType(), ((IntegerConstant) value).getValue(), offset);
+        } else if (value instanceof BigIntegerConstant && value.getType() instanceof PrimitiveType) {
+            writeInteger((PrimitiveType) value.getType(), ((BigIntegerConstant) value).getValue().longValue(), offset);
+        } else if (value instanceof FloatConstant) {
+            buffer.putFloat(offset, ((FloatConstant) value).getValue());
+        } else if (value instanceof DoubleConstant) {
+            buffer.putDouble(offset, ((DoubleConstant) value).getValue());
+        } else if (value instanceof StringConstant) {
+            final String chars = ((StringConstant) value).getString();
+            for (int i = 0; i < chars.length(); i++) {
+                buffer.put(offset + i, (byte) chars.charAt(i));
+            }
+        } else if (value instanceof ArrayConstant) {
+            final ArrayConstant array = (ArrayConstant) value;
+            final int elementSize = context.getByteSize(((ArrayType) array.getType()).getElementType());
+            for (int i = 0; i < array.getElementCount(); i++) {
+                write(array.getElement(i), offset + i * elementSize);
+            }
+        } else if (value instanceof StructureConstant) {
+            final StructureConstant structure = (StructureConstant) value;
+            int currentOffset = 0;
+            for (int i = 0; i < structure.getElementCount(); i++) {
+                final Type elementType = structure.getElementType(i);
+                if (!structure.isPacked()) {
+                    currentOffset += context.getBytePadding(currentOffset, elementType);
+                }
+                write(structure.getElement(i), offset + currentOffset);
+                currentOffset += context.getByteSize(elementType);
+            }
+        } else {
+            relocations.add(new Relocation(offset, value));
+        }
+    }
+
+    private void writeInteger(PrimitiveType type, long value, int offset) {
+        switch (type.getPrimitiveKind()) {
+            case I1:
+                buffer.put(offset, (byte) (value & 1));
+                break;
+            case I8:
+                buffer.put(offset, (byte) value);
+                break;
+            case I16:
+                buffer.putShort(offset, (short) value);
+                break;
+            case I32:
+                buffer.putInt(offset, (int) value);
+                break;
+            case I64:
+                buffer.putLong(offset, value);
+                break;
+            default:
+                throw new AssertionError("Unexpected integer type: " + type);
+        }
+    }
+}
@@ -31,6 +31,7 @@ package com.oracle.truffle.llvm.parser;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.oracle.truffle.llvm.parser.model.ModelModule;
 import com.oracle.truffle.llvm.parser.model.blocks.InstructionBlock;
@@ -50,28 +51,40 @@ public final class LLVMLabelList {
 
         model.accept(visitor);
 
-        return new LLVMLabelList(visitor.labels());
+        return new LLVMLabelList(visitor.functions());
     }
 
-    private final Map<String, Map<String, Integer>> labels;
+    private final Map<String, FunctionDefinition> functions;
 
-    private LLVMLabelList(Map<String, Map<String, Integer>> labels) {
-        this.labels = labels;
+    private final Map<String, Map<String, Integer>> labels = new ConcurrentHashMap<>();
+
+    private LLVMLabelList(Map<String, FunctionDefinition> functions) {
+        this.functions = functions;
     }
 
     public Map<String, Integer> labels(String method) {
-        return labels.get(method);
+        final FunctionDefinition function = functions.get(method);
+        if (function == null) {
+            return null;
+        }
+        return labels.computeIfAbsent(method, name -> {
+            LLVMLabelListFunctionVisitor visitor = new LLVMLabelListFunctionVisitor();
+
+            function.accept(visitor);
+
+            return visitor.labels();
+        });
     }
 
     private static class LLVMLabelListVisitor implements ModelVisitor {
 
-        private final Map<String, Map<String, Integer>> labels = new HashMap<>();
+        private final Map<String, FunctionDefinition> functions = new HashMap<>();
 
         LLVMLabelListVisitor() {
         }
 
-        private Map<String, Map<String, Integer>> labels() {
-            return labels;
+        private Map<String, FunctionDefinition> functions() {
+            return functions;
         }
 
         @Override
@@ -92,13 +105,7 @@ public final class LLVMLabelList {
 
         @Override
         public void visit(FunctionDefinition method) {
-            String name = method.getName();
-
-            LLVMLabelListFunctionVisitor visitor = new LLVMLabelListFunctionVisitor();
-
-            method.accept(visitor);
-
-            labels.put(name, visitor.labels());
+            functions.put(method.getName(), method);
         }
 
         @Override
@@ -256,7 +256,40 @@ public final class LLVMLivenessAnalysis {
             nullableBeforeBlock[i] = blockInfo.kill;
             nullableAfterBlock[i] = blockInfo.phiDefs;
         }
-        return new LLVMLivenessAnalysisResult(nullableWithinBlock, nullableBeforeBlock, nullableAfterBlock);
+
+        removeRedundantAfterBlockNullers(blocks, nullableBeforeBlock, nullableAfterBlock);
+        BitSet frameSlotsToInitialize = computeFrameSlotsToInitialize(functionDefinition, frame, blockInfos[0]);
+        return new LLVMLivenessAnalysisResult(nullableWithinBlock, nullableBeforeBlock, nullableAfterBlock, frameSlotsToInitialize);
+    }
+
+    private static void removeRedundantAfterBlockNullers(List<InstructionBlock> blocks, BitSet[] nullableBeforeBlock, BitSet[] nullableAfterBlock) {
+        for (int i = 0; i < blocks.size(); i++) {
+            TerminatingInstruction terminatingInstruction = blocks.get(i).getTerminatingInstruction();
+            BitSet nullableAfter = nullableAfterBlock[i];
+            if (terminatingInstruction.getSuccessorCount() == 0) {
+                // the frame is discarded when the function is left
+                nullableAfter.clear();
+                continue;
+            }
+
+            // a value does not need to be nulled after this block if every successor nulls it
+            // before it is entered anyways
+            BitSet nulledBySuccessors = (BitSet) nullableBeforeBlock[terminatingInstruction.getSuccessor(0).getBlockIndex()].clone();
+            for (int j = 1; j < terminatingInstruction.getSuccessorCount(); j++) {
+                nulledBySuccessors.and(nullableBeforeBlock[terminatingInstruction.getSuccessor(j).getBlockIndex()]);
+            }
+            nullableAfter.andNot(nulledBySuccessors);
+        }
+    }
+
+    private static BitSet computeFrameSlotsToInitialize(FunctionDefinition functionDefinition, FrameDescriptor frame, BlockInfo entryBlockInfo) {
+        // only values that are alive when the function is entered can be read before they are
+        // written, and the arguments are written before the function body is executed
+        BitSet result = (BitSet) entryBlockInfo.in.clone();
+        for (FunctionParameter param : functionDefinition.getParameters()) {
+            result.clear(frame.findFrameSlot(param.getName()).getIndex());
+        }
+        return result;
     }
 
     public static class NullerInformation implements Comparable<NullerInformation> {
@@ -455,6 +488,9 @@ public final class LLVMLivenessAnalysis {
             builder.append(formatLocals(frame, result.nullableAfterBlock[i]));
             builder.append("\n");
         }
+        builder.append("Initialized on entry: ");
+        builder.append(formatLocals(frame, result.frameSlotsToInitialize));
+        builder.append("\n");
 
         SulongEngineOption.getStream(context.getEnv().getOptions().get(SulongEngineOption.PRINT_LIFE_TIME_ANALYSIS_STATS)).println(builder.toString());
     }
@@ -520,7 +556,7 @@ public final class LLVMLivenessAnalysis {
         }
     }
 
-    private abstract static class LLVMLocalReadVisitor implements SymbolVisitor {
+    abstract static class LLVMLocalReadVisitor implements SymbolVisitor {
 
         @Override
         public void visit(AllocateInstruction allocate) {
@@ -740,11 +776,13 @@ public final class LLVMLivenessAnalysis {
         private final ArrayList<NullerInformation>[] nullableWithinBlock;
         private final BitSet[] nullableBeforeBlock;
         private final BitSet[] nullableAfterBlock;
+        private final BitSet frameSlotsToInitialize;
 
-        public LLVMLivenessAnalysisResult(ArrayList<NullerInformation>[] nullableWithinBlock, BitSet[] nullableBeforeBlock, BitSet[] nullableAfterBlock) {
+        public LLVMLivenessAnalysisResult(ArrayList<NullerInformation>[] nullableWithinBlock, BitSet[] nullableBeforeBlock, BitSet[] nullableAfterBlock, BitSet frameSlotsToInitialize) {
             this.nullableWithinBlock = nullableWithinBlock;
             this.nullableBeforeBlock = nullableBeforeBlock;
             this.nullableAfterBlock = nullableAfterBlock;
+            this.frameSlotsToInitialize = frameSlotsToInitialize;
         }
 
         public ArrayList<NullerInformation>[] getNullableWithinBlock() {
@@ -758,5 +796,13 @@ public final class LLVMLivenessAnalysis {
         public BitSet[] getNullableAfterBlock() {
             return nullableAfterBlock;
         }
+
+        /**
+         * The frame slots that may be read before they are written and therefore need a default
+         * value when the function is entered.
+         */
+        public BitSet getFrameSlotsToInitialize() {
+            return frameSlotsToInitialize;
+        }
     }
 }
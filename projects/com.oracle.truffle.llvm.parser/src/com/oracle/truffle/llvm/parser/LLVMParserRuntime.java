@@ -171,8 +171,7 @@ public final class LLVMParserRuntime {
             String functionName = function.getName();
             LLVMFunctionDescriptor functionDescriptor = scope.lookupOrCreateFunction(context, functionName, !Linkage.isFileLocal(function.getLinkage()),
                             index -> LLVMFunctionDescriptor.createDescriptor(context, libraryName, functionName, function.getType(), index));
-            LazyToTruffleConverterImpl lazyConverter = new LazyToTruffleConverterImpl(this, context, nodeFactory, function, source, stack.getFrame(functionName), phiManager.getPhiMap(functionName),
-                            labels.labels(functionName));
+            LazyToTruffleConverterImpl lazyConverter = new LazyToTruffleConverterImpl(this, context, nodeFactory, function, source, stack, phiManager, labels);
             functionDescriptor.declareInSulong(lazyConverter, Linkage.isWeak(function.getLinkage()));
         }
     }
@@ -180,39 +179,42 @@ public final class LLVMParserRuntime {
     private LLVMExpressionNode[] createGlobalVariableInitializationNodes(LLVMSymbolReadResolver symbolResolver, List<GlobalValueSymbol> globals) {
         final List<LLVMExpressionNode> globalNodes = new ArrayList<>();
         for (GlobalValueSymbol global : globals) {
-            final LLVMExpressionNode store = createGlobalInitialization(symbolResolver, global);
-            if (store != null) {
-                globalNodes.add(store);
-            }
+            createGlobalInitialization(symbolResolver, global, globalNodes);
         }
         return globalNodes.toArray(new LLVMExpressionNode[globalNodes.size()]);
     }
 
-    private LLVMExpressionNode createGlobalInitialization(LLVMSymbolReadResolver symbolResolver, GlobalValueSymbol global) {
+    private void createGlobalInitialization(LLVMSymbolReadResolver symbolResolver, GlobalValueSymbol global, List<LLVMExpressionNode> globalNodes) {
         if (global == null || global.getValue() == null) {
-            return null;
+            return;
         }
 
-        LLVMExpressionNode constant = symbolResolver.resolve(global.getValue());
-        if (constant != null) {
-            final Type type = ((PointerType) global.getType()).getPointeeType();
-            final int size = getContext().getByteSize(type);
-
-            final LLVMExpressionNode globalVarAddress = getGlobalVariable(symbolResolver, global);
+        final Type type = ((PointerType) global.getType()).getPointeeType();
+        final int size = getContext().getByteSize(type);
+        if (size == 0) {
+            return;
+        }
 
-            if (size != 0) {
-                final LLVMExpressionNode store;
-                if (type instanceof ArrayType || type instanceof StructureType) {
-                    store = nodeFactory.createStore(this, globalVarAddress, constant, type, null);
-                } else {
-                    final Type t = global.getValue().getType();
-                    store = nodeFactory.createStore(this, globalVarAddress, constant, t, null);
+        if (type instanceof ArrayType || type instanceof StructureType) {
+            // copy the constant data with a single bulk write and only store what is not
+            // known at parse time, instead of building a literal node for every element
+            final LLVMGlobalImage image = LLVMGlobalImage.create(getContext(), global.getValue(), size);
+            globalNodes.add(nodeFactory.createByteArrayLiteral(this, getGlobalVariable(symbolResolver, global), image.getData()));
+            for (LLVMGlobalImage.Relocation relocation : image.getRelocations()) {
+                final SymbolImpl value = relocation.getValue();
+                final LLVMExpressionNode constant = symbolResolver.resolve(value);
+                if (constant != null) {
+                    final LLVMExpressionNode offset = nodeFactory.createLiteral(this, relocation.getOffset(), PrimitiveType.I32);
+                    final LLVMExpressionNode address = nodeFactory.createTypedElementPointer(this, getGlobalVariable(symbolResolver, global), offset, 1, value.getType());
+                    globalNodes.add(nodeFactory.createStore(this, address, constant, value.getType(), null));
                 }
-                return store;
+            }
+        } else {
+            final LLVMExpressionNode constant = symbolResolver.resolve(global.getValue());
+            if (constant != null) {
+                globalNodes.add(nodeFactory.createStore(this, getGlobalVariable(symbolResolver, global), constant, global.getValue().getType(), null));
             }
         }
-
-        return null;
     }
 
     private LLVMExpressionNode getGlobalVariable(LLVMSymbolReadResolver symbolResolver, GlobalValueSymbol global) {
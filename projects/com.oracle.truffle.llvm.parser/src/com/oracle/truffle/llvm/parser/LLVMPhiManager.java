@@ -34,6 +34,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.oracle.truffle.llvm.parser.model.ModelModule;
 import com.oracle.truffle.llvm.parser.model.blocks.InstructionBlock;
@@ -61,20 +62,30 @@ public final class LLVMPhiManager implements ModelVisitor {
         return visitor;
     }
 
-    private final Map<String, Map<InstructionBlock, List<Phi>>> edges = new HashMap<>();
+    private final Map<String, FunctionDefinition> functions = new HashMap<>();
+
+    private final Map<String, Map<InstructionBlock, List<Phi>>> edges = new ConcurrentHashMap<>();
 
     private LLVMPhiManager() {
     }
 
     public Map<InstructionBlock, List<Phi>> getPhiMap(String method) {
-        Map<InstructionBlock, List<Phi>> references = edges.get(method);
-        if (references == null) {
+        final FunctionDefinition function = functions.get(method);
+        if (function == null) {
             return Collections.emptyMap();
         } else {
-            return references;
+            return edges.computeIfAbsent(method, name -> computeEdges(function));
         }
     }
 
+    private static Map<InstructionBlock, List<Phi>> computeEdges(FunctionDefinition method) {
+        LLVMPhiManagerFunctionVisitor visitor = new LLVMPhiManagerFunctionVisitor();
+
+        method.accept((FunctionVisitor) visitor);
+
+        return visitor.getEdges();
+    }
+
     @Override
     public void visit(GlobalAlias alias) {
     }
@@ -93,11 +104,7 @@ public final class LLVMPhiManager implements ModelVisitor {
 
     @Override
     public void visit(FunctionDefinition method) {
-        LLVMPhiManagerFunctionVisitor visitor = new LLVMPhiManagerFunctionVisitor();
-
-        method.accept((FunctionVisitor) visitor);
-
-        edges.put(method.getName(), visitor.getEdges());
+        functions.put(method.getName(), method);
     }
 
     @Override
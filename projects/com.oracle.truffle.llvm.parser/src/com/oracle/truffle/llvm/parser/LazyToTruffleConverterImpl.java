@@ -53,6 +53,7 @@ import com.oracle.truffle.llvm.parser.model.attributes.Attribute.KnownAttribute;
 import com.oracle.truffle.llvm.parser.model.blocks.InstructionBlock;
 import com.oracle.truffle.llvm.parser.model.functions.FunctionDefinition;
 import com.oracle.truffle.llvm.parser.model.functions.FunctionParameter;
+import com.oracle.truffle.llvm.parser.model.symbols.instructions.AllocateInstruction;
 import com.oracle.truffle.llvm.parser.nodes.LLVMSymbolReadResolver;
 import com.oracle.truffle.llvm.runtime.LLVMContext;
 import com.oracle.truffle.llvm.runtime.LLVMException;
@@ -72,27 +73,33 @@ public class LazyToTruffleConverterImpl implements LazyToTruffleConverter {
     private final NodeFactory nodeFactory;
     private final FunctionDefinition method;
     private final Source source;
-    private final FrameDescriptor frame;
-    private final Map<InstructionBlock, List<Phi>> phis;
-    private final Map<String, Integer> labels;
+    private final StackAllocation stack;
+    private final LLVMPhiManager phiManager;
+    private final LLVMLabelList labelList;
 
-    LazyToTruffleConverterImpl(LLVMParserRuntime runtime, LLVMContext context, NodeFactory nodeFactory, FunctionDefinition method, Source source, FrameDescriptor frame,
-                    Map<InstructionBlock, List<Phi>> phis,
-                    Map<String, Integer> labels) {
+    LazyToTruffleConverterImpl(LLVMParserRuntime runtime, LLVMContext context, NodeFactory nodeFactory, FunctionDefinition method, Source source, StackAllocation stack,
+                    LLVMPhiManager phiManager, LLVMLabelList labelList) {
         this.runtime = runtime;
         this.context = context;
         this.nodeFactory = nodeFactory;
         this.method = method;
         this.source = source;
-        this.frame = frame;
-        this.phis = phis;
-        this.labels = labels;
+        this.stack = stack;
+        this.phiManager = phiManager;
+        this.labelList = labelList;
     }
 
     @Override
     public RootCallTarget convert() {
         CompilerAsserts.neverPartOfCompilation();
 
+        // looking up the per-function tables parses the function body if it was skipped
+        final String functionName = method.getName();
+        final FrameDescriptor frame = stack.getFrame(functionName);
+        final Map<InstructionBlock, List<Phi>> phis = phiManager.getPhiMap(functionName);
+        final Map<String, Integer> labels = labelList.labels(functionName);
+        final Set<AllocateInstruction> promotedAllocas = stack.getPromotedAllocas(functionName);
+
         final SourceModel.Function sourceFunction = method.getSourceFunction();
         Set<SourceModel.Variable> initPartialValues = null;
         if (sourceFunction != null) {
@@ -103,17 +110,18 @@ public class LazyToTruffleConverterImpl implements LazyToTruffleConverter {
 
         LLVMLivenessAnalysisResult liveness = LLVMLivenessAnalysis.computeLiveness(frame, context, phis, method);
         LLVMBitcodeFunctionVisitor visitor = new LLVMBitcodeFunctionVisitor(runtime, frame, labels, phis, nodeFactory, method.getParameters().size(),
-                        new LLVMSymbolReadResolver(runtime, method, frame, labels), method, liveness, initPartialValues);
+                        new LLVMSymbolReadResolver(runtime, method, frame, labels), method, liveness, initPartialValues, promotedAllocas);
         method.accept(visitor);
-        FrameSlot[][] nullableBeforeBlock = getNullableFrameSlots(liveness.getNullableBeforeBlock());
-        FrameSlot[][] nullableAfterBlock = getNullableFrameSlots(liveness.getNullableAfterBlock());
+        FrameSlot[][] nullableBeforeBlock = getNullableFrameSlots(frame, liveness.getNullableBeforeBlock());
+        FrameSlot[][] nullableAfterBlock = getNullableFrameSlots(frame, liveness.getNullableAfterBlock());
         SourceSection sourceSection = method.getSourceSection();
         LLVMExpressionNode body = nodeFactory.createFunctionBlockNode(runtime, frame.findFrameSlot(LLVMException.FRAME_SLOT_ID), visitor.getBlocks(), nullableBeforeBlock, nullableAfterBlock,
                         sourceSection);
 
-        List<LLVMExpressionNode> copyArgumentsToFrame = copyArgumentsToFrame();
+        List<LLVMExpressionNode> copyArgumentsToFrame = copyArgumentsToFrame(frame);
         LLVMExpressionNode[] copyArgumentsToFrameArray = copyArgumentsToFrame.toArray(new LLVMExpressionNode[copyArgumentsToFrame.size()]);
-        RootNode rootNode = nodeFactory.createFunctionStartNode(runtime, body, copyArgumentsToFrameArray, sourceSection, frame, method, source);
+        FrameSlot[] frameSlotsToInitialize = getFrameSlots(frame, liveness.getFrameSlotsToInitialize());
+        RootNode rootNode = nodeFactory.createFunctionStartNode(runtime, body, copyArgumentsToFrameArray, frameSlotsToInitialize, sourceSection, frame, method, source);
 
         final LLVMSourceLocation sourceScope = method.getLexicalScope();
         if (sourceScope != null) {
@@ -123,24 +131,26 @@ public class LazyToTruffleConverterImpl implements LazyToTruffleConverter {
         return Truffle.getRuntime().createCallTarget(rootNode);
     }
 
-    private FrameSlot[][] getNullableFrameSlots(BitSet[] nullableBeforeBlock) {
-        List<? extends FrameSlot> frameSlots = frame.getSlots();
+    private static FrameSlot[][] getNullableFrameSlots(FrameDescriptor frame, BitSet[] nullableBeforeBlock) {
         FrameSlot[][] result = new FrameSlot[nullableBeforeBlock.length][];
         for (int i = 0; i < nullableBeforeBlock.length; i++) {
-            BitSet nullable = nullableBeforeBlock[i];
-            int bitIndex = -1;
+            result[i] = getFrameSlots(frame, nullableBeforeBlock[i]);
+        }
+        return result;
+    }
 
-            ArrayList<FrameSlot> nullableBefore = new ArrayList<>();
-            while ((bitIndex = nullable.nextSetBit(bitIndex + 1)) >= 0) {
-                FrameSlot frameSlot = frameSlots.get(bitIndex);
-                nullableBefore.add(frameSlot);
-            }
-            result[i] = nullableBefore.toArray(new FrameSlot[0]);
+    private static FrameSlot[] getFrameSlots(FrameDescriptor frame, BitSet slotIndices) {
+        List<? extends FrameSlot> frameSlots = frame.getSlots();
+        FrameSlot[] result = new FrameSlot[slotIndices.cardinality()];
+        int bitIndex = -1;
+        for (int i = 0; i < result.length; i++) {
+            bitIndex = slotIndices.nextSetBit(bitIndex + 1);
+            result[i] = frameSlots.get(bitIndex);
         }
         return result;
     }
 
-    private List<LLVMExpressionNode> copyArgumentsToFrame() {
+    private List<LLVMExpressionNode> copyArgumentsToFrame(FrameDescriptor frame) {
         List<FunctionParameter> parameters = method.getParameters();
         List<LLVMExpressionNode> formalParamInits = new ArrayList<>();
         LLVMExpressionNode stackPointerNode = nodeFactory.createFunctionArgNode(0, PrimitiveType.I64);
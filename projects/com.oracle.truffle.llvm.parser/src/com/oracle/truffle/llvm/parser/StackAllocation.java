@@ -29,8 +29,11 @@
  */
 package com.oracle.truffle.llvm.parser;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.oracle.truffle.api.frame.FrameDescriptor;
 import com.oracle.truffle.api.frame.FrameSlotKind;
@@ -38,6 +41,7 @@ import com.oracle.truffle.llvm.parser.model.ModelModule;
 import com.oracle.truffle.llvm.parser.model.blocks.InstructionBlock;
 import com.oracle.truffle.llvm.parser.model.functions.FunctionDefinition;
 import com.oracle.truffle.llvm.parser.model.functions.FunctionParameter;
+import com.oracle.truffle.llvm.parser.model.symbols.instructions.AllocateInstruction;
 import com.oracle.truffle.llvm.parser.model.symbols.instructions.ValueInstruction;
 import com.oracle.truffle.llvm.parser.model.visitors.FunctionVisitor;
 import com.oracle.truffle.llvm.parser.model.visitors.ModelVisitor;
@@ -52,62 +56,102 @@ public final class StackAllocation {
 
     private final FrameDescriptor rootFrame;
 
-    private final Map<String, FrameDescriptor> frameDescriptors;
+    private final Map<String, FunctionDefinition> functions;
 
-    private StackAllocation(Map<String, FrameDescriptor> frameDescriptors) {
-        this.frameDescriptors = frameDescriptors;
+    private final Map<String, FrameDescriptor> frameDescriptors = new ConcurrentHashMap<>();
+
+    private final Map<String, Set<AllocateInstruction>> promotedAllocas = new ConcurrentHashMap<>();
+
+    private final boolean inspectLocals;
+
+    private StackAllocation(Map<String, FunctionDefinition> functions, boolean inspectLocals) {
+        this.functions = functions;
+        this.inspectLocals = inspectLocals;
         rootFrame = new FrameDescriptor();
         rootFrame.addFrameSlot(LLVMStack.FRAME_ID, new PointerType(VoidType.INSTANCE), FrameSlotKind.Object);
     }
 
     public FrameDescriptor getFrame(String functionName) {
-        return frameDescriptors.get(functionName);
+        final FunctionDefinition function = functions.get(functionName);
+        if (function == null) {
+            return null;
+        }
+        // built on first use, so the bodies of functions that are never called are never parsed
+        return frameDescriptors.computeIfAbsent(functionName, name -> {
+            final Set<AllocateInstruction> promoted = LLVMAllocaPromotion.findPromotableAllocas(function, inspectLocals);
+            promotedAllocas.put(name, promoted);
+            return createFrame(function, promoted);
+        });
+    }
+
+    /**
+     * Returns the allocas of a function that live in a frame slot of their allocated type instead
+     * of on the stack.
+     */
+    public Set<AllocateInstruction> getPromotedAllocas(String functionName) {
+        if (getFrame(functionName) == null) {
+            return Collections.emptySet();
+        }
+        return promotedAllocas.get(functionName);
     }
 
     public FrameDescriptor getRootFrame() {
         return rootFrame;
     }
 
-    static StackAllocation generate(ModelModule model) {
+    boolean inspectsLocals() {
+        return inspectLocals;
+    }
+
+    /**
+     * @param inspectLocals keep the allocas that are described by debug information on the stack,
+     *            so that their memory can be inspected on source level
+     */
+    static StackAllocation generate(ModelModule model, boolean inspectLocals) {
         final StackAllocationModelVisitor modelVisitor = new StackAllocationModelVisitor();
         model.accept(modelVisitor);
-        return new StackAllocation(modelVisitor.getFrames());
+        return new StackAllocation(modelVisitor.getFunctions(), inspectLocals);
+    }
+
+    private static FrameDescriptor createFrame(FunctionDefinition functionDefinition, Set<AllocateInstruction> promoted) {
+        final FrameDescriptor frame = new FrameDescriptor();
+        frame.addFrameSlot(LLVMException.FRAME_SLOT_ID, null, FrameSlotKind.Object);
+        frame.addFrameSlot(LLVMStack.FRAME_ID, new PointerType(VoidType.INSTANCE), FrameSlotKind.Object);
+        for (FunctionParameter parameter : functionDefinition.getParameters()) {
+            Type type = parameter.getType();
+            if (parameter.isSourceVariable()) {
+                type = type.shallowCopy();
+            }
+            frame.addFrameSlot(parameter.getName(), type, Type.getFrameSlotKind(type));
+        }
+
+        final StackAllocationFunctionVisitor functionVisitor = new StackAllocationFunctionVisitor(frame, promoted);
+        functionDefinition.accept((FunctionVisitor) functionVisitor);
+        return frame;
     }
 
     private static final class StackAllocationModelVisitor implements ModelVisitor {
 
-        final Map<String, FrameDescriptor> frames = new HashMap<>();
+        final Map<String, FunctionDefinition> functions = new HashMap<>();
 
-        public Map<String, FrameDescriptor> getFrames() {
-            return frames;
+        public Map<String, FunctionDefinition> getFunctions() {
+            return functions;
         }
 
         @Override
         public void visit(FunctionDefinition functionDefinition) {
-            final FrameDescriptor frame = new FrameDescriptor();
-            frame.addFrameSlot(LLVMException.FRAME_SLOT_ID, null, FrameSlotKind.Object);
-            frame.addFrameSlot(LLVMStack.FRAME_ID, new PointerType(VoidType.INSTANCE), FrameSlotKind.Object);
-            for (FunctionParameter parameter : functionDefinition.getParameters()) {
-                Type type = parameter.getType();
-                if (parameter.isSourceVariable()) {
-                    type = type.shallowCopy();
-                }
-                frame.addFrameSlot(parameter.getName(), type, Type.getFrameSlotKind(type));
-            }
-
-            final StackAllocationFunctionVisitor functionVisitor = new StackAllocationFunctionVisitor(frame);
-            functionDefinition.accept((FunctionVisitor) functionVisitor);
-
-            frames.put(functionDefinition.getName(), frame);
+            functions.put(functionDefinition.getName(), functionDefinition);
         }
     }
 
     private static final class StackAllocationFunctionVisitor extends ValueInstructionVisitor implements FunctionVisitor {
 
         private final FrameDescriptor frame;
+        private final Set<AllocateInstruction> promoted;
 
-        private StackAllocationFunctionVisitor(FrameDescriptor frame) {
+        private StackAllocationFunctionVisitor(FrameDescriptor frame, Set<AllocateInstruction> promoted) {
             this.frame = frame;
+            this.promoted = promoted;
         }
 
         @Override
@@ -115,6 +159,10 @@ public final class StackAllocation {
             final String slotName = valueInstruction.getName();
 
             Type type = valueInstruction.getType();
+            if (valueInstruction instanceof AllocateInstruction && promoted.contains(valueInstruction)) {
+                // the slot holds the value itself rather than its address
+                type = ((AllocateInstruction) valueInstruction).getPointeeType();
+            }
             final FrameSlotKind slotKind = Type.getFrameSlotKind(type);
 
             if (valueInstruction.isSourceVariable()) {
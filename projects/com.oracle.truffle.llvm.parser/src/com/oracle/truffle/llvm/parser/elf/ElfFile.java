@@ -50,7 +50,9 @@ public final class ElfFile {
         this.dynamicSection = dynamicSection;
     }
 
-    public static ElfFile create(ByteBuffer data) {
+    public static ElfFile create(ByteBuffer buffer) {
+        // the buffer may be a shared file mapping, so never change its position or byte order
+        ByteBuffer data = buffer.duplicate();
         checkIdent(data);
         ByteOrder order = isBigEndian(data) ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
         data.order(order).position(EI_NIDENT);
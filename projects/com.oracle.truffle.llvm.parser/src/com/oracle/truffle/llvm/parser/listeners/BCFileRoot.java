@@ -40,19 +40,23 @@ public final class BCFileRoot implements ParserListener {
     private final ModelModule module;
     private final StringTable stringTable;
     private final IRScope scope;
+    private final boolean lazyParsing;
+    private final boolean parseDebugInfo;
 
-    public BCFileRoot(Source source, ModelModule module) {
+    public BCFileRoot(Source source, ModelModule module, boolean lazyParsing, boolean parseDebugInfo) {
         this.source = source;
         this.module = module;
         this.stringTable = new StringTable();
         this.scope = new IRScope();
+        this.lazyParsing = lazyParsing;
+        this.parseDebugInfo = parseDebugInfo;
     }
 
     @Override
     public ParserListener enter(Block block) {
         switch (block) {
             case MODULE:
-                return new Module(module, stringTable, scope);
+                return new Module(module, stringTable, scope, lazyParsing, parseDebugInfo);
 
             case STRTAB:
                 return stringTable;
@@ -78,6 +78,7 @@ import com.oracle.truffle.llvm.parser.model.symbols.instructions.VoidInvokeInstr
 import com.oracle.truffle.llvm.parser.records.FunctionRecord;
 import com.oracle.truffle.llvm.parser.records.Records;
 import com.oracle.truffle.llvm.parser.scanner.Block;
+import com.oracle.truffle.llvm.parser.scanner.LLVMScanner;
 import com.oracle.truffle.llvm.runtime.types.AggregateType;
 import com.oracle.truffle.llvm.runtime.types.ArrayType;
 import com.oracle.truffle.llvm.runtime.types.FunctionType;
@@ -109,12 +110,20 @@ public final class Function implements ParserListener {
 
     private final IRScope scope;
 
-    Function(IRScope scope, Types types, FunctionDefinition function, int mode, ParameterAttributes paramAttributes) {
+    private final boolean parseDebugInfo;
+
+    Function(IRScope scope, Types types, FunctionDefinition function, int mode, ParameterAttributes paramAttributes, boolean parseDebugInfo) {
         this.scope = scope;
         this.types = types;
         this.function = function;
         this.mode = mode;
         this.paramAttributes = paramAttributes;
+        this.parseDebugInfo = parseDebugInfo;
+    }
+
+    @Override
+    public boolean defer(Block block, LLVMScanner.LazyScanner lazyScanner) {
+        return !parseDebugInfo && Metadata.isMetadataBlock(block);
     }
 
     @Override
@@ -155,7 +164,10 @@ public final class Function implements ParserListener {
         // replace the old block
         switch (record) {
             case DEBUG_LOC:
-                parseDebugLocation(args); // intentional fallthrough
+                if (parseDebugInfo) {
+                    parseDebugLocation(args);
+                }
+                // intentional fallthrough
 
             case DEBUG_LOC_AGAIN:
                 applyDebugLocation();
@@ -67,6 +67,7 @@ import com.oracle.truffle.llvm.parser.metadata.ParseUtil;
 import com.oracle.truffle.llvm.parser.model.IRScope;
 import com.oracle.truffle.llvm.parser.records.DwTagRecord;
 import com.oracle.truffle.llvm.parser.records.MetadataRecord;
+import com.oracle.truffle.llvm.parser.scanner.Block;
 import com.oracle.truffle.llvm.runtime.types.Type;
 
 import java.util.HashSet;
@@ -92,6 +93,14 @@ public final class Metadata implements ParserListener {
 
     private String lastParsedName = null;
 
+    /**
+     * Execution does not depend on metadata, so its blocks can be skipped if no debug information
+     * is required.
+     */
+    static boolean isMetadataBlock(Block block) {
+        return block == Block.METADATA || block == Block.METADATA_ATTACHMENT || block == Block.METADATA_KIND;
+    }
+
     Metadata(Types types, IRScope scope) {
         this.types = types;
         this.scope = scope;
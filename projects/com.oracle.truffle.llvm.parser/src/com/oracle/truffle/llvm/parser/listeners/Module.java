@@ -45,6 +45,7 @@ import com.oracle.truffle.llvm.parser.model.target.TargetTriple;
 import com.oracle.truffle.llvm.parser.records.ModuleRecord;
 import com.oracle.truffle.llvm.parser.records.Records;
 import com.oracle.truffle.llvm.parser.scanner.Block;
+import com.oracle.truffle.llvm.parser.scanner.LLVMScanner;
 import com.oracle.truffle.llvm.runtime.types.FunctionType;
 import com.oracle.truffle.llvm.runtime.types.PointerType;
 import com.oracle.truffle.llvm.runtime.types.Type;
@@ -68,11 +69,19 @@ public final class Module implements ParserListener {
 
     private final LinkedList<FunctionDefinition> functionQueue;
 
-    public Module(ModelModule module, StringTable stringTable, IRScope scope) {
+    private final boolean lazyParsing;
+
+    private final boolean parseDebugInfo;
+
+    private FunctionDefinition currentLazyFunction = null;
+
+    public Module(ModelModule module, StringTable stringTable, IRScope scope, boolean lazyParsing, boolean parseDebugInfo) {
         this.module = module;
         this.stringTable = stringTable;
         types = new Types(module);
         this.scope = scope;
+        this.lazyParsing = lazyParsing;
+        this.parseDebugInfo = parseDebugInfo;
         functionQueue = new LinkedList<>();
     }
 
@@ -205,6 +214,56 @@ public final class Module implements ParserListener {
         scope.addSymbol(global, global.getType());
     }
 
+    private FunctionDefinition nextFunction() {
+        if (functionQueue.isEmpty()) {
+            throw new RuntimeException("Missing Function Prototype in Bitcode File!");
+        }
+        return functionQueue.removeFirst();
+    }
+
+    private Function enterFunction(FunctionDefinition functionDefinition) {
+        scope.startLocalScope(functionDefinition);
+        final FunctionType functionType = functionDefinition.getType();
+        for (Type argType : functionType.getArgumentTypes()) {
+            scope.addSymbol(functionDefinition.createParameter(argType), argType);
+        }
+        return new Function(scope, types, functionDefinition, mode, paramAttributes, parseDebugInfo);
+    }
+
+    @Override
+    public boolean defer(Block block, LLVMScanner.LazyScanner lazyScanner) {
+        if (!parseDebugInfo && Metadata.isMetadataBlock(block)) {
+            // skipped for good, the model then looks like that of a module compiled without -g
+            return true;
+        }
+        if (!lazyParsing || block != Block.FUNCTION) {
+            return false;
+        }
+        final FunctionDefinition functionDefinition = nextFunction();
+        functionDefinition.setLazyParser(function -> parseLazily(function, lazyScanner));
+        return true;
+    }
+
+    private void parseLazily(FunctionDefinition functionDefinition, LLVMScanner.LazyScanner lazyScanner) {
+        // all function bodies of a module share its scope, so they are parsed one at a time
+        synchronized (scope) {
+            if (!functionDefinition.isBodyPending() || currentLazyFunction == functionDefinition) {
+                // either another thread was faster, or the function is accessed while its body is
+                // being parsed
+                return;
+            }
+            assert currentLazyFunction == null : "nested lazy parsing of " + functionDefinition.getName();
+            currentLazyFunction = functionDefinition;
+            try {
+                lazyScanner.scan(enterFunction(functionDefinition));
+                module.getSourceModel().process(functionDefinition);
+            } finally {
+                currentLazyFunction = null;
+            }
+            functionDefinition.setLazyParser(null);
+        }
+    }
+
     @Override
     public ParserListener enter(Block block) {
         switch (block) {
@@ -217,18 +276,8 @@ public final class Module implements ParserListener {
             case CONSTANTS:
                 return new Constants(types, scope);
 
-            case FUNCTION: {
-                if (functionQueue.isEmpty()) {
-                    throw new RuntimeException("Missing Function Prototype in Bitcode File!");
-                }
-                final FunctionDefinition functionDefinition = functionQueue.removeFirst();
-                scope.startLocalScope(functionDefinition);
-                final FunctionType functionType = functionDefinition.getType();
-                for (Type argType : functionType.getArgumentTypes()) {
-                    scope.addSymbol(functionDefinition.createParameter(argType), argType);
-                }
-                return new Function(scope, types, functionDefinition, mode, paramAttributes);
-            }
+            case FUNCTION:
+                return enterFunction(nextFunction());
 
             case TYPE:
                 return types;
@@ -30,6 +30,7 @@
 package com.oracle.truffle.llvm.parser.listeners;
 
 import com.oracle.truffle.llvm.parser.scanner.Block;
+import com.oracle.truffle.llvm.parser.scanner.LLVMScanner;
 
 public interface ParserListener {
 
@@ -40,6 +41,15 @@ public interface ParserListener {
     default void exit() {
     }
 
+    /**
+     * Offers to skip a sub-block and parse it later through the given scanner. The block is only
+     * skipped if this returns {@code true}. A listener that is not interested in the block at all
+     * may skip it without ever using the scanner.
+     */
+    default boolean defer(@SuppressWarnings("unused") Block block, @SuppressWarnings("unused") LLVMScanner.LazyScanner lazyScanner) {
+        return false;
+    }
+
     void record(long id, long[] args);
 
     ParserListener DEFAULT = (id, args) -> {
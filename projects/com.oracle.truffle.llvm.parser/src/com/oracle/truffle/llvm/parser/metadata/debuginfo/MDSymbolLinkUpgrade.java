@@ -29,6 +29,9 @@
  */
 package com.oracle.truffle.llvm.parser.metadata.debuginfo;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import com.oracle.truffle.llvm.parser.metadata.MDAttachment;
 import com.oracle.truffle.llvm.parser.metadata.MDBaseNode;
 import com.oracle.truffle.llvm.parser.metadata.MDCompileUnit;
@@ -47,24 +50,42 @@ import com.oracle.truffle.llvm.parser.model.SymbolImpl;
 
 final class MDSymbolLinkUpgrade implements MetadataVisitor {
 
-    static void perform(MetadataValueList metadata) {
+    static MDSymbolLinkUpgrade perform(MetadataValueList metadata) {
         final MDNamedNode cuNode = metadata.getNamedNode(MDNamedNode.COMPILEUNIT_NAME);
         if (cuNode == null) {
-            return;
+            return null;
         }
         final MDKind dbgKind = metadata.findKind(MDKind.DBG_NAME);
-        cuNode.accept(new MDSymbolLinkUpgrade(dbgKind));
+        final MDSymbolLinkUpgrade upgrade = new MDSymbolLinkUpgrade(dbgKind);
+        cuNode.accept(upgrade);
+        return upgrade;
     }
 
     private final MDKind dbgKind;
 
+    // subprograms of functions whose body, and thereby whose own attachments, is not parsed yet
+    private final Map<FunctionDefinition, MDSubprogram> pendingFunctions;
+
     private MDCompileUnit currentCU;
 
     private MDSymbolLinkUpgrade(MDKind dbgKind) {
         this.dbgKind = dbgKind;
+        this.pendingFunctions = new HashMap<>();
         this.currentCU = null;
     }
 
+    /**
+     * Links a function whose body was parsed lazily to its subprogram. This must happen after the
+     * body was parsed so that a debug attachment of the function itself takes precedence, just as
+     * if the whole module had been parsed at once.
+     */
+    void performLazily(FunctionDefinition function) {
+        final MDSubprogram md = pendingFunctions.remove(function);
+        if (md != null) {
+            attachSymbol(function, md);
+        }
+    }
+
     @Override
     public void visit(MDCompileUnit md) {
         currentCU = md;
@@ -92,7 +113,11 @@ final class MDSymbolLinkUpgrade implements MetadataVisitor {
         final SymbolImpl valueSymbol = MDSymbolExtractor.getSymbol(md.getFunction());
         if (valueSymbol instanceof FunctionDefinition) {
             final FunctionDefinition function = (FunctionDefinition) valueSymbol;
-            attachSymbol(function, md);
+            if (function.isBodyPending()) {
+                pendingFunctions.put(function, md);
+            } else {
+                attachSymbol(function, md);
+            }
         }
         if (currentCU != null && md.getCompileUnit() == MDVoidNode.INSTANCE) {
             md.setCompileUnit(currentCU);
@@ -244,15 +244,30 @@ public final class SourceModel {
     }
 
     public void process(ModelModule irModel, Source bitcodeSource, MetadataValueList metadata) {
-        final Parser parser = new Parser(this, metadata, bitcodeSource);
-        MDSymbolLinkUpgrade.perform(metadata);
+        parser = new Parser(this, metadata, bitcodeSource);
+        symbolLinkUpgrade = MDSymbolLinkUpgrade.perform(metadata);
         irModel.accept(parser);
     }
 
+    /**
+     * Processes a function whose body was parsed after the rest of the module.
+     */
+    public void process(FunctionDefinition function) {
+        assert parser != null : "module has not been processed yet";
+        if (symbolLinkUpgrade != null) {
+            symbolLinkUpgrade.performLazily(function);
+        }
+        parser.visitBody(function);
+    }
+
     private final Map<LLVMSourceSymbol, GlobalValueSymbol> globals;
 
     private final Map<LLVMSourceStaticMemberType, SymbolImpl> staticMembers;
 
+    private Parser parser;
+
+    private MDSymbolLinkUpgrade symbolLinkUpgrade;
+
     public Map<LLVMSourceSymbol, GlobalValueSymbol> getGlobals() {
         return Collections.unmodifiableMap(globals);
     }
@@ -319,6 +334,12 @@ public final class SourceModel {
 
         @Override
         public void visit(FunctionDefinition function) {
+            if (!function.isBodyPending()) {
+                visitBody(function);
+            }
+        }
+
+        private void visitBody(FunctionDefinition function) {
             currentFunction = new Function(bitcodeSource, function);
 
             final MDBaseNode debugInfo = getDebugInfo(function);
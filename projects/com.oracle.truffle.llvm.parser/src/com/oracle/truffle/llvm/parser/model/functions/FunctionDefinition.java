@@ -70,6 +70,8 @@ public final class FunctionDefinition implements Constant, ValueSymbol, Metadata
     private int currentBlock = 0;
     private String name;
 
+    private volatile LazyFunctionParser lazyParser = null;
+
     public FunctionDefinition(FunctionType type, String name, Linkage linkage, AttributesCodeEntry paramAttr) {
         this.type = type;
         this.name = name;
@@ -119,6 +121,7 @@ public final class FunctionDefinition implements Constant, ValueSymbol, Metadata
     }
 
     public void accept(FunctionVisitor visitor) {
+        parseLazily();
         for (InstructionBlock block : blocks) {
             visitor.visit(block);
         }
@@ -194,16 +197,19 @@ public final class FunctionDefinition implements Constant, ValueSymbol, Metadata
 
     public InstructionBlock getBlock(long idx) {
         CompilerAsserts.neverPartOfCompilation();
+        parseLazily();
         return blocks[(int) idx];
     }
 
     public List<InstructionBlock> getBlocks() {
         CompilerAsserts.neverPartOfCompilation();
+        parseLazily();
         return Arrays.asList(blocks);
     }
 
     public List<FunctionParameter> getParameters() {
         CompilerAsserts.neverPartOfCompilation();
+        parseLazily();
         return parameters;
     }
 
@@ -230,15 +236,33 @@ public final class FunctionDefinition implements Constant, ValueSymbol, Metadata
         return String.format("FunctionDefinition %s(%s) {%d blocks}", name, formalArgs, blocks == null ? 0 : blocks.length);
     }
 
+    public boolean isBodyPending() {
+        return lazyParser != null;
+    }
+
+    public void setLazyParser(LazyFunctionParser lazyParser) {
+        this.lazyParser = lazyParser;
+    }
+
+    private void parseLazily() {
+        final LazyFunctionParser parser = lazyParser;
+        if (parser != null) {
+            parser.parse(this);
+        }
+    }
+
     public LLVMSourceLocation getLexicalScope() {
+        parseLazily();
         return sourceFunction != null ? sourceFunction.getLexicalScope() : null;
     }
 
     public SourceSection getSourceSection() {
+        parseLazily();
         return sourceFunction != null ? sourceFunction.getSourceSection() : null;
     }
 
     public SourceModel.Function getSourceFunction() {
+        parseLazily();
         return sourceFunction;
     }
 
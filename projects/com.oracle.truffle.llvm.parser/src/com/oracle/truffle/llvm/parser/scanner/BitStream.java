@@ -30,31 +30,49 @@
 package com.oracle.truffle.llvm.parser.scanner;
 
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 
+/**
+ * Random access reader for the bits of a bitcode file.
+ *
+ * Every read is served from a 64-bit window that is assembled from two consecutive aligned words.
+ * The scanner mostly reads sequentially, so the two most recently loaded words are cached and each
+ * word of the underlying buffer is usually loaded only once, with a single little-endian
+ * {@link ByteBuffer#getLong(int)}.
+ */
 public final class BitStream {
 
     private static final long BYTE_MASK = 0xffL;
+    private static final int WORD_SHIFT = 6;
+    private static final long WORD_MASK = Long.SIZE - 1;
+
     private final ByteBuffer bitstream;
+    private final int byteSize;
+
+    private long cachedWordIndex;
+    private long cachedWord;
+    private long cachedNextWord;
 
     private BitStream(ByteBuffer bitstream) {
         this.bitstream = bitstream;
+        this.byteSize = bitstream.limit();
+        this.cachedWordIndex = 0;
+        this.cachedWord = readWord(0);
+        this.cachedNextWord = readWord(1);
     }
 
     public static BitStream create(ByteBuffer bytes) {
-
-        return new BitStream(bytes);
+        // the duplicate allows us to change the byte order without affecting the caller
+        return new BitStream(bytes.duplicate().order(ByteOrder.LITTLE_ENDIAN));
     }
 
     public static BitStream createFromBlob(long[] args, int blobStartIndex) {
-        final byte[] blob = new byte[(args.length - blobStartIndex) * Long.BYTES];
-        int to = 0;
+        final ByteBuffer blob = ByteBuffer.allocate((args.length - blobStartIndex) * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
         for (int from = blobStartIndex; from < args.length; from++) {
-            final long l = args[from];
-            for (int i = 0; i < Long.BYTES; i++) {
-                blob[to++] = (byte) ((l >> (Byte.SIZE * i)) & BYTE_MASK);
-            }
+            blob.putLong(args[from]);
         }
-        return new BitStream(ByteBuffer.wrap(blob));
+        blob.clear();
+        return new BitStream(blob);
     }
 
     public static long widthVBR(long value, long width) {
@@ -78,11 +96,28 @@ public final class BitStream {
     }
 
     public long readVBR(long offset, long width) {
+        final long dmask = 1L << (width - 1);
+        final long chunkMask = (1L << width) - 1L;
+
+        // fast path: decode all chunks that are contained in a single window (e.g., up to 10
+        // chunks of a VBR6 value)
+        long window = read(offset);
         long value = 0;
         long shift = 0;
         long datum;
         long o = offset;
-        long dmask = 1 << (width - 1);
+        for (long consumed = width; consumed <= Long.SIZE; consumed += width) {
+            datum = window & chunkMask;
+            value += (datum & (dmask - 1)) << shift;
+            if ((datum & dmask) == 0) {
+                return value;
+            }
+            window >>>= width;
+            shift += width - 1;
+            o += width;
+        }
+
+        // the value spans more than one window
         do {
             datum = read(o, width);
             o += width;
@@ -93,25 +128,44 @@ public final class BitStream {
     }
 
     public long size() {
-        return bitstream.limit() * Byte.SIZE;
+        return (long) byteSize * Byte.SIZE;
     }
 
     private long read(long offset) {
-        long div = offset / Byte.SIZE;
-        long value = 0;
-        for (int i = 0; i < Byte.SIZE; i++) {
-            value += readAlignedByte(div + i) << (i * Byte.SIZE);
+        final long wordIndex = offset >>> WORD_SHIFT;
+        if (wordIndex != cachedWordIndex) {
+            if (wordIndex == cachedWordIndex + 1) {
+                cachedWord = cachedNextWord;
+            } else {
+                cachedWord = readWord(wordIndex);
+            }
+            cachedNextWord = readWord(wordIndex + 1);
+            cachedWordIndex = wordIndex;
+        }
+        final long shift = offset & WORD_MASK;
+        if (shift == 0) {
+            return cachedWord;
+        } else {
+            return (cachedWord >>> shift) | (cachedNextWord << (Long.SIZE - shift));
         }
-        long mod = offset & (Byte.SIZE - 1L);
-        if (mod != 0) {
-            value >>>= mod;
-            value += readAlignedByte(div + Byte.SIZE) << (Long.SIZE - mod);
+    }
+
+    private long readWord(long wordIndex) {
+        final long byteIndex = wordIndex * Long.BYTES;
+        if (byteIndex + Long.BYTES <= byteSize) {
+            return bitstream.getLong((int) byteIndex);
+        }
+
+        // the last word of the stream is padded with zeros
+        long value = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            value |= readAlignedByte(byteIndex + i) << (i * Byte.SIZE);
         }
         return value;
     }
 
     private long readAlignedByte(long i) {
-        return i < bitstream.capacity() ? bitstream.get((int) i) & BYTE_MASK : 0;
+        return i < byteSize ? bitstream.get((int) i) & BYTE_MASK : 0;
     }
 
     public ByteBuffer getBitstream() {
@@ -86,7 +86,7 @@ public final class LLVMScanner {
         this.offset = 0;
     }
 
-    public static ModelModule parse(Source source, ByteBuffer bytes) {
+    public static ModelModule parse(Source source, ByteBuffer bytes, boolean lazyParsing, boolean parseDebugInfo) {
         final ModelModule model = new ModelModule();
 
         ByteBuffer b = bytes.duplicate();
@@ -127,11 +127,24 @@ public final class LLVMScanner {
             throw new RuntimeException("Not a valid input file!");
         }
 
-        parseBitcodeBlock(source, bitcode, model);
+        if (lazyParsing && bitcode.isDirect()) {
+            // function bodies are scanned from this buffer long after the file was read, a file
+            // mapping would show later changes to the file or fault if it is truncated
+            bitcode = copyToHeap(bitcode);
+        }
+
+        parseBitcodeBlock(source, bitcode, model, lazyParsing, parseDebugInfo);
 
         return model;
     }
 
+    private static ByteBuffer copyToHeap(ByteBuffer buffer) {
+        ByteBuffer copy = ByteBuffer.allocate(buffer.remaining());
+        copy.put(buffer.duplicate());
+        copy.flip();
+        return copy;
+    }
+
     public static boolean isSupportedFile(ByteBuffer bytes) {
         ByteBuffer duplicate = bytes.duplicate();
         BitStream bs = BitStream.create(duplicate);
@@ -139,9 +152,9 @@ public final class LLVMScanner {
         return magicWord == BC_MAGIC_WORD || magicWord == WRAPPER_MAGIC_WORD || magicWord == ELF_MAGIC_WORD;
     }
 
-    private static void parseBitcodeBlock(Source source, ByteBuffer bitcode, ModelModule model) {
+    private static void parseBitcodeBlock(Source source, ByteBuffer bitcode, ModelModule model, boolean lazyParsing, boolean parseDebugInfo) {
         final BitStream bitstream = BitStream.create(bitcode);
-        final BCFileRoot fileParser = new BCFileRoot(source, model);
+        final BCFileRoot fileParser = new BCFileRoot(source, model, lazyParsing, parseDebugInfo);
         final LLVMScanner scanner = new LLVMScanner(bitstream, fileParser);
         final long actualMagicWord = scanner.read(Integer.SIZE);
         if (actualMagicWord != BC_MAGIC_WORD) {
@@ -327,7 +340,7 @@ public final class LLVMScanner {
         final long numWords = read(Integer.SIZE);
 
         final Block subBlock = Block.lookup(blockId);
-        if (subBlock == null) {
+        if (subBlock == null || parser.defer(subBlock, new LazyScanner(subBlock, offset, (int) newIdSize))) {
             offset += numWords * Integer.SIZE;
 
         } else {
@@ -380,6 +393,49 @@ public final class LLVMScanner {
         }
     }
 
+    /**
+     * A block that was skipped by the scanner. Its content is scanned later with the abbreviations
+     * that were defined in the BLOCKINFO block of the module.
+     */
+    public final class LazyScanner {
+
+        private final Block lazyBlock;
+        private final long startOffset;
+        private final int startIdSize;
+
+        private LazyScanner(Block lazyBlock, long startOffset, int startIdSize) {
+            this.lazyBlock = lazyBlock;
+            this.startOffset = startOffset;
+            this.startIdSize = startIdSize;
+        }
+
+        /**
+         * Scans the block and passes its content to the given listener. Must only be called once
+         * the initial scan of the file has completed.
+         */
+        public void scan(ParserListener listener) {
+            synchronized (LLVMScanner.this) {
+                final long savedOffset = offset;
+                final int depth = parents.size();
+
+                parents.push(new ScannerState(new ArrayList<>(abbreviationDefinitions), block, idSize, parser));
+                abbreviationDefinitions.clear();
+                abbreviationDefinitions.addAll(defaultAbbreviations.getOrDefault(lazyBlock, Collections.emptyList()));
+                block = lazyBlock;
+                idSize = startIdSize;
+                parser = listener;
+                offset = startOffset;
+
+                // the END_BLOCK of the lazy block restores the state we pushed above
+                while (parents.size() > depth) {
+                    scanNext();
+                }
+
+                offset = savedOffset;
+            }
+        }
+    }
+
     private void exitBlock() {
         alignInt();
         parser.exit();
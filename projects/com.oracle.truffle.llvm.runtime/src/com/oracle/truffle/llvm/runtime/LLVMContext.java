@@ -37,11 +37,13 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Deque;
 import java.util.HashMap;
-import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -59,8 +61,11 @@ import com.oracle.truffle.api.source.Source;
 import com.oracle.truffle.llvm.runtime.datalayout.DataLayoutConverter.DataSpecConverterImpl;
 import com.oracle.truffle.llvm.runtime.debug.LLVMSourceContext;
 import com.oracle.truffle.llvm.runtime.memory.LLVMMemory;
+import com.oracle.truffle.llvm.runtime.memory.LLVMPooledAllocator;
+import com.oracle.truffle.llvm.runtime.memory.LLVMStackMapping;
 import com.oracle.truffle.llvm.runtime.memory.LLVMThreadingStack;
 import com.oracle.truffle.llvm.runtime.options.SulongEngineOption;
+import com.oracle.truffle.llvm.runtime.pthread.LLVMPThreadContext;
 import com.oracle.truffle.llvm.runtime.types.AggregateType;
 import com.oracle.truffle.llvm.runtime.types.DataSpecConverter;
 import com.oracle.truffle.llvm.runtime.types.PrimitiveType;
@@ -82,18 +87,19 @@ public final class LLVMContext {
     private final Deque<LLVMFunctionDescriptor> atExitFunctions = new ArrayDeque<>();
     private final List<LLVMThread> runningThreads = new ArrayList<>();
     private final LLVMThreadingStack threadingStack;
+    private final LLVMPThreadContext pthreadContext;
     private final Object[] mainArguments;
     private final Map<String, String> environment;
     private Source mainSourceFile;
     private boolean bcLibrariesLoaded;
-    private final LinkedList<LLVMAddress> caughtExceptionStack = new LinkedList<>();
+    private final ThreadLocal<LLVMCaughtExceptionStack> caughtExceptionStack = ThreadLocal.withInitial(LLVMCaughtExceptionStack::new);
     private final LinkedList<DestructorStackElement> destructorStack = new LinkedList<>();
     private final HashMap<String, Integer> nativeCallStatistics;
-    private final Object handlesLock;
-    private final IdentityHashMap<TruffleObject, LLVMAddress> toNative;
-    private final HashMap<LLVMAddress, TruffleObject> toManaged;
+    private final LLVMHandleRegistry handleRegistry;
     private final LLVMSourceContext sourceContext;
     private final LLVMGlobalsStack globalStack;
+    private final LLVMPooledAllocator heap;
+    private final LLVMVirtualFileDescriptors virtualFileDescriptors;
 
     private final Env env;
     private final LLVMScope globalScope;
@@ -131,34 +137,48 @@ public final class LLVMContext {
             }
         }
 
-        private final long lowerBounds;
-        private final long upperBounds;
-
+        /*
+         * Memory for globals is allocated in chunks on demand, instead of reserving one block that
+         * is large enough for every program up front.
+         */
+        private static final int CHUNK_SIZE = 1024 * 1024;
         private static final int ALIGNMENT = 8;
-        private static final int SIZE = 81920;
 
-        private long stackPointer;
+        private final List<Long> chunks = new ArrayList<>();
 
-        public LLVMGlobalsStack() {
-            long stackAllocation = UNSAFE.allocateMemory(SIZE * 1024);
-            this.lowerBounds = stackAllocation;
-            this.upperBounds = stackAllocation + SIZE * 1024;
-            this.stackPointer = upperBounds;
-        }
+        private long lowerBounds;
+        private long stackPointer;
 
         @TruffleBoundary
-        public void free() {
-            UNSAFE.freeMemory(lowerBounds);
+        public synchronized void free() {
+            for (long chunk : chunks) {
+                UNSAFE.freeMemory(chunk);
+            }
+            chunks.clear();
+            lowerBounds = 0;
+            stackPointer = 0;
         }
 
-        public long allocateStackMemory(final long size) {
+        @TruffleBoundary
+        public synchronized long allocateStackMemory(final long size) {
             assert size >= 0;
-            final long alignedAllocation = (stackPointer - size) & -ALIGNMENT;
-            assert alignedAllocation <= stackPointer;
+            long alignedAllocation = (stackPointer - size) & -ALIGNMENT;
+            if (lowerBounds == 0 || alignedAllocation < lowerBounds) {
+                allocateChunk(size);
+                alignedAllocation = (stackPointer - size) & -ALIGNMENT;
+            }
+            assert alignedAllocation <= stackPointer && alignedAllocation >= lowerBounds;
             stackPointer = alignedAllocation;
             return alignedAllocation;
         }
 
+        private void allocateChunk(long minimumSize) {
+            final long chunkSize = Math.max(CHUNK_SIZE, minimumSize + ALIGNMENT);
+            final long chunk = UNSAFE.allocateMemory(chunkSize);
+            chunks.add(chunk);
+            lowerBounds = chunk;
+            stackPointer = chunk + chunkSize;
+        }
     }
 
     public static final class DestructorStackElement {
@@ -179,26 +199,124 @@ public final class LLVMContext {
         }
     }
 
+    /**
+     * Maps function pointers to their descriptors. Sulong function pointers encode the function
+     * index, so they are resolved through an index table; other pointers (e.g., NFI closures) are
+     * looked up in a concurrent map. Lookups never lock, as they happen on every megamorphic
+     * indirect call.
+     */
     private static final class LLVMFunctionPointerRegistry {
-        private int currentFunctionIndex = 0;
-        private final HashMap<LLVMAddress, LLVMFunctionDescriptor> functionDescriptors = new HashMap<>();
-
-        synchronized LLVMFunctionDescriptor getDescriptor(LLVMAddress pointer) {
-            return functionDescriptors.get(pointer);
+        private static final int INITIAL_TABLE_SIZE = 256;
+
+        private final AtomicInteger currentFunctionIndex = new AtomicInteger(0);
+        private final ConcurrentHashMap<LLVMAddress, LLVMFunctionDescriptor> nativeFunctionPointers = new ConcurrentHashMap<>();
+        private volatile AtomicReferenceArray<LLVMFunctionDescriptor> functionTable = new AtomicReferenceArray<>(INITIAL_TABLE_SIZE);
+
+        LLVMFunctionDescriptor getDescriptor(LLVMAddress pointer) {
+            long value = pointer.getVal();
+            if (value == 0 || LLVMFunctionDescriptor.isSulongFunctionPointer(value)) {
+                int index = LLVMFunctionDescriptor.getSulongFunctionIndex(value);
+                AtomicReferenceArray<LLVMFunctionDescriptor> table = functionTable;
+                return index >= 0 && index < table.length() ? table.get(index) : null;
+            }
+            return nativeFunctionPointers.get(pointer);
         }
 
-        synchronized void register(LLVMAddress pointer, LLVMFunctionDescriptor desc) {
-            functionDescriptors.put(pointer, desc);
+        void register(LLVMAddress pointer, LLVMFunctionDescriptor desc) {
+            long value = pointer.getVal();
+            if (LLVMFunctionDescriptor.isSulongFunctionPointer(value)) {
+                publish(LLVMFunctionDescriptor.getSulongFunctionIndex(value), desc);
+            } else {
+                nativeFunctionPointers.put(pointer, desc);
+            }
         }
 
-        synchronized LLVMFunctionDescriptor create(FunctionFactory factory) {
-            LLVMFunctionDescriptor fn = factory.create(currentFunctionIndex++);
+        LLVMFunctionDescriptor create(FunctionFactory factory) {
+            int index = currentFunctionIndex.getAndIncrement();
+            LLVMFunctionDescriptor fn = factory.create(index);
             if (fn.isNullFunction()) {
-                assert !functionDescriptors.containsKey(LLVMAddress.nullPointer());
-                functionDescriptors.put(LLVMAddress.nullPointer(), fn);
+                assert getDescriptor(LLVMAddress.nullPointer()) == null;
+                publish(index, fn);
             }
             return fn;
         }
+
+        private synchronized void publish(int index, LLVMFunctionDescriptor desc) {
+            AtomicReferenceArray<LLVMFunctionDescriptor> table = functionTable;
+            if (index >= table.length()) {
+                int newLength = table.length();
+                while (index >= newLength) {
+                    newLength *= 2;
+                }
+                AtomicReferenceArray<LLVMFunctionDescriptor> newTable = new AtomicReferenceArray<>(newLength);
+                for (int i = 0; i < table.length(); i++) {
+                    newTable.set(i, table.get(i));
+                }
+                table = newTable;
+                functionTable = newTable;
+            }
+            table.set(index, desc);
+        }
+    }
+
+    /**
+     * Maps managed objects to the native handles that represent them, and back. Both directions
+     * are concurrent maps, so handle lookups from different threads do not contend.
+     */
+    private static final class LLVMHandleRegistry {
+        private final ConcurrentHashMap<ManagedObjectKey, LLVMAddress> toNative = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<LLVMAddress, TruffleObject> toManaged = new ConcurrentHashMap<>();
+
+        TruffleObject getManagedObject(LLVMAddress address) {
+            final TruffleObject object = toManaged.get(address);
+
+            if (object == null) {
+                throw new UnsupportedOperationException("Cannot resolve native handle: " + address);
+            }
+
+            return object;
+        }
+
+        void release(LLVMMemory memory, LLVMAddress address) {
+            final TruffleObject object = toManaged.remove(address);
+
+            if (object == null) {
+                throw new UnsupportedOperationException("Cannot resolve native handle: " + address);
+            }
+
+            toNative.remove(new ManagedObjectKey(object));
+            memory.free(address);
+        }
+
+        LLVMAddress getHandle(LLVMMemory memory, TruffleObject object) {
+            return toNative.computeIfAbsent(new ManagedObjectKey(object), (k) -> {
+                LLVMAddress allocatedMemory = memory.allocateMemory(Long.BYTES);
+                memory.putI64(allocatedMemory, 0xdeadbeef);
+                toManaged.put(allocatedMemory, object);
+                return allocatedMemory;
+            });
+        }
+    }
+
+    /**
+     * Compares managed objects by identity, like an {@link java.util.IdentityHashMap} would.
+     */
+    private static final class ManagedObjectKey {
+        private final TruffleObject object;
+
+        ManagedObjectKey(TruffleObject object) {
+            this.object = object;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof ManagedObjectKey && ((ManagedObjectKey) obj).object == object;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(object);
+        }
     }
 
     public LLVMContext(Env env, List<ContextExtension> contextExtension) {
@@ -206,14 +324,15 @@ public final class LLVMContext {
         this.contextExtension = contextExtension;
 
         this.globalStack = new LLVMGlobalsStack();
+        this.heap = new LLVMPooledAllocator(env.getOptions().get(SulongEngineOption.POOLED_ALLOCATOR));
+        this.virtualFileDescriptors = env.getOptions().get(SulongEngineOption.VIRTUAL_STDIO) ? new LLVMVirtualFileDescriptors(env.in(), env.out(), env.err()) : null;
         this.nativeCallStatistics = SulongEngineOption.isTrue(env.getOptions().get(SulongEngineOption.NATIVE_CALL_STATS)) ? new HashMap<>() : null;
-        this.threadingStack = new LLVMThreadingStack(Thread.currentThread(), env.getOptions().get(SulongEngineOption.STACK_SIZE_KB));
+        this.threadingStack = new LLVMThreadingStack(Thread.currentThread(), env.getOptions().get(SulongEngineOption.STACK_SIZE_KB), new LLVMStackMapping(this));
+        this.pthreadContext = new LLVMPThreadContext(this);
         this.sigDfl = LLVMAddress.fromLong(0);
         this.sigIgn = LLVMAddress.fromLong(1);
         this.sigErr = LLVMAddress.fromLong(-1);
-        this.toNative = new IdentityHashMap<>();
-        this.toManaged = new HashMap<>();
-        this.handlesLock = new Object();
+        this.handleRegistry = new LLVMHandleRegistry();
         this.functionPointerRegistry = new LLVMFunctionPointerRegistry();
         this.globalScope = LLVMScope.createGlobalScope(this);
         this.sourceContext = new LLVMSourceContext();
@@ -232,6 +351,18 @@ public final class LLVMContext {
         return globalStack;
     }
 
+    public LLVMPooledAllocator getHeap() {
+        return heap;
+    }
+
+    /**
+     * Returns the Java-side table for the standard streams, or {@code null} if syscalls on them
+     * are performed natively.
+     */
+    public LLVMVirtualFileDescriptors getVirtualFileDescriptors() {
+        return virtualFileDescriptors;
+    }
+
     public void addExternalLibraries(List<String> external) {
         for (String l : external) {
             addExternalLibrary(l);
@@ -286,6 +417,10 @@ public final class LLVMContext {
         }
     }
 
+    public int getExternalLibraryCount() {
+        return externalLibraries.size();
+    }
+
     public List<Path> getExternalLibraries(Predicate<Path> fileFilter) {
         return externalLibraries.stream().filter(f -> fileFilter.test(f)).collect(Collectors.toList());
     }
@@ -371,42 +506,17 @@ public final class LLVMContext {
 
     @TruffleBoundary
     public TruffleObject getManagedObjectForHandle(LLVMAddress address) {
-        synchronized (handlesLock) {
-            final TruffleObject object = toManaged.get(address);
-
-            if (object == null) {
-                throw new UnsupportedOperationException("Cannot resolve native handle: " + address);
-            }
-
-            return object;
-        }
+        return handleRegistry.getManagedObject(address);
     }
 
     @TruffleBoundary
     public void releaseHandle(LLVMMemory memory, LLVMAddress address) {
-        synchronized (handlesLock) {
-            final TruffleObject object = toManaged.get(address);
-
-            if (object == null) {
-                throw new UnsupportedOperationException("Cannot resolve native handle: " + address);
-            }
-
-            toManaged.remove(address);
-            toNative.remove(object);
-            memory.free(address);
-        }
+        handleRegistry.release(memory, address);
     }
 
     @TruffleBoundary
     public LLVMAddress getHandleForManagedObject(LLVMMemory memory, TruffleObject object) {
-        synchronized (handlesLock) {
-            return toNative.computeIfAbsent(object, (k) -> {
-                LLVMAddress allocatedMemory = memory.allocateMemory(Long.BYTES);
-                memory.putI64(allocatedMemory, 0xdeadbeef);
-                toManaged.put(allocatedMemory, object);
-                return allocatedMemory;
-            });
-        }
+        return handleRegistry.getHandle(memory, object);
     }
 
     @TruffleBoundary
@@ -435,14 +545,26 @@ public final class LLVMContext {
         }
     }
 
-    public LinkedList<LLVMAddress> getCaughtExceptionStack() {
-        return caughtExceptionStack;
+    public void printAllocationStatistic() {
+        String option = env.getOptions().get(SulongEngineOption.PRINT_ALLOCATION_STATS);
+        if (SulongEngineOption.isTrue(option) && heap.isPooled()) {
+            heap.printStatistics(SulongEngineOption.getStream(option));
+        }
+    }
+
+    @TruffleBoundary
+    public LLVMCaughtExceptionStack getCaughtExceptionStack() {
+        return caughtExceptionStack.get();
     }
 
     public LinkedList<DestructorStackElement> getDestructorStack() {
         return destructorStack;
     }
 
+    public LLVMPThreadContext getPThreadContext() {
+        return pthreadContext;
+    }
+
     public LLVMThreadingStack getThreadingStack() {
         return threadingStack;
     }
@@ -66,11 +66,20 @@ public final class LLVMFunctionDescriptor implements TruffleObject, Comparable<L
     @CompilationFinal private long nativePointer;
 
     private static final long SULONG_FUNCTION_POINTER_TAG = 0xDEAD_FACE_0000_0000L;
+    private static final long SULONG_FUNCTION_POINTER_TAG_MASK = 0xFFFF_FFFF_0000_0000L;
 
     private static long tagSulongFunctionPointer(int id) {
         return id | SULONG_FUNCTION_POINTER_TAG;
     }
 
+    static boolean isSulongFunctionPointer(long pointer) {
+        return (pointer & SULONG_FUNCTION_POINTER_TAG_MASK) == SULONG_FUNCTION_POINTER_TAG;
+    }
+
+    static int getSulongFunctionIndex(long pointer) {
+        return (int) pointer;
+    }
+
     public static final class Intrinsic {
         private final String name;
         private final Map<FunctionType, RootCallTarget> overloadingMap;
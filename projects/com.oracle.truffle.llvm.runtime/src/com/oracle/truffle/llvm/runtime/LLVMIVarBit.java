@@ -42,58 +42,90 @@ import com.oracle.truffle.api.CompilerDirectives.ValueType;
 @ValueType
 public final class LLVMIVarBit {
 
+    public static final int I128_SIZE = 128;
+
+    private static final int WORD_BYTES = Long.BYTES;
+    private static final long LOWER_HALF_MASK = 0xFFFFFFFFL;
+
     private final int bits;
 
-    private final byte[] arr; // represents value as big-endian two's-complement
+    private final byte[] arr; // represents value as big-endian two's-complement, null for i128
+
+    // 128 bit values are kept in two words, so that arithmetic on them does not touch an array
+    private final long upper;
+    private final long lower;
 
     private LLVMIVarBit() {
         this.bits = 0;
         this.arr = null;
+        this.upper = 0;
+        this.lower = 0;
     }
 
-    private LLVMIVarBit(int bits, byte[] arr, int arrBits, boolean signExtend) {
+    private LLVMIVarBit(int bits, byte[] arr) {
+        assert bits != I128_SIZE;
         this.bits = bits;
+        this.arr = arr;
+        this.upper = 0;
+        this.lower = 0;
+        assert this.arr.length == getByteSize();
+    }
+
+    private LLVMIVarBit(long upper, long lower) {
+        this.bits = I128_SIZE;
+        this.arr = null;
+        this.upper = upper;
+        this.lower = lower;
+    }
+
+    private static LLVMIVarBit of(int bits, byte[] arr) {
+        if (bits == I128_SIZE) {
+            return new LLVMIVarBit(getWord(arr, 0, WORD_BYTES), getWord(arr, WORD_BYTES, WORD_BYTES));
+        }
+        return new LLVMIVarBit(bits, arr);
+    }
 
-        this.arr = new byte[getByteSize()];
-        if (getByteSize() >= arr.length) {
-            System.arraycopy(arr, 0, this.arr, getByteSize() - arr.length, arr.length);
+    private static byte[] extend(int bits, byte[] arr, int arrBits, boolean signExtend) {
+        final int byteSize = getByteSize(bits);
+        final byte[] result = new byte[byteSize];
+        if (byteSize >= arr.length) {
+            System.arraycopy(arr, 0, result, byteSize - arr.length, arr.length);
         } else {
-            System.arraycopy(arr, arr.length - getByteSize(), this.arr, 0, this.arr.length);
+            System.arraycopy(arr, arr.length - byteSize, result, 0, result.length);
         }
 
         int mostSignificantByte = arr.length - (arrBits / Byte.SIZE) - (arrBits % Byte.SIZE != 0 ? 1 : 0);
         if (mostSignificantByte >= 0) {
             boolean shouldAddLeadingOnes = signExtend && ((arr[mostSignificantByte] & (1 << ((arrBits - 1) %
                             Byte.SIZE))) != 0);
-            int thisArrMostSignificantByte = Math.max(0, this.arr.length - arr.length + mostSignificantByte);
+            int thisArrMostSignificantByte = Math.max(0, result.length - arr.length + mostSignificantByte);
             if (shouldAddLeadingOnes) {
                 // set MSB bit's outside of given bitwidth
-                if (getByteSize() >= arr.length) {
+                if (byteSize >= arr.length) {
                     for (int i = 0; i < thisArrMostSignificantByte; i++) {
-                        this.arr[i] = (byte) 0xFF;
+                        result[i] = (byte) 0xFF;
                     }
                 }
                 if (arrBits % Byte.SIZE != 0) {
-                    this.arr[thisArrMostSignificantByte] |= 0xFF << (arrBits % Byte.SIZE);
+                    result[thisArrMostSignificantByte] |= 0xFF << (arrBits % Byte.SIZE);
                 }
             } else {
                 // clear MSB bit's outside of given bitwidth
-                if (getByteSize() >= arr.length) {
+                if (byteSize >= arr.length) {
                     for (int i = 0; i < thisArrMostSignificantByte; i++) {
-                        this.arr[i] = (byte) 0x00;
+                        result[i] = (byte) 0x00;
                     }
                 }
                 if (arrBits % Byte.SIZE != 0) {
-                    this.arr[thisArrMostSignificantByte] &= 0xFF >>> (8 - (arrBits % Byte.SIZE));
+                    result[thisArrMostSignificantByte] &= 0xFF >>> (8 - (arrBits % Byte.SIZE));
                 }
             }
         }
-
-        assert this.arr.length == getByteSize();
+        return result;
     }
 
     public static LLVMIVarBit create(int bitWidth, byte[] loadedBytes, int loadedArrBits, boolean signExtend) {
-        return new LLVMIVarBit(bitWidth, loadedBytes, loadedArrBits, signExtend);
+        return of(bitWidth, extend(bitWidth, loadedBytes, loadedArrBits, signExtend));
     }
 
     public static LLVMIVarBit createNull() {
@@ -101,19 +133,19 @@ public final class LLVMIVarBit {
     }
 
     public static LLVMIVarBit createZeroExt(int bits, byte from) {
-        return create(bits, ByteBuffer.allocate(Byte.BYTES).put(from).array(), Byte.SIZE, false);
+        return create(bits, toBytes(from, Byte.BYTES), Byte.SIZE, false);
     }
 
     public static LLVMIVarBit createZeroExt(int bits, short from) {
-        return create(bits, ByteBuffer.allocate(Short.BYTES).putShort(from).array(), Short.SIZE, false);
+        return create(bits, toBytes(from, Short.BYTES), Short.SIZE, false);
     }
 
     public static LLVMIVarBit createZeroExt(int bits, int from) {
-        return create(bits, ByteBuffer.allocate(Integer.BYTES).putInt(from).array(), Integer.SIZE, false);
+        return create(bits, toBytes(from, Integer.BYTES), Integer.SIZE, false);
     }
 
     public static LLVMIVarBit createZeroExt(int bits, long from) {
-        return create(bits, ByteBuffer.allocate(Long.BYTES).putLong(from).array(), Long.SIZE, false);
+        return create(bits, toBytes(from, Long.BYTES), Long.SIZE, false);
     }
 
     public static LLVMIVarBit fromBigInteger(int bits, BigInteger from) {
@@ -121,22 +153,136 @@ public final class LLVMIVarBit {
     }
 
     public static LLVMIVarBit fromByte(int bits, byte from) {
-        return create(bits, ByteBuffer.allocate(Byte.BYTES).put(from).array(), Byte.SIZE, true);
+        return create(bits, toBytes(from, Byte.BYTES), Byte.SIZE, true);
     }
 
     public static LLVMIVarBit fromShort(int bits, short from) {
-        return create(bits, ByteBuffer.allocate(Short.BYTES).putShort(from).array(), Short.SIZE, true);
+        return create(bits, toBytes(from, Short.BYTES), Short.SIZE, true);
     }
 
     public static LLVMIVarBit fromInt(int bits, int from) {
-        return create(bits, ByteBuffer.allocate(Integer.BYTES).putInt(from).array(), Integer.SIZE, true);
+        return create(bits, toBytes(from, Integer.BYTES), Integer.SIZE, true);
     }
 
     public static LLVMIVarBit fromLong(int bits, long from) {
-        return create(bits, ByteBuffer.allocate(Long.BYTES).putLong(from).array(), Long.SIZE, true);
+        return create(bits, toBytes(from, Long.BYTES), Long.SIZE, true);
+    }
+
+    /**
+     * Creates a 128 bit value from its upper and lower 64 bit words.
+     */
+    public static LLVMIVarBit fromI128(long upper, long lower) {
+        return new LLVMIVarBit(upper, lower);
+    }
+
+    private static byte[] toBytes(long value, int byteCount) {
+        byte[] result = new byte[byteCount];
+        long remaining = value;
+        for (int i = byteCount - 1; i >= 0; i--) {
+            result[i] = (byte) remaining;
+            remaining >>= Byte.SIZE;
+        }
+        return result;
+    }
+
+    private static void putWord(byte[] target, int offset, long value) {
+        long remaining = value;
+        for (int i = offset + WORD_BYTES - 1; i >= offset; i--) {
+            target[i] = (byte) remaining;
+            remaining >>= Byte.SIZE;
+        }
+    }
+
+    private static long getWord(byte[] source, int offset, int byteCount) {
+        long result = 0;
+        for (int i = offset; i < offset + byteCount; i++) {
+            result = (result << Byte.SIZE) | (source[i] & 0xFF);
+        }
+        return result;
+    }
+
+    private boolean isI128() {
+        return bits == I128_SIZE;
+    }
+
+    /**
+     * Returns the upper 64 bits of a 128 bit value.
+     */
+    public long getUpperWord() {
+        assert isI128();
+        return upper;
+    }
+
+    /**
+     * Returns the lower 64 bits of a 128 bit value.
+     */
+    public long getLowerWord() {
+        assert isI128();
+        return lower;
+    }
+
+    /**
+     * Returns the big-endian bytes of the value. They are only materialized for 128 bit values on
+     * the paths that are not specialized for them.
+     */
+    private byte[] getArray() {
+        if (isI128()) {
+            byte[] result = new byte[I128_SIZE / Byte.SIZE];
+            putWord(result, 0, upper);
+            putWord(result, WORD_BYTES, lower);
+            return result;
+        }
+        return arr;
+    }
+
+    /**
+     * Values whose width is a multiple of a byte and at least as wide as the requested type can be
+     * truncated by simply reading their lowest bytes, regardless of the extension mode.
+     */
+    private boolean canTruncateTo(int byteCount) {
+        return (arr != null || isI128()) && bits % Byte.SIZE == 0 && bits >= byteCount * Byte.SIZE;
+    }
+
+    /**
+     * Returns at least the lowest {@code byteCount} bytes of the value, the caller truncates.
+     */
+    private long getLowestBytes(int byteCount) {
+        if (isI128()) {
+            return lower;
+        }
+        return getWord(arr, arr.length - byteCount, byteCount);
+    }
+
+    private boolean fitsSignedLong() {
+        return isI128() && getUpperWord() == (getLowerWord() >> (Long.SIZE - 1));
+    }
+
+    private boolean canDivideAsLong(LLVMIVarBit right) {
+        return fitsSignedLong() && right.fitsSignedLong() && right.getLowerWord() != 0;
+    }
+
+    private boolean isShiftAmountI128() {
+        return isI128() && getUpperWord() == 0 && getLowerWord() >= 0 && getLowerWord() < I128_SIZE;
+    }
+
+    /**
+     * Computes the upper 64 bits of the unsigned 128 bit product of two longs.
+     */
+    private static long unsignedMultiplyHigh(long a, long b) {
+        long a0 = a & LOWER_HALF_MASK;
+        long a1 = a >>> Integer.SIZE;
+        long b0 = b & LOWER_HALF_MASK;
+        long b1 = b >>> Integer.SIZE;
+        long t = a1 * b0 + ((a0 * b0) >>> Integer.SIZE);
+        long w1 = (t & LOWER_HALF_MASK) + a0 * b1;
+        return a1 * b1 + (t >>> Integer.SIZE) + (w1 >>> Integer.SIZE);
     }
 
     private int getByteSize() {
+        return getByteSize(bits);
+    }
+
+    private static int getByteSize(int bits) {
         int nrFullBytes = bits / Byte.SIZE;
         if (bits % Byte.SIZE != 0) {
             return nrFullBytes + 1;
@@ -155,18 +301,20 @@ public final class LLVMIVarBit {
 
     @TruffleBoundary
     public BigInteger asUnsignedBigInteger() {
-        if (arr == null || arr.length == 0) {
+        final byte[] bytes = getArray();
+        if (bytes == null || bytes.length == 0) {
             return BigInteger.ZERO;
         }
-        byte[] newArr = new byte[arr.length + 1];
-        System.arraycopy(arr, 0, newArr, 1, arr.length);
+        byte[] newArr = new byte[bytes.length + 1];
+        System.arraycopy(bytes, 0, newArr, 1, bytes.length);
         return new BigInteger(newArr);
     }
 
     @TruffleBoundary
     public BigInteger asBigInteger() {
-        if (arr != null && arr.length != 0) {
-            return new BigInteger(arr);
+        final byte[] bytes = getArray();
+        if (bytes != null && bytes.length != 0) {
+            return new BigInteger(bytes);
         } else {
             return BigInteger.ZERO;
         }
@@ -174,6 +322,7 @@ public final class LLVMIVarBit {
 
     @TruffleBoundary
     private ByteBuffer getByteBuffer(int minSizeBytes, boolean signExtend) {
+        final byte[] bytes = getArray();
         int allocationSize = Math.max(minSizeBytes, getByteSize());
         ByteBuffer bb = ByteBuffer.allocate(allocationSize).order(ByteOrder.BIG_ENDIAN);
         boolean truncation = bits > minSizeBytes * Byte.SIZE;
@@ -191,12 +340,12 @@ public final class LLVMIVarBit {
             }
         }
         if (bits % Byte.SIZE == 0) {
-            bb.put(arr, 0, getByteSize());
+            bb.put(bytes, 0, getByteSize());
         } else {
             BitSet bitSet = new BitSet(Byte.SIZE);
             int bitsToSet = bits % Byte.SIZE;
             for (int i = 0; i < bitsToSet; i++) {
-                boolean isBitSet = ((arr[0] >> i) & 1) == 1;
+                boolean isBitSet = ((bytes[0] >> i) & 1) == 1;
                 if (isBitSet) {
                     bitSet.set(i);
                 }
@@ -215,8 +364,8 @@ public final class LLVMIVarBit {
             }
             // FIXME actually need to truncate or sign extend individual bits
             bb.put(firstByteResult);
-            for (int i = 1; i < arr.length; i++) {
-                bb.put(arr[i]);
+            for (int i = 1; i < bytes.length; i++) {
+                bb.put(bytes[i]);
             }
         }
 
@@ -229,49 +378,66 @@ public final class LLVMIVarBit {
     }
 
     private boolean getBit(int pos) {
-        int selectedBytePos = arr.length - 1 - (pos / Byte.SIZE);
-        byte selectedByte = arr[selectedBytePos];
+        final byte[] bytes = getArray();
+        int selectedBytePos = bytes.length - 1 - (pos / Byte.SIZE);
+        byte selectedByte = bytes[selectedBytePos];
         int selectedBitPos = pos % Byte.SIZE;
         return ((selectedByte >> selectedBitPos) & 1) == 1;
     }
 
-    @TruffleBoundary
     public byte getByteValue() {
+        if (canTruncateTo(Byte.BYTES)) {
+            return (byte) getLowestBytes(Byte.BYTES);
+        }
         return getByteBuffer(Byte.BYTES, true).get();
     }
 
-    @TruffleBoundary
     public byte getZeroExtendedByteValue() {
+        if (canTruncateTo(Byte.BYTES)) {
+            return (byte) getLowestBytes(Byte.BYTES);
+        }
         return getByteBuffer(Byte.BYTES, false).get();
     }
 
-    @TruffleBoundary
     public short getShortValue() {
+        if (canTruncateTo(Short.BYTES)) {
+            return (short) getLowestBytes(Short.BYTES);
+        }
         return getByteBuffer(Short.BYTES, true).getShort();
     }
 
-    @TruffleBoundary
     public short getZeroExtendedShortValue() {
+        if (canTruncateTo(Short.BYTES)) {
+            return (short) getLowestBytes(Short.BYTES);
+        }
         return getByteBuffer(Short.BYTES, false).getShort();
     }
 
-    @TruffleBoundary
     public int getIntValue() {
+        if (canTruncateTo(Integer.BYTES)) {
+            return (int) getLowestBytes(Integer.BYTES);
+        }
         return getByteBuffer(Integer.BYTES, true).getInt();
     }
 
-    @TruffleBoundary
     public int getZeroExtendedIntValue() {
+        if (canTruncateTo(Integer.BYTES)) {
+            return (int) getLowestBytes(Integer.BYTES);
+        }
         return getByteBuffer(Integer.BYTES, false).getInt();
     }
 
-    @TruffleBoundary
     public long getLongValue() {
+        if (canTruncateTo(Long.BYTES)) {
+            return getLowestBytes(Long.BYTES);
+        }
         return getByteBuffer(Long.BYTES, true).getLong();
     }
 
-    @TruffleBoundary
     public long getZeroExtendedLongValue() {
+        if (canTruncateTo(Long.BYTES)) {
+            return getLowestBytes(Long.BYTES);
+        }
         return getByteBuffer(Long.BYTES, false).getLong();
     }
 
@@ -280,48 +446,106 @@ public final class LLVMIVarBit {
     }
 
     public byte[] getBytes() {
-        assert arr.length == getByteSize() : arr.length + " " + getByteSize();
-        return arr;
+        final byte[] bytes = getArray();
+        assert bytes.length == getByteSize() : bytes.length + " " + getByteSize();
+        return bytes;
     }
 
     @TruffleBoundary
     public byte[] getSignExtendedBytes() {
-        return getByteBuffer(arr.length, true).array();
+        return getByteBuffer(getByteSize(), true).array();
     }
 
-    @TruffleBoundary
     public LLVMIVarBit add(LLVMIVarBit right) {
-        return asIVar(asBigInteger().add(asBigInteger(right)));
+        if (isI128() && right.isI128()) {
+            long lower = getLowerWord() + right.getLowerWord();
+            long carry = Long.compareUnsigned(lower, getLowerWord()) < 0 ? 1 : 0;
+            return fromI128(getUpperWord() + right.getUpperWord() + carry, lower);
+        }
+        return addBigInteger(right);
     }
 
     @TruffleBoundary
+    private LLVMIVarBit addBigInteger(LLVMIVarBit right) {
+        return asIVar(asBigInteger().add(asBigInteger(right)));
+    }
+
     public LLVMIVarBit mul(LLVMIVarBit right) {
-        return asIVar(asBigInteger().multiply(asBigInteger(right)));
+        if (isI128() && right.isI128()) {
+            long leftLower = getLowerWord();
+            long rightLower = right.getLowerWord();
+            long upper = unsignedMultiplyHigh(leftLower, rightLower) + getUpperWord() * rightLower + leftLower * right.getUpperWord();
+            return fromI128(upper, leftLower * rightLower);
+        }
+        return mulBigInteger(right);
     }
 
     @TruffleBoundary
+    private LLVMIVarBit mulBigInteger(LLVMIVarBit right) {
+        return asIVar(asBigInteger().multiply(asBigInteger(right)));
+    }
+
     public LLVMIVarBit sub(LLVMIVarBit right) {
-        return asIVar(asBigInteger().subtract(asBigInteger(right)));
+        if (isI128() && right.isI128()) {
+            long borrow = Long.compareUnsigned(getLowerWord(), right.getLowerWord()) < 0 ? 1 : 0;
+            return fromI128(getUpperWord() - right.getUpperWord() - borrow, getLowerWord() - right.getLowerWord());
+        }
+        return subBigInteger(right);
     }
 
     @TruffleBoundary
+    private LLVMIVarBit subBigInteger(LLVMIVarBit right) {
+        return asIVar(asBigInteger().subtract(asBigInteger(right)));
+    }
+
     public LLVMIVarBit div(LLVMIVarBit right) {
-        return asIVar(asBigInteger().divide(asBigInteger(right)));
+        if (canDivideAsLong(right) && !(getLowerWord() == Long.MIN_VALUE && right.getLowerWord() == -1)) {
+            long result = getLowerWord() / right.getLowerWord();
+            return fromI128(result >> (Long.SIZE - 1), result);
+        }
+        return divBigInteger(right);
     }
 
     @TruffleBoundary
+    private LLVMIVarBit divBigInteger(LLVMIVarBit right) {
+        return asIVar(asBigInteger().divide(asBigInteger(right)));
+    }
+
     public LLVMIVarBit rem(LLVMIVarBit right) {
-        return asIVar(asBigInteger().remainder(asBigInteger(right)));
+        if (canDivideAsLong(right)) {
+            long result = getLowerWord() % right.getLowerWord();
+            return fromI128(result >> (Long.SIZE - 1), result);
+        }
+        return remBigInteger(right);
     }
 
     @TruffleBoundary
+    private LLVMIVarBit remBigInteger(LLVMIVarBit right) {
+        return asIVar(asBigInteger().remainder(asBigInteger(right)));
+    }
+
     public LLVMIVarBit unsignedRem(LLVMIVarBit right) {
-        return asIVar(asUnsignedBigInteger().remainder(asBigInteger(right)));
+        if (isI128() && right.isI128() && getUpperWord() == 0 && right.getUpperWord() == 0 && right.getLowerWord() != 0) {
+            return fromI128(0, Long.remainderUnsigned(getLowerWord(), right.getLowerWord()));
+        }
+        return unsignedRemBigInteger(right);
     }
 
     @TruffleBoundary
+    private LLVMIVarBit unsignedRemBigInteger(LLVMIVarBit right) {
+        return asIVar(asUnsignedBigInteger().remainder(right.asUnsignedBigInteger()));
+    }
+
     public LLVMIVarBit unsignedDiv(LLVMIVarBit right) {
-        return asIVar(asUnsignedBigInteger().divide(asBigInteger(right)));
+        if (isI128() && right.isI128() && getUpperWord() == 0 && right.getUpperWord() == 0 && right.getLowerWord() != 0) {
+            return fromI128(0, Long.divideUnsigned(getLowerWord(), right.getLowerWord()));
+        }
+        return unsignedDivBigInteger(right);
+    }
+
+    @TruffleBoundary
+    private LLVMIVarBit unsignedDivBigInteger(LLVMIVarBit right) {
+        return asIVar(asUnsignedBigInteger().divide(right.asUnsignedBigInteger()));
     }
 
     public int compare(LLVMIVarBit other) {
@@ -330,6 +554,10 @@ public final class LLVMIVarBit {
         if (thisWidth != otherWidth) {
             return thisWidth - otherWidth;
         }
+        if (isI128()) {
+            int result = Long.compare(upper, other.upper);
+            return result != 0 ? result : Long.compareUnsigned(lower, other.lower);
+        }
         for (int i = 0; i < getByteSize() - 1; i++) {
             int diff = arr[i] - other.getBytes()[i];
             if (diff != 0) {
@@ -349,32 +577,70 @@ public final class LLVMIVarBit {
 
     private LLVMIVarBit performOp(LLVMIVarBit right, SimpleOp op) {
         assert bits == right.bits;
+        final byte[] bytes = getArray();
         byte[] newArr = new byte[getByteSize()];
         byte[] other = right.getBytes();
-        assert arr.length == other.length : Arrays.toString(arr) + " " + Arrays.toString(other);
+        assert bytes.length == other.length : Arrays.toString(bytes) + " " + Arrays.toString(other);
         for (int i = 0; i < newArr.length; i++) {
-            newArr[i] = op.op(arr[i], other[i]);
+            newArr[i] = op.op(bytes[i], other[i]);
         }
-        return new LLVMIVarBit(bits, newArr, bits, false);
+        return create(bits, newArr, bits, false);
     }
 
-    @TruffleBoundary
     public LLVMIVarBit and(LLVMIVarBit right) {
-        return performOp(right, (byte a, byte b) -> (byte) (a & b));
+        if (isI128() && right.isI128()) {
+            return fromI128(upper & right.upper, lower & right.lower);
+        }
+        return andBytes(right);
     }
 
     @TruffleBoundary
+    private LLVMIVarBit andBytes(LLVMIVarBit right) {
+        return performOp(right, (byte a, byte b) -> (byte) (a & b));
+    }
+
     public LLVMIVarBit or(LLVMIVarBit right) {
-        return performOp(right, (byte a, byte b) -> (byte) (a | b));
+        if (isI128() && right.isI128()) {
+            return fromI128(upper | right.upper, lower | right.lower);
+        }
+        return orBytes(right);
     }
 
     @TruffleBoundary
+    private LLVMIVarBit orBytes(LLVMIVarBit right) {
+        return performOp(right, (byte a, byte b) -> (byte) (a | b));
+    }
+
     public LLVMIVarBit xor(LLVMIVarBit right) {
-        return performOp(right, (byte a, byte b) -> (byte) (a ^ b));
+        if (isI128() && right.isI128()) {
+            return fromI128(upper ^ right.upper, lower ^ right.lower);
+        }
+        return xorBytes(right);
     }
 
     @TruffleBoundary
+    private LLVMIVarBit xorBytes(LLVMIVarBit right) {
+        return performOp(right, (byte a, byte b) -> (byte) (a ^ b));
+    }
+
     public LLVMIVarBit leftShift(LLVMIVarBit right) {
+        if (isI128() && right.isShiftAmountI128()) {
+            int shift = (int) right.getLowerWord();
+            long upper = getUpperWord();
+            long lower = getLowerWord();
+            if (shift >= Long.SIZE) {
+                return fromI128(lower << (shift - Long.SIZE), 0);
+            } else if (shift == 0) {
+                return this;
+            } else {
+                return fromI128((upper << shift) | (lower >>> (Long.SIZE - shift)), lower << shift);
+            }
+        }
+        return leftShiftBigInteger(right);
+    }
+
+    @TruffleBoundary
+    private LLVMIVarBit leftShiftBigInteger(LLVMIVarBit right) {
         BigInteger result = asBigInteger().shiftLeft(right.getIntValue());
         return asIVar(bits, result);
     }
@@ -404,35 +670,90 @@ public final class LLVMIVarBit {
             }
         }
         int resultLengthIncludingSign = result.bitLength() + (result.signum() == -1 ? 1 : 0);
-        return new LLVMIVarBit(bitSize, newArr, resultLengthIncludingSign, result.signum() == -1);
+        return create(bitSize, newArr, resultLengthIncludingSign, result.signum() == -1);
     }
 
-    @TruffleBoundary
     public LLVMIVarBit logicalRightShift(LLVMIVarBit right) {
+        if (isI128() && right.isShiftAmountI128()) {
+            int shift = (int) right.getLowerWord();
+            long upper = getUpperWord();
+            long lower = getLowerWord();
+            if (shift >= Long.SIZE) {
+                return fromI128(0, upper >>> (shift - Long.SIZE));
+            } else if (shift == 0) {
+                return this;
+            } else {
+                return fromI128(upper >>> shift, (lower >>> shift) | (upper << (Long.SIZE - shift)));
+            }
+        }
+        return logicalRightShiftBigInteger(right);
+    }
+
+    @TruffleBoundary
+    private LLVMIVarBit logicalRightShiftBigInteger(LLVMIVarBit right) {
         int shiftAmount = right.getIntValue();
         BigInteger mask = BigInteger.valueOf(-1).shiftLeft(bits - shiftAmount).not();
-        BigInteger result = new BigInteger(arr).shiftRight(shiftAmount).and(mask);
+        BigInteger result = asBigInteger().shiftRight(shiftAmount).and(mask);
         return asIVar(result);
     }
 
-    @TruffleBoundary
     public LLVMIVarBit arithmeticRightShift(LLVMIVarBit right) {
+        if (isI128() && right.isShiftAmountI128()) {
+            int shift = (int) right.getLowerWord();
+            long upper = getUpperWord();
+            long lower = getLowerWord();
+            if (shift >= Long.SIZE) {
+                return fromI128(upper >> (Long.SIZE - 1), upper >> (shift - Long.SIZE));
+            } else if (shift == 0) {
+                return this;
+            } else {
+                return fromI128(upper >> shift, (lower >>> shift) | (upper << (Long.SIZE - shift)));
+            }
+        }
+        return arithmeticRightShiftBigInteger(right);
+    }
+
+    @TruffleBoundary
+    private LLVMIVarBit arithmeticRightShiftBigInteger(LLVMIVarBit right) {
         BigInteger result = asBigInteger().shiftRight(right.getIntValue());
         return asIVar(result);
     }
 
-    @TruffleBoundary
     public int signedCompare(LLVMIVarBit other) {
-        return asBigInteger().compareTo(other.asBigInteger());
+        if (isI128() && other.isI128()) {
+            int result = Long.compare(getUpperWord(), other.getUpperWord());
+            return result != 0 ? result : Long.compareUnsigned(getLowerWord(), other.getLowerWord());
+        }
+        return signedCompareBigInteger(other);
     }
 
     @TruffleBoundary
+    private int signedCompareBigInteger(LLVMIVarBit other) {
+        return asBigInteger().compareTo(other.asBigInteger());
+    }
+
     public int unsignedCompare(LLVMIVarBit other) {
-        return asUnsignedBigInteger().compareTo(other.asUnsignedBigInteger());
+        if (isI128() && other.isI128()) {
+            int result = Long.compareUnsigned(getUpperWord(), other.getUpperWord());
+            return result != 0 ? result : Long.compareUnsigned(getLowerWord(), other.getLowerWord());
+        }
+        return unsignedCompareBigInteger(other);
     }
 
     @TruffleBoundary
+    private int unsignedCompareBigInteger(LLVMIVarBit other) {
+        return asUnsignedBigInteger().compareTo(other.asUnsignedBigInteger());
+    }
+
     public boolean isZero() {
+        if (isI128()) {
+            return (getUpperWord() | getLowerWord()) == 0;
+        }
+        return isZeroBigInteger();
+    }
+
+    @TruffleBoundary
+    private boolean isZeroBigInteger() {
         return arr == null || arr.length == 0 || BigInteger.ZERO.equals(asBigInteger());
     }
 
@@ -446,7 +767,7 @@ public final class LLVMIVarBit {
     public int hashCode() {
         final int prime = 31;
         int result = 1;
-        result = prime * result + Arrays.hashCode(arr);
+        result = prime * result + Arrays.hashCode(getArray());
         result = prime * result + bits;
         return result;
     }
@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.runtime;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.llvm.runtime.memory.LLVMMemory;
+
+/**
+ * Serves the read/write family of syscalls on the standard streams from the streams of the
+ * {@link com.oracle.truffle.api.TruffleLanguage.Env} instead of performing a native call per
+ * syscall. Writes to stdout are buffered until the buffer is full, until another standard stream
+ * is accessed, or until {@link #flush()} is called when the context is disposed. All other file
+ * descriptors are still handled natively, and so is a standard stream once the guest has closed
+ * or replaced it (see {@link #detach(int)}).
+ */
+public final class LLVMVirtualFileDescriptors {
+
+    public static final int STDIN = 0;
+    public static final int STDOUT = 1;
+    public static final int STDERR = 2;
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final int IOVEC_SIZE = 16;
+    private static final int IOVEC_LENGTH_OFFSET = 8;
+
+    private final InputStream in;
+    private final OutputStream out;
+    private final OutputStream err;
+
+    // staging buffer between guest memory and the streams; holds pending stdout data
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int pendingStdout;
+
+    // bit set of the standard streams that the guest closed or replaced
+    private volatile int detached;
+
+    public LLVMVirtualFileDescriptors(InputStream in, OutputStream out, OutputStream err) {
+        this.in = in;
+        this.out = out;
+        this.err = err;
+    }
+
+    public static boolean isVirtual(long fd) {
+        return fd == STDIN || fd == STDOUT || fd == STDERR;
+    }
+
+    public boolean serves(long fd) {
+        return isVirtual(fd) && (detached & (1 << fd)) == 0;
+    }
+
+    /**
+     * Stops serving {@code fd} from the language streams. Must be called before the guest closes
+     * or replaces a standard stream natively (e.g. by {@code close}, {@code dup2} or
+     * {@code freopen}), so that pending stdout data still reaches the stream it was written to and
+     * later syscalls on {@code fd} reach the new native file.
+     */
+    @TruffleBoundary
+    public synchronized void detach(int fd) throws IOException {
+        if (serves(fd)) {
+            flushStdout();
+            detached |= 1 << fd;
+        }
+    }
+
+    @TruffleBoundary
+    public synchronized long write(LLVMMemory memory, int fd, long address, long size) throws IOException {
+        if (fd == STDOUT) {
+            long written = 0;
+            while (written < size) {
+                if (pendingStdout == BUFFER_SIZE) {
+                    flushStdout();
+                }
+                int chunk = (int) Math.min(BUFFER_SIZE - pendingStdout, size - written);
+                memory.getByteArray(address + written, buffer, pendingStdout, chunk);
+                pendingStdout += chunk;
+                written += chunk;
+            }
+            return written;
+        } else if (fd == STDERR) {
+            // keep the relative order of stdout and stderr output
+            flushStdout();
+            long written = 0;
+            while (written < size) {
+                int chunk = (int) Math.min(BUFFER_SIZE, size - written);
+                memory.getByteArray(address + written, buffer, 0, chunk);
+                err.write(buffer, 0, chunk);
+                written += chunk;
+            }
+            err.flush();
+            return written;
+        } else {
+            throw new IOException("file descriptor " + fd + " is not writable");
+        }
+    }
+
+    @TruffleBoundary
+    public synchronized long read(LLVMMemory memory, int fd, long address, long size) throws IOException {
+        if (fd != STDIN) {
+            throw new IOException("file descriptor " + fd + " is not readable");
+        }
+        // make prompts visible before blocking on input
+        flushStdout();
+        long read = 0;
+        while (read < size) {
+            int chunk = (int) Math.min(BUFFER_SIZE, size - read);
+            int count = in.read(buffer, 0, chunk);
+            if (count <= 0) {
+                break;
+            }
+            memory.putByteArray(address + read, buffer, 0, count);
+            read += count;
+            if (count < chunk || in.available() == 0) {
+                // like a native read, return what is available instead of waiting for more
+                break;
+            }
+        }
+        return read;
+    }
+
+    @TruffleBoundary
+    public synchronized long writev(LLVMMemory memory, int fd, long iov, long iovcnt) throws IOException {
+        long written = 0;
+        for (long i = 0; i < iovcnt; i++) {
+            long entry = iov + i * IOVEC_SIZE;
+            written += write(memory, fd, memory.getI64(entry), memory.getI64(entry + IOVEC_LENGTH_OFFSET));
+        }
+        return written;
+    }
+
+    @TruffleBoundary
+    public synchronized long readv(LLVMMemory memory, int fd, long iov, long iovcnt) throws IOException {
+        long read = 0;
+        for (long i = 0; i < iovcnt; i++) {
+            long entry = iov + i * IOVEC_SIZE;
+            long length = memory.getI64(entry + IOVEC_LENGTH_OFFSET);
+            long count = read(memory, fd, memory.getI64(entry), length);
+            read += count;
+            if (count < length) {
+                break;
+            }
+        }
+        return read;
+    }
+
+    @TruffleBoundary
+    public synchronized void flush() throws IOException {
+        flushStdout();
+    }
+
+    private void flushStdout() throws IOException {
+        if (pendingStdout > 0) {
+            out.write(buffer, 0, pendingStdout);
+            pendingStdout = 0;
+            out.flush();
+        }
+    }
+}
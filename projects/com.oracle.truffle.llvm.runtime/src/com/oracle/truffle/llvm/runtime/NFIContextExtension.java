@@ -58,6 +58,15 @@ public final class NFIContextExtension implements ContextExtension {
     private final TruffleLanguage.Env env;
     private final LLVMNativeFunctions nativeFunctions;
 
+    // symbols that were already resolved, and functions that were already bound to a signature
+    private final Map<String, TruffleObject> nativeSymbols = new HashMap<>();
+    private final Map<String, TruffleObject> nativeDataObjects = new HashMap<>();
+    private final Map<String, TruffleObject> boundFunctions = new HashMap<>();
+
+    // number of external libraries of the context that were already loaded, -1 before the first
+    // lookup
+    private int loadedLibraryCount = -1;
+
     public NFIContextExtension(Env env) {
         this.env = env;
         this.defaultLibrary = loadDefaultLibrary();
@@ -117,11 +126,22 @@ public final class NFIContextExtension implements ContextExtension {
 
     private void addLibraries(LLVMContext context) {
         CompilerAsserts.neverPartOfCompilation();
-        context.addExternalLibrary("libsulong." + getNativeLibrarySuffix());
+        if (loadedLibraryCount < 0) {
+            context.addExternalLibrary("libsulong." + getNativeLibrarySuffix());
+        }
+        if (loadedLibraryCount == context.getExternalLibraryCount()) {
+            return;
+        }
         List<Path> libraries = context.getExternalLibraries(f -> f.toString().contains("." + getNativeLibrarySuffix()));
         for (Path l : libraries) {
             addLibrary(l);
         }
+        loadedLibraryCount = context.getExternalLibraryCount();
+
+        // a new library may now provide a symbol that was previously found in another one
+        nativeSymbols.clear();
+        nativeDataObjects.clear();
+        boundFunctions.clear();
     }
 
     private void addLibrary(Path l) throws UnsatisfiedLinkError {
@@ -232,7 +252,7 @@ public final class NFIContextExtension implements ContextExtension {
      */
     private static final String NO_MANGLE_PREFIX = "\"\\01_";
 
-    public TruffleObject getNativeFunction(LLVMContext context, String nameIn) {
+    public synchronized TruffleObject getNativeFunction(LLVMContext context, String nameIn) {
         CompilerAsserts.neverPartOfCompilation();
         addLibraries(context);
 
@@ -241,33 +261,52 @@ public final class NFIContextExtension implements ContextExtension {
             name = name.replace(NO_MANGLE_PREFIX, "");
             name = name.substring(0, name.length() - 1);
         }
+        TruffleObject cached = nativeSymbols.get(name);
+        if (cached != null) {
+            return cached;
+        }
+        TruffleObject symbol = lookupNativeFunction(name);
+        if (symbol == null) {
+            throw new LinkageError(String.format("External function %s cannot be found.", name));
+        }
+        nativeSymbols.put(name, symbol);
+        return symbol;
+    }
+
+    private TruffleObject lookupNativeFunction(String name) {
         for (TruffleObject libraryHandle : libraryHandles.values()) {
             TruffleObject symbol = getNativeFunction(libraryHandle, name);
             if (symbol != null) {
                 return symbol;
             }
         }
-        TruffleObject symbol = getNativeFunction(defaultLibrary, name);
-        if (symbol == null) {
-            throw new LinkageError(String.format("External function %s cannot be found.", name));
-        } else {
-            return symbol;
-        }
+        return getNativeFunction(defaultLibrary, name);
     }
 
-    public TruffleObject getNativeDataObject(LLVMContext context, String name) {
+    public synchronized TruffleObject getNativeDataObject(LLVMContext context, String name) {
         CompilerAsserts.neverPartOfCompilation();
         addLibraries(context);
 
         String realName = name.substring(1);
+        TruffleObject cached = nativeDataObjects.get(realName);
+        if (cached != null) {
+            return cached;
+        }
+        TruffleObject symbol = lookupNativeDataObject(realName);
+        if (symbol != null) {
+            nativeDataObjects.put(realName, symbol);
+        }
+        return symbol;
+    }
+
+    private TruffleObject lookupNativeDataObject(String realName) {
         for (TruffleObject libraryHandle : libraryHandles.values()) {
             TruffleObject symbol = getNativeDataObject(libraryHandle, realName);
             if (symbol != null) {
                 return symbol;
             }
         }
-        TruffleObject symbol = getNativeDataObject(defaultLibrary, realName);
-        return symbol;
+        return getNativeDataObject(defaultLibrary, realName);
     }
 
     private static TruffleObject getNativeDataObject(TruffleObject libraryHandle, String name) {
@@ -297,14 +336,19 @@ public final class NFIContextExtension implements ContextExtension {
         }
     }
 
-    public TruffleObject getNativeFunction(LLVMContext context, String name, String signature) {
+    public synchronized TruffleObject getNativeFunction(LLVMContext context, String name, String signature) {
         CompilerAsserts.neverPartOfCompilation();
         TruffleObject nativeSymbol = getNativeFunction(context, name);
-        if (nativeSymbol != null) {
-            return bindNativeFunction(nativeSymbol, signature);
-        } else {
+        if (nativeSymbol == null) {
             return null;
         }
+        String key = name + signature;
+        TruffleObject boundFunction = boundFunctions.get(key);
+        if (boundFunction == null) {
+            boundFunction = bindNativeFunction(nativeSymbol, signature);
+            boundFunctions.put(key, boundFunction);
+        }
+        return boundFunction;
     }
 
     public String getNativeSignature(FunctionType type, int skipArguments) throws UnsupportedNativeTypeException {
@@ -33,6 +33,8 @@ final class DoubleHelper {
 
     static final int DOUBLE_EXPONENT_BIAS = 1023;
 
+    static final int DOUBLE_EXPONENT_ALL_ONE = 0x7FF;
+
     static final long DOUBLE_FRACTION_BIT_WIDTH = 52;
 
     static final int DOUBLE_SIGN_POS = 63;
@@ -35,6 +35,8 @@ final class FloatHelper {
 
     static final int FLOAT_FRACTION_BIT_WIDTH = 23;
 
+    static final int FLOAT_EXPONENT_ALL_ONE = 0xFF;
+
     static final float POSITIVE_ZERO = 0;
 
     static final float NEGATIVE_ZERO = -0.0f;
@@ -36,24 +36,11 @@ import java.util.Arrays;
 import javax.xml.bind.DatatypeConverter;
 
 import com.oracle.truffle.api.CompilerAsserts;
-import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.ValueType;
-import com.oracle.truffle.api.dsl.Cached;
-import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.frame.VirtualFrame;
-import com.oracle.truffle.api.interop.ForeignAccess;
 import com.oracle.truffle.api.interop.InteropException;
-import com.oracle.truffle.api.interop.Message;
-import com.oracle.truffle.api.interop.TruffleObject;
 import com.oracle.truffle.api.nodes.ExplodeLoop;
-import com.oracle.truffle.api.nodes.Node;
-import com.oracle.truffle.llvm.runtime.LLVMAddress;
-import com.oracle.truffle.llvm.runtime.LLVMContext;
-import com.oracle.truffle.llvm.runtime.NFIContextExtension;
-import com.oracle.truffle.llvm.runtime.floating.LLVM80BitFloatFactory.LLVM80BitFloatNativeCallNodeGen;
-import com.oracle.truffle.llvm.runtime.memory.LLVMMemory;
 import com.oracle.truffle.llvm.runtime.nodes.api.LLVMArithmetic;
-import com.oracle.truffle.llvm.runtime.nodes.api.LLVMNode;
 
 @ValueType
 public final class LLVM80BitFloat implements LLVMArithmetic {
@@ -104,7 +91,6 @@ public final class LLVM80BitFloat implements LLVMArithmetic {
     // all cached LLVM80BitFloat objects are escaping objects and must not be used directly
     private static final LLVM80BitFloat DOUBLE_MINUS_INFINITY_CONVERSION_NUMBER = LLVM80BitFloat.fromRawValues(true, ALL_ONE_EXPONENT, UNDEFINED_DOUBLE_VALUE);
     private static final LLVM80BitFloat DOUBLE_INFINITY_CONVERSION_NUMBER = LLVM80BitFloat.fromRawValues(false, ALL_ONE_EXPONENT, UNDEFINED_DOUBLE_VALUE);
-    private static final LLVM80BitFloat DOUBLE_NAN_CONVERSION_NUMBER = LLVM80BitFloat.fromRawValues(false, ALL_ONE_EXPONENT, 0xc000000000000000L);
 
     private static final LLVM80BitFloat POSITIVE_ZERO = new LLVM80BitFloat(false, 0, 0);
     private static final LLVM80BitFloat NEGATIVE_ZERO = new LLVM80BitFloat(true, 0, 0);
@@ -226,10 +212,18 @@ public final class LLVM80BitFloat implements LLVMArithmetic {
         } else if (FloatHelper.isNegativeInfinity(val)) {
             return new LLVM80BitFloat(DOUBLE_MINUS_INFINITY_CONVERSION_NUMBER);
         } else if (FloatHelper.isNaN(val)) {
-            return new LLVM80BitFloat(DOUBLE_NAN_CONVERSION_NUMBER);
+            int rawValue = Float.floatToRawIntBits(val);
+            long payload = (long) (rawValue & FloatHelper.FRACTION_MASK) << (FRACTION_BIT_WIDTH - FloatHelper.FLOAT_FRACTION_BIT_WIDTH - EXPLICIT_LEADING_ONE_BITS);
+            return nanFromPayload(rawValue < 0, payload);
         } else {
             int rawValue = Float.floatToRawIntBits(val);
             int floatExponent = FloatHelper.getUnbiasedExponent(val);
+            if (floatExponent < Float.MIN_EXPONENT) {
+                long denormalFraction = rawValue & FloatHelper.FRACTION_MASK;
+                int leadingZeros = Long.numberOfLeadingZeros(denormalFraction);
+                int biasedExponent = EXPONENT_BIAS + Float.MIN_EXPONENT - FloatHelper.FLOAT_FRACTION_BIT_WIDTH + (FRACTION_BIT_WIDTH - 1) - leadingZeros;
+                return LLVM80BitFloat.fromRawValues(sign, biasedExponent, denormalFraction << leadingZeros);
+            }
             int biasedExponent = floatExponent + EXPONENT_BIAS;
             long leadingOne = (long) EXPLICIT_LEADING_ONE_BITS << (FRACTION_BIT_WIDTH - 1);
             long floatFraction = rawValue & FloatHelper.FRACTION_MASK;
@@ -250,10 +244,18 @@ public final class LLVM80BitFloat implements LLVMArithmetic {
         } else if (DoubleHelper.isNegativeInfinity(val)) {
             return new LLVM80BitFloat(DOUBLE_MINUS_INFINITY_CONVERSION_NUMBER);
         } else if (DoubleHelper.isNaN(val)) {
-            return new LLVM80BitFloat(DOUBLE_NAN_CONVERSION_NUMBER);
+            long rawValue = Double.doubleToRawLongBits(val);
+            long payload = (rawValue & DoubleHelper.FRACTION_MASK) << (FRACTION_BIT_WIDTH - DoubleHelper.DOUBLE_FRACTION_BIT_WIDTH - EXPLICIT_LEADING_ONE_BITS);
+            return nanFromPayload(rawValue < 0, payload);
         } else {
             long rawValue = Double.doubleToRawLongBits(val);
             int doubleExponent = DoubleHelper.getUnbiasedExponent(val);
+            if (doubleExponent < Double.MIN_EXPONENT) {
+                long denormalFraction = rawValue & DoubleHelper.FRACTION_MASK;
+                int leadingZeros = Long.numberOfLeadingZeros(denormalFraction);
+                int biasedExponent = EXPONENT_BIAS + Double.MIN_EXPONENT - (int) DoubleHelper.DOUBLE_FRACTION_BIT_WIDTH + (FRACTION_BIT_WIDTH - 1) - leadingZeros;
+                return LLVM80BitFloat.fromRawValues(sign, biasedExponent, denormalFraction << leadingZeros);
+            }
             int biasedExponent = doubleExponent + EXPONENT_BIAS;
             long leadingOne = (long) EXPLICIT_LEADING_ONE_BITS << (FRACTION_BIT_WIDTH - 1);
             long doubleFraction = rawValue & DoubleHelper.FRACTION_MASK;
@@ -264,72 +266,342 @@ public final class LLVM80BitFloat implements LLVMArithmetic {
     }
 
     private long getFractionAsLong() {
-        return fraction >>> (FRACTION_BIT_WIDTH - getUnbiasedExponent() - EXPLICIT_LEADING_ONE_BITS);
+        int unbiasedExponent = getUnbiasedExponent();
+        if (unbiasedExponent < 0) {
+            return 0;
+        } else if (unbiasedExponent >= FRACTION_BIT_WIDTH - EXPLICIT_LEADING_ONE_BITS) {
+            return UNDEFINED_FLOAT_TO_LONG_VALUE;
+        }
+        return fraction >>> (FRACTION_BIT_WIDTH - unbiasedExponent - EXPLICIT_LEADING_ONE_BITS);
     }
 
-    private long compareNoSign(LLVM80BitFloat val) {
-        if (getExponent() != val.getExponent()) {
-            return getExponent() - val.getExponent();
-        } else {
-            return (getFraction() - val.getFraction());
+    /*
+     * The arithmetic below follows the x87 semantics with 64 bit precision and round to nearest
+     * even. Operands are unpacked into a normalized significand (explicit integer bit in bit 63)
+     * and an exponent that may drop below 1 for denormals. The bits that are shifted out are kept
+     * in a second long whose most significant bit is the round bit and whose remaining bits are
+     * sticky.
+     */
+
+    private static final long INTEGER_BIT = bit((long) FRACTION_BIT_WIDTH - 1);
+    private static final long QUIET_BIT = INTEGER_BIT >>> 1;
+
+    /**
+     * Like the x87 FPU, a NaN keeps its sign and payload when it is loaded from a float or double,
+     * and a signaling NaN becomes quiet.
+     */
+    private static LLVM80BitFloat nanFromPayload(boolean sign, long payload) {
+        return new LLVM80BitFloat(sign, ALL_ONE_EXPONENT, INTEGER_BIT | QUIET_BIT | payload);
+    }
+
+    /**
+     * Returns the payload of this NaN, without the integer bit, in the upper bits of a long.
+     */
+    private long getNaNPayload() {
+        return fraction << EXPLICIT_LEADING_ONE_BITS;
+    }
+
+    private static LLVM80BitFloat indefiniteNaN() {
+        return new LLVM80BitFloat(true, ALL_ONE_EXPONENT, INTEGER_BIT | QUIET_BIT);
+    }
+
+    private boolean isSpecial() {
+        return biasedExponent == ALL_ONE_EXPONENT;
+    }
+
+    private boolean isZeroValue() {
+        return fraction == 0 && !isSpecial();
+    }
+
+    private int getNormalizedExponent() {
+        int exponent = biasedExponent == 0 ? 1 : biasedExponent;
+        return exponent - Long.numberOfLeadingZeros(fraction);
+    }
+
+    private long getNormalizedFraction() {
+        return fraction << Long.numberOfLeadingZeros(fraction);
+    }
+
+    private LLVM80BitFloat normalize(boolean resultSign) {
+        if (isZeroValue()) {
+            return zero(resultSign);
         }
+        return round(resultSign, getNormalizedExponent(), getNormalizedFraction(), 0);
     }
 
-    @SuppressWarnings("unused")
-    private LLVM80BitFloat add2(LLVM80BitFloat right) {
-        int leftExponent = getExponent();
-        int rightExponent = right.getExponent();
-        long leftFraction = getFraction();
-        long rightFraction = right.getFraction();
+    private LLVM80BitFloat quiet() {
+        return new LLVM80BitFloat(sign, biasedExponent, fraction | INTEGER_BIT | QUIET_BIT);
+    }
 
-        int shiftAmount = Math.abs(leftExponent - rightExponent);
-        if (leftExponent < rightExponent) {
-            leftFraction >>>= shiftAmount;
-            leftExponent = rightExponent;
+    /**
+     * Like the x87 FPU, a quiet NaN wins over a signaling one, otherwise the NaN with the larger
+     * significand is returned.
+     */
+    private static LLVM80BitFloat propagateNaN(LLVM80BitFloat left, LLVM80BitFloat right) {
+        if (left.isNaN() && right.isNaN()) {
+            boolean leftQuiet = (left.fraction & QUIET_BIT) != 0;
+            boolean rightQuiet = (right.fraction & QUIET_BIT) != 0;
+            if (leftQuiet != rightQuiet) {
+                return leftQuiet ? left.quiet() : right.quiet();
+            }
+            return Long.compareUnsigned(right.fraction, left.fraction) > 0 ? right.quiet() : left.quiet();
+        }
+        return left.isNaN() ? left.quiet() : right.quiet();
+    }
+
+    private static LLVM80BitFloat infinity(boolean sign) {
+        return new LLVM80BitFloat(sign, ALL_ONE_EXPONENT, INTEGER_BIT);
+    }
+
+    private static LLVM80BitFloat zero(boolean sign) {
+        return new LLVM80BitFloat(sign, 0, 0);
+    }
+
+    private static long sticky(long bits) {
+        return bits != 0 ? 1 : 0;
+    }
+
+    /**
+     * Rounds the significand {@code high:low} (normalized unless the value is zero) with the
+     * biased exponent {@code exponent} to the nearest representable 80 bit float.
+     */
+    private static LLVM80BitFloat round(boolean sign, int exponent, long high, long low) {
+        long significand = high;
+        long rest = low;
+        int resultExponent = exponent;
+        if (resultExponent <= 0) {
+            int shift = 1 - resultExponent;
+            if (shift < Long.SIZE) {
+                rest = (significand << (Long.SIZE - shift)) | (rest >>> shift) | sticky(rest << (Long.SIZE - shift));
+                significand >>>= shift;
+            } else if (shift == Long.SIZE) {
+                rest = significand | sticky(rest);
+                significand = 0;
+            } else if (shift < 2 * Long.SIZE) {
+                rest = (significand >>> (shift - Long.SIZE)) | sticky((significand << (2 * Long.SIZE - shift)) | rest);
+                significand = 0;
+            } else {
+                rest = sticky(significand | rest);
+                significand = 0;
+            }
+            resultExponent = 0;
+        }
+        if (rest < 0 && (rest != Long.MIN_VALUE || (significand & 1) != 0)) {
+            significand++;
+            if (significand == 0) {
+                significand = INTEGER_BIT;
+                resultExponent++;
+            } else if (resultExponent == 0 && significand == INTEGER_BIT) {
+                resultExponent = 1;
+            }
+        }
+        if (resultExponent >= ALL_ONE_EXPONENT) {
+            return infinity(sign);
+        }
+        return new LLVM80BitFloat(sign, resultExponent, significand);
+    }
+
+    public LLVM80BitFloat add(LLVM80BitFloat right) {
+        return add(this, right.sign, right);
+    }
+
+    public LLVM80BitFloat sub(LLVM80BitFloat right) {
+        return add(this, !right.sign, right);
+    }
+
+    private static LLVM80BitFloat add(LLVM80BitFloat left, boolean rightSign, LLVM80BitFloat right) {
+        if (left.isSpecial() || right.isSpecial()) {
+            if (left.isNaN() || right.isNaN()) {
+                return propagateNaN(left, right);
+            } else if (left.isSpecial() && right.isSpecial()) {
+                return left.sign == rightSign ? new LLVM80BitFloat(left) : indefiniteNaN();
+            } else if (left.isSpecial()) {
+                return new LLVM80BitFloat(left);
+            } else {
+                return infinity(rightSign);
+            }
+        }
+        if (right.isZeroValue()) {
+            return left.isZeroValue() ? zero(left.sign && rightSign) : left.normalize(left.sign);
+        } else if (left.isZeroValue()) {
+            return right.normalize(rightSign);
+        }
+
+        boolean resultSign = left.sign;
+        int bigExponent = left.getNormalizedExponent();
+        long bigFraction = left.getNormalizedFraction();
+        int smallExponent = right.getNormalizedExponent();
+        long smallFraction = right.getNormalizedFraction();
+        if (smallExponent > bigExponent || (smallExponent == bigExponent && Long.compareUnsigned(smallFraction, bigFraction) > 0)) {
+            resultSign = rightSign;
+            int tmpExponent = bigExponent;
+            bigExponent = smallExponent;
+            smallExponent = tmpExponent;
+            long tmpFraction = bigFraction;
+            bigFraction = smallFraction;
+            smallFraction = tmpFraction;
+        }
+
+        int shift = bigExponent - smallExponent;
+        long smallRest;
+        if (shift == 0) {
+            smallRest = 0;
+        } else if (shift < Long.SIZE) {
+            smallRest = smallFraction << (Long.SIZE - shift);
+            smallFraction >>>= shift;
+        } else if (shift < 2 * Long.SIZE) {
+            smallRest = (smallFraction >>> (shift - Long.SIZE)) | sticky(shift == Long.SIZE ? 0 : smallFraction << (2 * Long.SIZE - shift));
+            smallFraction = 0;
         } else {
-            rightFraction >>>= shiftAmount;
-            rightExponent = leftExponent;
+            smallRest = 1;
+            smallFraction = 0;
         }
-        boolean newSign;
-        if (getSign() == right.getSign()) {
-            newSign = getSign();
+
+        if (left.sign == rightSign) {
+            long sum = bigFraction + smallFraction;
+            if (Long.compareUnsigned(sum, bigFraction) < 0) {
+                long rest = (sum << (Long.SIZE - 1)) | (smallRest >>> 1) | (smallRest & 1);
+                return round(resultSign, bigExponent + 1, (sum >>> 1) | INTEGER_BIT, rest);
+            }
+            return round(resultSign, bigExponent, sum, smallRest);
         } else {
-            newSign = compareNoSign(right) < 0 ? right.getSign() : getSign();
-        }
-        boolean addition = getSign() == right.getSign();
-        long resultLo;
-        long resultHi;
-        long leftFractionLowerPart = leftFraction & BinaryHelper.getBitMask(Integer.SIZE);
-        long rightFractionLowerPart = rightFraction & BinaryHelper.getBitMask(Integer.SIZE);
-        long leftFractionHigherPart = leftFraction >>> Integer.SIZE;
-        long rightFractionHigherPart = rightFraction >>> Integer.SIZE;
-        if (addition) {
-            resultLo = -leftFractionLowerPart + rightFractionLowerPart;
-            long overFlowLowerPart = resultLo >>> Integer.SIZE;
-            resultHi = leftFractionHigherPart + rightFractionHigherPart + overFlowLowerPart;
-        } else if (getSign()) { // left is negative
-            resultLo = -leftFractionLowerPart + rightFractionLowerPart;
-            long overFlowLowerPart = resultLo >>> Integer.SIZE;
-            resultHi = -leftFractionHigherPart - rightFractionHigherPart - overFlowLowerPart;
+            long low = -smallRest;
+            long high = bigFraction - smallFraction - (smallRest != 0 ? 1 : 0);
+            if (high == 0 && low == 0) {
+                return zero(false);
+            }
+            int normalize;
+            if (high == 0) {
+                normalize = Long.SIZE + Long.numberOfLeadingZeros(low);
+                high = low << (normalize - Long.SIZE);
+                low = 0;
+            } else {
+                normalize = Long.numberOfLeadingZeros(high);
+                if (normalize != 0) {
+                    high = (high << normalize) | (low >>> (Long.SIZE - normalize));
+                    low <<= normalize;
+                }
+            }
+            return round(resultSign, bigExponent - normalize, high, low);
+        }
+    }
+
+    public LLVM80BitFloat mul(LLVM80BitFloat right) {
+        boolean resultSign = sign ^ right.sign;
+        if (isSpecial() || right.isSpecial()) {
+            if (isNaN() || right.isNaN()) {
+                return propagateNaN(this, right);
+            } else if (isZeroValue() || right.isZeroValue()) {
+                return indefiniteNaN();
+            }
+            return infinity(resultSign);
+        } else if (isZeroValue() || right.isZeroValue()) {
+            return zero(resultSign);
+        }
+        long leftFraction = getNormalizedFraction();
+        long rightFraction = right.getNormalizedFraction();
+        long high = multiplyHighUnsigned(leftFraction, rightFraction);
+        long low = leftFraction * rightFraction;
+        int exponent = getNormalizedExponent() + right.getNormalizedExponent() - EXPONENT_BIAS + 1;
+        if (high >= 0) {
+            high = (high << 1) | (low >>> (Long.SIZE - 1));
+            low <<= 1;
+            exponent--;
+        }
+        return round(resultSign, exponent, high, low);
+    }
+
+    private static long multiplyHighUnsigned(long x, long y) {
+        long x0 = x & BinaryHelper.INT_MASK;
+        long x1 = x >>> Integer.SIZE;
+        long y0 = y & BinaryHelper.INT_MASK;
+        long y1 = y >>> Integer.SIZE;
+        long t = x1 * y0 + ((x0 * y0) >>> Integer.SIZE);
+        long w1 = x0 * y1 + (t & BinaryHelper.INT_MASK);
+        return x1 * y1 + (t >>> Integer.SIZE) + (w1 >>> Integer.SIZE);
+    }
+
+    public LLVM80BitFloat div(LLVM80BitFloat right) {
+        boolean resultSign = sign ^ right.sign;
+        if (isSpecial() || right.isSpecial()) {
+            if (isNaN() || right.isNaN()) {
+                return propagateNaN(this, right);
+            } else if (isSpecial() && right.isSpecial()) {
+                return indefiniteNaN();
+            } else if (isSpecial()) {
+                return infinity(resultSign);
+            }
+            return zero(resultSign);
+        } else if (right.isZeroValue()) {
+            return isZeroValue() ? indefiniteNaN() : infinity(resultSign);
+        } else if (isZeroValue()) {
+            return zero(resultSign);
+        }
+        long dividend = getNormalizedFraction();
+        long divisor = right.getNormalizedFraction();
+        int exponent = getNormalizedExponent() - right.getNormalizedExponent() + EXPONENT_BIAS;
+        long remainder;
+        if (Long.compareUnsigned(dividend, divisor) >= 0) {
+            remainder = dividend - divisor;
         } else {
-            resultLo = leftFractionLowerPart - rightFractionLowerPart;
-            long overFlowLowerPart = resultLo >>> Integer.SIZE;
-            resultHi = leftFractionHigherPart - rightFractionHigherPart - overFlowLowerPart;
+            // the quotient is below one: take the first quotient bit from the doubled dividend
+            remainder = (dividend << 1) - divisor;
+            exponent--;
         }
-        int overFlow = (int) (resultHi >>> Integer.SIZE);
-        if (overFlow > 0) {
-            resultHi = resultHi >>> overFlow;
-            long lostBits = resultHi & overFlow;
-            long shiftedLostBits = lostBits << Integer.SIZE - overFlow;
-            resultLo = resultLo >>> overFlow | shiftedLostBits;
+        long quotient = 1;
+        for (int i = 1; i < FRACTION_BIT_WIDTH; i++) {
+            quotient = (quotient << 1) | divisionStep(remainder, divisor);
+            remainder = (remainder << 1) - (divisor & -(quotient & 1));
         }
-        int newExponent = leftExponent + overFlow;
-        long newFraction = resultLo + resultHi << Integer.SIZE;
-        return LLVM80BitFloat.fromRawValues(newSign, newExponent, newFraction);
+        long roundBit = divisionStep(remainder, divisor);
+        remainder = (remainder << 1) - (divisor & -roundBit);
+        return round(resultSign, exponent, quotient, (roundBit << (Long.SIZE - 1)) | sticky(remainder));
     }
 
+    /**
+     * Returns 1 if twice the remainder is not smaller than the divisor. The doubled remainder may
+     * need 65 bits, so an overflow of the shift also counts.
+     */
+    private static long divisionStep(long remainder, long divisor) {
+        return remainder < 0 || Long.compareUnsigned(remainder << 1, divisor) >= 0 ? 1 : 0;
+    }
+
+    /**
+     * Computes the remainder of the truncating division like {@code fmodl}. The result is always
+     * exact.
+     */
     public LLVM80BitFloat rem(LLVM80BitFloat right) {
-        return fromDouble(getDoubleValue() % right.getDoubleValue());
+        if (isSpecial() || right.isSpecial()) {
+            if (isNaN() || right.isNaN()) {
+                return propagateNaN(this, right);
+            } else if (isSpecial()) {
+                return indefiniteNaN();
+            }
+            return normalize(sign);
+        } else if (right.isZeroValue()) {
+            return indefiniteNaN();
+        } else if (isZeroValue()) {
+            return new LLVM80BitFloat(this);
+        }
+        int leftExponent = getNormalizedExponent();
+        int rightExponent = right.getNormalizedExponent();
+        long remainder = getNormalizedFraction();
+        long divisor = right.getNormalizedFraction();
+        if (leftExponent < rightExponent) {
+            return normalize(sign);
+        }
+        if (Long.compareUnsigned(remainder, divisor) >= 0) {
+            remainder -= divisor;
+        }
+        for (int i = leftExponent - rightExponent; i > 0 && remainder != 0; i--) {
+            long step = divisionStep(remainder, divisor);
+            remainder = (remainder << 1) - (divisor & -step);
+        }
+        if (remainder == 0) {
+            return zero(sign);
+        }
+        int normalize = Long.numberOfLeadingZeros(remainder);
+        return round(sign, rightExponent - normalize, remainder << normalize, 0);
     }
 
     public LLVM80BitFloat pow(int right) {
@@ -393,43 +665,22 @@ public final class LLVM80BitFloat implements LLVMArithmetic {
     }
 
     int compareOrdered(LLVM80BitFloat val) {
-        if (isNegativeInfinity()) {
-            if (val.isNegativeInfinity()) {
-                return 0;
-            } else {
-                return -1;
-            }
-        }
-        if (val.isNegativeInfinity()) {
-            if (isNegativeInfinity()) {
-                return 0;
-            } else {
-                return 1;
-            }
-        }
-        if (getSign() == val.getSign()) {
-            int expDifference = getExponent() - val.getExponent();
-            if (expDifference == 0) {
-                long fractionDifference = getFraction() - val.getFraction();
-                if (fractionDifference == 0) {
-                    return 0;
-                } else if (fractionDifference < 0) {
-                    return -1;
-                } else {
-                    return 1;
-                }
-            } else {
-                return expDifference;
-            }
+        if (isZeroValue() && val.isZeroValue()) {
+            return 0;
+        } else if (getSign() != val.getSign()) {
+            return getSign() ? -1 : 1;
+        }
+        int magnitude;
+        if (isSpecial() || val.isSpecial()) {
+            magnitude = Boolean.compare(isSpecial(), val.isSpecial());
+        } else if (isZeroValue() || val.isZeroValue()) {
+            magnitude = Boolean.compare(val.isZeroValue(), isZeroValue());
+        } else if (getNormalizedExponent() != val.getNormalizedExponent()) {
+            magnitude = Integer.compare(getNormalizedExponent(), val.getNormalizedExponent());
         } else {
-            if (isZero() && val.isZero()) {
-                return 0;
-            } else if (getSign()) {
-                return -1;
-            } else {
-                return 1;
-            }
+            magnitude = Long.compareUnsigned(getNormalizedFraction(), val.getNormalizedFraction());
         }
+        return getSign() ? -magnitude : magnitude;
     }
 
     public short getExponent() {
@@ -553,15 +804,14 @@ public final class LLVM80BitFloat implements LLVMArithmetic {
         } else if (isNegativeInfinity()) {
             return FloatHelper.NEGATIVE_INFINITY;
         } else if (isNaN()) {
-            return FloatHelper.NaN;
+            int shiftedSignBit = (getSign() ? 1 : 0) << FloatHelper.FLOAT_SIGN_POS;
+            int payload = (int) (getNaNPayload() >>> (Long.SIZE - FloatHelper.FLOAT_FRACTION_BIT_WIDTH));
+            int quietBit = 1 << (FloatHelper.FLOAT_FRACTION_BIT_WIDTH - 1);
+            return Float.intBitsToFloat(shiftedSignBit | (FloatHelper.FLOAT_EXPONENT_ALL_ONE << FloatHelper.FLOAT_FRACTION_BIT_WIDTH) | quietBit | payload);
         } else {
-            int floatExponent = getUnbiasedExponent() + FLOAT_EXPONENT_BIAS;
-            long longFraction = (getFractionWithoutImplicitZero()) >>> (FRACTION_BIT_WIDTH - FloatHelper.FLOAT_FRACTION_BIT_WIDTH);
-            int floatFraction = (int) longFraction;
             int shiftedSignBit = (getSign() ? 1 : 0) << FloatHelper.FLOAT_SIGN_POS;
-            int shiftedExponent = floatExponent << FloatHelper.FLOAT_FRACTION_BIT_WIDTH;
-            int rawVal = floatFraction | shiftedExponent | shiftedSignBit;
-            return Float.intBitsToFloat(rawVal);
+            int rawVal = (int) roundToBinary((int) FloatHelper.FLOAT_FRACTION_BIT_WIDTH, FLOAT_EXPONENT_BIAS, FloatHelper.FLOAT_EXPONENT_ALL_ONE);
+            return Float.intBitsToFloat(rawVal | shiftedSignBit);
         }
     }
 
@@ -575,15 +825,46 @@ public final class LLVM80BitFloat implements LLVMArithmetic {
         } else if (isNegativeInfinity()) {
             return DoubleHelper.NEGATIVE_INFINITY;
         } else if (isNaN()) {
-            return DoubleHelper.NaN;
+            long shiftedSignBit = (getSign() ? 1L : 0L) << DoubleHelper.DOUBLE_SIGN_POS;
+            long payload = getNaNPayload() >>> (Long.SIZE - DoubleHelper.DOUBLE_FRACTION_BIT_WIDTH);
+            long quietBit = 1L << (DoubleHelper.DOUBLE_FRACTION_BIT_WIDTH - 1);
+            return Double.longBitsToDouble(shiftedSignBit | ((long) DoubleHelper.DOUBLE_EXPONENT_ALL_ONE << DoubleHelper.DOUBLE_FRACTION_BIT_WIDTH) | quietBit | payload);
         } else {
-            int doubleExponent = getUnbiasedExponent() + DoubleHelper.DOUBLE_EXPONENT_BIAS;
-            long doubleFraction = (getFractionWithoutImplicitZero()) >>> (FRACTION_BIT_WIDTH - DoubleHelper.DOUBLE_FRACTION_BIT_WIDTH);
             long shiftedSignBit = (getSign() ? 1L : 0L) << DoubleHelper.DOUBLE_SIGN_POS;
-            long shiftedExponent = (long) doubleExponent << DoubleHelper.DOUBLE_FRACTION_BIT_WIDTH;
-            long rawVal = doubleFraction | shiftedExponent | shiftedSignBit;
-            return Double.longBitsToDouble(rawVal);
+            long rawVal = roundToBinary((int) DoubleHelper.DOUBLE_FRACTION_BIT_WIDTH, DoubleHelper.DOUBLE_EXPONENT_BIAS, DoubleHelper.DOUBLE_EXPONENT_ALL_ONE);
+            return Double.longBitsToDouble(rawVal | shiftedSignBit);
+        }
+    }
+
+    /**
+     * Rounds the magnitude of this (finite, non-zero) value to nearest even in an IEEE binary
+     * format and returns the exponent and fraction bits of the result.
+     */
+    private long roundToBinary(int fractionWidth, int exponentBias, int allOneExponent) {
+        if (fraction == 0) {
+            return 0;
+        }
+        int exponent = getNormalizedExponent() - EXPONENT_BIAS + exponentBias;
+        if (exponent >= allOneExponent) {
+            return (long) allOneExponent << fractionWidth;
         }
+        long significand = getNormalizedFraction();
+        int shift = FRACTION_BIT_WIDTH - EXPLICIT_LEADING_ONE_BITS - fractionWidth;
+        if (exponent <= 0) {
+            shift += 1 - exponent;
+            exponent = 1;
+        }
+        if (shift > FRACTION_BIT_WIDTH) {
+            return 0;
+        }
+        long rounded = shift == FRACTION_BIT_WIDTH ? 0 : significand >>> shift;
+        long roundBit = bit((long) shift - 1);
+        long restMask = roundBit - 1;
+        if ((significand & roundBit) != 0 && ((significand & restMask) != 0 || (rounded & 1) != 0)) {
+            rounded++;
+        }
+        // the explicit leading one (or the carry of a denormal) increments the exponent field
+        return ((long) (exponent - 1) << fractionWidth) + rounded;
     }
 
     public LLVM80BitFloat negate() {
@@ -628,57 +909,9 @@ public final class LLVM80BitFloat implements LLVMArithmetic {
         return fromBytesBigEndian(DatatypeConverter.parseHexBinary(stringValue));
     }
 
-    protected abstract static class LLVM80BitFloatNativeCallNode extends LLVMNode {
-        private final String name;
+    abstract static class LLVM80BitFloatOpNode extends LLVMArithmeticOpNode {
 
-        @Child private Node nativeExecute = Message.createExecute(2).createNode();
-
-        public LLVM80BitFloatNativeCallNode(String name) {
-            this.name = name;
-        }
-
-        protected TruffleObject createFunction() {
-            LLVMContext context = getContextReference().get();
-            NFIContextExtension nfiContextExtension = context.getContextExtension(NFIContextExtension.class);
-            return nfiContextExtension.getNativeFunction(context, "@__sulong_fp80_" + name, "(UINT64,UINT64,UINT64):VOID");
-        }
-
-        public abstract LLVM80BitFloat execute(LLVM80BitFloat x, LLVM80BitFloat y);
-
-        @Specialization
-        protected LLVM80BitFloat doCall(LLVM80BitFloat x, LLVM80BitFloat y,
-                        @Cached("createFunction()") TruffleObject function,
-                        @Cached("getLLVMMemory()") LLVMMemory memory) {
-            LLVMAddress mem = memory.allocateMemory(3 * 16);
-            LLVMAddress ptrX = mem;
-            LLVMAddress ptrY = ptrX.increment(16);
-            LLVMAddress ptrZ = ptrY.increment(16);
-            memory.put80BitFloat(ptrX, x);
-            memory.put80BitFloat(ptrY, y);
-            try {
-                ForeignAccess.sendExecute(nativeExecute, function, ptrZ.getVal(), ptrX.getVal(), ptrY.getVal());
-                LLVM80BitFloat z = memory.get80BitFloat(ptrZ);
-                return z;
-            } catch (InteropException e) {
-                CompilerDirectives.transferToInterpreter();
-                throw new AssertionError(e);
-            } finally {
-                memory.free(mem);
-            }
-        }
-
-        @Override
-        public String toString() {
-            return "fp80 " + name;
-        }
-    }
-
-    static class LLVM80BitFloatOpNode extends LLVMArithmeticOpNode {
-        @Child private LLVM80BitFloatNativeCallNode node;
-
-        LLVM80BitFloatOpNode(String op) {
-            node = LLVM80BitFloatNativeCallNodeGen.create(op);
-        }
+        abstract LLVM80BitFloat execute(LLVM80BitFloat x, LLVM80BitFloat y);
 
         @Override
         public boolean canCompute(Object x, Object y) {
@@ -689,33 +922,58 @@ public final class LLVM80BitFloat implements LLVMArithmetic {
         public LLVM80BitFloat execute(VirtualFrame frame, Object x, Object y) {
             LLVM80BitFloat a = (LLVM80BitFloat) x;
             LLVM80BitFloat b = (LLVM80BitFloat) y;
-            return node.execute(a, b);
+            return execute(a, b);
         }
     }
 
     @Override
     public LLVMArithmeticOpNode createAddNode() {
-        return new LLVM80BitFloatOpNode("add");
+        return new LLVM80BitFloatOpNode() {
+            @Override
+            LLVM80BitFloat execute(LLVM80BitFloat x, LLVM80BitFloat y) {
+                return x.add(y);
+            }
+        };
     }
 
     @Override
     public LLVMArithmeticOpNode createSubNode() {
-        return new LLVM80BitFloatOpNode("sub");
+        return new LLVM80BitFloatOpNode() {
+            @Override
+            LLVM80BitFloat execute(LLVM80BitFloat x, LLVM80BitFloat y) {
+                return x.sub(y);
+            }
+        };
     }
 
     @Override
     public LLVMArithmeticOpNode createMulNode() {
-        return new LLVM80BitFloatOpNode("mul");
+        return new LLVM80BitFloatOpNode() {
+            @Override
+            LLVM80BitFloat execute(LLVM80BitFloat x, LLVM80BitFloat y) {
+                return x.mul(y);
+            }
+        };
     }
 
     @Override
     public LLVMArithmeticOpNode createDivNode() {
-        return new LLVM80BitFloatOpNode("div");
+        return new LLVM80BitFloatOpNode() {
+            @Override
+            LLVM80BitFloat execute(LLVM80BitFloat x, LLVM80BitFloat y) {
+                return x.div(y);
+            }
+        };
     }
 
     @Override
     public LLVMArithmeticOpNode createRemNode() {
-        return new LLVM80BitFloatOpNode("mod");
+        return new LLVM80BitFloatOpNode() {
+            @Override
+            LLVM80BitFloat execute(LLVM80BitFloat x, LLVM80BitFloat y) {
+                return x.rem(y);
+            }
+        };
     }
 
     @Override
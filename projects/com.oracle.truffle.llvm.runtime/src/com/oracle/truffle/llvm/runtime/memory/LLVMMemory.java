@@ -30,7 +30,6 @@
 package com.oracle.truffle.llvm.runtime.memory;
 
 import java.lang.reflect.Field;
-import java.util.function.BinaryOperator;
 import java.util.function.IntBinaryOperator;
 import java.util.function.LongBinaryOperator;
 
@@ -170,6 +169,10 @@ public final class LLVMMemory {
             CompilerDirectives.transferToInterpreter();
             throw new AssertionError();
         }
+        if (bitWidth == LLVMIVarBit.I128_SIZE) {
+            long ptr = addr.getVal();
+            return LLVMIVarBit.fromI128(getI64(ptr + I64_SIZE), getI64(ptr));
+        }
         int bytes = bitWidth / Byte.SIZE;
         byte[] loadedBytes = new byte[bytes];
         long currentAddressPtr = addr.getVal();
@@ -226,6 +229,46 @@ public final class LLVMMemory {
         return LLVMAddress.fromLong(unsafe.getAddress(ptr));
     }
 
+    /*
+     * The volatile getters are used for atomic loads. Unlike plain reads, the compiler must not
+     * hoist them out of loops or merge them with other reads of the same address.
+     */
+
+    public byte getI8Volatile(long ptr) {
+        assert ptr != 0;
+        return unsafe.getByteVolatile(null, ptr);
+    }
+
+    public short getI16Volatile(long ptr) {
+        assert ptr != 0;
+        return unsafe.getShortVolatile(null, ptr);
+    }
+
+    public int getI32Volatile(long ptr) {
+        assert ptr != 0;
+        return unsafe.getIntVolatile(null, ptr);
+    }
+
+    public long getI64Volatile(long ptr) {
+        assert ptr != 0;
+        return unsafe.getLongVolatile(null, ptr);
+    }
+
+    public float getFloatVolatile(long ptr) {
+        assert ptr != 0;
+        return unsafe.getFloatVolatile(null, ptr);
+    }
+
+    public double getDoubleVolatile(long ptr) {
+        assert ptr != 0;
+        return unsafe.getDoubleVolatile(null, ptr);
+    }
+
+    public LLVMAddress getAddressVolatile(long ptr) {
+        assert ptr != 0;
+        return LLVMAddress.fromLong(unsafe.getLongVolatile(null, ptr));
+    }
+
     public void putI1(LLVMAddress addr, boolean value) {
         putI1(addr.getVal(), value);
     }
@@ -272,6 +315,12 @@ public final class LLVMMemory {
     }
 
     public void putIVarBit(LLVMAddress addr, LLVMIVarBit value) {
+        if (value.getBitSize() == LLVMIVarBit.I128_SIZE) {
+            long ptr = addr.getVal();
+            putI64(ptr, value.getLowerWord());
+            putI64(ptr + I64_SIZE, value.getUpperWord());
+            return;
+        }
         byte[] bytes = value.getBytes();
         long currentptr = addr.getVal();
         for (int i = bytes.length - 1; i >= 0; i--) {
@@ -280,16 +329,24 @@ public final class LLVMMemory {
         }
     }
 
-    private void putByteArray(LLVMAddress addr, byte[] bytes) {
+    public void putByteArray(LLVMAddress addr, byte[] bytes) {
         putByteArray(addr.getVal(), bytes);
     }
 
-    private void putByteArray(long ptr, byte[] bytes) {
-        long currentptr = ptr;
-        for (int i = 0; i < bytes.length; i++) {
-            putI8(currentptr, bytes[i]);
-            currentptr += Byte.BYTES;
-        }
+    public void putByteArray(long ptr, byte[] bytes) {
+        putByteArray(ptr, bytes, 0, bytes.length);
+    }
+
+    public void putByteArray(long ptr, byte[] bytes, int offset, int length) {
+        assert ptr != 0;
+        assert offset >= 0 && length >= 0 && offset + length <= bytes.length;
+        unsafe.copyMemory(bytes, Unsafe.ARRAY_BYTE_BASE_OFFSET + offset, null, ptr, length);
+    }
+
+    public void getByteArray(long ptr, byte[] bytes, int offset, int length) {
+        assert ptr != 0;
+        assert offset >= 0 && length >= 0 && offset + length <= bytes.length;
+        unsafe.copyMemory(null, ptr, bytes, Unsafe.ARRAY_BYTE_BASE_OFFSET + offset, length);
     }
 
     public void putFloat(LLVMAddress addr, float value) {
@@ -345,22 +402,16 @@ public final class LLVMMemory {
     private static final int ADDRESS_LENGTH = 8;
 
     public LLVMI32Vector getI32Vector(LLVMAddress address, int size) {
+        assert address.getVal() != 0;
         int[] vector = new int[size];
-        long currentPtr = address.getVal();
-        for (int i = 0; i < size; i++) {
-            vector[i] = getI32(currentPtr);
-            currentPtr += I32_SIZE;
-        }
+        unsafe.copyMemory(null, address.getVal(), vector, Unsafe.ARRAY_INT_BASE_OFFSET, (long) size * I32_SIZE);
         return LLVMI32Vector.create(vector);
     }
 
     public LLVMI8Vector getI8Vector(LLVMAddress address, int size) {
+        assert address.getVal() != 0;
         byte[] vector = new byte[size];
-        long currentPtr = address.getVal();
-        for (int i = 0; i < size; i++) {
-            vector[i] = getI8(currentPtr);
-            currentPtr += I8_SIZE;
-        }
+        unsafe.copyMemory(null, address.getVal(), vector, Unsafe.ARRAY_BYTE_BASE_OFFSET, (long) size * I8_SIZE);
         return LLVMI8Vector.create(vector);
     }
 
@@ -375,79 +426,55 @@ public final class LLVMMemory {
     }
 
     public LLVMI16Vector getI16Vector(LLVMAddress address, int size) {
+        assert address.getVal() != 0;
         short[] vector = new short[size];
-        long currentPtr = address.getVal();
-        for (int i = 0; i < size; i++) {
-            vector[i] = getI16(currentPtr);
-            currentPtr += I16_SIZE;
-        }
+        unsafe.copyMemory(null, address.getVal(), vector, Unsafe.ARRAY_SHORT_BASE_OFFSET, (long) size * I16_SIZE);
         return LLVMI16Vector.create(vector);
     }
 
     public LLVMI64Vector getI64Vector(LLVMAddress address, int size) {
+        assert address.getVal() != 0;
         long[] vector = new long[size];
-        long currentPtr = address.getVal();
-        for (int i = 0; i < size; i++) {
-            vector[i] = getI64(currentPtr);
-            currentPtr += I64_SIZE;
-        }
+        unsafe.copyMemory(null, address.getVal(), vector, Unsafe.ARRAY_LONG_BASE_OFFSET, (long) size * I64_SIZE);
         return LLVMI64Vector.create(vector);
     }
 
     public LLVMFloatVector getFloatVector(LLVMAddress address, int size) {
+        assert address.getVal() != 0;
         float[] vector = new float[size];
-        long currentPtr = address.getVal();
-        for (int i = 0; i < size; i++) {
-            vector[i] = getFloat(currentPtr);
-            currentPtr += FLOAT_SIZE;
-        }
+        unsafe.copyMemory(null, address.getVal(), vector, Unsafe.ARRAY_FLOAT_BASE_OFFSET, (long) size * FLOAT_SIZE);
         return LLVMFloatVector.create(vector);
     }
 
     public LLVMDoubleVector getDoubleVector(LLVMAddress address, int size) {
+        assert address.getVal() != 0;
         double[] vector = new double[size];
-        long currentPtr = address.getVal();
-        for (int i = 0; i < size; i++) {
-            vector[i] = getDouble(currentPtr);
-            currentPtr += DOUBLE_SIZE;
-        }
+        unsafe.copyMemory(null, address.getVal(), vector, Unsafe.ARRAY_DOUBLE_BASE_OFFSET, (long) size * DOUBLE_SIZE);
         return LLVMDoubleVector.create(vector);
     }
 
     public LLVMAddressVector getAddressVector(LLVMAddress address, int size) {
-        LLVMAddress[] vector = new LLVMAddress[size];
-        long currentPtr = address.getVal();
-        for (int i = 0; i < size; i++) {
-            vector[i] = getAddress(currentPtr);
-            currentPtr += ADDRESS_LENGTH;
-        }
+        assert address.getVal() != 0;
+        long[] vector = new long[size];
+        unsafe.copyMemory(null, address.getVal(), vector, Unsafe.ARRAY_LONG_BASE_OFFSET, (long) size * ADDRESS_LENGTH);
         return LLVMAddressVector.create(vector);
     }
 
     // watch out for casts such as I32* to I32Vector* when changing the way how vectors are
     // implemented
     public void putVector(LLVMAddress address, LLVMDoubleVector vector) {
-        long currentPtr = address.getVal();
-        for (int i = 0; i < vector.getLength(); i++) {
-            putDouble(currentPtr, vector.getValue(i));
-            currentPtr += DOUBLE_SIZE;
-        }
+        assert address.getVal() != 0;
+        unsafe.copyMemory(vector.getValues(), Unsafe.ARRAY_DOUBLE_BASE_OFFSET, null, address.getVal(), (long) vector.getLength() * DOUBLE_SIZE);
     }
 
     public void putVector(LLVMAddress address, LLVMFloatVector vector) {
-        long currentPtr = address.getVal();
-        for (int i = 0; i < vector.getLength(); i++) {
-            putFloat(currentPtr, vector.getValue(i));
-            currentPtr += FLOAT_SIZE;
-        }
+        assert address.getVal() != 0;
+        unsafe.copyMemory(vector.getValues(), Unsafe.ARRAY_FLOAT_BASE_OFFSET, null, address.getVal(), (long) vector.getLength() * FLOAT_SIZE);
     }
 
     public void putVector(LLVMAddress address, LLVMI16Vector vector) {
-        long currentPtr = address.getVal();
-        for (int i = 0; i < vector.getLength(); i++) {
-            putI16(currentPtr, vector.getValue(i));
-            currentPtr += I16_SIZE;
-        }
+        assert address.getVal() != 0;
+        unsafe.copyMemory(vector.getValues(), Unsafe.ARRAY_SHORT_BASE_OFFSET, null, address.getVal(), (long) vector.getLength() * I16_SIZE);
     }
 
     public void putVector(LLVMAddress address, LLVMI1Vector vector) {
@@ -459,35 +486,23 @@ public final class LLVMMemory {
     }
 
     public void putVector(LLVMAddress address, LLVMI32Vector vector) {
-        long currentPtr = address.getVal();
-        for (int i = 0; i < vector.getLength(); i++) {
-            putI32(currentPtr, vector.getValue(i));
-            currentPtr += I32_SIZE;
-        }
+        assert address.getVal() != 0;
+        unsafe.copyMemory(vector.getValues(), Unsafe.ARRAY_INT_BASE_OFFSET, null, address.getVal(), (long) vector.getLength() * I32_SIZE);
     }
 
     public void putVector(LLVMAddress address, LLVMI64Vector vector) {
-        long currentPtr = address.getVal();
-        for (int i = 0; i < vector.getLength(); i++) {
-            putI64(currentPtr, vector.getValue(i));
-            currentPtr += I64_SIZE;
-        }
+        assert address.getVal() != 0;
+        unsafe.copyMemory(vector.getValues(), Unsafe.ARRAY_LONG_BASE_OFFSET, null, address.getVal(), (long) vector.getLength() * I64_SIZE);
     }
 
     public void putVector(LLVMAddress address, LLVMI8Vector vector) {
-        long currentPtr = address.getVal();
-        for (int i = 0; i < vector.getLength(); i++) {
-            putI8(currentPtr, vector.getValue(i));
-            currentPtr += I8_SIZE;
-        }
+        assert address.getVal() != 0;
+        unsafe.copyMemory(vector.getValues(), Unsafe.ARRAY_BYTE_BASE_OFFSET, null, address.getVal(), (long) vector.getLength() * I8_SIZE);
     }
 
     public void putVector(LLVMAddress address, LLVMAddressVector vector) {
-        long currentPtr = address.getVal();
-        for (int i = 0; i < vector.getLength(); i++) {
-            putAddress(currentPtr, vector.getValue(i));
-            currentPtr += ADDRESS_LENGTH;
-        }
+        assert address.getVal() != 0;
+        unsafe.copyMemory(vector.getValues(), Unsafe.ARRAY_LONG_BASE_OFFSET, null, address.getVal(), (long) vector.getLength() * ADDRESS_LENGTH);
     }
 
     public LLVMAddress allocateCString(String string) {
@@ -742,36 +757,63 @@ public final class LLVMMemory {
         return old;
     }
 
-    public short getAndOpI16(LLVMAddress address, short value, BinaryOperator<Short> f) {
+    /**
+     * Primitive specializations of {@link java.util.function.BinaryOperator} for the types that
+     * have none in {@code java.util.function}, so that the read-modify-write operations do not box.
+     */
+    @FunctionalInterface
+    public interface ShortBinaryOperator {
+        short applyAsShort(short left, short right);
+    }
+
+    @FunctionalInterface
+    public interface ByteBinaryOperator {
+        byte applyAsByte(byte left, byte right);
+    }
+
+    @FunctionalInterface
+    public interface BooleanBinaryOperator {
+        boolean applyAsBoolean(boolean left, boolean right);
+    }
+
+    public short getAndOpI16(LLVMAddress address, short value, ShortBinaryOperator f) {
         short old;
         short nevv;
         do {
             old = getI16(address);
-            nevv = f.apply(old, value);
+            nevv = f.applyAsShort(old, value);
         } while (!compareAndSwapI16(address, old, nevv).swap);
         return old;
     }
 
-    public byte getAndOpI8(LLVMAddress address, byte value, BinaryOperator<Byte> f) {
+    public byte getAndOpI8(LLVMAddress address, byte value, ByteBinaryOperator f) {
         byte old;
         byte nevv;
         do {
             old = getI8(address);
-            nevv = f.apply(old, value);
+            nevv = f.applyAsByte(old, value);
         } while (!compareAndSwapI8(address, old, nevv).swap);
         return old;
     }
 
-    public boolean getAndOpI1(LLVMAddress address, boolean value, BinaryOperator<Boolean> f) {
+    public boolean getAndOpI1(LLVMAddress address, boolean value, BooleanBinaryOperator f) {
         byte old;
         boolean nevv;
         do {
             old = getI8(address);
-            nevv = f.apply(old != 0, value);
+            nevv = f.applyAsBoolean(old != 0, value);
         } while (!compareAndSwapI8(address, old, (byte) (nevv ? 1 : 0)).swap);
         return old != 0;
     }
 
+    public void loadFence() {
+        unsafe.loadFence();
+    }
+
+    public void storeFence() {
+        unsafe.storeFence();
+    }
+
     public void fullFence() {
         unsafe.fullFence();
     }
@@ -0,0 +1,392 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.runtime.memory;
+
+import java.io.PrintStream;
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.oracle.truffle.api.CompilerAsserts;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+import sun.misc.Unsafe;
+
+/**
+ * Segregated size-class allocator that backs the guest malloc family.
+ *
+ * Small blocks are carved out of large regions and recycled through per-thread free lists, so
+ * that allocation-heavy programs do not pay a native malloc round trip for every object. Every
+ * block is preceded by a 16 byte header (which keeps the payload 16 byte aligned) that records its
+ * size class. Requests that are larger than the biggest size class are served directly by
+ * {@link Unsafe} without a header.
+ *
+ * {@link #free} and {@link #reallocate} only treat a pointer as a pooled block if it lies within
+ * one of the regions of this allocator. Everything else (large blocks, memory returned by native
+ * code) goes to the native free/realloc, and memory outside the regions is never read.
+ *
+ * Native code must not free or reallocate pooled blocks, because the native allocator does not
+ * know them. This is why the allocator is disabled by default.
+ */
+public final class LLVMPooledAllocator {
+
+    private static final Unsafe UNSAFE = getUnsafe();
+
+    private static Unsafe getUnsafe() {
+        CompilerAsserts.neverPartOfCompilation();
+        try {
+            Field theUnsafe = Unsafe.class.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            return (Unsafe) theUnsafe.get(null);
+        } catch (Exception e) {
+            throw new AssertionError();
+        }
+    }
+
+    private static final int[] SIZE_CLASSES = {16, 32, 48, 64, 80, 96, 112, 128, 160, 192, 224, 256, 320, 384, 448, 512, 640, 768, 896, 1024, 1280, 1536, 1792, 2048};
+    private static final int MAX_POOLED_SIZE = SIZE_CLASSES[SIZE_CLASSES.length - 1];
+    private static final int SIZE_CLASS_GRANULARITY_SHIFT = 4;
+    private static final byte[] SIZE_TO_CLASS = createSizeToClassTable();
+
+    private static final long HEADER_SIZE = 16;
+    private static final long MAGIC = 0x5355_4C4F_4E47_0000L;
+    private static final long MAGIC_MASK = 0xFFFF_FFFF_FFFF_0000L;
+
+    private static final long REGION_SIZE = 4 * 1024 * 1024;
+    private static final int REFILL_BATCH = 32;
+    private static final int THREAD_CACHE_LIMIT = 256;
+
+    private static byte[] createSizeToClassTable() {
+        byte[] table = new byte[(MAX_POOLED_SIZE >> SIZE_CLASS_GRANULARITY_SHIFT) + 1];
+        int sizeClass = 0;
+        for (int i = 0; i < table.length; i++) {
+            while (SIZE_CLASSES[sizeClass] < (i << SIZE_CLASS_GRANULARITY_SHIFT)) {
+                sizeClass++;
+            }
+            table[i] = (byte) sizeClass;
+        }
+        return table;
+    }
+
+    /**
+     * Free list of one size class that is shared between all threads. Blocks are linked through
+     * the first word of their payload.
+     */
+    private static final class CentralFreeList {
+        private long head;
+        private int count;
+    }
+
+    /**
+     * Free lists and allocation counters of a single thread. Only the owning thread accesses the
+     * lists, except when the thread is disposed.
+     */
+    private static final class ThreadCache {
+        private final long[] heads = new long[SIZE_CLASSES.length];
+        private final int[] counts = new int[SIZE_CLASSES.length];
+
+        private long allocations;
+        private long frees;
+        private long largeAllocations;
+        private long refills;
+
+        // set once the blocks were handed back, a thread that allocates again gets a new cache
+        private boolean released;
+    }
+
+    private final boolean pooled;
+    private final CentralFreeList[] central;
+    private final Map<Thread, ThreadCache> threadMap;
+    private final ThreadLocal<ThreadCache> cache;
+
+    // counters of the threads that were already disposed
+    private long releasedAllocations;
+    private long releasedFrees;
+    private long releasedLargeAllocations;
+    private long releasedRefills;
+    private int releasedThreads;
+
+    // start addresses of all regions in ascending order, replaced whenever a region is added
+    private volatile long[] regions;
+
+    private long regionPointer;
+    private long regionEnd;
+
+    public LLVMPooledAllocator(boolean pooled) {
+        this.pooled = pooled;
+        this.central = new CentralFreeList[SIZE_CLASSES.length];
+        for (int i = 0; i < central.length; i++) {
+            central[i] = new CentralFreeList();
+        }
+        this.regions = new long[0];
+        this.threadMap = new HashMap<>();
+        this.cache = new ThreadLocal<>();
+    }
+
+    public boolean isPooled() {
+        return pooled;
+    }
+
+    @TruffleBoundary
+    public long allocate(long size) {
+        assert size >= 0;
+        if (!pooled) {
+            return UNSAFE.allocateMemory(size);
+        }
+        ThreadCache c = getThreadCache();
+        c.allocations++;
+        if (size > MAX_POOLED_SIZE) {
+            c.largeAllocations++;
+            return UNSAFE.allocateMemory(size);
+        }
+        int sizeClass = SIZE_TO_CLASS[(int) ((size + (1 << SIZE_CLASS_GRANULARITY_SHIFT) - 1) >> SIZE_CLASS_GRANULARITY_SHIFT)];
+        long block = c.heads[sizeClass];
+        if (block == 0) {
+            c.refills++;
+            block = refill(c, sizeClass);
+        }
+        c.heads[sizeClass] = UNSAFE.getLong(block);
+        c.counts[sizeClass]--;
+        return block;
+    }
+
+    @TruffleBoundary
+    public void free(long address) {
+        if (address == 0) {
+            return;
+        }
+        if (!pooled || !isPooledBlock(address)) {
+            UNSAFE.freeMemory(address);
+            return;
+        }
+        ThreadCache c = getThreadCache();
+        c.frees++;
+        int sizeClass = getSizeClass(address);
+        UNSAFE.putLong(address, c.heads[sizeClass]);
+        c.heads[sizeClass] = address;
+        if (++c.counts[sizeClass] > THREAD_CACHE_LIMIT) {
+            release(c, sizeClass, THREAD_CACHE_LIMIT / 2);
+        }
+    }
+
+    @TruffleBoundary
+    public long reallocate(long address, long size) {
+        assert size >= 0;
+        if (!pooled || (address != 0 && !isPooledBlock(address))) {
+            // a null pointer is a valid argument
+            return UNSAFE.reallocateMemory(address, size);
+        }
+        if (address == 0) {
+            return allocate(size);
+        }
+        int sizeClass = getSizeClass(address);
+        if (size <= SIZE_CLASSES[sizeClass]) {
+            return address;
+        }
+        long newAddress = allocate(size);
+        UNSAFE.copyMemory(address, newAddress, SIZE_CLASSES[sizeClass]);
+        free(address);
+        return newAddress;
+    }
+
+    /**
+     * Checks whether the address lies within one of the regions. The memory at the address is not
+     * accessed, so this is safe for arbitrary pointers.
+     */
+    private boolean isPooledBlock(long address) {
+        long[] starts = regions;
+        int index = Arrays.binarySearch(starts, address);
+        if (index < 0) {
+            // index of the last region that starts below the address
+            index = -index - 2;
+        }
+        return index >= 0 && address - starts[index] < REGION_SIZE;
+    }
+
+    private static int getSizeClass(long address) {
+        long header = UNSAFE.getLong(address - HEADER_SIZE);
+        assert (header & MAGIC_MASK) == MAGIC : "corrupted block header";
+        return (int) (header & ~MAGIC_MASK);
+    }
+
+    private ThreadCache getThreadCache() {
+        ThreadCache c = cache.get();
+        if (c == null || c.released) {
+            c = createThreadCache();
+        }
+        return c;
+    }
+
+    private synchronized ThreadCache createThreadCache() {
+        ThreadCache c = new ThreadCache();
+        cache.set(c);
+        threadMap.put(Thread.currentThread(), c);
+        return c;
+    }
+
+    /**
+     * Moves a batch of blocks into the thread cache, either from the central free list or by
+     * carving them out of the current region. Returns the head of the thread-local list.
+     */
+    private long refill(ThreadCache c, int sizeClass) {
+        CentralFreeList list = central[sizeClass];
+        synchronized (list) {
+            if (list.head != 0) {
+                int n = Math.min(list.count, REFILL_BATCH);
+                long head = list.head;
+                long last = head;
+                for (int i = 1; i < n; i++) {
+                    last = UNSAFE.getLong(last);
+                }
+                list.head = UNSAFE.getLong(last);
+                list.count -= n;
+                UNSAFE.putLong(last, 0);
+                c.heads[sizeClass] = head;
+                c.counts[sizeClass] = n;
+                return head;
+            }
+        }
+        long blockSize = SIZE_CLASSES[sizeClass] + HEADER_SIZE;
+        long start = carve(blockSize * REFILL_BATCH);
+        long head = 0;
+        for (int i = REFILL_BATCH - 1; i >= 0; i--) {
+            long block = start + i * blockSize + HEADER_SIZE;
+            UNSAFE.putLong(block - HEADER_SIZE, MAGIC | sizeClass);
+            UNSAFE.putLong(block, head);
+            head = block;
+        }
+        c.heads[sizeClass] = head;
+        c.counts[sizeClass] = REFILL_BATCH;
+        return head;
+    }
+
+    private synchronized long carve(long size) {
+        assert size <= REGION_SIZE;
+        if (regionEnd - regionPointer < size) {
+            // the remainder of the previous region is abandoned
+            regionPointer = UNSAFE.allocateMemory(REGION_SIZE);
+            regionEnd = regionPointer + REGION_SIZE;
+            long[] newRegions = Arrays.copyOf(regions, regions.length + 1);
+            newRegions[regions.length] = regionPointer;
+            Arrays.sort(newRegions);
+            regions = newRegions;
+        }
+        long start = regionPointer;
+        regionPointer += size;
+        return start;
+    }
+
+    /**
+     * Returns {@code n} blocks of the given size class from the thread cache to the central free
+     * list.
+     */
+    private void release(ThreadCache c, int sizeClass, int n) {
+        assert n > 0 && n <= c.counts[sizeClass];
+        long first = c.heads[sizeClass];
+        long last = first;
+        for (int i = 1; i < n; i++) {
+            last = UNSAFE.getLong(last);
+        }
+        c.heads[sizeClass] = UNSAFE.getLong(last);
+        c.counts[sizeClass] -= n;
+        CentralFreeList list = central[sizeClass];
+        synchronized (list) {
+            UNSAFE.putLong(last, list.head);
+            list.head = first;
+            list.count += n;
+        }
+    }
+
+    /**
+     * Hands the cached blocks of a terminated thread back to the central free lists and forgets
+     * the thread.
+     */
+    @TruffleBoundary
+    public synchronized void releaseThreadCache(Thread thread) {
+        ThreadCache c = threadMap.remove(thread);
+        if (c != null) {
+            for (int i = 0; i < SIZE_CLASSES.length; i++) {
+                if (c.counts[i] > 0) {
+                    release(c, i, c.counts[i]);
+                }
+            }
+            c.released = true;
+            releasedAllocations += c.allocations;
+            releasedFrees += c.frees;
+            releasedLargeAllocations += c.largeAllocations;
+            releasedRefills += c.refills;
+            releasedThreads++;
+        }
+    }
+
+    /**
+     * Frees all regions. Blocks that are still in use by the guest become invalid.
+     */
+    @TruffleBoundary
+    public synchronized void dispose() {
+        long[] oldRegions = regions;
+        regions = new long[0];
+        for (long region : oldRegions) {
+            UNSAFE.freeMemory(region);
+        }
+        regionPointer = 0;
+        regionEnd = 0;
+        for (CentralFreeList list : central) {
+            list.head = 0;
+            list.count = 0;
+        }
+        for (ThreadCache c : threadMap.values()) {
+            for (int i = 0; i < SIZE_CLASSES.length; i++) {
+                c.heads[i] = 0;
+                c.counts[i] = 0;
+            }
+        }
+    }
+
+    @TruffleBoundary
+    public synchronized void printStatistics(PrintStream out) {
+        long allocations = releasedAllocations;
+        long frees = releasedFrees;
+        long largeAllocations = releasedLargeAllocations;
+        long refills = releasedRefills;
+        for (ThreadCache c : threadMap.values()) {
+            allocations += c.allocations;
+            frees += c.frees;
+            largeAllocations += c.largeAllocations;
+            refills += c.refills;
+        }
+        out.println(String.format("Allocations: %d (large: %d)", allocations, largeAllocations));
+        out.println(String.format("Frees: %d", frees));
+        out.println(String.format("Thread cache refills: %d", refills));
+        out.println(String.format("Threads: %d", threadMap.size() + releasedThreads));
+        out.println(String.format("Regions: %d (%d KB)", regions.length, regions.length * REGION_SIZE / 1024));
+    }
+}
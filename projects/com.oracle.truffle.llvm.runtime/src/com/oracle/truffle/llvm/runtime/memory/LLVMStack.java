@@ -29,6 +29,7 @@
  */
 package com.oracle.truffle.llvm.runtime.memory;
 
+import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.frame.FrameSlot;
 import com.oracle.truffle.api.frame.FrameUtil;
@@ -36,26 +37,39 @@ import com.oracle.truffle.api.frame.VirtualFrame;
 
 /**
  * Implements a stack that grows from the top to the bottom.
+ *
+ * The stack is reserved with {@link LLVMStackMapping}, so that a thread only occupies memory for the
+ * part of its stack that it actually uses: pages are committed in chunks as the stack grows, and
+ * the lowest page is never committed, so that stray accesses below the stack fault. If the range
+ * cannot be reserved, the whole stack is allocated on the heap.
  */
 public final class LLVMStack {
 
     public static final String FRAME_ID = "<stackpointer>";
 
+    private static final long COMMIT_SIZE = 256 * LLVMStackMapping.PAGE_SIZE;
+
     private final int stackSize;
+    private final LLVMStackMapping mapping;
 
     private long lowerBounds;
     private long upperBounds;
+    private long committedBounds;
     private boolean isAllocated;
+    private boolean isMapped;
 
     private long stackPointer;
 
-    public LLVMStack(int stackSize) {
+    public LLVMStack(int stackSize, LLVMStackMapping mapping) {
         this.stackSize = stackSize;
+        this.mapping = mapping;
 
         lowerBounds = 0;
         upperBounds = 0;
+        committedBounds = 0;
         stackPointer = 0;
         isAllocated = false;
+        isMapped = false;
     }
 
     public final class StackPointer implements AutoCloseable {
@@ -88,6 +102,18 @@ public final class LLVMStack {
         public StackPointer newFrame() {
             return new StackPointer(stackPointer);
         }
+
+        private long getCommittedBounds() {
+            return committedBounds;
+        }
+
+        private boolean commit(long address) {
+            return LLVMStack.this.commit(address);
+        }
+
+        private int getStackSize() {
+            return stackSize;
+        }
     }
 
     @TruffleBoundary
@@ -95,13 +121,56 @@ public final class LLVMStack {
         if (isAllocated) {
             return;
         }
-        final long stackAllocation = memory.allocateMemory(stackSize * 1024).getVal();
-        lowerBounds = stackAllocation;
-        upperBounds = stackAllocation + stackSize * 1024;
+        final long size = getReservedSize();
+        final long reserved = mapping.reserve(size);
+        if (reserved != 0) {
+            // the guard page at the bottom is never committed
+            lowerBounds = reserved + LLVMStackMapping.PAGE_SIZE;
+            upperBounds = reserved + size;
+            committedBounds = upperBounds;
+            isMapped = commit(Math.max(lowerBounds, upperBounds - COMMIT_SIZE));
+            if (!isMapped) {
+                mapping.release(reserved, size);
+            }
+        }
+        if (!isMapped) {
+            final long stackAllocation = memory.allocateMemory(stackSize * 1024L).getVal();
+            lowerBounds = stackAllocation;
+            upperBounds = stackAllocation + stackSize * 1024L;
+            committedBounds = lowerBounds;
+        }
         isAllocated = true;
         stackPointer = upperBounds;
     }
 
+    private long getReservedSize() {
+        // round up to whole pages, with room for the guard page
+        final long size = (stackSize * 1024L + LLVMStackMapping.PAGE_SIZE - 1) & -LLVMStackMapping.PAGE_SIZE;
+        return size + LLVMStackMapping.PAGE_SIZE;
+    }
+
+    /**
+     * Makes sure that the stack is committed down to {@code address}. Pages are committed in chunks,
+     * so that a growing stack only rarely leaves compiled code.
+     *
+     * @return false if {@code address} is below the stack or the pages cannot be committed
+     */
+    @TruffleBoundary
+    private boolean commit(long address) {
+        if (address < lowerBounds) {
+            return false;
+        }
+        if (address >= committedBounds) {
+            return true;
+        }
+        final long newBounds = Math.max(lowerBounds, Math.min(address, committedBounds - COMMIT_SIZE) & -LLVMStackMapping.PAGE_SIZE);
+        if (!mapping.commit(newBounds, committedBounds - newBounds)) {
+            return false;
+        }
+        committedBounds = newBounds;
+        return true;
+    }
+
     private long getStackPointer(LLVMMemory memory) {
         allocate(memory);
         long sp = this.stackPointer;
@@ -118,11 +187,17 @@ public final class LLVMStack {
             /*
              * It can be that the stack was never allocated.
              */
-            memory.free(lowerBounds);
+            if (isMapped) {
+                mapping.release(lowerBounds - LLVMStackMapping.PAGE_SIZE, getReservedSize());
+            } else {
+                memory.free(lowerBounds);
+            }
             lowerBounds = 0;
             upperBounds = 0;
+            committedBounds = 0;
             stackPointer = 0;
             isAllocated = false;
+            isMapped = false;
         }
     }
 
@@ -136,6 +211,12 @@ public final class LLVMStack {
         assert stackPointer != 0;
         final long alignedAllocation = (stackPointer - size) & -alignment;
         assert alignedAllocation <= stackPointer;
+        if (CompilerDirectives.injectBranchProbability(CompilerDirectives.SLOWPATH_PROBABILITY, alignedAllocation < basePointer.getCommittedBounds())) {
+            CompilerDirectives.transferToInterpreter();
+            if (!basePointer.commit(alignedAllocation)) {
+                throw new LLVMStackOverflowError(String.format("stack overflow: cannot allocate %d bytes on a stack of %d KB", size, basePointer.getStackSize()));
+            }
+        }
         basePointer.set(alignedAllocation);
         return alignedAllocation;
     }
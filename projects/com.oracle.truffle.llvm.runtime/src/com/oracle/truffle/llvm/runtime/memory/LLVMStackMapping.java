@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.runtime.memory;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.interop.ForeignAccess;
+import com.oracle.truffle.api.interop.InteropException;
+import com.oracle.truffle.api.interop.Message;
+import com.oracle.truffle.api.interop.TruffleObject;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.llvm.runtime.LLVMContext;
+import com.oracle.truffle.llvm.runtime.NFIContextExtension;
+
+/**
+ * Maps the address ranges of guest stacks with mmap. A stack is reserved without access rights, so
+ * that it does not occupy memory until its pages are committed, which happens as the stack grows.
+ * The calls go through the posix wrappers of the native Sulong library. Without native access, or
+ * if the kernel refuses the mapping, {@link #reserve} fails and the stack is allocated on the heap.
+ */
+public final class LLVMStackMapping {
+
+    public static final long PAGE_SIZE = 4096;
+
+    private static final int PROT_NONE = 0x0;
+    private static final int PROT_READ = 0x1;
+    private static final int PROT_WRITE = 0x2;
+    private static final int MAP_PRIVATE = 0x02;
+    private static final int MAP_ANONYMOUS = 0x20;
+    private static final int MAP_NORESERVE = 0x4000;
+
+    private final LLVMContext context;
+
+    private final Node mmapExecute = Message.createExecute(6).createNode();
+    private final Node mprotectExecute = Message.createExecute(3).createNode();
+    private final Node munmapExecute = Message.createExecute(2).createNode();
+
+    private boolean initialized;
+    private TruffleObject mmap;
+    private TruffleObject mprotect;
+    private TruffleObject munmap;
+
+    public LLVMStackMapping(LLVMContext context) {
+        this.context = context;
+    }
+
+    private void initialize() {
+        if (!initialized) {
+            initialized = true;
+            if (context.hasContextExtension(NFIContextExtension.class)) {
+                final NFIContextExtension nfi = context.getContextExtension(NFIContextExtension.class);
+                mmap = nfi.getNativeFunction(context, "@__sulong_posix_mmap", "(POINTER,UINT64,SINT32,SINT32,SINT32,SINT64):SINT64");
+                mprotect = nfi.getNativeFunction(context, "@__sulong_posix_mprotect", "(POINTER,UINT64,SINT32):SINT32");
+                munmap = nfi.getNativeFunction(context, "@__sulong_posix_munmap", "(POINTER,UINT64):SINT32");
+            }
+        }
+    }
+
+    /**
+     * Reserves {@code size} bytes without committing them.
+     *
+     * @return the page aligned start of the range, or 0 if it could not be reserved
+     */
+    @TruffleBoundary
+    synchronized long reserve(long size) {
+        initialize();
+        if (mmap == null || mprotect == null || munmap == null) {
+            return 0;
+        }
+        final long address = (long) execute(mmapExecute, mmap, 0L, size, PROT_NONE, MAP_PRIVATE | MAP_ANONYMOUS | MAP_NORESERVE, -1, 0L);
+        // the wrapper returns -errno on failure
+        return address < 0 && address >= -PAGE_SIZE ? 0 : address;
+    }
+
+    /**
+     * Makes the pages of a reserved range readable and writable.
+     */
+    @TruffleBoundary
+    synchronized boolean commit(long address, long size) {
+        assert address % PAGE_SIZE == 0;
+        return (int) execute(mprotectExecute, mprotect, address, size, PROT_READ | PROT_WRITE) == 0;
+    }
+
+    @TruffleBoundary
+    synchronized void release(long address, long size) {
+        execute(munmapExecute, munmap, address, size);
+    }
+
+    private static Object execute(Node execute, TruffleObject function, Object... args) {
+        try {
+            return ForeignAccess.sendExecute(execute, function, args);
+        } catch (InteropException e) {
+            throw new AssertionError(e);
+        }
+    }
+}
@@ -39,11 +39,13 @@ public final class LLVMThreadingStack {
     private final Map<Thread, LLVMStack> threadMap;
     private final ThreadLocal<LLVMStack> stack;
     private final int stackSize;
+    private final LLVMStackMapping mapping;
     private final Thread mainThread;
 
-    public LLVMThreadingStack(Thread mainTread, int stackSize) {
+    public LLVMThreadingStack(Thread mainTread, int stackSize, LLVMStackMapping mapping) {
         this.mainThread = mainTread;
         this.stackSize = stackSize;
+        this.mapping = mapping;
         this.stack = new ThreadLocal<>();
         this.threadMap = new HashMap<>();
     }
@@ -63,20 +65,20 @@ public final class LLVMThreadingStack {
 
     @TruffleBoundary
     private synchronized LLVMStack createNewStack() {
-        LLVMStack s = new LLVMStack(stackSize);
+        LLVMStack s = new LLVMStack(stackSize, mapping);
         stack.set(s);
         threadMap.put(Thread.currentThread(), s);
         return s;
     }
 
     @TruffleBoundary
-    public void freeStack(LLVMMemory memory, Thread thread) {
+    public synchronized void freeStack(LLVMMemory memory, Thread thread) {
         /*
          * Do not free the main thread: Sulong#disposeThread runs before Sulong#disposeContext,
          * which needs to call destructors that need a SP.
          */
         if (mainThread != Thread.currentThread()) {
-            LLVMStack s = threadMap.get(thread);
+            LLVMStack s = threadMap.remove(thread);
             free(memory, s);
         }
     }
@@ -115,4 +115,20 @@ public final class UnsafeIntArrayAccess {
     public double getDouble(int[] arr, long offset) {
         return unsafe.getDouble(arr, intArrayBaseOffset + offset);
     }
+
+    public void copyMemory(int[] source, long sourceOffset, int[] target, long targetOffset, long length) {
+        unsafe.copyMemory(source, intArrayBaseOffset + sourceOffset, target, intArrayBaseOffset + targetOffset, length);
+    }
+
+    public void copyToNative(int[] source, long sourceOffset, long targetAddress, long length) {
+        unsafe.copyMemory(source, intArrayBaseOffset + sourceOffset, null, targetAddress, length);
+    }
+
+    public void copyFromNative(long sourceAddress, int[] target, long targetOffset, long length) {
+        unsafe.copyMemory(null, sourceAddress, target, intArrayBaseOffset + targetOffset, length);
+    }
+
+    public void setMemory(int[] arr, long offset, long length, byte value) {
+        unsafe.setMemory(arr, intArrayBaseOffset + offset, length, value);
+    }
 }
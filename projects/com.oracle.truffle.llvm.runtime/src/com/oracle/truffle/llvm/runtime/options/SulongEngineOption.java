@@ -52,7 +52,7 @@ public final class SulongEngineOption {
 
     public static final OptionKey<Integer> STACK_SIZE_KB = new OptionKey<>(81920);
     public static final String STACK_SIZE_KB_NAME = "llvm.stackSizeKB";
-    public static final String STACK_SIZE_KB_INFO = "The stack size in KB.";
+    public static final String STACK_SIZE_KB_INFO = "The stack size in KB. The stack of each thread is reserved up front, but only occupies memory as far as it is used.";
 
     public static final OptionKey<String> LIBRARY_PATH = new OptionKey<>("");
     public static final String LIBRARY_PATH_NAME = "llvm.libraryPath";
@@ -80,6 +80,30 @@ public final class SulongEngineOption {
     public static final String PRINT_LIFE_TIME_ANALYSIS_STATS_NAME = "llvm.printLifetimeAnalysisStats";
     public static final String PRINT_LIFE_TIME_ANALYSIS_STATS_INFO = "Prints the results of the lifetime analysis. Can be \'true\', \'false\', \'stdout\', \'stderr\' or a filepath.";
 
+    public static final OptionKey<Boolean> POOLED_ALLOCATOR = new OptionKey<>(false);
+    public static final String POOLED_ALLOCATOR_NAME = "llvm.pooledAllocator";
+    public static final String POOLED_ALLOCATOR_INFO = "Serve malloc/calloc/realloc/free from Sulong's size-class allocator instead of the native allocator. Native code must not free or reallocate memory allocated by the program.";
+
+    public static final OptionKey<Boolean> VIRTUAL_STDIO = new OptionKey<>(false);
+    public static final String VIRTUAL_STDIO_NAME = "llvm.virtualStdio";
+    public static final String VIRTUAL_STDIO_INFO = "Serve read/write syscalls on stdin, stdout and stderr from the language streams and buffer stdout in Java. Output written natively by other means may be reordered.";
+
+    public static final OptionKey<String> PRINT_ALLOCATION_STATS = new OptionKey<>(String.valueOf(false));
+    public static final String PRINT_ALLOCATION_STATS_NAME = "llvm.printAllocationStats";
+    public static final String PRINT_ALLOCATION_STATS_INFO = "Prints statistics of the pooled allocator. Can be \'true\', \'false\', \'stdout\', \'stderr\' or a filepath.";
+
+    public static final OptionKey<Boolean> MODULE_CACHE = new OptionKey<>(true);
+    public static final String MODULE_CACHE_NAME = "llvm.moduleCache";
+    public static final String MODULE_CACHE_INFO = "Share parsed bitcode modules between all contexts of an engine.";
+
+    public static final OptionKey<Boolean> LAZY_PARSING = new OptionKey<>(true);
+    public static final String LAZY_PARSING_NAME = "llvm.lazyParsing";
+    public static final String LAZY_PARSING_INFO = "Parse the body of a function only when it is called for the first time.";
+
+    public static final OptionKey<Boolean> PARSE_DEBUG_INFO = new OptionKey<>(true);
+    public static final String PARSE_DEBUG_INFO_NAME = "llvm.parseDebugInfo";
+    public static final String PARSE_DEBUG_INFO_INFO = "Parse the debug metadata of bitcode files. Without it, functions have no source locations and cannot be debugged on source level. Always enabled by llvm.enableLVI.";
+
     public static final OptionKey<Boolean> PARSE_ONLY = new OptionKey<>(false);
     public static final String PARSE_ONLY_NAME = "llvm.parseOnly";
     public static final String PARSE_ONLY_INFO = "Only parses a bc file; execution is not possible.";
@@ -111,6 +135,18 @@ public final class SulongEngineOption {
         options.add(OptionDescriptor.newBuilder(SulongEngineOption.PRINT_LIFE_TIME_ANALYSIS_STATS, SulongEngineOption.PRINT_LIFE_TIME_ANALYSIS_STATS_NAME).help(
                         SulongEngineOption.PRINT_LIFE_TIME_ANALYSIS_STATS_INFO).category(
                                         OptionCategory.USER).build());
+        options.add(OptionDescriptor.newBuilder(SulongEngineOption.POOLED_ALLOCATOR, SulongEngineOption.POOLED_ALLOCATOR_NAME).help(SulongEngineOption.POOLED_ALLOCATOR_INFO).category(
+                        OptionCategory.EXPERT).build());
+        options.add(OptionDescriptor.newBuilder(SulongEngineOption.VIRTUAL_STDIO, SulongEngineOption.VIRTUAL_STDIO_NAME).help(SulongEngineOption.VIRTUAL_STDIO_INFO).category(
+                        OptionCategory.EXPERT).build());
+        options.add(OptionDescriptor.newBuilder(SulongEngineOption.PRINT_ALLOCATION_STATS, SulongEngineOption.PRINT_ALLOCATION_STATS_NAME).help(SulongEngineOption.PRINT_ALLOCATION_STATS_INFO).category(
+                        OptionCategory.USER).build());
+        options.add(OptionDescriptor.newBuilder(SulongEngineOption.MODULE_CACHE, SulongEngineOption.MODULE_CACHE_NAME).help(SulongEngineOption.MODULE_CACHE_INFO).category(
+                        OptionCategory.EXPERT).build());
+        options.add(OptionDescriptor.newBuilder(SulongEngineOption.LAZY_PARSING, SulongEngineOption.LAZY_PARSING_NAME).help(SulongEngineOption.LAZY_PARSING_INFO).category(
+                        OptionCategory.EXPERT).build());
+        options.add(OptionDescriptor.newBuilder(SulongEngineOption.PARSE_DEBUG_INFO, SulongEngineOption.PARSE_DEBUG_INFO_NAME).help(SulongEngineOption.PARSE_DEBUG_INFO_INFO).category(
+                        OptionCategory.EXPERT).build());
         options.add(OptionDescriptor.newBuilder(SulongEngineOption.PARSE_ONLY, SulongEngineOption.PARSE_ONLY_NAME).help(
                         SulongEngineOption.PARSE_ONLY_INFO).category(
                                         OptionCategory.EXPERT).build());
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.runtime.pthread;
+
+import com.oracle.truffle.llvm.runtime.LLVMAddress;
+import com.oracle.truffle.llvm.runtime.LLVMContext;
+import com.oracle.truffle.llvm.runtime.LLVMExitException;
+import com.oracle.truffle.llvm.runtime.LLVMFunctionDescriptor;
+import com.oracle.truffle.llvm.runtime.LLVMLanguage;
+import com.oracle.truffle.llvm.runtime.LLVMThread;
+import com.oracle.truffle.llvm.runtime.LLVMTruffleAddress;
+import com.oracle.truffle.llvm.runtime.memory.LLVMMemory;
+
+/**
+ * Runs the start routine of a guest thread created by {@code pthread_create} on its own Java
+ * thread.
+ */
+final class LLVMPThread implements LLVMThread, Runnable {
+
+    private final LLVMContext context;
+    private final LLVMPThreadContext pthreadContext;
+    private final long id;
+    private final LLVMFunctionDescriptor function;
+    private final long argument;
+    private final Thread thread;
+
+    private boolean detached;
+    private boolean finished;
+    private volatile long returnValue;
+
+    LLVMPThread(LLVMContext context, LLVMPThreadContext pthreadContext, long id, LLVMFunctionDescriptor function, long argument, boolean detached) {
+        this.context = context;
+        this.pthreadContext = pthreadContext;
+        this.id = id;
+        this.function = function;
+        this.argument = argument;
+        this.detached = detached;
+        // the thread enters the Truffle context of the program while it runs
+        this.thread = context.getEnv().createThread(this);
+        this.thread.setName("sulong-pthread-" + id);
+        this.thread.setDaemon(true);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    void join() throws InterruptedException {
+        thread.join();
+    }
+
+    long getId() {
+        return id;
+    }
+
+    long getReturnValue() {
+        return returnValue;
+    }
+
+    synchronized boolean isDetached() {
+        return detached;
+    }
+
+    /**
+     * Returns {@code true} if the thread has already terminated and can be forgotten.
+     */
+    synchronized boolean detach() {
+        detached = true;
+        return finished;
+    }
+
+    /**
+     * Returns {@code true} if the thread was detached and can be forgotten.
+     */
+    synchronized boolean finish() {
+        finished = true;
+        return detached;
+    }
+
+    @Override
+    public void run() {
+        pthreadContext.enter(this);
+        try {
+            returnValue = toLong(pthreadContext.call(function, argument));
+        } catch (LLVMPThreadExitException e) {
+            returnValue = e.getReturnValue();
+        } catch (LLVMExitException e) {
+            pthreadContext.exitProgram(this, e);
+        } finally {
+            try {
+                pthreadContext.exit(this);
+            } finally {
+                context.getThreadingStack().freeStack(LLVMLanguage.getLanguage().getCapability(LLVMMemory.class), thread);
+                context.getHeap().releaseThreadCache(thread);
+                context.unregisterThread(this);
+            }
+        }
+    }
+
+    private static long toLong(Object result) {
+        if (result instanceof LLVMTruffleAddress) {
+            return ((LLVMTruffleAddress) result).getAddress().getVal();
+        } else if (result instanceof LLVMAddress) {
+            return ((LLVMAddress) result).getVal();
+        } else if (result instanceof Number) {
+            return ((Number) result).longValue();
+        }
+        return 0;
+    }
+
+    @Override
+    public void stop() {
+        thread.interrupt();
+    }
+
+    /**
+     * Called when the guest process ends. Like in a native process the remaining threads are not
+     * waited for; threads that are blocked in a pthread function are unwound by the interrupt.
+     * Joining here would deadlock, since the caller holds the context lock that the thread needs
+     * to unregister itself.
+     */
+    @Override
+    public void awaitFinish() {
+        stop();
+        context.unregisterThread(this);
+    }
+}
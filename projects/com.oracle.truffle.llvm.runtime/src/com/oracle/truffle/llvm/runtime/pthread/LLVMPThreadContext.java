@@ -0,0 +1,600 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.runtime.pthread;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.interop.ForeignAccess;
+import com.oracle.truffle.api.interop.InteropException;
+import com.oracle.truffle.api.interop.Message;
+import com.oracle.truffle.api.nodes.ControlFlowException;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.llvm.runtime.LLVMContext;
+import com.oracle.truffle.llvm.runtime.LLVMExitException;
+import com.oracle.truffle.llvm.runtime.LLVMFunctionDescriptor;
+import com.oracle.truffle.llvm.runtime.LLVMLanguage;
+import com.oracle.truffle.llvm.runtime.memory.LLVMMemory;
+
+/**
+ * The state of the pthread library of one context. Guest threads run on Java threads. Mutexes,
+ * condition variables and read-write locks are identified by their guest address and are created
+ * on first use, so that statically initialized objects work without an explicit init call.
+ */
+public final class LLVMPThreadContext {
+
+    public static final int EPERM = 1;
+    public static final int ESRCH = 3;
+    public static final int EAGAIN = 11;
+    public static final int EBUSY = 16;
+    public static final int EINVAL = 22;
+    public static final int EDEADLK = 35;
+    public static final int ETIMEDOUT = 110;
+
+    public static final int MUTEX_NORMAL = 0;
+    public static final int MUTEX_RECURSIVE = 1;
+    public static final int MUTEX_ERRORCHECK = 2;
+
+    private static final int DESTRUCTOR_ITERATIONS = 4;
+
+    private final LLVMContext context;
+    private final Thread mainThread;
+
+    private volatile LLVMExitException pendingExit;
+
+    private final AtomicLong nextThreadId = new AtomicLong(1);
+    private final ThreadLocal<Long> currentThreadId = new ThreadLocal<>();
+    private final ThreadLocal<LLVMPThread> currentThread = new ThreadLocal<>();
+    private final ConcurrentHashMap<Long, LLVMPThread> threads = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<Long, Mutex> mutexes = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Condition> conditions = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, ReentrantReadWriteLock> rwlocks = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, ReentrantLock> onceLocks = new ConcurrentHashMap<>();
+
+    // start routines and key destructors take one argument, once routines none
+    private final Node[] executeNodes = {Message.createExecute(0).createNode(), Message.createExecute(1).createNode()};
+
+    private final AtomicInteger nextKey = new AtomicInteger();
+    private final ConcurrentHashMap<Integer, Key> keys = new ConcurrentHashMap<>();
+
+    public LLVMPThreadContext(LLVMContext context) {
+        this.context = context;
+        this.mainThread = Thread.currentThread();
+    }
+
+    // threads
+
+    @TruffleBoundary
+    public long create(LLVMFunctionDescriptor function, long argument, boolean detached) {
+        long id = nextThreadId.getAndIncrement();
+        LLVMPThread thread = new LLVMPThread(context, this, id, function, argument, detached);
+        threads.put(id, thread);
+        context.registerThread(thread);
+        thread.start();
+        return id;
+    }
+
+    @TruffleBoundary
+    public long self() {
+        Long id = currentThreadId.get();
+        if (id == null) {
+            id = nextThreadId.getAndIncrement();
+            currentThreadId.set(id);
+        }
+        return id;
+    }
+
+    void enter(LLVMPThread thread) {
+        currentThreadId.set(thread.getId());
+        currentThread.set(thread);
+    }
+
+    void exit(LLVMPThread thread) {
+        runKeyDestructors();
+        if (thread.finish()) {
+            threads.remove(thread.getId());
+        }
+    }
+
+    /**
+     * Waits for the thread to terminate and returns its exit value in {@code result[0]}.
+     */
+    @TruffleBoundary
+    public int join(long id, long[] result) {
+        checkPendingExit();
+        LLVMPThread thread = threads.get(id);
+        if (thread == null) {
+            return ESRCH;
+        } else if (thread.isDetached()) {
+            return EINVAL;
+        } else if (thread.getId() == self()) {
+            return EDEADLK;
+        }
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            throw interrupted();
+        }
+        threads.remove(id);
+        result[0] = thread.getReturnValue();
+        return 0;
+    }
+
+    @TruffleBoundary
+    public int detach(long id) {
+        LLVMPThread thread = threads.get(id);
+        if (thread == null) {
+            return ESRCH;
+        } else if (thread.isDetached()) {
+            return EINVAL;
+        }
+        if (thread.detach()) {
+            threads.remove(id);
+        }
+        return 0;
+    }
+
+    /**
+     * Terminates the calling thread. The main thread waits for all other threads instead, the
+     * caller is expected to exit the process afterwards.
+     */
+    @TruffleBoundary
+    public void exitThread(long returnValue) {
+        if (currentThread.get() != null) {
+            throw new LLVMPThreadExitException(returnValue);
+        }
+        try {
+            for (LLVMPThread thread : threads.values()) {
+                thread.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            checkPendingExit();
+        }
+    }
+
+    /**
+     * Called when a secondary thread calls {@code exit} or {@code abort}. Like in a native process
+     * this ends the whole program: the remaining threads are stopped and the main thread is
+     * interrupted, so that it unwinds with the same exception at its next pthread call and runs
+     * the exit handlers. A program whose main function returns in the meantime exits with the code
+     * of the first such call.
+     */
+    void exitProgram(LLVMPThread caller, LLVMExitException e) {
+        synchronized (this) {
+            if (pendingExit != null) {
+                return;
+            }
+            pendingExit = e;
+        }
+        for (LLVMPThread thread : threads.values()) {
+            if (thread != caller) {
+                thread.stop();
+            }
+        }
+        mainThread.interrupt();
+    }
+
+    /**
+     * Throws the exception of a secondary thread that ended the program, if any.
+     */
+    public void checkPendingExit() {
+        LLVMExitException exit = pendingExit;
+        if (exit != null) {
+            throwPendingExit(exit);
+        }
+    }
+
+    @TruffleBoundary
+    private void throwPendingExit(LLVMExitException exit) {
+        if (Thread.currentThread() == mainThread) {
+            // the interrupt is consumed by this exception
+            Thread.interrupted();
+        }
+        throw exit;
+    }
+
+    private ControlFlowException interrupted() {
+        LLVMExitException exit = pendingExit;
+        if (exit != null) {
+            return exit;
+        }
+        return new LLVMPThreadExitException(0);
+    }
+
+    // mutexes
+
+    private static final class Mutex {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final int type;
+
+        Mutex(int type) {
+            this.type = type;
+        }
+    }
+
+    private Mutex getMutex(long address) {
+        Mutex mutex = mutexes.get(address);
+        if (mutex == null) {
+            mutex = mutexes.computeIfAbsent(address, a -> new Mutex(MUTEX_NORMAL));
+        }
+        return mutex;
+    }
+
+    @TruffleBoundary
+    public int initMutex(long address, int type) {
+        if (type != MUTEX_NORMAL && type != MUTEX_RECURSIVE && type != MUTEX_ERRORCHECK) {
+            return EINVAL;
+        }
+        mutexes.put(address, new Mutex(type));
+        return 0;
+    }
+
+    @TruffleBoundary
+    public int destroyMutex(long address) {
+        Mutex mutex = mutexes.get(address);
+        if (mutex != null && mutex.lock.isLocked()) {
+            return EBUSY;
+        }
+        mutexes.remove(address);
+        return 0;
+    }
+
+    @TruffleBoundary
+    public int lockMutex(long address) {
+        checkPendingExit();
+        Mutex mutex = getMutex(address);
+        if (mutex.type != MUTEX_RECURSIVE && mutex.lock.isHeldByCurrentThread()) {
+            return EDEADLK;
+        }
+        try {
+            mutex.lock.lockInterruptibly();
+        } catch (InterruptedException e) {
+            throw interrupted();
+        }
+        return 0;
+    }
+
+    @TruffleBoundary
+    public int tryLockMutex(long address) {
+        Mutex mutex = getMutex(address);
+        if (mutex.type != MUTEX_RECURSIVE && mutex.lock.isHeldByCurrentThread()) {
+            return EBUSY;
+        }
+        return mutex.lock.tryLock() ? 0 : EBUSY;
+    }
+
+    @TruffleBoundary
+    public int unlockMutex(long address) {
+        Mutex mutex = getMutex(address);
+        if (!mutex.lock.isHeldByCurrentThread()) {
+            return EPERM;
+        }
+        mutex.lock.unlock();
+        return 0;
+    }
+
+    // condition variables
+
+    /**
+     * A condition variable on top of the Java monitor of this object. The mutex is released while
+     * holding the monitor, so a signal cannot get lost between unlocking and waiting. Spurious
+     * wakeups are allowed by the pthread specification.
+     */
+    private static final class Condition {
+        private int waiters;
+        private int signals;
+        private long generation;
+    }
+
+    private Condition getCondition(long address) {
+        Condition condition = conditions.get(address);
+        if (condition == null) {
+            condition = conditions.computeIfAbsent(address, a -> new Condition());
+        }
+        return condition;
+    }
+
+    @TruffleBoundary
+    public int initCondition(long address) {
+        conditions.put(address, new Condition());
+        return 0;
+    }
+
+    @TruffleBoundary
+    public int destroyCondition(long address) {
+        Condition condition = conditions.get(address);
+        if (condition != null) {
+            synchronized (condition) {
+                if (condition.waiters > 0) {
+                    return EBUSY;
+                }
+            }
+        }
+        conditions.remove(address);
+        return 0;
+    }
+
+    @TruffleBoundary
+    public int signalCondition(long address) {
+        Condition condition = getCondition(address);
+        synchronized (condition) {
+            if (condition.waiters > condition.signals) {
+                condition.signals++;
+                condition.notifyAll();
+            }
+        }
+        return 0;
+    }
+
+    @TruffleBoundary
+    public int broadcastCondition(long address) {
+        Condition condition = getCondition(address);
+        synchronized (condition) {
+            if (condition.waiters > 0) {
+                condition.generation++;
+                condition.signals = 0;
+                condition.notifyAll();
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Waits on the condition variable until it is signaled or until the absolute
+     * {@code deadlineMillis} (in {@link System#currentTimeMillis()} time) has passed. A negative
+     * deadline waits forever.
+     */
+    @TruffleBoundary
+    public int waitCondition(long address, long mutexAddress, long deadlineMillis) {
+        checkPendingExit();
+        Condition condition = getCondition(address);
+        Mutex mutex = getMutex(mutexAddress);
+        if (!mutex.lock.isHeldByCurrentThread()) {
+            return EPERM;
+        }
+        int result = 0;
+        synchronized (condition) {
+            mutex.lock.unlock();
+            long generation = condition.generation;
+            condition.waiters++;
+            try {
+                while (true) {
+                    if (condition.signals > 0) {
+                        condition.signals--;
+                        break;
+                    } else if (condition.generation != generation) {
+                        break;
+                    }
+                    if (deadlineMillis < 0) {
+                        condition.wait();
+                    } else {
+                        long remaining = deadlineMillis - System.currentTimeMillis();
+                        if (remaining <= 0) {
+                            result = ETIMEDOUT;
+                            break;
+                        }
+                        condition.wait(remaining);
+                    }
+                }
+            } catch (InterruptedException e) {
+                throw interrupted();
+            } finally {
+                condition.waiters--;
+                if (condition.signals > condition.waiters) {
+                    condition.signals = condition.waiters;
+                }
+            }
+        }
+        mutex.lock.lock();
+        return result;
+    }
+
+    // read-write locks
+
+    private ReentrantReadWriteLock getRWLock(long address) {
+        ReentrantReadWriteLock lock = rwlocks.get(address);
+        if (lock == null) {
+            lock = rwlocks.computeIfAbsent(address, a -> new ReentrantReadWriteLock());
+        }
+        return lock;
+    }
+
+    @TruffleBoundary
+    public int initRWLock(long address) {
+        rwlocks.put(address, new ReentrantReadWriteLock());
+        return 0;
+    }
+
+    @TruffleBoundary
+    public int destroyRWLock(long address) {
+        ReentrantReadWriteLock lock = rwlocks.get(address);
+        if (lock != null && (lock.isWriteLocked() || lock.getReadLockCount() > 0)) {
+            return EBUSY;
+        }
+        rwlocks.remove(address);
+        return 0;
+    }
+
+    @TruffleBoundary
+    public int readLock(long address, boolean tryLock) {
+        checkPendingExit();
+        ReentrantReadWriteLock lock = getRWLock(address);
+        if (lock.isWriteLockedByCurrentThread()) {
+            return EDEADLK;
+        } else if (tryLock) {
+            return lock.readLock().tryLock() ? 0 : EBUSY;
+        }
+        try {
+            lock.readLock().lockInterruptibly();
+        } catch (InterruptedException e) {
+            throw interrupted();
+        }
+        return 0;
+    }
+
+    @TruffleBoundary
+    public int writeLock(long address, boolean tryLock) {
+        checkPendingExit();
+        ReentrantReadWriteLock lock = getRWLock(address);
+        if (lock.isWriteLockedByCurrentThread() || lock.getReadHoldCount() > 0) {
+            return EDEADLK;
+        } else if (tryLock) {
+            return lock.writeLock().tryLock() ? 0 : EBUSY;
+        }
+        try {
+            lock.writeLock().lockInterruptibly();
+        } catch (InterruptedException e) {
+            throw interrupted();
+        }
+        return 0;
+    }
+
+    @TruffleBoundary
+    public int unlockRWLock(long address) {
+        ReentrantReadWriteLock lock = getRWLock(address);
+        if (lock.isWriteLockedByCurrentThread()) {
+            lock.writeLock().unlock();
+        } else if (lock.getReadHoldCount() > 0) {
+            lock.readLock().unlock();
+        } else {
+            return EPERM;
+        }
+        return 0;
+    }
+
+    // once
+
+    // PTHREAD_ONCE_INIT is 0
+    private static final int ONCE_DONE = 1;
+
+    /**
+     * The state of a once control is kept in the guest object itself, so that a once control in
+     * memory that is freed and reused starts out again as not done. The lock only serializes
+     * concurrent callers.
+     */
+    @TruffleBoundary
+    public int once(long address, LLVMFunctionDescriptor initRoutine) {
+        LLVMMemory memory = LLVMLanguage.getLanguage().getCapability(LLVMMemory.class);
+        if (memory.getI32(address) == ONCE_DONE) {
+            // pairs with the store fence after the init routine
+            memory.loadFence();
+            return 0;
+        }
+        ReentrantLock lock = onceLocks.computeIfAbsent(address, a -> new ReentrantLock());
+        lock.lock();
+        try {
+            if (memory.getI32(address) != ONCE_DONE) {
+                call(initRoutine);
+                memory.storeFence();
+                memory.putI32(address, ONCE_DONE);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return 0;
+    }
+
+    // thread-specific data
+
+    private static final class Key {
+        private final LLVMFunctionDescriptor destructor;
+        private final ThreadLocal<Long> value = new ThreadLocal<>();
+
+        Key(LLVMFunctionDescriptor destructor) {
+            this.destructor = destructor;
+        }
+    }
+
+    /**
+     * Returns the new key, the destructor may be {@code null}.
+     */
+    @TruffleBoundary
+    public int createKey(LLVMFunctionDescriptor destructor) {
+        int key = nextKey.getAndIncrement();
+        keys.put(key, new Key(destructor));
+        return key;
+    }
+
+    @TruffleBoundary
+    public int deleteKey(int key) {
+        return keys.remove(key) == null ? EINVAL : 0;
+    }
+
+    @TruffleBoundary
+    public long getSpecific(int key) {
+        Key k = keys.get(key);
+        if (k == null) {
+            return 0;
+        }
+        Long value = k.value.get();
+        return value == null ? 0 : value;
+    }
+
+    @TruffleBoundary
+    public int setSpecific(int key, long value) {
+        Key k = keys.get(key);
+        if (k == null) {
+            return EINVAL;
+        }
+        k.value.set(value);
+        return 0;
+    }
+
+    private void runKeyDestructors() {
+        for (int i = 0; i < DESTRUCTOR_ITERATIONS; i++) {
+            boolean called = false;
+            for (Key key : keys.values()) {
+                Long value = key.value.get();
+                key.value.remove();
+                if (value != null && value != 0 && key.destructor != null) {
+                    call(key.destructor, value);
+                    called = true;
+                }
+            }
+            if (!called) {
+                break;
+            }
+        }
+    }
+
+    Object call(LLVMFunctionDescriptor function, Object... arguments) {
+        try {
+            return ForeignAccess.sendExecute(executeNodes[arguments.length], function, arguments);
+        } catch (InteropException e) {
+            throw new AssertionError(e);
+        }
+    }
+}
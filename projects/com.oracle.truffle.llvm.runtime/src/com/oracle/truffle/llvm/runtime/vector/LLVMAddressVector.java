@@ -30,7 +30,6 @@
 package com.oracle.truffle.llvm.runtime.vector;
 
 import java.util.Arrays;
-import java.util.function.BiFunction;
 
 import com.oracle.truffle.llvm.runtime.LLVMAddress;
 
@@ -85,121 +84,147 @@ public final class LLVMAddressVector {
         return create(result);
     }
 
+    private static final Operation ADD = new Operation() {
+        @Override
+        public long eval(long a, long b) {
+            return a + b;
+        }
+    };
+
     public LLVMAddressVector add(LLVMAddressVector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public long eval(long a, long b) {
-                return a + b;
-            }
-        });
+        return doOperation(this, rightValue, ADD);
     }
 
+    private static final Operation MUL = new Operation() {
+        @Override
+        public long eval(long a, long b) {
+            return a * b;
+        }
+    };
+
     public LLVMAddressVector mul(LLVMAddressVector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public long eval(long a, long b) {
-                return a * b;
-            }
-        });
+        return doOperation(this, rightValue, MUL);
     }
 
+    private static final Operation SUB = new Operation() {
+        @Override
+        public long eval(long a, long b) {
+            return a - b;
+        }
+    };
+
     public LLVMAddressVector sub(LLVMAddressVector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public long eval(long a, long b) {
-                return a - b;
-            }
-        });
+        return doOperation(this, rightValue, SUB);
     }
 
+    private static final Operation DIV = new Operation() {
+        @Override
+        public long eval(long a, long b) {
+            return a / b;
+        }
+    };
+
     public LLVMAddressVector div(LLVMAddressVector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public long eval(long a, long b) {
-                return a / b;
-            }
-        });
+        return doOperation(this, rightValue, DIV);
     }
 
+    private static final Operation DIV_UNSIGNED = new Operation() {
+        @Override
+        public long eval(long a, long b) {
+            return Long.divideUnsigned(a, b);
+        }
+    };
+
     public LLVMAddressVector divUnsigned(LLVMAddressVector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public long eval(long a, long b) {
-                return Long.divideUnsigned(a, b);
-            }
-        });
+        return doOperation(this, rightValue, DIV_UNSIGNED);
     }
 
+    private static final Operation REM = new Operation() {
+        @Override
+        public long eval(long a, long b) {
+            return a % b;
+        }
+    };
+
     public LLVMAddressVector rem(LLVMAddressVector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public long eval(long a, long b) {
-                return a % b;
-            }
-        });
+        return doOperation(this, rightValue, REM);
     }
 
+    private static final Operation REM_UNSIGNED = new Operation() {
+        @Override
+        public long eval(long a, long b) {
+            return Long.remainderUnsigned(a, b);
+        }
+    };
+
     public LLVMAddressVector remUnsigned(LLVMAddressVector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public long eval(long a, long b) {
-                return Long.remainderUnsigned(a, b);
-            }
-        });
+        return doOperation(this, rightValue, REM_UNSIGNED);
     }
 
+    private static final Operation AND = new Operation() {
+        @Override
+        public long eval(long a, long b) {
+            return a & b;
+        }
+    };
+
     public LLVMAddressVector and(LLVMAddressVector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public long eval(long a, long b) {
-                return a & b;
-            }
-        });
+        return doOperation(this, rightValue, AND);
     }
 
+    private static final Operation OR = new Operation() {
+        @Override
+        public long eval(long a, long b) {
+            return a | b;
+        }
+    };
+
     public LLVMAddressVector or(LLVMAddressVector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public long eval(long a, long b) {
-                return a | b;
-            }
-        });
+        return doOperation(this, rightValue, OR);
     }
 
+    private static final Operation LEFT_SHIFT = new Operation() {
+        @Override
+        public long eval(long a, long b) {
+            return a << b;
+        }
+    };
+
     public LLVMAddressVector leftShift(LLVMAddressVector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public long eval(long a, long b) {
-                return a << b;
-            }
-        });
+        return doOperation(this, rightValue, LEFT_SHIFT);
     }
 
+    private static final Operation LOGICAL_RIGHT_SHIFT = new Operation() {
+        @Override
+        public long eval(long a, long b) {
+            return a >>> b;
+        }
+    };
+
     public LLVMAddressVector logicalRightShift(LLVMAddressVector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public long eval(long a, long b) {
-                return a >>> b;
-            }
-        });
+        return doOperation(this, rightValue, LOGICAL_RIGHT_SHIFT);
     }
 
+    private static final Operation ARITHMETIC_RIGHT_SHIFT = new Operation() {
+        @Override
+        public long eval(long a, long b) {
+            return a >> b;
+        }
+    };
+
     public LLVMAddressVector arithmeticRightShift(LLVMAddressVector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public long eval(long a, long b) {
-                return a >> b;
-            }
-        });
+        return doOperation(this, rightValue, ARITHMETIC_RIGHT_SHIFT);
     }
 
+    private static final Operation XOR = new Operation() {
+        @Override
+        public long eval(long a, long b) {
+            return a ^ b;
+        }
+    };
+
     public LLVMAddressVector xor(LLVMAddressVector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public long eval(long a, long b) {
-                return a ^ b;
-            }
-        });
+        return doOperation(this, rightValue, XOR);
     }
 
     public long[] getValues() {
@@ -238,12 +263,16 @@ public final class LLVMAddressVector {
         return vector.length;
     }
 
-    public LLVMI1Vector doCompare(LLVMAddressVector other, BiFunction<Long, Long, Boolean> compare) {
+    public interface Comparison {
+        boolean compare(long a, long b);
+    }
+
+    public LLVMI1Vector doCompare(LLVMAddressVector other, Comparison compare) {
         int length = other.getLength();
         boolean[] values = new boolean[length];
 
         for (int i = 0; i < length; i++) {
-            values[i] = compare.apply(getValue(i), other.getValue(i));
+            values[i] = compare.compare(getValue(i), other.getValue(i));
         }
 
         return LLVMI1Vector.create(values);
@@ -67,49 +67,59 @@ public final class LLVMDoubleVector {
         return create(result);
     }
 
+    private static final Operation ADD = new Operation() {
+        @Override
+        public double eval(double a, double b) {
+            return a + b;
+        }
+    };
+
     public LLVMDoubleVector add(LLVMDoubleVector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public double eval(double a, double b) {
-                return a + b;
-            }
-        });
+        return doOperation(this, rightValue, ADD);
     }
 
+    private static final Operation MUL = new Operation() {
+        @Override
+        public double eval(double a, double b) {
+            return a * b;
+        }
+    };
+
     public LLVMDoubleVector mul(LLVMDoubleVector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public double eval(double a, double b) {
-                return a * b;
-            }
-        });
+        return doOperation(this, rightValue, MUL);
     }
 
+    private static final Operation SUB = new Operation() {
+        @Override
+        public double eval(double a, double b) {
+            return a - b;
+        }
+    };
+
     public LLVMDoubleVector sub(LLVMDoubleVector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public double eval(double a, double b) {
-                return a - b;
-            }
-        });
+        return doOperation(this, rightValue, SUB);
     }
 
+    private static final Operation DIV = new Operation() {
+        @Override
+        public double eval(double a, double b) {
+            return a / b;
+        }
+    };
+
     public LLVMDoubleVector div(LLVMDoubleVector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public double eval(double a, double b) {
-                return a / b;
-            }
-        });
+        return doOperation(this, rightValue, DIV);
     }
 
+    private static final Operation REM = new Operation() {
+        @Override
+        public double eval(double a, double b) {
+            return a % b;
+        }
+    };
+
     public LLVMDoubleVector rem(LLVMDoubleVector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public double eval(double a, double b) {
-                return a % b;
-            }
-        });
+        return doOperation(this, rightValue, REM);
     }
 
     public double[] getValues() {
@@ -67,49 +67,59 @@ public final class LLVMFloatVector {
         return create(result);
     }
 
+    private static final Operation ADD = new Operation() {
+        @Override
+        public float eval(float a, float b) {
+            return a + b;
+        }
+    };
+
     public LLVMFloatVector add(LLVMFloatVector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public float eval(float a, float b) {
-                return a + b;
-            }
-        });
+        return doOperation(this, rightValue, ADD);
     }
 
+    private static final Operation MUL = new Operation() {
+        @Override
+        public float eval(float a, float b) {
+            return a * b;
+        }
+    };
+
     public LLVMFloatVector mul(LLVMFloatVector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public float eval(float a, float b) {
-                return a * b;
-            }
-        });
+        return doOperation(this, rightValue, MUL);
     }
 
+    private static final Operation SUB = new Operation() {
+        @Override
+        public float eval(float a, float b) {
+            return a - b;
+        }
+    };
+
     public LLVMFloatVector sub(LLVMFloatVector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public float eval(float a, float b) {
-                return a - b;
-            }
-        });
+        return doOperation(this, rightValue, SUB);
     }
 
+    private static final Operation DIV = new Operation() {
+        @Override
+        public float eval(float a, float b) {
+            return a / b;
+        }
+    };
+
     public LLVMFloatVector div(LLVMFloatVector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public float eval(float a, float b) {
-                return a / b;
-            }
-        });
+        return doOperation(this, rightValue, DIV);
     }
 
+    private static final Operation REM = new Operation() {
+        @Override
+        public float eval(float a, float b) {
+            return a % b;
+        }
+    };
+
     public LLVMFloatVector rem(LLVMFloatVector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public float eval(float a, float b) {
-                return a % b;
-            }
-        });
+        return doOperation(this, rightValue, REM);
     }
 
     public float[] getValues() {
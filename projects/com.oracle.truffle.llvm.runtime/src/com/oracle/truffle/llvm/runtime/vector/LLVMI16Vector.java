@@ -30,7 +30,6 @@
 package com.oracle.truffle.llvm.runtime.vector;
 
 import java.util.Arrays;
-import java.util.function.BiFunction;
 
 import com.oracle.truffle.api.CompilerDirectives.ValueType;
 
@@ -70,121 +69,147 @@ public final class LLVMI16Vector {
         return create(result);
     }
 
+    private static final Operation ADD = new Operation() {
+        @Override
+        public short eval(short a, short b) {
+            return (short) (a + b);
+        }
+    };
+
     public LLVMI16Vector add(LLVMI16Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public short eval(short a, short b) {
-                return (short) (a + b);
-            }
-        });
+        return doOperation(this, rightValue, ADD);
     }
 
+    private static final Operation MUL = new Operation() {
+        @Override
+        public short eval(short a, short b) {
+            return (short) (a * b);
+        }
+    };
+
     public LLVMI16Vector mul(LLVMI16Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public short eval(short a, short b) {
-                return (short) (a * b);
-            }
-        });
+        return doOperation(this, rightValue, MUL);
     }
 
+    private static final Operation SUB = new Operation() {
+        @Override
+        public short eval(short a, short b) {
+            return (short) (a - b);
+        }
+    };
+
     public LLVMI16Vector sub(LLVMI16Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public short eval(short a, short b) {
-                return (short) (a - b);
-            }
-        });
+        return doOperation(this, rightValue, SUB);
     }
 
+    private static final Operation DIV = new Operation() {
+        @Override
+        public short eval(short a, short b) {
+            return (short) (a / b);
+        }
+    };
+
     public LLVMI16Vector div(LLVMI16Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public short eval(short a, short b) {
-                return (short) (a / b);
-            }
-        });
+        return doOperation(this, rightValue, DIV);
     }
 
+    private static final Operation DIV_UNSIGNED = new Operation() {
+        @Override
+        public short eval(short a, short b) {
+            return (short) ((a & MASK) / (b & MASK));
+        }
+    };
+
     public LLVMI16Vector divUnsigned(LLVMI16Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public short eval(short a, short b) {
-                return (short) ((a & MASK) / (b & MASK));
-            }
-        });
+        return doOperation(this, rightValue, DIV_UNSIGNED);
     }
 
+    private static final Operation REM = new Operation() {
+        @Override
+        public short eval(short a, short b) {
+            return (short) (a % b);
+        }
+    };
+
     public LLVMI16Vector rem(LLVMI16Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public short eval(short a, short b) {
-                return (short) (a % b);
-            }
-        });
+        return doOperation(this, rightValue, REM);
     }
 
+    private static final Operation REM_UNSIGNED = new Operation() {
+        @Override
+        public short eval(short a, short b) {
+            return (short) ((a & MASK) % (b & MASK));
+        }
+    };
+
     public LLVMI16Vector remUnsigned(LLVMI16Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public short eval(short a, short b) {
-                return (short) ((a & MASK) % (b & MASK));
-            }
-        });
+        return doOperation(this, rightValue, REM_UNSIGNED);
     }
 
+    private static final Operation AND = new Operation() {
+        @Override
+        public short eval(short a, short b) {
+            return (short) (a & b);
+        }
+    };
+
     public LLVMI16Vector and(LLVMI16Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public short eval(short a, short b) {
-                return (short) (a & b);
-            }
-        });
+        return doOperation(this, rightValue, AND);
     }
 
+    private static final Operation OR = new Operation() {
+        @Override
+        public short eval(short a, short b) {
+            return (short) (a | b);
+        }
+    };
+
     public LLVMI16Vector or(LLVMI16Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public short eval(short a, short b) {
-                return (short) (a | b);
-            }
-        });
+        return doOperation(this, rightValue, OR);
     }
 
+    private static final Operation LEFT_SHIFT = new Operation() {
+        @Override
+        public short eval(short a, short b) {
+            return (short) (a << b);
+        }
+    };
+
     public LLVMI16Vector leftShift(LLVMI16Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public short eval(short a, short b) {
-                return (short) (a << b);
-            }
-        });
+        return doOperation(this, rightValue, LEFT_SHIFT);
     }
 
+    private static final Operation LOGICAL_RIGHT_SHIFT = new Operation() {
+        @Override
+        public short eval(short a, short b) {
+            return (short) (a >>> b);
+        }
+    };
+
     public LLVMI16Vector logicalRightShift(LLVMI16Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public short eval(short a, short b) {
-                return (short) (a >>> b);
-            }
-        });
+        return doOperation(this, rightValue, LOGICAL_RIGHT_SHIFT);
     }
 
+    private static final Operation ARITHMETIC_RIGHT_SHIFT = new Operation() {
+        @Override
+        public short eval(short a, short b) {
+            return (short) (a >> b);
+        }
+    };
+
     public LLVMI16Vector arithmeticRightShift(LLVMI16Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public short eval(short a, short b) {
-                return (short) (a >> b);
-            }
-        });
+        return doOperation(this, rightValue, ARITHMETIC_RIGHT_SHIFT);
     }
 
+    private static final Operation XOR = new Operation() {
+        @Override
+        public short eval(short a, short b) {
+            return (short) (a ^ b);
+        }
+    };
+
     public LLVMI16Vector xor(LLVMI16Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public short eval(short a, short b) {
-                return (short) (a ^ b);
-            }
-        });
+        return doOperation(this, rightValue, XOR);
     }
 
     public short[] getValues() {
@@ -205,12 +230,16 @@ public final class LLVMI16Vector {
         return vector.length;
     }
 
-    public LLVMI1Vector doCompare(LLVMI16Vector other, BiFunction<Short, Short, Boolean> comparison) {
+    public interface Comparison {
+        boolean compare(short a, short b);
+    }
+
+    public LLVMI1Vector doCompare(LLVMI16Vector other, Comparison comparison) {
         int length = getLength();
         boolean[] values = new boolean[length];
 
         for (int i = 0; i < length; i++) {
-            values[i] = comparison.apply(getValue(i), other.getValue(i));
+            values[i] = comparison.compare(getValue(i), other.getValue(i));
         }
 
         return LLVMI1Vector.create(values);
@@ -30,7 +30,6 @@
 package com.oracle.truffle.llvm.runtime.vector;
 
 import java.util.Arrays;
-import java.util.function.BiFunction;
 
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.ValueType;
@@ -69,137 +68,163 @@ public final class LLVMI1Vector {
         return create(result);
     }
 
+    private static final Operation ADD = new Operation() {
+        @Override
+        public boolean eval(boolean a, boolean b) {
+            return a ^ b;
+        }
+    };
+
     public LLVMI1Vector add(LLVMI1Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public boolean eval(boolean a, boolean b) {
-                return a ^ b;
-            }
-        });
+        return doOperation(this, rightValue, ADD);
     }
 
+    private static final Operation MUL = new Operation() {
+        @Override
+        public boolean eval(boolean a, boolean b) {
+            return a & b;
+        }
+    };
+
     public LLVMI1Vector mul(LLVMI1Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public boolean eval(boolean a, boolean b) {
-                return a & b;
-            }
-        });
+        return doOperation(this, rightValue, MUL);
     }
 
+    private static final Operation SUB = new Operation() {
+        @Override
+        public boolean eval(boolean a, boolean b) {
+            return a ^ b;
+        }
+    };
+
     public LLVMI1Vector sub(LLVMI1Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public boolean eval(boolean a, boolean b) {
-                return a ^ b;
-            }
-        });
+        return doOperation(this, rightValue, SUB);
     }
 
-    public LLVMI1Vector div(LLVMI1Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public boolean eval(boolean a, boolean b) {
-                if (!b) {
-                    CompilerDirectives.transferToInterpreter();
-                    throw new ArithmeticException("Division by zero!");
-                }
-                return a;
+    private static final Operation DIV = new Operation() {
+        @Override
+        public boolean eval(boolean a, boolean b) {
+            if (!b) {
+                CompilerDirectives.transferToInterpreter();
+                throw new ArithmeticException("Division by zero!");
             }
-        });
+            return a;
+        }
+    };
+
+    public LLVMI1Vector div(LLVMI1Vector rightValue) {
+        return doOperation(this, rightValue, DIV);
     }
 
-    public LLVMI1Vector divUnsigned(LLVMI1Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public boolean eval(boolean a, boolean b) {
-                if (!b) {
-                    CompilerDirectives.transferToInterpreter();
-                    throw new ArithmeticException("Division by zero!");
-                }
-                return a;
+    private static final Operation DIV_UNSIGNED = new Operation() {
+        @Override
+        public boolean eval(boolean a, boolean b) {
+            if (!b) {
+                CompilerDirectives.transferToInterpreter();
+                throw new ArithmeticException("Division by zero!");
             }
-        });
+            return a;
+        }
+    };
+
+    public LLVMI1Vector divUnsigned(LLVMI1Vector rightValue) {
+        return doOperation(this, rightValue, DIV_UNSIGNED);
     }
 
-    public LLVMI1Vector rem(LLVMI1Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public boolean eval(boolean a, boolean b) {
-                if (!b) {
-                    CompilerDirectives.transferToInterpreter();
-                    throw new ArithmeticException("Division by zero!");
-                }
-                return false;
+    private static final Operation REM = new Operation() {
+        @Override
+        public boolean eval(boolean a, boolean b) {
+            if (!b) {
+                CompilerDirectives.transferToInterpreter();
+                throw new ArithmeticException("Division by zero!");
             }
-        });
+            return false;
+        }
+    };
+
+    public LLVMI1Vector rem(LLVMI1Vector rightValue) {
+        return doOperation(this, rightValue, REM);
     }
 
-    public LLVMI1Vector remUnsigned(LLVMI1Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public boolean eval(boolean a, boolean b) {
-                if (!b) {
-                    CompilerDirectives.transferToInterpreter();
-                    throw new ArithmeticException("Division by zero!");
-                }
-                return false;
+    private static final Operation REM_UNSIGNED = new Operation() {
+        @Override
+        public boolean eval(boolean a, boolean b) {
+            if (!b) {
+                CompilerDirectives.transferToInterpreter();
+                throw new ArithmeticException("Division by zero!");
             }
-        });
+            return false;
+        }
+    };
+
+    public LLVMI1Vector remUnsigned(LLVMI1Vector rightValue) {
+        return doOperation(this, rightValue, REM_UNSIGNED);
     }
 
+    private static final Operation AND = new Operation() {
+        @Override
+        public boolean eval(boolean a, boolean b) {
+            return a & b;
+        }
+    };
+
     public LLVMI1Vector and(LLVMI1Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public boolean eval(boolean a, boolean b) {
-                return a & b;
-            }
-        });
+        return doOperation(this, rightValue, AND);
     }
 
+    private static final Operation OR = new Operation() {
+        @Override
+        public boolean eval(boolean a, boolean b) {
+            return a | b;
+        }
+    };
+
     public LLVMI1Vector or(LLVMI1Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public boolean eval(boolean a, boolean b) {
-                return a | b;
-            }
-        });
+        return doOperation(this, rightValue, OR);
     }
 
+    private static final Operation LEFT_SHIFT = new Operation() {
+        @Override
+        public boolean eval(boolean a, boolean b) {
+            return a & !b;
+        }
+    };
+
     public LLVMI1Vector leftShift(LLVMI1Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public boolean eval(boolean a, boolean b) {
-                return a & !b;
-            }
-        });
+        return doOperation(this, rightValue, LEFT_SHIFT);
     }
 
+    private static final Operation LOGICAL_RIGHT_SHIFT = new Operation() {
+        @Override
+        public boolean eval(boolean a, boolean b) {
+            return a & !b;
+        }
+    };
+
     public LLVMI1Vector logicalRightShift(LLVMI1Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public boolean eval(boolean a, boolean b) {
-                return a & !b;
-            }
-        });
+        return doOperation(this, rightValue, LOGICAL_RIGHT_SHIFT);
     }
 
+    private static final Operation ARITHMETIC_RIGHT_SHIFT = new Operation() {
+        @Override
+        public boolean eval(boolean a, boolean b) {
+            return a;
+        }
+    };
+
     public LLVMI1Vector arithmeticRightShift(LLVMI1Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public boolean eval(boolean a, boolean b) {
-                return a;
-            }
-        });
+        return doOperation(this, rightValue, ARITHMETIC_RIGHT_SHIFT);
     }
 
+    private static final Operation XOR = new Operation() {
+        @Override
+        public boolean eval(boolean a, boolean b) {
+            return a ^ b;
+        }
+    };
+
     public LLVMI1Vector xor(LLVMI1Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public boolean eval(boolean a, boolean b) {
-                return a ^ b;
-            }
-        });
+        return doOperation(this, rightValue, XOR);
     }
 
     public boolean[] getValues() {
@@ -220,12 +245,16 @@ public final class LLVMI1Vector {
         return vector.length;
     }
 
-    public LLVMI1Vector doCompare(LLVMI1Vector other, BiFunction<Boolean, Boolean, Boolean> comparison) {
+    public interface Comparison {
+        boolean compare(boolean a, boolean b);
+    }
+
+    public LLVMI1Vector doCompare(LLVMI1Vector other, Comparison comparison) {
         int length = getLength();
         boolean[] values = new boolean[length];
 
         for (int i = 0; i < length; i++) {
-            values[i] = comparison.apply(getValue(i), other.getValue(i));
+            values[i] = comparison.compare(getValue(i), other.getValue(i));
         }
 
         return LLVMI1Vector.create(values);
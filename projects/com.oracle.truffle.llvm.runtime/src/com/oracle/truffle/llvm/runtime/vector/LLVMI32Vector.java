@@ -30,7 +30,6 @@
 package com.oracle.truffle.llvm.runtime.vector;
 
 import java.util.Arrays;
-import java.util.function.BiFunction;
 
 import com.oracle.truffle.api.CompilerDirectives.ValueType;
 
@@ -68,121 +67,147 @@ public final class LLVMI32Vector {
         return create(result);
     }
 
+    private static final Operation ADD = new Operation() {
+        @Override
+        public int eval(int a, int b) {
+            return a + b;
+        }
+    };
+
     public LLVMI32Vector add(LLVMI32Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public int eval(int a, int b) {
-                return a + b;
-            }
-        });
+        return doOperation(this, rightValue, ADD);
     }
 
+    private static final Operation MUL = new Operation() {
+        @Override
+        public int eval(int a, int b) {
+            return a * b;
+        }
+    };
+
     public LLVMI32Vector mul(LLVMI32Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public int eval(int a, int b) {
-                return a * b;
-            }
-        });
+        return doOperation(this, rightValue, MUL);
     }
 
+    private static final Operation SUB = new Operation() {
+        @Override
+        public int eval(int a, int b) {
+            return a - b;
+        }
+    };
+
     public LLVMI32Vector sub(LLVMI32Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public int eval(int a, int b) {
-                return a - b;
-            }
-        });
+        return doOperation(this, rightValue, SUB);
     }
 
+    private static final Operation DIV = new Operation() {
+        @Override
+        public int eval(int a, int b) {
+            return a / b;
+        }
+    };
+
     public LLVMI32Vector div(LLVMI32Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public int eval(int a, int b) {
-                return a / b;
-            }
-        });
+        return doOperation(this, rightValue, DIV);
     }
 
+    private static final Operation DIV_UNSIGNED = new Operation() {
+        @Override
+        public int eval(int a, int b) {
+            return Integer.divideUnsigned(a, b);
+        }
+    };
+
     public LLVMI32Vector divUnsigned(LLVMI32Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public int eval(int a, int b) {
-                return Integer.divideUnsigned(a, b);
-            }
-        });
+        return doOperation(this, rightValue, DIV_UNSIGNED);
     }
 
+    private static final Operation REM = new Operation() {
+        @Override
+        public int eval(int a, int b) {
+            return a % b;
+        }
+    };
+
     public LLVMI32Vector rem(LLVMI32Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public int eval(int a, int b) {
-                return a % b;
-            }
-        });
+        return doOperation(this, rightValue, REM);
     }
 
+    private static final Operation REM_UNSIGNED = new Operation() {
+        @Override
+        public int eval(int a, int b) {
+            return Integer.remainderUnsigned(a, b);
+        }
+    };
+
     public LLVMI32Vector remUnsigned(LLVMI32Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public int eval(int a, int b) {
-                return Integer.remainderUnsigned(a, b);
-            }
-        });
+        return doOperation(this, rightValue, REM_UNSIGNED);
     }
 
+    private static final Operation AND = new Operation() {
+        @Override
+        public int eval(int a, int b) {
+            return a & b;
+        }
+    };
+
     public LLVMI32Vector and(LLVMI32Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public int eval(int a, int b) {
-                return a & b;
-            }
-        });
+        return doOperation(this, rightValue, AND);
     }
 
+    private static final Operation OR = new Operation() {
+        @Override
+        public int eval(int a, int b) {
+            return a | b;
+        }
+    };
+
     public LLVMI32Vector or(LLVMI32Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public int eval(int a, int b) {
-                return a | b;
-            }
-        });
+        return doOperation(this, rightValue, OR);
     }
 
+    private static final Operation LEFT_SHIFT = new Operation() {
+        @Override
+        public int eval(int a, int b) {
+            return a << b;
+        }
+    };
+
     public LLVMI32Vector leftShift(LLVMI32Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public int eval(int a, int b) {
-                return a << b;
-            }
-        });
+        return doOperation(this, rightValue, LEFT_SHIFT);
     }
 
+    private static final Operation LOGICAL_RIGHT_SHIFT = new Operation() {
+        @Override
+        public int eval(int a, int b) {
+            return a >>> b;
+        }
+    };
+
     public LLVMI32Vector logicalRightShift(LLVMI32Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public int eval(int a, int b) {
-                return a >>> b;
-            }
-        });
+        return doOperation(this, rightValue, LOGICAL_RIGHT_SHIFT);
     }
 
+    private static final Operation ARITHMETIC_RIGHT_SHIFT = new Operation() {
+        @Override
+        public int eval(int a, int b) {
+            return a >> b;
+        }
+    };
+
     public LLVMI32Vector arithmeticRightShift(LLVMI32Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public int eval(int a, int b) {
-                return a >> b;
-            }
-        });
+        return doOperation(this, rightValue, ARITHMETIC_RIGHT_SHIFT);
     }
 
+    private static final Operation XOR = new Operation() {
+        @Override
+        public int eval(int a, int b) {
+            return a ^ b;
+        }
+    };
+
     public LLVMI32Vector xor(LLVMI32Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public int eval(int a, int b) {
-                return a ^ b;
-            }
-        });
+        return doOperation(this, rightValue, XOR);
     }
 
     public int[] getValues() {
@@ -203,12 +228,16 @@ public final class LLVMI32Vector {
         return vector.length;
     }
 
-    public LLVMI1Vector doCompare(LLVMI32Vector other, BiFunction<Integer, Integer, Boolean> comparison) {
+    public interface Comparison {
+        boolean compare(int a, int b);
+    }
+
+    public LLVMI1Vector doCompare(LLVMI32Vector other, Comparison comparison) {
         int length = getLength();
         boolean[] values = new boolean[length];
 
         for (int i = 0; i < length; i++) {
-            values[i] = comparison.apply(getValue(i), other.getValue(i));
+            values[i] = comparison.compare(getValue(i), other.getValue(i));
         }
 
         return LLVMI1Vector.create(values);
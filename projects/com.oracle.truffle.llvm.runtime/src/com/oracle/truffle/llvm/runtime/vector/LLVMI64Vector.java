@@ -30,7 +30,6 @@
 package com.oracle.truffle.llvm.runtime.vector;
 
 import java.util.Arrays;
-import java.util.function.BiFunction;
 
 import com.oracle.truffle.api.CompilerDirectives.ValueType;
 
@@ -68,121 +67,147 @@ public final class LLVMI64Vector {
         return create(result);
     }
 
+    private static final Operation ADD = new Operation() {
+        @Override
+        public long eval(long a, long b) {
+            return a + b;
+        }
+    };
+
     public LLVMI64Vector add(LLVMI64Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public long eval(long a, long b) {
-                return a + b;
-            }
-        });
+        return doOperation(this, rightValue, ADD);
     }
 
+    private static final Operation MUL = new Operation() {
+        @Override
+        public long eval(long a, long b) {
+            return a * b;
+        }
+    };
+
     public LLVMI64Vector mul(LLVMI64Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public long eval(long a, long b) {
-                return a * b;
-            }
-        });
+        return doOperation(this, rightValue, MUL);
     }
 
+    private static final Operation SUB = new Operation() {
+        @Override
+        public long eval(long a, long b) {
+            return a - b;
+        }
+    };
+
     public LLVMI64Vector sub(LLVMI64Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public long eval(long a, long b) {
-                return a - b;
-            }
-        });
+        return doOperation(this, rightValue, SUB);
     }
 
+    private static final Operation DIV = new Operation() {
+        @Override
+        public long eval(long a, long b) {
+            return a / b;
+        }
+    };
+
     public LLVMI64Vector div(LLVMI64Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public long eval(long a, long b) {
-                return a / b;
-            }
-        });
+        return doOperation(this, rightValue, DIV);
     }
 
+    private static final Operation DIV_UNSIGNED = new Operation() {
+        @Override
+        public long eval(long a, long b) {
+            return Long.divideUnsigned(a, b);
+        }
+    };
+
     public LLVMI64Vector divUnsigned(LLVMI64Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public long eval(long a, long b) {
-                return Long.divideUnsigned(a, b);
-            }
-        });
+        return doOperation(this, rightValue, DIV_UNSIGNED);
     }
 
+    private static final Operation REM = new Operation() {
+        @Override
+        public long eval(long a, long b) {
+            return a % b;
+        }
+    };
+
     public LLVMI64Vector rem(LLVMI64Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public long eval(long a, long b) {
-                return a % b;
-            }
-        });
+        return doOperation(this, rightValue, REM);
     }
 
+    private static final Operation REM_UNSIGNED = new Operation() {
+        @Override
+        public long eval(long a, long b) {
+            return Long.remainderUnsigned(a, b);
+        }
+    };
+
     public LLVMI64Vector remUnsigned(LLVMI64Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public long eval(long a, long b) {
-                return Long.remainderUnsigned(a, b);
-            }
-        });
+        return doOperation(this, rightValue, REM_UNSIGNED);
     }
 
+    private static final Operation AND = new Operation() {
+        @Override
+        public long eval(long a, long b) {
+            return a & b;
+        }
+    };
+
     public LLVMI64Vector and(LLVMI64Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public long eval(long a, long b) {
-                return a & b;
-            }
-        });
+        return doOperation(this, rightValue, AND);
     }
 
+    private static final Operation OR = new Operation() {
+        @Override
+        public long eval(long a, long b) {
+            return a | b;
+        }
+    };
+
     public LLVMI64Vector or(LLVMI64Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public long eval(long a, long b) {
-                return a | b;
-            }
-        });
+        return doOperation(this, rightValue, OR);
     }
 
+    private static final Operation LEFT_SHIFT = new Operation() {
+        @Override
+        public long eval(long a, long b) {
+            return a << b;
+        }
+    };
+
     public LLVMI64Vector leftShift(LLVMI64Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public long eval(long a, long b) {
-                return a << b;
-            }
-        });
+        return doOperation(this, rightValue, LEFT_SHIFT);
     }
 
+    private static final Operation LOGICAL_RIGHT_SHIFT = new Operation() {
+        @Override
+        public long eval(long a, long b) {
+            return a >>> b;
+        }
+    };
+
     public LLVMI64Vector logicalRightShift(LLVMI64Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public long eval(long a, long b) {
-                return a >>> b;
-            }
-        });
+        return doOperation(this, rightValue, LOGICAL_RIGHT_SHIFT);
     }
 
+    private static final Operation ARITHMETIC_RIGHT_SHIFT = new Operation() {
+        @Override
+        public long eval(long a, long b) {
+            return a >> b;
+        }
+    };
+
     public LLVMI64Vector arithmeticRightShift(LLVMI64Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public long eval(long a, long b) {
-                return a >> b;
-            }
-        });
+        return doOperation(this, rightValue, ARITHMETIC_RIGHT_SHIFT);
     }
 
+    private static final Operation XOR = new Operation() {
+        @Override
+        public long eval(long a, long b) {
+            return a ^ b;
+        }
+    };
+
     public LLVMI64Vector xor(LLVMI64Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public long eval(long a, long b) {
-                return a ^ b;
-            }
-        });
+        return doOperation(this, rightValue, XOR);
     }
 
     public long[] getValues() {
@@ -203,12 +228,16 @@ public final class LLVMI64Vector {
         return vector.length;
     }
 
-    public LLVMI1Vector doCompare(LLVMI64Vector other, BiFunction<Long, Long, Boolean> comparison) {
+    public interface Comparison {
+        boolean compare(long a, long b);
+    }
+
+    public LLVMI1Vector doCompare(LLVMI64Vector other, Comparison comparison) {
         int length = getLength();
         boolean[] values = new boolean[length];
 
         for (int i = 0; i < length; i++) {
-            values[i] = comparison.apply(getValue(i), other.getValue(i));
+            values[i] = comparison.compare(getValue(i), other.getValue(i));
         }
 
         return LLVMI1Vector.create(values);
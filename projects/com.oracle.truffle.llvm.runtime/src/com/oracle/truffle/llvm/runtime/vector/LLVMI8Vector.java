@@ -30,7 +30,6 @@
 package com.oracle.truffle.llvm.runtime.vector;
 
 import java.util.Arrays;
-import java.util.function.BiFunction;
 
 import com.oracle.truffle.api.CompilerDirectives.ValueType;
 
@@ -68,121 +67,147 @@ public final class LLVMI8Vector {
         return create(result);
     }
 
+    private static final Operation ADD = new Operation() {
+        @Override
+        public byte eval(byte a, byte b) {
+            return (byte) (a + b);
+        }
+    };
+
     public LLVMI8Vector add(LLVMI8Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public byte eval(byte a, byte b) {
-                return (byte) (a + b);
-            }
-        });
+        return doOperation(this, rightValue, ADD);
     }
 
+    private static final Operation MUL = new Operation() {
+        @Override
+        public byte eval(byte a, byte b) {
+            return (byte) (a * b);
+        }
+    };
+
     public LLVMI8Vector mul(LLVMI8Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public byte eval(byte a, byte b) {
-                return (byte) (a * b);
-            }
-        });
+        return doOperation(this, rightValue, MUL);
     }
 
+    private static final Operation SUB = new Operation() {
+        @Override
+        public byte eval(byte a, byte b) {
+            return (byte) (a - b);
+        }
+    };
+
     public LLVMI8Vector sub(LLVMI8Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public byte eval(byte a, byte b) {
-                return (byte) (a - b);
-            }
-        });
+        return doOperation(this, rightValue, SUB);
     }
 
+    private static final Operation DIV = new Operation() {
+        @Override
+        public byte eval(byte a, byte b) {
+            return (byte) (a / b);
+        }
+    };
+
     public LLVMI8Vector div(LLVMI8Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public byte eval(byte a, byte b) {
-                return (byte) (a / b);
-            }
-        });
+        return doOperation(this, rightValue, DIV);
     }
 
+    private static final Operation DIV_UNSIGNED = new Operation() {
+        @Override
+        public byte eval(byte a, byte b) {
+            return (byte) (Byte.toUnsignedInt(a) / Byte.toUnsignedInt(b));
+        }
+    };
+
     public LLVMI8Vector divUnsigned(LLVMI8Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public byte eval(byte a, byte b) {
-                return (byte) (Byte.toUnsignedInt(a) / Byte.toUnsignedInt(b));
-            }
-        });
+        return doOperation(this, rightValue, DIV_UNSIGNED);
     }
 
+    private static final Operation REM = new Operation() {
+        @Override
+        public byte eval(byte a, byte b) {
+            return (byte) (a % b);
+        }
+    };
+
     public LLVMI8Vector rem(LLVMI8Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public byte eval(byte a, byte b) {
-                return (byte) (a % b);
-            }
-        });
+        return doOperation(this, rightValue, REM);
     }
 
+    private static final Operation REM_UNSIGNED = new Operation() {
+        @Override
+        public byte eval(byte a, byte b) {
+            return (byte) (Byte.toUnsignedInt(a) % Byte.toUnsignedInt(b));
+        }
+    };
+
     public LLVMI8Vector remUnsigned(LLVMI8Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public byte eval(byte a, byte b) {
-                return (byte) (Byte.toUnsignedInt(a) % Byte.toUnsignedInt(b));
-            }
-        });
+        return doOperation(this, rightValue, REM_UNSIGNED);
     }
 
+    private static final Operation AND = new Operation() {
+        @Override
+        public byte eval(byte a, byte b) {
+            return (byte) (a & b);
+        }
+    };
+
     public LLVMI8Vector and(LLVMI8Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public byte eval(byte a, byte b) {
-                return (byte) (a & b);
-            }
-        });
+        return doOperation(this, rightValue, AND);
     }
 
+    private static final Operation OR = new Operation() {
+        @Override
+        public byte eval(byte a, byte b) {
+            return (byte) (a | b);
+        }
+    };
+
     public LLVMI8Vector or(LLVMI8Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public byte eval(byte a, byte b) {
-                return (byte) (a | b);
-            }
-        });
+        return doOperation(this, rightValue, OR);
     }
 
+    private static final Operation LEFT_SHIFT = new Operation() {
+        @Override
+        public byte eval(byte a, byte b) {
+            return (byte) (a << b);
+        }
+    };
+
     public LLVMI8Vector leftShift(LLVMI8Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public byte eval(byte a, byte b) {
-                return (byte) (a << b);
-            }
-        });
+        return doOperation(this, rightValue, LEFT_SHIFT);
     }
 
+    private static final Operation LOGICAL_RIGHT_SHIFT = new Operation() {
+        @Override
+        public byte eval(byte a, byte b) {
+            return (byte) (a >>> b);
+        }
+    };
+
     public LLVMI8Vector logicalRightShift(LLVMI8Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public byte eval(byte a, byte b) {
-                return (byte) (a >>> b);
-            }
-        });
+        return doOperation(this, rightValue, LOGICAL_RIGHT_SHIFT);
     }
 
+    private static final Operation ARITHMETIC_RIGHT_SHIFT = new Operation() {
+        @Override
+        public byte eval(byte a, byte b) {
+            return (byte) (a >> b);
+        }
+    };
+
     public LLVMI8Vector arithmeticRightShift(LLVMI8Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public byte eval(byte a, byte b) {
-                return (byte) (a >> b);
-            }
-        });
+        return doOperation(this, rightValue, ARITHMETIC_RIGHT_SHIFT);
     }
 
+    private static final Operation XOR = new Operation() {
+        @Override
+        public byte eval(byte a, byte b) {
+            return (byte) (a ^ b);
+        }
+    };
+
     public LLVMI8Vector xor(LLVMI8Vector rightValue) {
-        return doOperation(this, rightValue, new Operation() {
-            @Override
-            public byte eval(byte a, byte b) {
-                return (byte) (a ^ b);
-            }
-        });
+        return doOperation(this, rightValue, XOR);
     }
 
     public byte[] getValues() {
@@ -203,12 +228,16 @@ public final class LLVMI8Vector {
         return vector.length;
     }
 
-    public LLVMI1Vector doCompare(LLVMI8Vector other, BiFunction<Byte, Byte, Boolean> comparison) {
+    public interface Comparison {
+        boolean compare(byte a, byte b);
+    }
+
+    public LLVMI1Vector doCompare(LLVMI8Vector other, Comparison comparison) {
         int length = getLength();
         boolean[] values = new boolean[length];
 
         for (int i = 0; i < length; i++) {
-            values[i] = comparison.apply(getValue(i), other.getValue(i));
+            values[i] = comparison.compare(getValue(i), other.getValue(i));
         }
 
         return LLVMI1Vector.create(values);
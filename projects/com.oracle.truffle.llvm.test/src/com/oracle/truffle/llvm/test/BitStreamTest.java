@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.test;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.oracle.truffle.llvm.parser.scanner.BitStream;
+
+public final class BitStreamTest {
+
+    private static long readReference(byte[] bytes, long offset, int bits) {
+        long value = 0;
+        for (int i = 0; i < bits; i++) {
+            long bit = offset + i;
+            int index = (int) (bit / Byte.SIZE);
+            if (index < bytes.length && (bytes[index] & (1 << (bit % Byte.SIZE))) != 0) {
+                value |= 1L << i;
+            }
+        }
+        return value;
+    }
+
+    private static long readVBRReference(byte[] bytes, long offset, int width) {
+        long value = 0;
+        long shift = 0;
+        long o = offset;
+        long datum;
+        do {
+            datum = readReference(bytes, o, width);
+            o += width;
+            value += (datum & ((1L << (width - 1)) - 1)) << shift;
+            shift += width - 1;
+        } while ((datum & (1L << (width - 1))) != 0);
+        return value;
+    }
+
+    @Test
+    public void testFixedWidth() {
+        Random random = new Random(42);
+        byte[] bytes = new byte[77];
+        random.nextBytes(bytes);
+        BitStream stream = BitStream.create(ByteBuffer.wrap(bytes));
+        Assert.assertEquals(bytes.length * Byte.SIZE, stream.size());
+        for (long offset = 0; offset < stream.size(); offset += 7) {
+            for (int bits = 1; bits <= Long.SIZE; bits += 9) {
+                Assert.assertEquals(readReference(bytes, offset, bits), stream.read(offset, bits));
+            }
+        }
+    }
+
+    @Test
+    public void testVBR() {
+        Random random = new Random(4711);
+        byte[] bytes = new byte[200];
+        random.nextBytes(bytes);
+        BitStream stream = BitStream.create(ByteBuffer.wrap(bytes));
+        for (int width = 2; width <= 32; width++) {
+            long offset = 0;
+            while (offset < stream.size() - 2 * Long.SIZE) {
+                long expected = readVBRReference(bytes, offset, width);
+                Assert.assertEquals(expected, stream.readVBR(offset, width));
+                offset += BitStream.widthVBR(expected, width);
+            }
+        }
+    }
+
+    @Test
+    public void testBlob() {
+        long[] args = {0, 0x0123456789abcdefL, 0xfedcba9876543210L};
+        BitStream stream = BitStream.createFromBlob(args, 1);
+        Assert.assertEquals(2 * Long.SIZE, stream.size());
+        Assert.assertEquals(0xefL, stream.read(0, Byte.SIZE));
+        Assert.assertEquals(0x0123456789abcdefL, stream.read(0, Long.SIZE));
+        Assert.assertEquals(0x10_0123456789abcdL, stream.read(Byte.SIZE, Long.SIZE) & 0xff_ffffffffffffffL);
+        Assert.assertEquals(0xfedcba9876543210L, stream.read(Long.SIZE, Long.SIZE));
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Source;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.oracle.truffle.llvm.runtime.LLVMLanguage;
+import com.oracle.truffle.llvm.runtime.options.SulongEngineOption;
+import com.oracle.truffle.llvm.test.options.TestOptions;
+
+public final class VirtualStdioTest {
+
+    private static final File TEST_FILE = new File(TestOptions.PROJECT_ROOT + "/../cache/tests/other/virtual-stdio/virtual-stdio_clang_O0.bc");
+
+    @Test
+    public void testRedirectedStreams() throws IOException {
+        File redirected = File.createTempFile("virtual-stdio", ".txt");
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ByteArrayOutputStream err = new ByteArrayOutputStream();
+            Source source = Source.newBuilder(LLVMLanguage.NAME, TEST_FILE).build();
+            Context context = Context.newBuilder().arguments(LLVMLanguage.NAME, new String[]{redirected.getAbsolutePath()}).option(SulongEngineOption.VIRTUAL_STDIO_NAME,
+                            String.valueOf(true)).out(out).err(err).build();
+            int status;
+            try {
+                status = context.eval(source).asInt();
+            } finally {
+                context.close();
+            }
+            Assert.assertEquals(0, status);
+            // output written before dup2 stays in the language streams, later output follows the
+            // native descriptor table
+            Assert.assertEquals("stdout\nbuffered\n", new String(out.toByteArray(), StandardCharsets.UTF_8));
+            Assert.assertEquals("stderr\n", new String(err.toByteArray(), StandardCharsets.UTF_8));
+            Assert.assertEquals("redirected\n", new String(Files.readAllBytes(redirected.toPath()), StandardCharsets.UTF_8));
+        } finally {
+            Assert.assertTrue(redirected.delete());
+        }
+    }
+}
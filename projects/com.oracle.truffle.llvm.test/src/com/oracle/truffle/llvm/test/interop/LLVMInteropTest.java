@@ -948,6 +948,55 @@ public final class LLVMInteropTest {
         Assert.assertEquals(-1, test13.asInt());
     }
 
+    @Test
+    public void testStringRoutinesOnForeignStrings() throws Exception {
+        Runner runner = new Runner("stringRoutines");
+        runner.run();
+        char[] abc = new char[]{'a', 'b', 'c'};
+        char[] abd = new char[]{'a', 'b', 'd'};
+        char[] hello = new char[]{'h', 'e', 'l', 'l', 'o'};
+
+        Value strnlen = runner.findGlobalSymbol("foreign_strnlen");
+        Assert.assertEquals(3, strnlen.execute(abc, 10).asLong());
+        Assert.assertEquals(2, strnlen.execute(abc, 2).asLong());
+        Assert.assertEquals(0, strnlen.execute(new char[]{}, 5).asLong());
+
+        Value strncmp = runner.findGlobalSymbol("foreign_strncmp");
+        Assert.assertEquals(0, strncmp.execute(abc, abd, 2).asInt());
+        Assert.assertEquals(-1, strncmp.execute(abc, abd, 3).asInt());
+        Assert.assertEquals('c', strncmp.execute(abc, new char[]{'a', 'b'}, 5).asInt());
+
+        Value memcmp = runner.findGlobalSymbol("foreign_memcmp");
+        Assert.assertEquals(0, memcmp.execute(abc, abd, 2).asInt());
+        Assert.assertEquals(-1, memcmp.execute(abc, abd, 3).asInt());
+
+        Value strchr = runner.findGlobalSymbol("foreign_strchr");
+        Assert.assertEquals(2, strchr.execute(hello, 'l').asLong());
+        Assert.assertEquals(-1, strchr.execute(hello, 'z').asLong());
+        Assert.assertEquals(5, strchr.execute(hello, 0).asLong());
+
+        Value memchr = runner.findGlobalSymbol("foreign_memchr");
+        Assert.assertEquals(4, memchr.execute(hello, 'o', 5).asLong());
+        Assert.assertEquals(-1, memchr.execute(hello, 'o', 4).asLong());
+        Assert.assertEquals(-1, memchr.execute(hello, 0, 10).asLong());
+
+        Value strcpy = runner.findGlobalSymbol("foreign_strcpy");
+        Assert.assertEquals(5, strcpy.execute(hello).asLong());
+        Assert.assertEquals(0, strcpy.execute(new char[]{}).asLong());
+
+        Value strncpy = runner.findGlobalSymbol("foreign_strncpy");
+        Assert.assertEquals(5, strncpy.execute(hello, 8).asLong());
+        Assert.assertEquals(3, strncpy.execute(hello, 3).asLong());
+    }
+
+    @Test
+    public void testStringRoutinesOnVirtualAllocations() throws Exception {
+        Runner runner = new Runner("stringRoutines");
+        runner.run();
+        Value test = runner.findGlobalSymbol("virtual_routines");
+        Assert.assertEquals(0, test.execute().asInt());
+    }
+
     @Test
     public void testHandleFromNativeCallback() throws Exception {
         Runner runner = new Runner("handleFromNativeCallback");
@@ -1042,6 +1091,24 @@ public final class LLVMInteropTest {
         Assert.assertEquals(setF.execute().asBoolean(), true);
     }
 
+    @Test
+    public void testVirtualMallocMemCopy() throws Exception {
+        Runner runner = new Runner("virtualMallocMemCopy");
+        runner.load();
+        Value virtualToVirtual = runner.findGlobalSymbol("virtual_to_virtual");
+        Value nativeToVirtual = runner.findGlobalSymbol("native_to_virtual");
+        Value virtualToNative = runner.findGlobalSymbol("virtual_to_native");
+        Value virtualMemset = runner.findGlobalSymbol("virtual_memset");
+        for (long length : new long[]{0, 1, 7, 13, 4096, 100003}) {
+            Assert.assertEquals(0, virtualToVirtual.execute(length).asInt());
+            Assert.assertEquals(0, nativeToVirtual.execute(length).asInt());
+            Assert.assertEquals(0, virtualToNative.execute(length).asInt());
+            Assert.assertEquals(0, virtualMemset.execute(length).asInt());
+        }
+        Value constantLength = runner.findGlobalSymbol("constant_length");
+        Assert.assertEquals(0, constantLength.execute().asInt());
+    }
+
     @Test
     public void testVirtualMallocCompare1() throws Exception {
         Runner runner = new Runner("virtualMallocCompare1");
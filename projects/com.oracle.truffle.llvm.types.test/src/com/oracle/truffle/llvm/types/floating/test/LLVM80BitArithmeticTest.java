@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.oracle.truffle.llvm.types.floating.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.oracle.truffle.llvm.runtime.floating.LLVM80BitFloat;
+
+public class LLVM80BitArithmeticTest extends LLVM80BitTest {
+
+    private static final LLVM80BitFloat MAX_VALUE = LLVM80BitFloat.fromRawValues(false, 0x7ffe, 0xffffffffffffffffL);
+    private static final LLVM80BitFloat MIN_NORMAL = LLVM80BitFloat.fromRawValues(false, 0x0001, 0x8000000000000000L);
+
+    @Test
+    public void testAdd() {
+        assertEquals(val(3), val(1).add(val(2)));
+        assertEquals(val(-1), val(1).add(val(-2)));
+    }
+
+    @Test
+    public void testAddRounding() {
+        assertEquals(LLVM80BitFloat.fromRawValues(false, 0x3ffd, 0x9999999999999c00L), val(0.1).add(val(0.2)));
+    }
+
+    @Test
+    public void testSubZero() {
+        assertEquals(zero(), one().sub(one()));
+        assertEquals(minusZero(), minusZero().add(minusZero()));
+        assertEquals(zero(), minusZero().sub(minusZero()));
+    }
+
+    @Test
+    public void testMul() {
+        assertEquals(val(-6), val(2).mul(val(-3)));
+        assertEquals(LLVM80BitFloat.fromRawValues(true, 0x3ffd, 0x9999999999999c00L), val(3).mul(val(-0.1)));
+    }
+
+    @Test
+    public void testMulOverflow() {
+        assertEquals(positiveInfinity(), MAX_VALUE.mul(val(2)));
+        assertEquals(negativeInfinity(), MAX_VALUE.mul(val(-2)));
+    }
+
+    @Test
+    public void testMulUnderflow() {
+        assertEquals(zero(), MIN_NORMAL.mul(MIN_NORMAL));
+    }
+
+    @Test
+    public void testDiv() {
+        assertEquals(val(2.5), val(5).div(val(2)));
+        assertEquals(LLVM80BitFloat.fromRawValues(false, 0x3ffd, 0xaaaaaaaaaaaaaaabL), one().div(val(3)));
+    }
+
+    @Test
+    public void testDivDenormal() {
+        assertEquals(LLVM80BitFloat.fromRawValues(false, 0, 0x2000000000000000L), MIN_NORMAL.div(val(4)));
+    }
+
+    @Test
+    public void testDivByZero() {
+        assertEquals(positiveInfinity(), one().div(zero()));
+        assertEquals(negativeInfinity(), one().div(minusZero()));
+        assertEquals(negativeInfinity(), minusOne().div(zero()));
+    }
+
+    @Test
+    public void testRem() {
+        assertEquals(one(), val(10).rem(val(3)));
+        assertEquals(minusOne(), val(-10).rem(val(3)));
+        assertEquals(val(0.5), val(2.5).rem(val(-1)));
+    }
+
+    @Test
+    public void testInvalidOperations() {
+        assertTrue(positiveInfinity().sub(positiveInfinity()).isNaN());
+        assertTrue(positiveInfinity().add(negativeInfinity()).isNaN());
+        assertTrue(zero().mul(negativeInfinity()).isNaN());
+        assertTrue(zero().div(zero()).isNaN());
+        assertTrue(positiveInfinity().rem(one()).isNaN());
+    }
+
+    @Test
+    public void testNaNPropagation() {
+        assertTrue(nan().add(one()).isNaN());
+        assertTrue(one().mul(nan()).isNaN());
+        assertTrue(nan().div(zero()).isNaN());
+    }
+
+    @Test
+    public void testInfinities() {
+        assertEquals(positiveInfinity(), positiveInfinity().add(one()));
+        assertEquals(negativeInfinity(), one().sub(positiveInfinity()));
+        assertEquals(zero(), one().div(positiveInfinity()));
+    }
+
+    @Test
+    public void testResultsAreNotShared() {
+        LLVM80BitFloat infinity = positiveInfinity();
+        assertNotSame(infinity, infinity.add(one()));
+        assertNotSame(zero(), zero().rem(one()));
+        assertNotSame(infinity.sub(infinity), infinity.sub(infinity));
+        assertNotSame(one().sub(one()), one().sub(one()));
+        assertNotSame(one().div(infinity), one().div(infinity));
+    }
+
+    @Test
+    public void testGetDoubleValueRounding() {
+        assertEquals(0x3fd5555555555555L, Double.doubleToRawLongBits(one().div(val(3)).getDoubleValue()));
+        assertBitEquals(Double.POSITIVE_INFINITY, MAX_VALUE.getDoubleValue());
+        assertBitEquals(0.0, MIN_NORMAL.getDoubleValue());
+    }
+
+    @Test
+    public void testDenormalDouble() {
+        LLVM80BitFloat value = LLVM80BitFloat.fromDouble(Double.MIN_VALUE);
+        assertEquals(LLVM80BitFloat.fromRawValues(false, 0x3bcd, 0x8000000000000000L), value);
+        assertBitEquals(Double.MIN_VALUE, value.getDoubleValue());
+    }
+
+    @Test
+    public void testCompareNegative() {
+        assertTrue(LLVM80BitFloat.compare(val(-2), val(-1)) < 0);
+        assertTrue(LLVM80BitFloat.compare(val(-1), val(-2)) > 0);
+        assertTrue(LLVM80BitFloat.compare(zero(), minusZero()) == 0);
+        assertTrue(LLVM80BitFloat.compare(val(0.5), val(0.25)) > 0);
+    }
+}
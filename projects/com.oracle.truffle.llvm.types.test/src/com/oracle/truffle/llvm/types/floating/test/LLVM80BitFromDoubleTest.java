@@ -101,4 +101,18 @@ public class LLVM80BitFromDoubleTest extends LLVM80BitTest {
         LLVM80BitFloat expected = LLVM80BitFloat.fromRawValues(false, 0x3fff, 0xc000000000000000L);
         assertEquals(expected, val);
     }
+
+    @Test
+    public void testSignalingNaNPayload() {
+        LLVM80BitFloat val = LLVM80BitFloat.fromDouble(Double.longBitsToDouble(0x7ff4000000000123L));
+        LLVM80BitFloat expected = LLVM80BitFloat.fromRawValues(false, 0x7fff, 0xe000000000091800L);
+        assertEquals(expected, val);
+    }
+
+    @Test
+    public void testNegativeNaNPayload() {
+        LLVM80BitFloat val = LLVM80BitFloat.fromDouble(Double.longBitsToDouble(0xfff8000000abc001L));
+        LLVM80BitFloat expected = LLVM80BitFloat.fromRawValues(true, 0x7fff, 0xc00000055e000800L);
+        assertEquals(expected, val);
+    }
 }
@@ -33,6 +33,8 @@ import static org.junit.Assert.assertEquals;
 
 import org.junit.Test;
 
+import com.oracle.truffle.llvm.runtime.floating.LLVM80BitFloat;
+
 public class LLVM80BitGetDoubleTest extends LLVM80BitTest {
 
     @Test
@@ -71,4 +73,10 @@ public class LLVM80BitGetDoubleTest extends LLVM80BitTest {
     public void testQNaN() {
         assertBitEquals(Double.NaN, nan().getDoubleValue());
     }
+
+    @Test
+    public void testNaNPayload() {
+        assertBitEquals(Double.longBitsToDouble(0x7ffc000000000123L), LLVM80BitFloat.fromRawValues(false, 0x7fff, 0xe000000000091800L).getDoubleValue());
+        assertBitEquals(Double.longBitsToDouble(0xfff8000000abc001L), LLVM80BitFloat.fromRawValues(true, 0x7fff, 0xc00000055e000800L).getDoubleValue());
+    }
 }
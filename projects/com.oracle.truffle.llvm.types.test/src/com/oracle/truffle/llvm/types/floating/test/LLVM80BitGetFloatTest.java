@@ -33,6 +33,8 @@ import static org.junit.Assert.assertEquals;
 
 import org.junit.Test;
 
+import com.oracle.truffle.llvm.runtime.floating.LLVM80BitFloat;
+
 public class LLVM80BitGetFloatTest extends LLVM80BitTest {
 
     @Test
@@ -71,4 +73,10 @@ public class LLVM80BitGetFloatTest extends LLVM80BitTest {
     public void testQNaN() {
         assertBitEquals(Float.NaN, nan().getFloatValue());
     }
+
+    @Test
+    public void testNaNPayload() {
+        assertBitEquals(Float.intBitsToFloat(0x7fe00000), LLVM80BitFloat.fromRawValues(false, 0x7fff, 0xe000000000091800L).getFloatValue());
+        assertBitEquals(Float.intBitsToFloat(0xffc00000), LLVM80BitFloat.fromRawValues(true, 0x7fff, 0xc00000055e000800L).getFloatValue());
+    }
 }
@@ -29,6 +29,131 @@
  */
 package com.oracle.truffle.llvm.types.floating.test;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigInteger;
+
+import org.junit.Test;
+
+import com.oracle.truffle.llvm.runtime.LLVMIVarBit;
+
 public class LLVMIVarBitTest {
 
+    private static final BigInteger I128_RANGE = BigInteger.ONE.shiftLeft(LLVMIVarBit.I128_SIZE);
+
+    private static LLVMIVarBit i128(BigInteger value) {
+        return LLVMIVarBit.fromBigInteger(LLVMIVarBit.I128_SIZE, value);
+    }
+
+    private static LLVMIVarBit i128(long value) {
+        return LLVMIVarBit.fromLong(LLVMIVarBit.I128_SIZE, value);
+    }
+
+    private static BigInteger wrap(BigInteger value) {
+        BigInteger result = value.mod(I128_RANGE);
+        return result.testBit(LLVMIVarBit.I128_SIZE - 1) ? result.subtract(I128_RANGE) : result;
+    }
+
+    private static void assertI128(BigInteger expected, LLVMIVarBit actual) {
+        assertEquals(LLVMIVarBit.I128_SIZE, actual.getBitSize());
+        assertEquals(wrap(expected), actual.asBigInteger());
+    }
+
+    @Test
+    public void testWords() {
+        LLVMIVarBit value = LLVMIVarBit.fromI128(0x0123456789ABCDEFL, 0xFEDCBA9876543210L);
+        assertEquals(0x0123456789ABCDEFL, value.getUpperWord());
+        assertEquals(0xFEDCBA9876543210L, value.getLowerWord());
+        assertEquals(0xFEDCBA9876543210L, value.getLongValue());
+        assertEquals(0x76543210, value.getIntValue());
+        assertEquals(-1L, i128(-1).getUpperWord());
+        assertEquals(0L, LLVMIVarBit.createZeroExt(LLVMIVarBit.I128_SIZE, -1L).getUpperWord());
+    }
+
+    @Test
+    public void testAddCarry() {
+        BigInteger a = BigInteger.ONE.shiftLeft(Long.SIZE).subtract(BigInteger.ONE);
+        assertI128(a.add(BigInteger.ONE), i128(a).add(i128(1)));
+        assertI128(BigInteger.ZERO, i128(-1).add(i128(1)));
+    }
+
+    @Test
+    public void testSubBorrow() {
+        BigInteger a = BigInteger.ONE.shiftLeft(Long.SIZE);
+        assertI128(a.subtract(BigInteger.ONE), i128(a).sub(i128(1)));
+        assertI128(BigInteger.valueOf(-1), i128(0).sub(i128(1)));
+    }
+
+    @Test
+    public void testMul() {
+        BigInteger a = new BigInteger("123456789abcdef0fedcba987654321", 16);
+        BigInteger b = new BigInteger("-fedcba9876543210", 16);
+        assertI128(a.multiply(b), i128(a).mul(i128(b)));
+        assertI128(BigInteger.valueOf(-1).multiply(BigInteger.valueOf(Long.MIN_VALUE)), i128(-1).mul(i128(Long.MIN_VALUE)));
+    }
+
+    @Test
+    public void testDiv() {
+        BigInteger a = new BigInteger("-123456789abcdef0fedcba987654321", 16);
+        assertI128(a.divide(BigInteger.valueOf(7)), i128(a).div(i128(7)));
+        assertI128(a.remainder(BigInteger.valueOf(7)), i128(a).rem(i128(7)));
+        assertI128(BigInteger.valueOf(Long.MIN_VALUE).negate(), i128(Long.MIN_VALUE).div(i128(-1)));
+        assertI128(BigInteger.valueOf(-3), i128(-7).div(i128(2)));
+        assertI128(BigInteger.valueOf(-1), i128(-7).rem(i128(2)));
+    }
+
+    @Test
+    public void testUnsignedDiv() {
+        BigInteger allOnes = I128_RANGE.subtract(BigInteger.ONE);
+        assertI128(allOnes.divide(BigInteger.valueOf(3)), i128(-1).unsignedDiv(i128(3)));
+        assertI128(BigInteger.ONE, i128(-1).unsignedDiv(i128(-1)));
+        assertI128(BigInteger.ZERO, i128(3).unsignedDiv(i128(-1)));
+        assertI128(BigInteger.valueOf(3), i128(3).unsignedRem(i128(-1)));
+    }
+
+    @Test
+    public void testShifts() {
+        BigInteger a = new BigInteger("-123456789abcdef0fedcba987654321", 16);
+        BigInteger unsigned = a.mod(I128_RANGE);
+        for (int shift : new int[]{0, 1, 17, 63, 64, 65, 100, 127}) {
+            LLVMIVarBit amount = i128(shift);
+            assertI128(a.shiftLeft(shift), i128(a).leftShift(amount));
+            assertI128(a.shiftRight(shift), i128(a).arithmeticRightShift(amount));
+            assertI128(unsigned.shiftRight(shift), i128(a).logicalRightShift(amount));
+        }
+    }
+
+    @Test
+    public void testCompare() {
+        assertTrue(i128(-1).signedCompare(i128(1)) < 0);
+        assertTrue(i128(-1).unsignedCompare(i128(1)) > 0);
+        assertTrue(LLVMIVarBit.fromI128(1, 0).signedCompare(LLVMIVarBit.fromI128(0, -1)) > 0);
+        assertTrue(LLVMIVarBit.fromI128(0, -1).unsignedCompare(LLVMIVarBit.fromI128(0, 1)) > 0);
+        assertEquals(0, i128(42).signedCompare(i128(42)));
+        assertTrue(i128(0).isZero());
+        assertTrue(!LLVMIVarBit.fromI128(1, 0).isZero());
+    }
+
+    @Test
+    public void testBitwise() {
+        BigInteger a = new BigInteger("-123456789abcdef0fedcba987654321", 16);
+        BigInteger b = new BigInteger("f0f0f0f0f0f0f0f0f0f0f0f0f0f0f0f", 16);
+        assertI128(a.and(b), i128(a).and(i128(b)));
+        assertI128(a.or(b), i128(a).or(i128(b)));
+        assertI128(a.xor(b), i128(a).xor(i128(b)));
+    }
+
+    @Test
+    public void testBytes() {
+        LLVMIVarBit value = LLVMIVarBit.fromI128(0x0123456789ABCDEFL, 0xFEDCBA9876543210L);
+        byte[] bytes = value.getBytes();
+        assertEquals(LLVMIVarBit.I128_SIZE / Byte.SIZE, bytes.length);
+        assertEquals(0x01, bytes[0]);
+        assertEquals(0x10, bytes[bytes.length - 1]);
+        LLVMIVarBit copy = LLVMIVarBit.create(LLVMIVarBit.I128_SIZE, bytes, LLVMIVarBit.I128_SIZE, false);
+        assertEquals(value, copy);
+        assertEquals(value.hashCode(), copy.hashCode());
+        assertEquals(new BigInteger("0123456789abcdeffedcba9876543210", 16), value.asBigInteger());
+    }
 }
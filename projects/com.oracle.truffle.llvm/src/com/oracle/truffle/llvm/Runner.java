@@ -31,12 +31,13 @@ package com.oracle.truffle.llvm;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.ByteBuffer;
-import java.nio.CharBuffer;
-import java.nio.charset.Charset;
-import java.nio.file.Files;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.Base64;
 import java.util.List;
 import java.util.function.Consumer;
@@ -54,6 +55,7 @@ import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.api.nodes.RootNode;
 import com.oracle.truffle.api.source.Source;
 import com.oracle.truffle.llvm.parser.BitcodeParserResult;
+import com.oracle.truffle.llvm.parser.BitcodeParserResultCache;
 import com.oracle.truffle.llvm.parser.LLVMParserResult;
 import com.oracle.truffle.llvm.parser.LLVMParserRuntime;
 import com.oracle.truffle.llvm.parser.NodeFactory;
@@ -61,6 +63,7 @@ import com.oracle.truffle.llvm.parser.scanner.LLVMScanner;
 import com.oracle.truffle.llvm.runtime.LLVMContext;
 import com.oracle.truffle.llvm.runtime.LLVMFunctionDescriptor;
 import com.oracle.truffle.llvm.runtime.LLVMLanguage;
+import com.oracle.truffle.llvm.runtime.LLVMVirtualFileDescriptors;
 import com.oracle.truffle.llvm.runtime.memory.LLVMMemory;
 import com.oracle.truffle.llvm.runtime.memory.LLVMStack.StackPointer;
 import com.oracle.truffle.llvm.runtime.options.SulongEngineOption;
@@ -70,6 +73,7 @@ import com.oracle.truffle.nfi.types.Parser;
 public final class Runner {
 
     private final NodeFactory nodeFactory;
+    private final BitcodeParserResultCache moduleCache;
 
     static final class SulongLibrary implements TruffleObject {
 
@@ -132,8 +136,9 @@ public final class Runner {
         }
     }
 
-    public Runner(NodeFactory nodeFactory) {
+    public Runner(NodeFactory nodeFactory, BitcodeParserResultCache moduleCache) {
         this.nodeFactory = nodeFactory;
+        this.moduleCache = moduleCache;
     }
 
     public CallTarget parse(LLVMLanguage language, LLVMContext context, Source code) throws IOException {
@@ -144,8 +149,7 @@ public final class Runner {
             String libraryName = null;
 
             if (code.getMimeType().equals(LLVMLanguage.LLVM_BITCODE_BASE64_MIME_TYPE)) {
-                ByteBuffer buffer = Charset.forName("ascii").newEncoder().encode(CharBuffer.wrap(code.getCharacters()));
-                bytes = Base64.getDecoder().decode(buffer);
+                bytes = decodeBase64(code.getCharacters());
                 libraryName = "<STREAM>";
             } else if (code.getMimeType().equals(LLVMLanguage.LLVM_SULONG_TYPE)) {
                 NativeLibraryDescriptor descriptor = Parser.parseLibraryDescriptor(code.getCharacters());
@@ -165,7 +169,7 @@ public final class Runner {
                 throw new IOException("Unsupported file: " + code.toString());
             }
 
-            BitcodeParserResult bitcodeParserResult = BitcodeParserResult.getFromSource(code, bytes);
+            BitcodeParserResult bitcodeParserResult = parseBitcode(context, code, bytes);
             context.addLibraryPaths(bitcodeParserResult.getLibraryPaths());
             context.addExternalLibraries(bitcodeParserResult.getLibraries());
             parseDynamicBitcodeLibraries(language, context);
@@ -183,14 +187,78 @@ public final class Runner {
         }
     }
 
+    /**
+     * Maps the file read-only instead of copying it onto the heap. The mapping stays valid after
+     * the channel is closed. Every call creates a new mapping; if the module cache already holds
+     * the parsed library, the mapping is only used to compute the cache key and is dropped again.
+     * The mapping is only read while the file is parsed; with lazy parsing the scanner copies the
+     * bitcode onto the heap, because function bodies are parsed when they are first called.
+     */
     private static ByteBuffer read(String filename) {
-        try {
-            return ByteBuffer.wrap(Files.readAllBytes(Paths.get(filename)));
+        try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)) {
+            return channel.map(MapMode.READ_ONLY, 0, channel.size());
         } catch (IOException ignore) {
             return ByteBuffer.allocate(0);
         }
     }
 
+    /**
+     * Decodes the base64 characters directly into a buffer of the final size, without an
+     * intermediate ASCII copy of the whole input.
+     */
+    private static ByteBuffer decodeBase64(CharSequence chars) throws IOException {
+        byte[] result = new byte[chars.length() / 4 * 3 + 2];
+        int length = 0;
+        try (InputStream in = Base64.getDecoder().wrap(new CharSequenceInputStream(chars))) {
+            int read;
+            while (length < result.length && (read = in.read(result, length, result.length - length)) > 0) {
+                length += read;
+            }
+        }
+        return ByteBuffer.wrap(result, 0, length);
+    }
+
+    private static final class CharSequenceInputStream extends InputStream {
+
+        private final CharSequence chars;
+        private int index;
+
+        CharSequenceInputStream(CharSequence chars) {
+            this.chars = chars;
+        }
+
+        @Override
+        public int read() {
+            return index < chars.length() ? chars.charAt(index++) & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            int count = Math.min(len, chars.length() - index);
+            if (count <= 0) {
+                return -1;
+            }
+            for (int i = 0; i < count; i++) {
+                b[off + i] = (byte) chars.charAt(index++);
+            }
+            return count;
+        }
+    }
+
+    private BitcodeParserResult parseBitcode(LLVMContext context, Source code, ByteBuffer bytes) {
+        // in parse-only mode we want to see every function body
+        final boolean lazyParsing = context.getEnv().getOptions().get(SulongEngineOption.LAZY_PARSING) && !context.getEnv().getOptions().get(SulongEngineOption.PARSE_ONLY);
+        final boolean parseDebugInfo = context.getEnv().getOptions().get(SulongEngineOption.PARSE_DEBUG_INFO) || context.getEnv().getOptions().get(SulongEngineOption.ENABLE_LVI);
+        // debug information is attached to the model per context, so it must not be shared
+        if (context.getEnv().getOptions().get(SulongEngineOption.MODULE_CACHE) && !context.getEnv().getOptions().get(SulongEngineOption.ENABLE_LVI)) {
+            return moduleCache.getOrParse(code, bytes, lazyParsing, parseDebugInfo);
+        }
+        return BitcodeParserResult.getFromSource(code, bytes, lazyParsing, parseDebugInfo, context.getEnv().getOptions().get(SulongEngineOption.ENABLE_LVI));
+    }
+
     private static void visitBitcodeLibraries(LLVMContext context, Consumer<Source> sharedLibraryConsumer) throws IOException {
         List<Path> externalLibraries = context.getExternalLibraries(p -> p.toString().endsWith(".bc"));
         for (Path p : externalLibraries) {
@@ -209,7 +277,7 @@ public final class Runner {
             context.setBcLibrariesLoaded();
             visitBitcodeLibraries(context, source -> {
                 try {
-                    new Runner(nodeFactory).parse(language, context, source);
+                    new Runner(nodeFactory, moduleCache).parse(language, context, source);
                 } catch (Throwable t) {
                     throw new RuntimeException("Error while trying to parse dynamic library " + source.getName(), t);
                 }
@@ -256,8 +324,17 @@ public final class Runner {
                 destructor.call(stackPointer);
             }
         }
+        LLVMVirtualFileDescriptors virtualFileDescriptors = context.getVirtualFileDescriptors();
+        if (virtualFileDescriptors != null) {
+            try {
+                virtualFileDescriptors.flush();
+            } catch (IOException e) {
+                // like exit(3), errors while flushing the standard streams are not reported
+            }
+        }
         context.getThreadingStack().freeMainStack(memory);
         context.getGlobalsStack().free();
+        context.getHeap().dispose();
     }
 
     private LLVMParserResult parseBitcodeFile(Source source, String libraryName, BitcodeParserResult bitcodeParserResult, LLVMLanguage language, LLVMContext context) {
@@ -50,6 +50,7 @@ import com.oracle.truffle.api.instrumentation.StandardTags;
 import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.api.source.Source;
 import com.oracle.truffle.api.source.SourceSection;
+import com.oracle.truffle.llvm.parser.BitcodeParserResultCache;
 import com.oracle.truffle.llvm.parser.NodeFactory;
 import com.oracle.truffle.llvm.runtime.ContextExtension;
 import com.oracle.truffle.llvm.runtime.LLVMContext;
@@ -76,6 +77,8 @@ public final class Sulong extends LLVMLanguage {
         }
     }
 
+    private final BitcodeParserResultCache moduleCache = new BitcodeParserResultCache();
+
     @TruffleBoundary
     @Override
     public <E> E getCapability(Class<E> type) {
@@ -97,13 +100,14 @@ public final class Sulong extends LLVMLanguage {
     @Override
     protected void disposeContext(LLVMContext context) {
         context.printNativeCallStatistic();
+        context.printAllocationStatistic();
         Runner.disposeContext(getCapability(LLVMMemory.class), context);
     }
 
     @Override
     protected CallTarget parse(com.oracle.truffle.api.TruffleLanguage.ParsingRequest request) throws Exception {
         Source source = request.getSource();
-        return (new Runner(getNodeFactory())).parse(this, findLLVMContext(), source);
+        return (new Runner(getNodeFactory(), moduleCache)).parse(this, findLLVMContext(), source);
     }
 
     @Override
@@ -205,6 +209,7 @@ public final class Sulong extends LLVMLanguage {
     protected void disposeThread(LLVMContext context, Thread thread) {
         super.disposeThread(context, thread);
         context.getThreadingStack().freeStack(getCapability(LLVMMemory.class), thread);
+        context.getHeap().releaseThreadCache(thread);
     }
 
     @Override
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+#include <stdlib.h>
+#include <string.h>
+#include "harness.h"
+
+/*
+ * A memchr-like scan that compares 16 bytes at a time with a vector comparison and only looks at
+ * single bytes in the block that contains a match. The buffer has a match every few kilobytes, so
+ * most of the time is spent in i8 vector loads and comparisons.
+ */
+
+#define SIZE (1 << 20)
+#define DISTANCE 4093
+
+typedef unsigned char v16u8 __attribute__((vector_size(16)));
+typedef signed char v16s8 __attribute__((vector_size(16)));
+/* the scan continues after each match, so the blocks are not aligned */
+typedef unsigned char v16u8_unaligned __attribute__((vector_size(16), aligned(1)));
+
+static unsigned char *buffer;
+
+static void setup(void) {
+  buffer = malloc(SIZE);
+  for (int i = 0; i < SIZE; i++) {
+    buffer[i] = 'a' + i % 26;
+  }
+  for (int i = DISTANCE; i < SIZE; i += DISTANCE) {
+    buffer[i] = '\n';
+  }
+}
+
+__attribute__((noinline)) static long scan(const unsigned char *start, const unsigned char *end, unsigned char c) {
+  v16u8 needle = { c, c, c, c, c, c, c, c, c, c, c, c, c, c, c, c };
+  const unsigned char *p = start;
+  while (p + 16 <= end) {
+    v16s8 eq = *(const v16u8_unaligned *)p == needle;
+    unsigned long long words[2];
+    memcpy(words, &eq, sizeof(words));
+    if (words[0] | words[1]) {
+      for (int i = 0; i < 16; i++) {
+        if (p[i] == c) {
+          return p + i - start;
+        }
+      }
+    }
+    p += 16;
+  }
+  for (; p < end; p++) {
+    if (*p == c) {
+      return p - start;
+    }
+  }
+  return -1;
+}
+
+static void kernel(void) {
+  long count = 0;
+  const unsigned char *p = buffer;
+  const unsigned char *end = buffer + SIZE;
+  long offset;
+  while ((offset = scan(p, end, '\n')) >= 0) {
+    count++;
+    p += offset + 1;
+  }
+  benchmark_sink += count;
+}
+
+int main() {
+  setup();
+  benchmark_run("bytescan", kernel, 20, 100);
+  return 0;
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+#include <stdlib.h>
+#include "harness.h"
+
+/*
+ * Dot product of two double arrays with two vector accumulators of two lanes each. Besides the
+ * vector loads and arithmetic this reads single lanes for the final reduction.
+ */
+
+#define ELEMENTS 65536
+
+typedef double v2d __attribute__((vector_size(16)));
+
+static v2d *a;
+static v2d *b;
+
+static void setup(void) {
+  a = malloc(ELEMENTS * sizeof(double));
+  b = malloc(ELEMENTS * sizeof(double));
+  double *as = (double *)a;
+  double *bs = (double *)b;
+  for (int i = 0; i < ELEMENTS; i++) {
+    as[i] = i % 10;
+    bs[i] = (i % 3) - 1;
+  }
+}
+
+__attribute__((noinline)) static double dot(const v2d *as, const v2d *bs, int n) {
+  v2d sum0 = { 0, 0 };
+  v2d sum1 = { 0, 0 };
+  for (int i = 0; i < n; i += 2) {
+    sum0 += as[i] * bs[i];
+    sum1 += as[i + 1] * bs[i + 1];
+  }
+  v2d sum = sum0 + sum1;
+  return sum[0] + sum[1];
+}
+
+static void kernel(void) {
+  benchmark_sink += (long)dot(a, b, ELEMENTS / 2);
+}
+
+int main() {
+  setup();
+  benchmark_run("dotproduct", kernel, 100, 1000);
+  return 0;
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+#include "harness.h"
+
+/*
+ * Calls to functions with many SSA values, and thereby many frame slots, of which each call only
+ * uses a few. This is the shape where initializing the whole frame on function entry dominates
+ * the cost of a call: large generated or inlined functions whose common path exits early.
+ */
+
+#define ITERATIONS 200000
+
+typedef double v2d __attribute__((vector_size(16)));
+
+// every step defines new SSA values for a and b
+#define STEP(a, b)                                                                                                                                   \
+  a = a * 31 + b;                                                                                                                                    \
+  b ^= a >> 3;
+#define FLOAT_STEP(a, b)                                                                                                                             \
+  a = a * 0.5L + b;                                                                                                                                  \
+  b = b - a * 0.25L;
+#define ROUND4(S, a, b, c, d) S(a, b) S(b, c) S(c, d) S(d, a)
+#define ROUND16(S, a, b, c, d) ROUND4(S, a, b, c, d) ROUND4(S, b, c, d, a) ROUND4(S, c, d, a, b) ROUND4(S, d, a, b, c)
+#define ROUND64(S, a, b, c, d) ROUND16(S, a, b, c, d) ROUND16(S, b, c, d, a) ROUND16(S, c, d, a, b) ROUND16(S, d, a, b, c)
+
+__attribute__((noinline)) static long integers(long x) {
+  if (x & 15) {
+    return x + 1;
+  }
+  long a = x, b = x >> 1, c = x >> 2, d = x >> 3;
+  ROUND64(STEP, a, b, c, d)
+  ROUND64(STEP, c, d, a, b)
+  return a ^ b ^ c ^ d;
+}
+
+// slots of these types used to be nulled with a fresh object on every call
+__attribute__((noinline)) static long mixed(long x) {
+  if (x & 15) {
+    return x - 1;
+  }
+  long double e = x, f = x / 3, g = x / 5, h = x / 7;
+  v2d v = {(double)x, (double)-x}, w = {0.5, 0.25};
+  ROUND16(FLOAT_STEP, e, f, g, h)
+  for (int i = 0; i < 4; i++) {
+    v = v * w + v;
+    w = w + v;
+  }
+  return (long)(e + f + g + h) ^ (long)(v[0] + w[1]);
+}
+
+static void kernel(void) {
+  long sum = 0;
+  for (long i = 0; i < ITERATIONS; i++) {
+    sum += integers(i);
+    sum += mixed(i);
+  }
+  benchmark_sink += sum;
+}
+
+int main() {
+  benchmark_run("frameinit", kernel, 20, 50);
+  return 0;
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+#include "harness.h"
+
+/*
+ * 128 bit integer arithmetic as it appears in hash functions and in Rust code: 64x64 to 128 bit
+ * multiplications folded into 64 bits, a 128 bit accumulator with shifts and comparisons, and
+ * divisions with both small and large 128 bit operands.
+ */
+
+#define ITERATIONS 20000
+
+typedef unsigned __int128 u128;
+typedef __int128 i128;
+
+__attribute__((noinline)) static unsigned long long mum(unsigned long long a, unsigned long long b) {
+  u128 product = (u128)a * b;
+  return (unsigned long long)(product >> 64) ^ (unsigned long long)product;
+}
+
+__attribute__((noinline)) static u128 mix(u128 acc, unsigned long long value) {
+  acc += value;
+  acc ^= acc << 13;
+  acc ^= acc >> 7;
+  if (acc > ((u128)1 << 100)) {
+    acc -= (u128)1 << 99;
+  }
+  return acc;
+}
+
+__attribute__((noinline)) static i128 divide(i128 dividend, i128 divisor) {
+  return dividend / divisor + dividend % divisor;
+}
+
+static void kernel(void) {
+  unsigned long long hash = 0x9e3779b97f4a7c15ULL;
+  u128 acc = 1;
+  i128 quotients = 0;
+  for (int i = 0; i < ITERATIONS; i++) {
+    hash = mum(hash ^ i, 0xa0761d6478bd642fULL);
+    acc = mix(acc, hash);
+    quotients += divide((i128)hash, (i % 1000) + 1);
+    quotients += divide((i128)acc, ((i128)hash << 32) | 1);
+  }
+  benchmark_sink += (long)(hash ^ (unsigned long long)acc ^ (unsigned long long)quotients);
+}
+
+int main() {
+  benchmark_run("int128", kernel, 20, 50);
+  return 0;
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+#include <stdlib.h>
+#include "harness.h"
+
+/*
+ * Pointer-heavy code: a linked list in shuffled allocation order, pointer increments over an array
+ * and pointer arguments of small calls. In the interpreter every loaded, incremented or passed
+ * native pointer can cost an allocation, so this kernel shows the allocation rate of pointer
+ * values.
+ */
+
+#define NODES 100000
+#define ELEMENTS 100000
+#define RANGE 16
+
+struct node {
+  struct node *next;
+  long value;
+};
+
+static struct node *list;
+static long *array;
+
+static void setup(void) {
+  struct node **nodes = malloc(NODES * sizeof(struct node *));
+  for (int i = 0; i < NODES; i++) {
+    nodes[i] = malloc(sizeof(struct node));
+    nodes[i]->value = i;
+  }
+  srand(42);
+  for (int i = NODES - 1; i > 0; i--) {
+    int j = rand() % (i + 1);
+    struct node *tmp = nodes[i];
+    nodes[i] = nodes[j];
+    nodes[j] = tmp;
+  }
+  for (int i = 0; i < NODES - 1; i++) {
+    nodes[i]->next = nodes[i + 1];
+  }
+  nodes[NODES - 1]->next = NULL;
+  list = nodes[0];
+  free(nodes);
+
+  array = malloc(ELEMENTS * sizeof(long));
+  for (int i = 0; i < ELEMENTS; i++) {
+    array[i] = i * 3;
+  }
+}
+
+__attribute__((noinline)) static long sumRange(const long *begin, const long *end) {
+  long sum = 0;
+  for (const long *p = begin; p != end; p++) {
+    sum += *p;
+  }
+  return sum;
+}
+
+static void kernel(void) {
+  long sum = 0;
+  for (struct node *n = list; n != NULL; n = n->next) {
+    sum += n->value;
+  }
+  for (const long *p = array; p + RANGE <= array + ELEMENTS; p += RANGE) {
+    sum += sumRange(p, p + RANGE);
+  }
+  benchmark_sink += sum;
+}
+
+int main() {
+  setup();
+  benchmark_run("pointers", kernel, 50, 200);
+  return 0;
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+#include <stdlib.h>
+#include "harness.h"
+
+/*
+ * y = a * x + y on float vectors of four lanes. The vector types make Clang emit LLVM vector
+ * loads, stores and arithmetic at every optimization level, so this kernel shows the cost of
+ * vector values in Sulong independently of the auto-vectorizer.
+ */
+
+#define ELEMENTS 65536
+
+typedef float v4f __attribute__((vector_size(16)));
+
+static v4f *x;
+static v4f *y;
+
+static void setup(void) {
+  x = malloc(ELEMENTS * sizeof(float));
+  y = malloc(ELEMENTS * sizeof(float));
+  float *xs = (float *)x;
+  float *ys = (float *)y;
+  for (int i = 0; i < ELEMENTS; i++) {
+    xs[i] = (float)(i % 100) / 100;
+    ys[i] = (float)(i % 7);
+  }
+}
+
+__attribute__((noinline)) static void saxpy(float a, const v4f *restrict xs, v4f *restrict ys, int n) {
+  v4f av = { a, a, a, a };
+  for (int i = 0; i < n; i++) {
+    ys[i] = av * xs[i] + ys[i];
+  }
+}
+
+static void kernel(void) {
+  saxpy(0.5f, x, y, ELEMENTS / 4);
+  saxpy(-0.5f, x, y, ELEMENTS / 4);
+  benchmark_sink += (long)((float *)y)[ELEMENTS / 2];
+}
+
+int main() {
+  setup();
+  benchmark_run("saxpy", kernel, 100, 500);
+  return 0;
+}
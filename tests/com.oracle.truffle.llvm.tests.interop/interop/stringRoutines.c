@@ -0,0 +1,80 @@
+#include <string.h>
+#include <truffle.h>
+
+int main() { return 0; }
+
+long foreign_strnlen(const char *s, long max) { return strnlen(s, max); }
+
+int foreign_strncmp(const char *s1, const char *s2, long max) { return strncmp(s1, s2, max); }
+
+int foreign_memcmp(const char *s1, const char *s2, long length) { return memcmp(s1, s2, length); }
+
+/* the offset is computed from the lengths to avoid pointer arithmetic on foreign objects */
+long foreign_strchr(const char *s, int c) {
+  const char *found = strchr(s, c);
+  return found == NULL ? -1 : (long)(strlen(s) - strlen(found));
+}
+
+long foreign_memchr(const char *s, int c, long length) {
+  const char *found = memchr(s, c, length);
+  return found == NULL ? -1 : (long)(strlen(s) - strlen(found));
+}
+
+long foreign_strcpy(const char *s) {
+  char buffer[32];
+  memset(buffer, 'x', sizeof(buffer));
+  strcpy(buffer, s);
+  if (strcmp(buffer, s) != 0 || buffer[strlen(s) + 1] != 'x') {
+    return -1;
+  }
+  return strlen(buffer);
+}
+
+long foreign_strncpy(const char *s, long n) {
+  char buffer[32];
+  memset(buffer, 'x', sizeof(buffer));
+  strncpy(buffer, s, n);
+  if (buffer[n] != 'x') {
+    return -1;
+  }
+  long length = strnlen(buffer, n);
+  for (long i = length; i < n; i++) {
+    if (buffer[i] != '\0') {
+      return -1;
+    }
+  }
+  return length;
+}
+
+/* returns the number of the first failing check, or 0 */
+int virtual_routines() {
+  char *s = truffle_virtual_malloc(32);
+  char *t = truffle_virtual_malloc(32);
+  memset(s, 'x', 32);
+  memset(t, 'x', 32);
+
+  if (strcpy(s, "hello, world") != s || s[12] != '\0' || s[13] != 'x') {
+    return 1;
+  }
+  if (strlen(s) != 12 || strlen(s + 7) != 5 || strnlen(s, 5) != 5) {
+    return 2;
+  }
+  if (strcpy(t, s) != t || strcmp(s, t) != 0 || strcmp(t, "hello, world") != 0) {
+    return 3;
+  }
+  t[4] = 'p';
+  if (strcmp(s, t) >= 0 || strncmp(s, t, 4) != 0 || strncmp(s, t, 5) >= 0 || memcmp(t, s, 12) <= 0) {
+    return 4;
+  }
+  if (strlen(strchr(s, 'w')) != 5 || strchr(s, '#') != NULL || strlen(memchr(s, 'o', 12)) != 8 || memchr(s, 'w', 7) != NULL) {
+    return 5;
+  }
+  memset(t, 'x', 32);
+  if (strncpy(t, s + 7, 8) != t || strcmp(t, "world") != 0 || t[6] != '\0' || t[7] != '\0' || t[8] != 'x') {
+    return 6;
+  }
+  if (strncpy(t, s, 3) != t || strncmp(t, "hel", 3) != 0 || t[3] != 'l') {
+    return 7;
+  }
+  return 0;
+}
@@ -0,0 +1,109 @@
+#include <stdlib.h>
+#include <string.h>
+#include <truffle.h>
+
+int main() { return 0; }
+
+static void fill(char *p, long length, int seed) {
+  for (long i = 0; i < length; i++) {
+    p[i] = (char)(seed + i * 7);
+  }
+}
+
+static int check(const char *p, long length, int seed) {
+  for (long i = 0; i < length; i++) {
+    if (p[i] != (char)(seed + i * 7)) {
+      return 0;
+    }
+  }
+  return 1;
+}
+
+/* copies length bytes between two virtual allocations at unaligned offsets, returns the number of the first failing check, or 0 */
+int virtual_to_virtual(long length) {
+  char *s = truffle_virtual_malloc(length + 8);
+  char *t = truffle_virtual_malloc(length + 8);
+  memset(t, 'x', length + 8);
+  fill(s + 3, length, 1);
+
+  if (memcpy(t + 5, s + 3, length) != t + 5) {
+    return 1;
+  }
+  if (!check(t + 5, length, 1)) {
+    return 2;
+  }
+  if (t[4] != 'x' || t[length + 5] != 'x') {
+    return 3;
+  }
+  return 0;
+}
+
+int native_to_virtual(long length) {
+  char *s = malloc(length + 8);
+  char *t = truffle_virtual_malloc(length + 8);
+  memset(t, 'x', length + 8);
+  fill(s + 1, length, 2);
+
+  memcpy(t + 2, s + 1, length);
+  int result = 0;
+  if (!check(t + 2, length, 2)) {
+    result = 1;
+  } else if (t[1] != 'x' || t[length + 2] != 'x') {
+    result = 2;
+  }
+  free(s);
+  return result;
+}
+
+int virtual_to_native(long length) {
+  char *s = truffle_virtual_malloc(length + 8);
+  char *t = malloc(length + 8);
+  memset(t, 'x', length + 8);
+  fill(s + 2, length, 3);
+
+  memcpy(t + 1, s + 2, length);
+  int result = 0;
+  if (!check(t + 1, length, 3)) {
+    result = 1;
+  } else if (t[0] != 'x' || t[length + 1] != 'x') {
+    result = 2;
+  }
+  free(t);
+  return result;
+}
+
+int constant_length() {
+  char *s = truffle_virtual_malloc(32);
+  char *t = truffle_virtual_malloc(32);
+  memset(t, 'x', 32);
+  fill(s, 32, 4);
+
+  memcpy(t + 1, s + 1, 16);
+  if (!check(t + 1, 16, 4 + 7) || t[0] != 'x' || t[17] != 'x') {
+    return 1;
+  }
+  memcpy(t, s, 32);
+  if (!check(t, 32, 4)) {
+    return 2;
+  }
+  return 0;
+}
+
+/* sets length bytes of a virtual allocation at an unaligned offset, returns the number of the first failing check, or 0 */
+int virtual_memset(long length) {
+  char *p = truffle_virtual_malloc(length + 8);
+  memset(p, 'x', length + 8);
+
+  if (memset(p + 3, 'y', length) != p + 3) {
+    return 1;
+  }
+  for (long i = 0; i < length; i++) {
+    if (p[i + 3] != 'y') {
+      return 2;
+    }
+  }
+  if (p[2] != 'x' || p[length + 3] != 'x') {
+    return 3;
+  }
+  return 0;
+}
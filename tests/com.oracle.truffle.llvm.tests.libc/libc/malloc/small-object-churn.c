@@ -0,0 +1,48 @@
+#include <stdio.h>
+#include <stdlib.h>
+
+struct node {
+  struct node *left;
+  struct node *right;
+};
+
+struct node *create(int depth) {
+  struct node *n = malloc(sizeof(struct node));
+  if (depth > 0) {
+    n->left = create(depth - 1);
+    n->right = create(depth - 1);
+  } else {
+    n->left = NULL;
+    n->right = NULL;
+  }
+  return n;
+}
+
+int check(struct node *n) {
+  if (n->left == NULL) {
+    return 1;
+  }
+  return 1 + check(n->left) + check(n->right);
+}
+
+void destroy(struct node *n) {
+  if (n->left != NULL) {
+    destroy(n->left);
+    destroy(n->right);
+  }
+  free(n);
+}
+
+int main() {
+  struct node *longLived = create(10);
+  long sum = 0;
+  for (int i = 0; i < 50; i++) {
+    struct node *n = create(8);
+    sum += check(n);
+    destroy(n);
+  }
+  sum += check(longLived);
+  destroy(longLived);
+  printf("%ld\n", sum);
+  return sum != 27597;
+}
@@ -0,0 +1,30 @@
+#include <stdlib.h>
+#include <stdio.h>
+
+int main() {
+  unsigned char *buf = NULL;
+  size_t size = 0;
+  for (int i = 0; i < 16; i++) {
+    size_t newSize = 1u << i;
+    buf = realloc(buf, newSize);
+    for (size_t j = size; j < newSize; j++) {
+      buf[j] = (unsigned char)j;
+    }
+    size = newSize;
+  }
+  for (int i = 15; i >= 0; i--) {
+    size = 1u << i;
+    buf = realloc(buf, size);
+  }
+  long sum = 0;
+  buf = realloc(buf, 4096);
+  for (size_t j = 0; j < 4096; j++) {
+    buf[j] = (unsigned char)(j * 7);
+  }
+  for (size_t j = 0; j < 4096; j++) {
+    sum += buf[j];
+  }
+  printf("%d %ld\n", buf[0], sum);
+  free(buf);
+  return 0;
+}
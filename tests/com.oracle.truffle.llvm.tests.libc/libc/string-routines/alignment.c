@@ -0,0 +1,138 @@
+#include <stdio.h>
+#include <stdlib.h>
+#include <string.h>
+
+/*
+ * Runs the string routines on every combination of source and destination alignment within a
+ * word and on lengths around multiples of the word size, and checks the results against simple
+ * byte-wise implementations.
+ */
+
+#define MAX_OFFSET 8
+#define MAX_LENGTH 24
+#define BUFFER_SIZE (MAX_OFFSET + MAX_LENGTH + 16)
+#define CANARY 'x'
+
+static int checks;
+
+static void check(int condition, const char *routine, int offset1, int offset2, int length) {
+  checks++;
+  if (!condition) {
+    printf("%s failed: offsets %d/%d, length %d\n", routine, offset1, offset2, length);
+    abort();
+  }
+}
+
+static int sign(int value) { return (value > 0) - (value < 0); }
+
+static int refStrncmp(const char *s1, const char *s2, size_t max) {
+  for (size_t i = 0; i < max; i++) {
+    unsigned char c1 = s1[i];
+    unsigned char c2 = s2[i];
+    if (c1 != c2 || c1 == '\0') {
+      return c1 - c2;
+    }
+  }
+  return 0;
+}
+
+static int refMemcmp(const char *s1, const char *s2, size_t length) {
+  for (size_t i = 0; i < length; i++) {
+    unsigned char c1 = s1[i];
+    unsigned char c2 = s2[i];
+    if (c1 != c2) {
+      return c1 - c2;
+    }
+  }
+  return 0;
+}
+
+static void fill(char *s, int length) {
+  for (int i = 0; i < length; i++) {
+    s[i] = 'a' + (i * 7) % 26;
+  }
+  s[length] = '\0';
+}
+
+static void testRoutines(char *buffer1, char *buffer2, char *target, int offset1, int offset2, int length) {
+  char *s1 = buffer1 + offset1;
+  char *s2 = buffer2 + offset2;
+  fill(s1, length);
+  fill(s2, length);
+
+  check(strlen(s1) == (size_t)length, "strlen", offset1, offset2, length);
+  check(strnlen(s1, length / 2) == (size_t)length / 2, "strnlen", offset1, offset2, length);
+  check(strnlen(s1, length + 5) == (size_t)length, "strnlen", offset1, offset2, length);
+  check(strnlen(s1, (size_t)-1) == (size_t)length, "strnlen", offset1, offset2, length);
+
+  check(strcmp(s1, s2) == 0, "strcmp", offset1, offset2, length);
+  check(strncmp(s1, s2, (size_t)-1) == 0, "strncmp", offset1, offset2, length);
+  check(memcmp(s1, s2, length + 1) == 0, "memcmp", offset1, offset2, length);
+  for (int position = 0; position < length; position += 5) {
+    char saved = s2[position];
+    /* values above 0x7f check that the bytes are compared as unsigned char */
+    const char replacements[] = { saved - 1, saved + 1, (char)0xe9, '\0' };
+    for (int i = 0; i < 4; i++) {
+      s2[position] = replacements[i];
+      check(sign(strcmp(s1, s2)) == sign(refStrncmp(s1, s2, (size_t)-1)), "strcmp", offset1, offset2, length);
+      check(sign(strcmp(s2, s1)) == sign(refStrncmp(s2, s1, (size_t)-1)), "strcmp", offset1, offset2, length);
+      check(sign(strncmp(s1, s2, position)) == 0, "strncmp", offset1, offset2, length);
+      check(sign(strncmp(s1, s2, position + 1)) == sign(refStrncmp(s1, s2, position + 1)), "strncmp", offset1, offset2, length);
+      check(sign(memcmp(s1, s2, length)) == sign(refMemcmp(s1, s2, length)), "memcmp", offset1, offset2, length);
+      check(sign(memcmp(s2, s1, length)) == sign(refMemcmp(s2, s1, length)), "memcmp", offset1, offset2, length);
+    }
+    s2[position] = saved;
+  }
+
+  for (int position = 0; position < length; position += 2) {
+    char c = s1[position];
+    /* fill() repeats characters after 26 bytes, so the first occurrence is not always position */
+    char *first = s1;
+    while (*first != c) {
+      first++;
+    }
+    check(strchr(s1, c) == first, "strchr", offset1, offset2, length);
+    check(memchr(s1, c, length) == first, "memchr", offset1, offset2, length);
+    check(memchr(s1, c, first - s1) == NULL, "memchr", offset1, offset2, length);
+  }
+  check(strchr(s1, '\0') == s1 + length, "strchr", offset1, offset2, length);
+  check(strchr(s1, '#') == NULL, "strchr", offset1, offset2, length);
+  check(memchr(s1, '\0', length + 1) == s1 + length, "memchr", offset1, offset2, length);
+  check(memchr(s1, '#', length + 1) == NULL, "memchr", offset1, offset2, length);
+
+  char *dst = target + offset2;
+  memset(target, CANARY, BUFFER_SIZE);
+  check(strcpy(dst, s1) == dst, "strcpy", offset1, offset2, length);
+  check(memcmp(dst, s1, length + 1) == 0 && dst[length + 1] == CANARY && (offset2 == 0 || dst[-1] == CANARY), "strcpy", offset1, offset2, length);
+
+  int limits[] = { length / 2, length, length + 1, length + 9 };
+  for (int i = 0; i < 4; i++) {
+    int limit = limits[i];
+    memset(target, CANARY, BUFFER_SIZE);
+    check(strncpy(dst, s1, limit) == dst, "strncpy", offset1, offset2, length);
+    int copied = limit < length ? limit : length;
+    int ok = memcmp(dst, s1, copied) == 0 && dst[limit] == CANARY;
+    for (int j = copied; j < limit; j++) {
+      ok &= dst[j] == '\0';
+    }
+    check(ok, "strncpy", offset1, offset2, length);
+  }
+}
+
+int main() {
+  char *buffer1 = malloc(BUFFER_SIZE);
+  char *buffer2 = malloc(BUFFER_SIZE);
+  char *target = malloc(BUFFER_SIZE);
+  for (int offset1 = 0; offset1 < MAX_OFFSET; offset1++) {
+    for (int offset2 = 0; offset2 < MAX_OFFSET; offset2++) {
+      for (int length = 0; length <= MAX_LENGTH; length++) {
+        testRoutines(buffer1, buffer2, target, offset1, offset2, length);
+      }
+    }
+  }
+  printf("%d checks\n", checks);
+  free(buffer1);
+  free(buffer2);
+  free(target);
+  return 0;
+}
@@ -0,0 +1,93 @@
+#include <stdio.h>
+#include <stdlib.h>
+#include <string.h>
+
+/*
+ * Runs the string routines on global arrays and on pointers into them, mixed with stack and heap
+ * strings.
+ */
+
+char hello[] = "hello, world";
+char helloCopy[] = "hello, world";
+char help[] = "help";
+char empty[] = "";
+char target[32];
+
+static int sign(int value) { return (value > 0) - (value < 0); }
+
+static void checkTarget(const char *expected, int length, int size) {
+  for (int i = 0; i < size; i++) {
+    char c = i < length ? expected[i] : '\0';
+    if (target[i] != c) {
+      abort();
+    }
+  }
+}
+
+int main() {
+  char stackHello[] = "hello, world";
+  char *heapHelp = malloc(sizeof(help));
+  memcpy(heapHelp, help, sizeof(help));
+
+  if (strlen(hello) != 12 || strlen(hello + 5) != 7 || strlen(empty) != 0) {
+    abort();
+  }
+  if (strnlen(hello, 5) != 5 || strnlen(hello + 7, 6) != 5 || strnlen(empty, 3) != 0) {
+    abort();
+  }
+
+  if (strcmp(hello, helloCopy) != 0 || strcmp(hello, stackHello) != 0 || strcmp(empty, empty) != 0) {
+    abort();
+  }
+  if (sign(strcmp(hello, help)) != -1 || sign(strcmp(heapHelp, hello)) != 1 || sign(strcmp(empty, hello)) != -1) {
+    abort();
+  }
+  if (strncmp(hello, help, 3) != 0 || sign(strncmp(hello, heapHelp, 4)) != -1 || strncmp(hello + 7, "world!", 5) != 0) {
+    abort();
+  }
+  if (memcmp(hello, stackHello, sizeof(hello)) != 0 || sign(memcmp(help, hello, 4)) != 1 || memcmp(hello, help, 0) != 0) {
+    abort();
+  }
+
+  if (memchr(hello, 'w', sizeof(hello)) != hello + 7 || memchr(hello, 'w', 7) != NULL || memchr(hello, '\0', sizeof(hello)) != hello + 12) {
+    abort();
+  }
+  if (strchr(hello, 'o') != hello + 4 || strchr(hello + 5, 'o') != hello + 8 || strchr(hello, '\0') != hello + 12 || strchr(hello, 'x') != NULL) {
+    abort();
+  }
+  if (strchr(empty, '\0') != empty || strchr(empty, 'a') != NULL) {
+    abort();
+  }
+
+  memset(target, '#', sizeof(target));
+  if (strcpy(target, hello) != target || target[13] != '#') {
+    abort();
+  }
+  checkTarget(hello, 12, 13);
+  if (strcpy(target, stackHello + 7) != target) {
+    abort();
+  }
+  checkTarget("world", 5, 6);
+
+  memset(target, '#', sizeof(target));
+  if (strncpy(target, hello, 5) != target || target[5] != '#') {
+    abort();
+  }
+  checkTarget(hello, 5, 5);
+  if (strncpy(target, heapHelp, 10) != target || target[10] != '#') {
+    abort();
+  }
+  checkTarget(help, 4, 10);
+  if (strncpy(target + 2, empty, 3) != target + 2 || target[0] != 'h' || target[2] != '\0' || target[4] != '\0' || target[5] != '\0') {
+    abort();
+  }
+
+  char *heapTarget = malloc(sizeof(hello));
+  if (strcpy(heapTarget, hello) != heapTarget || strcmp(heapTarget, hello) != 0) {
+    abort();
+  }
+  printf("%s %s\n", heapTarget, target);
+  free(heapHelp);
+  free(heapTarget);
+  return 0;
+}
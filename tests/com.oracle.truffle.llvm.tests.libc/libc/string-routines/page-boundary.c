@@ -0,0 +1,78 @@
+#include <stdio.h>
+#include <stdlib.h>
+#include <string.h>
+#include <sys/mman.h>
+#include <unistd.h>
+
+/*
+ * Places strings so that their terminating zero byte is the last byte before an unmapped page.
+ * Reading a word beyond the end of such a string would crash.
+ */
+
+#define MAX_LENGTH 24
+
+static char *lastPageByte(void) {
+  long pageSize = sysconf(_SC_PAGESIZE);
+  char *pages = mmap(NULL, 2 * pageSize, PROT_READ | PROT_WRITE, MAP_PRIVATE | MAP_ANONYMOUS, -1, 0);
+  if (pages == MAP_FAILED) {
+    abort();
+  }
+  if (munmap(pages + pageSize, pageSize) != 0) {
+    abort();
+  }
+  return pages + pageSize - 1;
+}
+
+static void fill(char *s, int length) {
+  for (int i = 0; i < length; i++) {
+    s[i] = 'a' + i % 26;
+  }
+  s[length] = '\0';
+}
+
+int main() {
+  char *end1 = lastPageByte();
+  char *end2 = lastPageByte();
+  char copy[MAX_LENGTH + 1];
+  char target[MAX_LENGTH + 1];
+  for (int length = 0; length <= MAX_LENGTH; length++) {
+    char *s1 = end1 - length;
+    fill(s1, length);
+    fill(copy, length);
+    for (int shift = 0; shift <= length; shift++) {
+      /* s2 ends at the page end as well and is a prefix of s1 that is shift bytes shorter */
+      char *s2 = end2 - (length - shift);
+      fill(s2, length - shift);
+      int expected = shift > 0;
+      if ((strcmp(s1, s2) > 0) != expected || (strcmp(s2, s1) < 0) != expected) {
+        abort();
+      }
+      if ((strncmp(s1, s2, MAX_LENGTH * 2) > 0) != expected || (strncmp(s2, s1, MAX_LENGTH * 2) < 0) != expected) {
+        abort();
+      }
+      if (strcmp(s1, s2) != 0 && !expected) {
+        abort();
+      }
+    }
+    if (strlen(s1) != (size_t)length || strnlen(s1, MAX_LENGTH * 2) != (size_t)length) {
+      abort();
+    }
+    if (strchr(s1, '#') != NULL || strchr(s1, '\0') != end1) {
+      abort();
+    }
+    if (memchr(s1, '\0', length + 1) != end1 || memchr(s1, '#', length + 1) != NULL) {
+      abort();
+    }
+    if (strcmp(s1, copy) != 0 || strncmp(copy, s1, MAX_LENGTH * 2) != 0 || memcmp(s1, copy, length + 1) != 0) {
+      abort();
+    }
+    if (strcpy(target, s1) != target || strcmp(target, copy) != 0) {
+      abort();
+    }
+    if (strncpy(target, s1, length + 1) != target || memcmp(target, copy, length + 1) != 0) {
+      abort();
+    }
+  }
+  printf("done\n");
+  return 0;
+}
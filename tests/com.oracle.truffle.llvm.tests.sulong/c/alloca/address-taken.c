@@ -0,0 +1,72 @@
+#include <stdio.h>
+
+/*
+ * Locals whose address is taken or escapes must stay in memory. The O0_NO_DEBUG_INFO variant keeps
+ * the allocas of these locals without llvm.dbg.declare calls, so only the uses below decide whether
+ * they may live in a frame slot.
+ */
+
+static int *escaped;
+
+__attribute__((noinline)) void increment(int *p) { (*p)++; }
+
+__attribute__((noinline)) void escape(int *p) { escaped = p; }
+
+__attribute__((noinline)) int passedToCall(void) {
+  int value = 1;
+  increment(&value);
+  increment(&value);
+  return value;
+}
+
+__attribute__((noinline)) long throughLocalPointer(void) {
+  long value = 10;
+  long *p = &value;
+  *p += 5;
+  value *= 2;
+  return *p + value;
+}
+
+__attribute__((noinline)) int storedToGlobal(void) {
+  int value = 7;
+  escape(&value);
+  *escaped += 3;
+  value++;
+  return *escaped;
+}
+
+__attribute__((noinline)) int storedAsValue(void) {
+  int value = 4;
+  int *holder[1];
+  holder[0] = &value;
+  *holder[0] = 9;
+  return value;
+}
+
+__attribute__((noinline)) double pointerLocals(void) {
+  double a = 1.5;
+  double b = 2.5;
+  double *p = &a;
+  double *q = p;
+  p = &b;
+  *q += *p;
+  return a * 10 + b;
+}
+
+__attribute__((noinline)) int recursive(int n) {
+  int local = n;
+  if (n > 0) {
+    local += recursive(n - 1);
+  }
+  return local;
+}
+
+int main() {
+  printf("passed to call: %d\n", passedToCall());
+  printf("through local pointer: %ld\n", throughLocalPointer());
+  printf("stored to global: %d\n", storedToGlobal());
+  printf("stored as value: %d\n", storedAsValue());
+  printf("pointer locals: %f\n", pointerLocals());
+  printf("recursive: %d\n", recursive(10));
+  return 0;
+}
@@ -0,0 +1,64 @@
+#include <stdio.h>
+
+/*
+ * At O0 every local and parameter is described by an llvm.dbg.declare call on its alloca. These
+ * calls do not let the address escape, so the locals below live in frame slots in the O0 variant.
+ */
+
+__attribute__((noinline)) long scalars(char c, short s, int i, long l) {
+  char c2 = c + 1;
+  short s2 = s * 2;
+  int i2 = i - 3;
+  long l2 = l << 4;
+  return c2 + s2 + i2 + l2;
+}
+
+__attribute__((noinline)) double floating(float f, double d) {
+  float f2 = f / 2;
+  double d2 = d * f2;
+  return f2 + d2;
+}
+
+__attribute__((noinline)) int pointers(int *array, int n) {
+  int *p = array;
+  int *end = array + n;
+  int sum = 0;
+  while (p != end) {
+    sum += *p;
+    p++;
+  }
+  return sum;
+}
+
+__attribute__((noinline)) int scopes(int n) {
+  int result = 0;
+  for (int i = 0; i < n; i++) {
+    int square = i * i;
+    if (square % 2 == 0) {
+      int half = square / 2;
+      result += half;
+    } else {
+      int twice;
+      twice = square * 2;
+      result -= twice;
+    }
+  }
+  return result;
+}
+
+__attribute__((noinline)) int unused(int n) {
+  int neverRead = n;
+  int neverWritten;
+  (void) neverWritten;
+  return n + 1;
+}
+
+int main() {
+  int array[] = { 1, 2, 3, 4, 5, 6, 7 };
+  printf("%ld\n", scalars('a', 300, 70000, 123456789L));
+  printf("%f\n", floating(3.0f, 1.5));
+  printf("%d\n", pointers(array, 7));
+  printf("%d\n", scopes(20));
+  printf("%d\n", unused(41));
+  return 0;
+}
@@ -0,0 +1,81 @@
+#include <stdio.h>
+#include <string.h>
+
+/*
+ * Locals that are accessed with a different type or width than their own, and locals that are only
+ * stored on some paths. The O0_NO_DEBUG_INFO variant keeps the allocas of these locals without
+ * llvm.dbg.declare calls.
+ */
+
+__attribute__((noinline)) unsigned int byteStores(void) {
+  unsigned int value = 0x11223344;
+  unsigned char *bytes = (unsigned char *)&value;
+  bytes[0] = 0xaa;
+  bytes[3] = 0xbb;
+  return value;
+}
+
+__attribute__((noinline)) unsigned int unionPun(float f) {
+  union {
+    float f;
+    unsigned int i;
+  } u;
+  u.f = f;
+  return u.i;
+}
+
+__attribute__((noinline)) long memcpyStore(void) {
+  long value = -1;
+  int part = 0x12345678;
+  memcpy(&value, &part, sizeof(part));
+  return value;
+}
+
+__attribute__((noinline)) int conditionalStore(int n) {
+  int value;
+  int result = 0;
+  for (int i = 0; i < n; i++) {
+    if (i % 3 == 0) {
+      value = i;
+    }
+    if (i >= 3) {
+      result += value;
+    }
+  }
+  return result;
+}
+
+__attribute__((noinline)) int storeOnOnePath(int flag) {
+  int value = 5;
+  if (flag) {
+    value = 8;
+  }
+  return value;
+}
+
+__attribute__((noinline)) int volatileLocal(int n) {
+  volatile int value = 0;
+  for (int i = 0; i < n; i++) {
+    value += i;
+  }
+  return value;
+}
+
+__attribute__((noinline)) char narrowLocals(char c, short s) {
+  char a = c;
+  short b = s;
+  a += 3;
+  b -= a;
+  return (char)(a ^ b);
+}
+
+int main() {
+  printf("byte stores: %x\n", byteStores());
+  printf("union pun: %x\n", unionPun(1.5f));
+  printf("memcpy store: %lx\n", memcpyStore());
+  printf("conditional store: %d\n", conditionalStore(20));
+  printf("store on one path: %d %d\n", storeOnOnePath(0), storeOnOnePath(1));
+  printf("volatile local: %d\n", volatileLocal(100));
+  printf("narrow locals: %d\n", narrowLocals(100, 1000));
+  return 0;
+}
@@ -0,0 +1,210 @@
+#include <stdio.h>
+#include <pthread.h>
+#include <sched.h>
+
+/*
+ * Atomic loads, stores and fences with every memory ordering. Clang emits them as load atomic,
+ * store atomic and fence instructions with the given ordering, and __atomic_signal_fence as a
+ * fence in the single thread scope.
+ */
+
+#if defined(__GNUC__) && !defined(__clang__) && (__GNUC__ < 4 || (__GNUC__ == 4 && __GNUC_MINOR__ < 7))
+/* the GCC versions used with DragonEgg only have the __sync builtins, which are full fences */
+#define __ATOMIC_RELAXED 0
+#define __ATOMIC_CONSUME 1
+#define __ATOMIC_ACQUIRE 2
+#define __ATOMIC_RELEASE 3
+#define __ATOMIC_ACQ_REL 4
+#define __ATOMIC_SEQ_CST 5
+#define __atomic_load_n(p, order) (__sync_synchronize(), *(volatile __typeof__(*(p)) *)(p))
+#define __atomic_store_n(p, v, order) (__sync_synchronize(), *(volatile __typeof__(*(p)) *)(p) = (v), __sync_synchronize())
+#define __atomic_thread_fence(order) __sync_synchronize()
+#define __atomic_signal_fence(order) __asm__ __volatile__("" ::: "memory")
+#endif
+
+#define ROUNDS 500
+
+static char c;
+static short s;
+static int i;
+static long long l;
+static int *p;
+
+static int orderings[] = { __ATOMIC_RELAXED, __ATOMIC_CONSUME, __ATOMIC_ACQUIRE, __ATOMIC_SEQ_CST };
+
+static void singleThreaded(void) {
+  long long sum = 0;
+  int value = 42;
+
+  __atomic_store_n(&c, 1, __ATOMIC_RELAXED);
+  __atomic_store_n(&s, 2, __ATOMIC_RELEASE);
+  __atomic_store_n(&i, 3, __ATOMIC_SEQ_CST);
+  __atomic_store_n(&l, 4, __ATOMIC_RELEASE);
+  __atomic_store_n(&p, &value, __ATOMIC_SEQ_CST);
+
+  sum += __atomic_load_n(&c, __ATOMIC_RELAXED);
+  sum += __atomic_load_n(&s, __ATOMIC_CONSUME);
+  sum += __atomic_load_n(&i, __ATOMIC_ACQUIRE);
+  sum += __atomic_load_n(&l, __ATOMIC_SEQ_CST);
+  sum += *__atomic_load_n(&p, __ATOMIC_ACQUIRE);
+
+  __atomic_thread_fence(__ATOMIC_ACQUIRE);
+  __atomic_thread_fence(__ATOMIC_RELEASE);
+  __atomic_thread_fence(__ATOMIC_ACQ_REL);
+  __atomic_thread_fence(__ATOMIC_SEQ_CST);
+  __atomic_signal_fence(__ATOMIC_SEQ_CST);
+
+  for (int k = 0; k < sizeof(orderings) / sizeof(orderings[0]); k++) {
+    /* non-constant orderings are lowered to a switch over the constant ones */
+    sum += __atomic_load_n(&i, orderings[k]);
+  }
+  printf("single thread: %lld\n", sum);
+}
+
+/* message passing: a release store publishes the data that an acquire load observes */
+
+static int data[4];
+static int ready;
+static int fenceData;
+static int fenceReady;
+
+static void *producer(void *arg) {
+  for (int round = 1; round <= ROUNDS; round++) {
+    while (__atomic_load_n(&ready, __ATOMIC_ACQUIRE) != 0) {
+      sched_yield();
+    }
+    for (int k = 0; k < 4; k++) {
+      data[k] = round * (k + 1);
+    }
+    __atomic_store_n(&ready, 1, __ATOMIC_RELEASE);
+
+    while (__atomic_load_n(&fenceReady, __ATOMIC_RELAXED) != 0) {
+      sched_yield();
+    }
+    __atomic_thread_fence(__ATOMIC_ACQUIRE);
+    fenceData = round;
+    __atomic_thread_fence(__ATOMIC_RELEASE);
+    __atomic_store_n(&fenceReady, 1, __ATOMIC_RELAXED);
+  }
+  return NULL;
+}
+
+static void messagePassing(void) {
+  pthread_t thread;
+  long long sum = 0;
+  int mismatches = 0;
+  pthread_create(&thread, NULL, producer, NULL);
+  for (int round = 1; round <= ROUNDS; round++) {
+    while (__atomic_load_n(&ready, __ATOMIC_ACQUIRE) != 1) {
+      sched_yield();
+    }
+    for (int k = 0; k < 4; k++) {
+      if (data[k] != round * (k + 1)) {
+        mismatches++;
+      }
+      sum += data[k];
+    }
+    __atomic_store_n(&ready, 0, __ATOMIC_RELEASE);
+
+    while (__atomic_load_n(&fenceReady, __ATOMIC_RELAXED) != 1) {
+      sched_yield();
+    }
+    __atomic_thread_fence(__ATOMIC_ACQUIRE);
+    if (fenceData != round) {
+      mismatches++;
+    }
+    sum += fenceData;
+    __atomic_thread_fence(__ATOMIC_RELEASE);
+    __atomic_store_n(&fenceReady, 0, __ATOMIC_RELAXED);
+  }
+  pthread_join(thread, NULL);
+  printf("message passing: %lld, mismatches: %d\n", sum, mismatches);
+}
+
+/*
+ * store buffering: with sequentially consistent stores and loads, at least one of the two threads
+ * sees the store of the other one
+ */
+
+static int x;
+static int y;
+static int r1;
+static int r2;
+static int start;
+static int done;
+
+static void *storeBufferingWorker(void *arg) {
+  for (int round = 1; round <= ROUNDS; round++) {
+    while (__atomic_load_n(&start, __ATOMIC_SEQ_CST) != round) {
+      sched_yield();
+    }
+    __atomic_store_n(&y, 1, __ATOMIC_SEQ_CST);
+    r2 = __atomic_load_n(&x, __ATOMIC_SEQ_CST);
+    __atomic_store_n(&done, round, __ATOMIC_SEQ_CST);
+  }
+  return NULL;
+}
+
+static void storeBuffering(void) {
+  pthread_t thread;
+  int forbidden = 0;
+  pthread_create(&thread, NULL, storeBufferingWorker, NULL);
+  for (int round = 1; round <= ROUNDS; round++) {
+    __atomic_store_n(&x, 0, __ATOMIC_SEQ_CST);
+    __atomic_store_n(&y, 0, __ATOMIC_SEQ_CST);
+    __atomic_store_n(&start, round, __ATOMIC_SEQ_CST);
+    __atomic_store_n(&x, 1, __ATOMIC_SEQ_CST);
+    r1 = __atomic_load_n(&y, __ATOMIC_SEQ_CST);
+    while (__atomic_load_n(&done, __ATOMIC_SEQ_CST) != round) {
+      sched_yield();
+    }
+    if (r1 == 0 && r2 == 0) {
+      forbidden++;
+    }
+  }
+  pthread_join(thread, NULL);
+  printf("store buffering: forbidden outcomes: %d\n", forbidden);
+}
+
+/*
+ * spinning without yielding: the loops below contain nothing but a relaxed load, so they only
+ * terminate if the load is repeated on every iteration rather than hoisted out of the loop
+ */
+
+static char spinTurn;
+static long long spinCount;
+static int spinTarget;
+static int *spinPointer;
+
+static void *spinWorker(void *arg) {
+  for (int round = 1; round <= ROUNDS; round++) {
+    while (__atomic_load_n(&spinTurn, __ATOMIC_RELAXED) != 1) {
+    }
+    __atomic_store_n(&spinCount, __atomic_load_n(&spinCount, __ATOMIC_RELAXED) + round, __ATOMIC_RELAXED);
+    __atomic_store_n(&spinTurn, 0, __ATOMIC_RELEASE);
+  }
+  while (__atomic_load_n(&spinPointer, __ATOMIC_RELAXED) == NULL) {
+  }
+  return NULL;
+}
+
+static void spinWithoutYield(void) {
+  pthread_t thread;
+  pthread_create(&thread, NULL, spinWorker, NULL);
+  for (int round = 1; round <= ROUNDS; round++) {
+    __atomic_store_n(&spinTurn, 1, __ATOMIC_RELEASE);
+    while (__atomic_load_n(&spinTurn, __ATOMIC_RELAXED) != 0) {
+    }
+  }
+  __atomic_store_n(&spinPointer, &spinTarget, __ATOMIC_RELAXED);
+  pthread_join(thread, NULL);
+  printf("spin without yield: %lld\n", __atomic_load_n(&spinCount, __ATOMIC_RELAXED));
+}
+
+int main() {
+  singleThreaded();
+  messagePassing();
+  storeBuffering();
+  spinWithoutYield();
+  return 0;
+}
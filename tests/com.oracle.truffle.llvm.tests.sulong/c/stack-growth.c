@@ -0,0 +1,40 @@
+#include <stdio.h>
+#include <pthread.h>
+
+/*
+ * Grows the stack over several megabytes, so that it is committed in many steps, and checks that
+ * every frame still holds its own data on the way back. The second pass reuses the committed part.
+ */
+
+#define DEPTH 1500
+#define FRAME_SIZE 4000
+
+__attribute__((noinline)) long grow(int depth) {
+  volatile char frame[FRAME_SIZE];
+  for (int i = 0; i < FRAME_SIZE; i += 500) {
+    frame[i] = (char) (depth + i);
+  }
+  long sum = depth == 0 ? 0 : grow(depth - 1);
+  for (int i = 0; i < FRAME_SIZE; i += 500) {
+    if (frame[i] != (char) (depth + i)) {
+      return -1000000;
+    }
+    sum += frame[i];
+  }
+  return sum;
+}
+
+static void *worker(void *arg) {
+  return (void *) grow(DEPTH);
+}
+
+int main() {
+  pthread_t thread;
+  void *result;
+  printf("%ld\n", grow(DEPTH));
+  printf("%ld\n", grow(DEPTH));
+  pthread_create(&thread, NULL, worker, NULL);
+  pthread_join(thread, &result);
+  printf("%ld\n", (long) result);
+  return 0;
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+#include <pthread.h>
+#include <stdio.h>
+#include <stdlib.h>
+#include <string.h>
+
+#define THREADS 64
+#define BLOCKS 200
+
+/*
+ * Blocks are allocated by short-lived threads and freed by the main thread after the allocating
+ * thread has exited, so that the blocks that a thread cached are handed back and reused.
+ */
+
+static void *allocate(void *arg) {
+  long id = (long)arg;
+  char **blocks = malloc(BLOCKS * sizeof(char *));
+  for (int i = 0; i < BLOCKS; i++) {
+    blocks[i] = malloc(16 + (i * 7) % 300);
+    memset(blocks[i], (int)(id + i), 16);
+  }
+  // free some blocks in the thread itself so that its cache is not empty when it exits
+  for (int i = 0; i < BLOCKS; i += 2) {
+    free(blocks[i]);
+    blocks[i] = NULL;
+  }
+  return blocks;
+}
+
+int main() {
+  long sum = 0;
+  for (long t = 0; t < THREADS; t++) {
+    pthread_t thread;
+    char **blocks;
+    if (pthread_create(&thread, NULL, allocate, (void *)t) != 0 || pthread_join(thread, (void **)&blocks) != 0) {
+      return 1;
+    }
+    for (int i = 1; i < BLOCKS; i += 2) {
+      sum += (unsigned char)blocks[i][15];
+      free(blocks[i]);
+    }
+    free(blocks);
+  }
+  printf("%ld\n", sum);
+  return 0;
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2017, Oracle and/or its affiliates.
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are
+ * permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of
+ * conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of
+ * conditions and the following disclaimer in the documentation and/or other materials provided
+ * with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to
+ * endorse or promote products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS
+ * OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE
+ * GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED
+ * AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+#include <stdio.h>
+#include <stdlib.h>
+#include <pthread.h>
+
+#define THREADS 4
+#define ITERATIONS 1000
+
+static pthread_mutex_t mutex = PTHREAD_MUTEX_INITIALIZER;
+static pthread_cond_t cond = PTHREAD_COND_INITIALIZER;
+static pthread_once_t once = PTHREAD_ONCE_INIT;
+static pthread_key_t key;
+
+static long counter = 0;
+static int initialized = 0;
+static int finished = 0;
+static int destructed = 0;
+
+static void init(void) { initialized++; }
+
+static void destructor(void *value) {
+  pthread_mutex_lock(&mutex);
+  destructed += (int)(long)value;
+  pthread_mutex_unlock(&mutex);
+}
+
+static void *work(void *arg) {
+  long id = (long)arg;
+  pthread_once(&once, init);
+  pthread_setspecific(key, (void *)(id + 1));
+  for (int i = 0; i < ITERATIONS; i++) {
+    pthread_mutex_lock(&mutex);
+    counter++;
+    pthread_mutex_unlock(&mutex);
+  }
+  pthread_mutex_lock(&mutex);
+  finished++;
+  pthread_cond_signal(&cond);
+  pthread_mutex_unlock(&mutex);
+  return (void *)(long)pthread_getspecific(key);
+}
+
+int main() {
+  pthread_t threads[THREADS];
+  pthread_key_create(&key, destructor);
+  for (long i = 0; i < THREADS; i++) {
+    if (pthread_create(&threads[i], NULL, work, (void *)i) != 0) {
+      abort();
+    }
+  }
+  pthread_mutex_lock(&mutex);
+  while (finished < THREADS) {
+    pthread_cond_wait(&cond, &mutex);
+  }
+  pthread_mutex_unlock(&mutex);
+  long sum = 0;
+  for (int i = 0; i < THREADS; i++) {
+    void *result;
+    pthread_join(threads[i], &result);
+    sum += (long)result;
+  }
+  printf("counter: %ld\n", counter);
+  printf("initialized: %d\n", initialized);
+  printf("results: %ld\n", sum);
+  printf("destructed: %d\n", destructed);
+  printf("equal: %d\n", pthread_equal(pthread_self(), pthread_self()));
+  return 0;
+}
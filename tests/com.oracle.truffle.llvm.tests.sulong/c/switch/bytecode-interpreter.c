@@ -0,0 +1,69 @@
+#include <stdio.h>
+
+enum opcode { PUSH, ADD, SUB, MUL, DUP, SWAP, ROT, POP, JNZ, DEC, HALT };
+
+long run(const int *code) {
+  long stack[16];
+  int sp = 0;
+  int pc = 0;
+  for (;;) {
+    switch (code[pc++]) {
+    case PUSH:
+      stack[sp++] = code[pc++];
+      break;
+    case ADD:
+      sp--;
+      stack[sp - 1] += stack[sp];
+      break;
+    case SUB:
+      sp--;
+      stack[sp - 1] -= stack[sp];
+      break;
+    case MUL:
+      sp--;
+      stack[sp - 1] *= stack[sp];
+      break;
+    case DUP:
+      stack[sp] = stack[sp - 1];
+      sp++;
+      break;
+    case SWAP: {
+      long tmp = stack[sp - 1];
+      stack[sp - 1] = stack[sp - 2];
+      stack[sp - 2] = tmp;
+      break;
+    }
+    case ROT: {
+      long tmp = stack[sp - 3];
+      stack[sp - 3] = stack[sp - 2];
+      stack[sp - 2] = stack[sp - 1];
+      stack[sp - 1] = tmp;
+      break;
+    }
+    case POP:
+      sp--;
+      break;
+    case JNZ: {
+      int target = code[pc++];
+      if (stack[sp - 1] != 0) {
+        pc = target;
+      }
+      break;
+    }
+    case DEC:
+      stack[sp - 1]--;
+      break;
+    case HALT:
+      return stack[sp - 2];
+    default:
+      return -1;
+    }
+  }
+}
+
+int main() {
+  /* acc = 0; n = 10000; do { acc += 3 * n; n--; } while (n != 0); */
+  int prog[] = { PUSH, 0, PUSH, 10000, DUP, PUSH, 3, MUL, ROT, ADD, SWAP, DEC, JNZ, 4, HALT };
+  printf("%ld\n", run(prog));
+  return 0;
+}
@@ -0,0 +1,81 @@
+#include <stdio.h>
+#include <stdbool.h>
+
+/*
+ * At O0 these switches are emitted on i32. The optimized variants shrink the condition to the
+ * width of the operand, which gives switches on i1 and i8 with true and negative case values.
+ */
+
+__attribute__((noinline)) int onBool(bool b) {
+  switch (b) {
+  case true:
+    return 3;
+  case false:
+    return 5;
+  }
+  return 7;
+}
+
+__attribute__((noinline)) int onTrueOnly(bool b) {
+  switch (b) {
+  case true:
+    return 11;
+  default:
+    return 13;
+  }
+}
+
+__attribute__((noinline)) int onSignedChar(signed char c) {
+  switch (c) {
+  case -128:
+    return 1;
+  case -1:
+    return 2;
+  case 0:
+    return 3;
+  case 1:
+    return 4;
+  case 127:
+    return 5;
+  default:
+    return 6;
+  }
+}
+
+__attribute__((noinline)) int onUnsignedChar(unsigned char c) {
+  switch (c) {
+  case 255:
+    return 1;
+  case 200:
+    return 2;
+  case 128:
+    return 3;
+  case 1:
+    return 4;
+  default:
+    return 5;
+  }
+}
+
+int main() {
+  volatile bool flags[] = { true, false };
+  unsigned sum = 0;
+  for (int i = 0; i < 2; i++) {
+    sum = sum * 17 + onBool(flags[i]);
+    sum = sum * 17 + onTrueOnly(flags[i]);
+  }
+  printf("bool: %u\n", sum);
+
+  sum = 0;
+  for (int c = -128; c < 128; c++) {
+    sum = sum * 7 + onSignedChar((signed char)c);
+  }
+  printf("signed char: %u\n", sum);
+
+  sum = 0;
+  for (int c = 0; c < 256; c++) {
+    sum = sum * 7 + onUnsignedChar((unsigned char)c);
+  }
+  printf("unsigned char: %u\n", sum);
+  return 0;
+}
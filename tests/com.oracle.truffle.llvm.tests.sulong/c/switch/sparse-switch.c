@@ -0,0 +1,56 @@
+#include <stdio.h>
+
+int classify(long value) {
+  switch (value) {
+  case -9223372036854775807L - 1:
+    return 1;
+  case -1000000:
+    return 2;
+  case -7:
+    return 3;
+  case 0:
+    return 4;
+  case 42:
+    return 5;
+  case 4096:
+    return 6;
+  case 123456789:
+    return 7;
+  case 9223372036854775807L:
+    return 8;
+  default:
+    return 0;
+  }
+}
+
+int dense(signed char c) {
+  switch (c) {
+  case -3:
+    return 10;
+  case -2:
+    return 20;
+  case -1:
+    return 30;
+  case 0:
+    return 40;
+  case 1:
+    return 50;
+  case 3:
+    return 60;
+  default:
+    return 70;
+  }
+}
+
+int main() {
+  long values[] = { -9223372036854775807L - 1, -1000000, -999999, -7, 0, 1, 42, 4096, 123456789, 9223372036854775807L, 9223372036854775806L };
+  int sum = 0;
+  for (int i = 0; i < sizeof(values) / sizeof(values[0]); i++) {
+    sum = sum * 3 + classify(values[i]);
+  }
+  for (int c = -128; c < 128; c++) {
+    sum += dense((signed char)c);
+  }
+  printf("%d\n", sum);
+  return 0;
+}
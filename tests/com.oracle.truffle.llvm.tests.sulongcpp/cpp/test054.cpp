@@ -0,0 +1,47 @@
+#include <stdio.h>
+#include <pthread.h>
+
+#define THREADS 4
+#define ITERATIONS 200
+
+static long results[THREADS];
+
+static void inner(long id, int i) {
+  try {
+    throw(int)(id * 1000 + i);
+  } catch (int value) {
+    try {
+      throw 'x';
+    } catch (char c) {
+      results[id] += c;
+    }
+    // rethrows the exception caught by this thread, not the one of another thread
+    throw;
+  }
+}
+
+static void *work(void *arg) {
+  long id = (long)arg;
+  for (int i = 0; i < ITERATIONS; i++) {
+    try {
+      inner(id, i);
+    } catch (int value) {
+      results[id] += value;
+    }
+  }
+  return NULL;
+}
+
+int main() {
+  pthread_t threads[THREADS];
+  for (long i = 0; i < THREADS; i++) {
+    pthread_create(&threads[i], NULL, work, (void *)i);
+  }
+  for (int i = 0; i < THREADS; i++) {
+    pthread_join(threads[i], NULL);
+  }
+  for (int i = 0; i < THREADS; i++) {
+    printf("%d: %ld\n", i, results[i]);
+  }
+  return 0;
+}
@@ -11,6 +11,7 @@
 #include <stdio.h>
 #include <errno.h>
 #include <sys/uio.h>
+#include <sys/mman.h>
 #include <sys/utsname.h>
 #include <sys/syscall.h>
 
@@ -23,6 +24,8 @@
 #define lseek __syscall_lseek
 #define readv __syscall_readv
 #define writev __syscall_writev
+#define mmap __syscall_mmap
+#define munmap __syscall_munmap
 #define exit __syscall_exit
 #define _Exit __syscall_exit_group
 #define mkdir __syscall_mkdir
@@ -113,6 +116,18 @@ static inline ssize_t readv(int fd, const struct iovec *iov, int iovcnt) { __SYS
 
 static inline ssize_t writev(int fd, const struct iovec *iov, int iovcnt) { __SYSCALL_3P(SYS_writev, fd, iov, iovcnt); }
 
+static inline void *mmap(void *addr, size_t length, int prot, int flags, int fd, off_t offset) {
+  int64_t result;
+  __SYSCALL_6(result, SYS_mmap, addr, length, prot, flags, fd, offset);
+  if (result < 0 && result > -4096) {
+    errno = -result;
+    return MAP_FAILED;
+  }
+  return (void *)result;
+}
+
+static inline int munmap(void *addr, size_t length) { __SYSCALL_2P(SYS_munmap, addr, length); }
+
 static inline char *getcwd(char *buf, size_t size) {
   int64_t result;
   __SYSCALL_2(result, SYS_getcwd, buf, size);
@@ -0,0 +1,26 @@
+#include "nanolibc.h"
+
+#define SIZE 16384
+
+int main(void) {
+  unsigned char *p;
+  int i;
+  p = mmap(NULL, SIZE, PROT_READ | PROT_WRITE, MAP_PRIVATE | MAP_ANONYMOUS, -1, 0);
+  if (p == MAP_FAILED) {
+    perror("mmap failed");
+    return 1;
+  }
+  printf("aligned: %d\n", ((uintptr_t)p & 4095) == 0);
+  for (i = 0; i < SIZE; i++) {
+    if (p[i] != 0) {
+      printf("not zeroed at %d\n", i);
+      return 1;
+    }
+  }
+  for (i = 0; i < SIZE; i++) {
+    p[i] = (unsigned char)i;
+  }
+  printf("p[4097]: %d\n", p[4097]);
+  printf("munmap: %d\n", munmap(p, SIZE));
+  return 0;
+}
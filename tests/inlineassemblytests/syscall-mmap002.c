@@ -0,0 +1,22 @@
+#include "nanolibc.h"
+
+int main(void) {
+  char *p;
+  int fd;
+  off_t size;
+  fd = open("LICENSE", O_RDONLY, 0);
+  if (fd < 0) {
+    perror("Cannot open file");
+    return 1;
+  }
+  size = lseek(fd, 0, SEEK_END);
+  p = mmap(NULL, size, PROT_READ, MAP_PRIVATE, fd, 0);
+  close(fd);
+  if (p == MAP_FAILED) {
+    perror("mmap failed");
+    return 1;
+  }
+  write(STDOUT_FILENO, p, size < 256 ? size : 256);
+  printf("\nmunmap: %d\n", munmap(p, size));
+  return 0;
+}
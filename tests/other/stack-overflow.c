@@ -0,0 +1,14 @@
+#include <stdio.h>
+
+int recurse(int n) {
+  volatile char buffer[1 << 20];
+  buffer[0] = n;
+  buffer[sizeof(buffer) - 1] = n;
+  return recurse(n + 1) + buffer[0];
+}
+
+int main() {
+  printf("recursing\n");
+  fflush(stdout);
+  return recurse(0);
+}
@@ -0,0 +1,40 @@
+#include "../inlineassemblytests/nanolibc.h"
+
+static void print(int fd, char *s) { write(fd, s, strlen(s)); }
+
+int main(int argc, char **argv) {
+  // keep the original streams of the process to restore them at the end
+  int out = syscall(SYS_dup, 1);
+  int err = syscall(SYS_dup, 2);
+  if (out < 0 || err < 0) {
+    return 1;
+  }
+
+  print(1, "stdout\n");
+  print(2, "stderr\n");
+  print(1, "buffered\n");
+
+  // replace stdout by a file, the pending output must not end up in the file
+  int fd = open(argv[1], O_WRONLY | O_CREAT | O_TRUNC, 0600);
+  if (fd < 0) {
+    return 2;
+  }
+  if (syscall(SYS_dup2, fd, 1) != 1) {
+    return 3;
+  }
+  close(fd);
+  print(1, "redirected\n");
+
+  // writes to a closed standard stream fail like natively
+  close(2);
+  if (write(2, "closed\n", 7) != -1 || errno != EBADF) {
+    return 4;
+  }
+
+  if (syscall(SYS_dup2, out, 1) != 1 || syscall(SYS_dup2, err, 2) != 2) {
+    return 5;
+  }
+  close(out);
+  close(err);
+  return 0;
+}